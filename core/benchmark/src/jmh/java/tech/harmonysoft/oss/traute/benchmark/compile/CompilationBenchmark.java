@@ -0,0 +1,52 @@
+package tech.harmonysoft.oss.traute.benchmark.compile;
+
+import org.openjdk.jmh.annotations.*;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemoryCompiler;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemorySource;
+import tech.harmonysoft.oss.traute.benchmark.source.Scenario;
+import tech.harmonysoft.oss.traute.benchmark.source.SyntheticSources;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures compilation time of the {@link Scenario synthetic sources} by plain {@code javac}
+ * and by {@code javac} with the {@code Traute} plugin enabled.</p>
+ * <p>The difference between {@code instrumented=false} and {@code instrumented=true} results
+ * is the plugin's overhead. Run with the {@code gc} profiler to see allocated bytes per operation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(2)
+public class CompilationBenchmark {
+
+    @Param({"PARAMETERS", "RETURNS", "PACKAGE_DEFAULTS", "MIXED_DECLARATIONS"})
+    private Scenario scenario;
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    @Param({"20"})
+    private int classes;
+
+    @Param({"20"})
+    private int methodsPerClass;
+
+    private InMemoryCompiler    compiler;
+    private List<InMemorySource> sources;
+
+    @Setup
+    public void setUp() {
+        compiler = new InMemoryCompiler();
+        sources = SyntheticSources.generate(scenario, classes, methodsPerClass);
+    }
+
+    @Benchmark
+    public Map<String, byte[]> compile() {
+        return compiler.compile(sources, instrumented);
+    }
+}
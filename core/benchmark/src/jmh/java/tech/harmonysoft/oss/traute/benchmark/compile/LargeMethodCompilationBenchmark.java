@@ -0,0 +1,50 @@
+package tech.harmonysoft.oss.traute.benchmark.compile;
+
+import org.openjdk.jmh.annotations.*;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemoryCompiler;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemorySource;
+import tech.harmonysoft.oss.traute.benchmark.source.SyntheticSources;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Measures compilation time of a {@code @NotNull} method with a lot of {@code 'return'} statements
+ *     and a long body, see {@link SyntheticSources#generateLargeSwitch(int)}.
+ * </p>
+ * <p>
+ *     It's a regression benchmark for the {@code 'return'} instrumentation - rewriting statements of a code block
+ *     must stay linear in the number of statements.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(2)
+public class LargeMethodCompilationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    @Param({"1000"})
+    private int branches;
+
+    private InMemoryCompiler     compiler;
+    private List<InMemorySource> sources;
+
+    @Setup
+    public void setUp() {
+        compiler = new InMemoryCompiler();
+        sources = Collections.singletonList(SyntheticSources.generateLargeSwitch(branches));
+    }
+
+    @Benchmark
+    public Map<String, byte[]> compile() {
+        return compiler.compile(sources, instrumented);
+    }
+}
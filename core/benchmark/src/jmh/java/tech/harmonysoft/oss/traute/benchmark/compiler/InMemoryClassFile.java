@@ -0,0 +1,41 @@
+package tech.harmonysoft.oss.traute.benchmark.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.tools.SimpleJavaFileObject;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Compiled binaries holder.
+ */
+public class InMemoryClassFile extends SimpleJavaFileObject {
+
+    @NotNull private final String className;
+
+    private ByteArrayOutputStream out;
+
+    public InMemoryClassFile(@NotNull String className) {
+        super(URI.create("string://" + className), Kind.CLASS);
+        this.className = className;
+    }
+
+    @NotNull
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+        return out = new ByteArrayOutputStream();
+    }
+
+    @NotNull
+    public byte[] getCompiledBinaries() {
+        if (out == null) {
+            throw new IllegalStateException(String.format("No compiled binaries are supplied for the %s", className));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package tech.harmonysoft.oss.traute.benchmark.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Defines classes from the binaries produced by the {@link InMemoryCompiler}.
+ */
+public class InMemoryClassLoader extends ClassLoader {
+
+    @NotNull private final Map<String, byte[]> compiled;
+
+    public InMemoryClassLoader(@NotNull Map<String, byte[]> compiled) {
+        super(InMemoryClassLoader.class.getClassLoader());
+        this.compiled = compiled;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] binaries = compiled.get(name);
+        if (binaries == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, binaries, 0, binaries.length);
+    }
+
+    /**
+     * Instantiates a compiled class by its default constructor.
+     *
+     * @param className     fully qualified name of the class to instantiate
+     * @param type          expected object type
+     * @param <T>           expected object type
+     * @return              new instance of the given class
+     * @throws IllegalStateException    if the class can't be instantiated
+     */
+    @NotNull
+    public <T> T newInstance(@NotNull String className, @NotNull Class<T> type) {
+        try {
+            return type.cast(loadClass(className).getDeclaredConstructor().newInstance());
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format("Can't instantiate class %s", className), e);
+        }
+    }
+}
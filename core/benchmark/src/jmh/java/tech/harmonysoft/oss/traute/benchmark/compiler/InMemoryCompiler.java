@@ -0,0 +1,65 @@
+package tech.harmonysoft.oss.traute.benchmark.compiler;
+
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.StringWriter;
+import java.util.*;
+
+import static java.util.Arrays.asList;
+
+/**
+ * <p>Compiles given sources into memory with or without the {@code Traute} javac plugin enabled.</p>
+ * <p>Mirrors the approach used by the {@code javac} plugin tests.</p>
+ */
+public class InMemoryCompiler {
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    @NotNull private final StandardJavaFileManager standardFileManager;
+
+    public InMemoryCompiler() {
+        if (compiler == null) {
+            throw new IllegalStateException("Can't find a system java compiler - make sure that the benchmarks "
+                                            + "are run under JDK and not JRE");
+        }
+        standardFileManager = compiler.getStandardFileManager(null, null, null);
+    }
+
+    /**
+     * Compiles given sources.
+     *
+     * @param sources       sources to compile
+     * @param instrument    a flag which identifies if the {@code Traute} plugin should be enabled
+     * @param pluginOptions {@code Traute} options to use, e.g. {@code -Atraute.log.verbose=true}
+     * @return              compiled binaries, class name is used as a key
+     * @throws IllegalStateException    in case of a compilation error
+     */
+    @NotNull
+    public Map<String, byte[]> compile(@NotNull Collection<InMemorySource> sources,
+                                       boolean instrument,
+                                       @NotNull String... pluginOptions)
+    {
+        StringWriter output = new StringWriter();
+        InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager);
+        List<String> arguments = new ArrayList<>(asList("-classpath", System.getProperty("java.class.path")));
+        if (instrument) {
+            arguments.add("-Xplugin:" + TrauteConstants.PLUGIN_NAME);
+            arguments.addAll(asList(pluginOptions));
+        }
+        JavaCompiler.CompilationTask task = compiler.getTask(output, fileManager, null, arguments, null, sources);
+        Boolean successfulCompilation = task.call();
+        if (successfulCompilation == null || !successfulCompilation) {
+            throw new IllegalStateException(String.format("Failed to compile benchmark sources. Compiler output: %s",
+                                                          output));
+        }
+        Map<String, byte[]> result = new HashMap<>();
+        for (InMemoryClassFile classFile : fileManager.getCompiled()) {
+            result.put(classFile.getClassName(), classFile.getCompiledBinaries());
+        }
+        return result;
+    }
+}
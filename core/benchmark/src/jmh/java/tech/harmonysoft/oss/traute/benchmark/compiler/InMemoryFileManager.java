@@ -0,0 +1,39 @@
+package tech.harmonysoft.oss.traute.benchmark.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.tools.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plugs into the {@link JavaCompiler} infrastructure to be able to capture compiled binaries
+ * and {@link #getCompiled() expose them}.
+ */
+public class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    private final List<InMemoryClassFile> compiled = new ArrayList<>();
+
+    public InMemoryFileManager(@NotNull StandardJavaFileManager delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location,
+                                               String className,
+                                               JavaFileObject.Kind kind,
+                                               FileObject sibling)
+    {
+        InMemoryClassFile result = new InMemoryClassFile(className);
+        compiled.add(result);
+        return result;
+    }
+
+    /**
+     * @return  compiled binaries processed by the current class
+     */
+    @NotNull
+    public List<InMemoryClassFile> getCompiled() {
+        return compiled;
+    }
+}
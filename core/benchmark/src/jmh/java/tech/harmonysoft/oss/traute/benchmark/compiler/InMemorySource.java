@@ -0,0 +1,41 @@
+package tech.harmonysoft.oss.traute.benchmark.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.tools.JavaCompiler;
+import javax.tools.SimpleJavaFileObject;
+import java.net.URI;
+
+/**
+ * <p>Stands for a source file with the predefined content.</p>
+ * <p>Taken from {@link JavaCompiler} javadoc.</p>
+ */
+public class InMemorySource extends SimpleJavaFileObject {
+
+    @NotNull private final String qualifiedClassName;
+    @NotNull private final String content;
+
+    public InMemorySource(@NotNull String qualifiedClassName, @NotNull String content) {
+        super(URI.create(String.format("file://%s%s",
+                                       qualifiedClassName.replaceAll("\\.", "/"),
+                                       Kind.SOURCE.extension)),
+              Kind.SOURCE);
+        this.qualifiedClassName = qualifiedClassName;
+        this.content = content;
+    }
+
+    @NotNull
+    public String getQualifiedClassName() {
+        return qualifiedClassName;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return content;
+    }
+
+    @Override
+    public boolean isNameCompatible(String simpleName, Kind kind) {
+        return toUri().toString().endsWith(simpleName + kind.extension);
+    }
+}
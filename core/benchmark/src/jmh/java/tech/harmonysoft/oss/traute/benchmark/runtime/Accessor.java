@@ -0,0 +1,12 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+/**
+ * <p>A contract for the {@link AccessorFixture accessor fixture}.</p>
+ * <p>The fixture is compiled in runtime, that's why it's invoked through this interface.</p>
+ */
+public interface Accessor {
+
+    void setName(String first, String last);
+
+    String getFirst();
+}
@@ -0,0 +1,62 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+import org.openjdk.jmh.annotations.*;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Measures how {@link CheckStyle check style} affects inlining of typical getters and setters
+ *     (see {@link AccessorFixture}).
+ * </p>
+ * <p>
+ *     {@code checkStyle=none} stands for the fixture compiled without the plugin. The {@code *_c1} benchmarks
+ *     run with {@code -XX:TieredStopAtLevel=1} - {@code C1} inlines only methods which bytecode is not longer than
+ *     {@code -XX:MaxInlineSize}. {@code C2} uses the same limit for call sites which are not hot and a larger
+ *     {@code -XX:FreqInlineSize} limit for hot call sites.
+ * </p>
+ * <p>
+ *     Inlining decisions (e.g. {@code 'callee is too large'}) might be checked by running the benchmarks with
+ *     the {@code -PprintInlining} project property.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class AccessorBenchmark {
+
+    @Param({"none", "inline", "helper", "requireNonNull"})
+    private String checkStyle;
+
+    private Accessor accessor;
+    private String   first;
+    private String   last;
+
+    @Setup
+    public void setUp() {
+        boolean instrument = !"none".equals(checkStyle);
+        accessor = new AccessorFixture(instrument, String.format("-A%s=%s",
+                                                                 TrauteConstants.OPTION_CHECK_STYLE,
+                                                                 checkStyle)).getAccessor();
+        first = "John";
+        last = "Doe";
+    }
+
+    @Benchmark
+    public String setAndGet() {
+        accessor.setName(first, last);
+        return accessor.getFirst();
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-XX:TieredStopAtLevel=1")
+    public String setAndGet_c1() {
+        accessor.setName(first, last);
+        return accessor.getFirst();
+    }
+}
@@ -0,0 +1,62 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemoryClassLoader;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemoryCompiler;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemorySource;
+
+import static java.util.Collections.singleton;
+
+/**
+ * <p>Generates, compiles and instantiates a typical {@link Accessor} implementation - a two-fields setter
+ * and a getter.</p>
+ * <p>The setter's bytecode is 11 bytes long without null-checks. Two inline null-checks make it 39 bytes long,
+ * i.e. it exceeds default {@code -XX:MaxInlineSize=35}. The same checks in the {@code 'helper'} style make it
+ * 29 bytes long and in the {@code 'requireNonNull'} style - 25 bytes long.</p>
+ */
+public class AccessorFixture {
+
+    private static final String CLASS_NAME = "tech.harmonysoft.oss.traute.benchmark.generated.accessor.Person";
+
+    @NotNull private final InMemoryClassLoader classLoader;
+
+    /**
+     * Compiles the fixture.
+     *
+     * @param instrument    a flag which identifies if the {@code Traute} plugin should be enabled
+     * @param pluginOptions {@code Traute} options to use, e.g. {@code -Atraute.check.style=helper}
+     */
+    public AccessorFixture(boolean instrument, @NotNull String... pluginOptions) {
+        int i = CLASS_NAME.lastIndexOf('.');
+        InMemorySource source = new InMemorySource(CLASS_NAME, String.format(
+                "package %s;%n" +
+                "%n" +
+                "import org.jetbrains.annotations.NotNull;%n" +
+                "import %s;%n" +
+                "%n" +
+                "public class %s implements Accessor {%n" +
+                "%n" +
+                "    private String first = \"first\";%n" +
+                "    private String last = \"last\";%n" +
+                "%n" +
+                "    @Override%n" +
+                "    public void setName(@NotNull String first, @NotNull String last) {%n" +
+                "        this.first = first;%n" +
+                "        this.last = last;%n" +
+                "    }%n" +
+                "%n" +
+                "    @NotNull%n" +
+                "    @Override%n" +
+                "    public String getFirst() {%n" +
+                "        return first;%n" +
+                "    }%n" +
+                "}", CLASS_NAME.substring(0, i), Accessor.class.getName(), CLASS_NAME.substring(i + 1)));
+        InMemoryCompiler compiler = new InMemoryCompiler();
+        classLoader = new InMemoryClassLoader(compiler.compile(singleton(source), instrument, pluginOptions));
+    }
+
+    @NotNull
+    public Accessor getAccessor() {
+        return classLoader.newInstance(CLASS_NAME, Accessor.class);
+    }
+}
@@ -0,0 +1,83 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+import org.openjdk.jmh.annotations.*;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+import tech.harmonysoft.oss.traute.runtime.CheckSwitches;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Measures steady-state cost of {@link CheckGuard#ASSERTIONS assertion-guarded} and
+ *     {@link CheckGuard#RUNTIME runtime-guarded} checks for the {@link AccessorFixture typical getter and setter}.
+ *     Runtime-guarded checks are switched off via the {@code traute.enabled} system property,
+ *     {@link CheckGuard#SWITCHABLE switchable} checks are switched off via {@link CheckSwitches}.
+ * </p>
+ * <p>
+ *     {@code checkGuard=none} stands for the fixture compiled without the plugin, {@code checkGuard=unguarded}
+ *     stands for the fixture compiled with default plugin settings. {@code setAndGet} runs with assertions
+ *     disabled ({@code -da}) - the {@code JIT} is expected to fold the guard there, i.e. {@code assertions}
+ *     and {@code none} results are expected to be the same. The same is expected for {@code runtime}
+ *     and {@code switchable} in all benchmarks. {@code setAndGet_ea} runs with assertions
+ *     enabled ({@code -ea}), i.e. guarded checks are executed.
+ * </p>
+ * <p>
+ *     Note that the guard still adds to the setter's bytecode size, which is what {@code C1} and
+ *     {@code C2} inlining heuristics use for cold call sites.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class CheckGuardBenchmark {
+
+    @Param({"none", "unguarded", "assertions", "runtime", "switchable"})
+    private String checkGuard;
+
+    private Accessor accessor;
+    private String   first;
+    private String   last;
+
+    @Setup
+    public void setUp() {
+        AccessorFixture fixture;
+        if ("none".equals(checkGuard)) {
+            fixture = new AccessorFixture(false);
+        } else if ("unguarded".equals(checkGuard)) {
+            fixture = new AccessorFixture(true);
+        } else {
+            fixture = new AccessorFixture(true, String.format("-A%s=%s",
+                                                              TrauteConstants.OPTION_CHECK_GUARD,
+                                                              checkGuard));
+        }
+        if (CheckGuard.RUNTIME.getShortName().equals(checkGuard)) {
+            // The setting is resolved during generated class initialization
+            System.setProperty("traute.enabled", "false");
+        } else if (CheckGuard.SWITCHABLE.getShortName().equals(checkGuard)) {
+            for (InstrumentationType type : InstrumentationType.values()) {
+                CheckSwitches.setEnabled(type.getShortName(), "", false);
+            }
+        }
+        accessor = fixture.getAccessor();
+        first = "John";
+        last = "Doe";
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-da")
+    public String setAndGet() {
+        accessor.setName(first, last);
+        return accessor.getFirst();
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-ea")
+    public String setAndGet_ea() {
+        accessor.setName(first, last);
+        return accessor.getFirst();
+    }
+}
@@ -0,0 +1,76 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+import org.openjdk.jmh.annotations.*;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Measures throughput of failed parameter checks, i.e. {@code null} passed to the
+ *     {@link AccessorFixture typical setter}, when the exception is thrown and caught by the caller.
+ * </p>
+ * <p>
+ *     {@code exception=regular} stands for the default {@link NullPointerException},
+ *     {@code exception=stackless} stands for the fixture compiled with
+ *     {@link TrauteConstants#OPTION_PREFIX_STACKLESS_EXCEPTION stackless exceptions}. The setter is called from
+ *     {@code depth} nested frames, the cost of a regular exception grows with the stack depth as the whole
+ *     stack is captured on its construction.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class FailedCheckBenchmark {
+
+    @Param({"regular", "stackless"})
+    private String exception;
+
+    @Param({"0", "64"})
+    private int depth;
+
+    @Param({"inline", "helper"})
+    private String checkStyle;
+
+    private Accessor accessor;
+    private String   last;
+
+    @Setup
+    public void setUp() {
+        String checkStyleOption = String.format("-A%s=%s", TrauteConstants.OPTION_CHECK_STYLE, checkStyle);
+        AccessorFixture fixture;
+        if ("stackless".equals(exception)) {
+            fixture = new AccessorFixture(true, checkStyleOption, String.format(
+                    "-A%s%s=true",
+                    TrauteConstants.OPTION_PREFIX_STACKLESS_EXCEPTION,
+                    InstrumentationType.METHOD_PARAMETER.getShortName()
+            ));
+        } else {
+            fixture = new AccessorFixture(true, checkStyleOption);
+        }
+        accessor = fixture.getAccessor();
+        last = "Doe";
+    }
+
+    @Benchmark
+    public Object failedCheck() {
+        return call(depth);
+    }
+
+    private Object call(int depth) {
+        if (depth > 0) {
+            return call(depth - 1);
+        }
+        try {
+            accessor.setName(null, last);
+            return null;
+        } catch (NullPointerException e) {
+            // Returned to the blackhole, so, the exception's allocation is not eliminated
+            return e;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures steady state cost of the null-checks inserted by the {@code Traute} plugin.</p>
+ * <p>The same {@link RuntimeFixtures fixtures} are compiled with ({@code instrumented=true}) and without
+ * ({@code instrumented=false}) the plugin, so the difference between the results is the checks' overhead.</p>
+ * <p>Inlining decisions might be checked by running the benchmarks with the {@code -PprintInlining} project property.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class InstrumentedCallBenchmark {
+
+    private static final int LOOP_SIZE = 1024;
+    private static final int MEGAMORPHIC_IMPLEMENTATIONS = 4;
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    @Param({"10"})
+    private int chainDepth;
+
+    private final String[] inputs = new String[LOOP_SIZE];
+
+    private Operation   monomorphic;
+    private Operation[] megamorphic;
+    private Operation   chain;
+    private String      input;
+    private int         counter;
+
+    @Setup
+    public void setUp() {
+        RuntimeFixtures fixtures = new RuntimeFixtures(instrumented, MEGAMORPHIC_IMPLEMENTATIONS, chainDepth);
+        monomorphic = fixtures.getSimple(0);
+        megamorphic = new Operation[MEGAMORPHIC_IMPLEMENTATIONS];
+        for (int i = 0; i < megamorphic.length; i++) {
+            megamorphic[i] = fixtures.getSimple(i);
+        }
+        chain = fixtures.getChain();
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = String.valueOf(i);
+        }
+        input = "input";
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOP_SIZE)
+    public int tightLoop() {
+        Operation operation = monomorphic;
+        int result = 0;
+        for (String s : inputs) {
+            result += operation.apply(s).length();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String megamorphic() {
+        return megamorphic[counter++ & (MEGAMORPHIC_IMPLEMENTATIONS - 1)].apply(input);
+    }
+
+    @Benchmark
+    public String deepChain() {
+        return chain.apply(input);
+    }
+}
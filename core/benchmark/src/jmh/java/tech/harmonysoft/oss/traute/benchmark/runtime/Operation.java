@@ -0,0 +1,10 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+/**
+ * <p>A contract for the {@link RuntimeFixtures runtime fixtures}.</p>
+ * <p>The fixtures are compiled in runtime, that's why they are invoked through this interface.</p>
+ */
+public interface Operation {
+
+    String apply(String input);
+}
@@ -0,0 +1,96 @@
+package tech.harmonysoft.oss.traute.benchmark.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemoryCompiler;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemoryClassLoader;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemorySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Generates, compiles and instantiates {@link Operation} implementations used by the runtime benchmarks.</p>
+ * <p>All fixtures have {@code @NotNull} parameters and return values, i.e. when they are compiled with
+ * the {@code Traute} plugin, parameter and return null-checks are added to every method.</p>
+ */
+public class RuntimeFixtures {
+
+    private static final String PACKAGE = "tech.harmonysoft.oss.traute.benchmark.generated.runtime";
+
+    @NotNull private final InMemoryClassLoader classLoader;
+    private final int implementationsNumber;
+
+    /**
+     * Compiles the fixtures.
+     *
+     * @param instrument            a flag which identifies if the {@code Traute} plugin should be enabled
+     * @param implementationsNumber number of distinct {@link #getSimple(int) simple operations} to generate
+     * @param chainDepth            number of nested calls in the {@link #getChain() chain operation}
+     */
+    public RuntimeFixtures(boolean instrument, int implementationsNumber, int chainDepth) {
+        this.implementationsNumber = implementationsNumber;
+        List<InMemorySource> sources = new ArrayList<>();
+        for (int i = 0; i < implementationsNumber; i++) {
+            sources.add(new InMemorySource(PACKAGE + ".Simple" + i, String.format(
+                    "package %s;%n" +
+                    "%n" +
+                    "import org.jetbrains.annotations.NotNull;%n" +
+                    "import %s;%n" +
+                    "%n" +
+                    "public class Simple%d implements Operation {%n" +
+                    "%n" +
+                    "    @NotNull%n" +
+                    "    @Override%n" +
+                    "    public String apply(@NotNull String input) {%n" +
+                    "        return input.length() > %d ? input : \"%d\";%n" +
+                    "    }%n" +
+                    "}", PACKAGE, Operation.class.getName(), i, i, i)));
+        }
+        sources.add(new InMemorySource(PACKAGE + ".Chain", generateChain(chainDepth)));
+        classLoader = new InMemoryClassLoader(new InMemoryCompiler().compile(sources, instrument));
+    }
+
+    @NotNull
+    private static String generateChain(int depth) {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("package ").append(PACKAGE).append(";\n\n")
+              .append("import org.jetbrains.annotations.NotNull;\n")
+              .append("import ").append(Operation.class.getName()).append(";\n\n")
+              .append("public class Chain implements Operation {\n\n")
+              .append("    @NotNull\n")
+              .append("    @Override\n")
+              .append("    public String apply(@NotNull String input) {\n")
+              .append("        return level0(input);\n")
+              .append("    }\n");
+        for (int i = 0; i < depth; i++) {
+            String next = i == depth - 1 ? "input" : String.format("level%d(input)", i + 1);
+            buffer.append("\n    @NotNull\n")
+                  .append("    private String level").append(i).append("(@NotNull String input) {\n")
+                  .append("        return ").append(next).append(";\n")
+                  .append("    }\n");
+        }
+        return buffer.append("}\n").toString();
+    }
+
+    /**
+     * @param index     zero-based index of the target operation
+     * @return          a single method operation
+     */
+    @NotNull
+    public Operation getSimple(int index) {
+        if (index < 0 || index >= implementationsNumber) {
+            throw new IllegalArgumentException(String.format(
+                    "Can't get a simple operation #%d - only %d operations are compiled", index, implementationsNumber
+            ));
+        }
+        return classLoader.newInstance(PACKAGE + ".Simple" + index, Operation.class);
+    }
+
+    /**
+     * @return  an operation which delegates its processing through a chain of nested calls
+     */
+    @NotNull
+    public Operation getChain() {
+        return classLoader.newInstance(PACKAGE + ".Chain", Operation.class);
+    }
+}
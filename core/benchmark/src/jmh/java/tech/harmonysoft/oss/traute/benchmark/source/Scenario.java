@@ -0,0 +1,30 @@
+package tech.harmonysoft.oss.traute.benchmark.source;
+
+/**
+ * Enumerates shapes of synthetic source code used by the benchmarks.
+ */
+public enum Scenario {
+
+    /**
+     * Classes with a lot of methods which have many {@code @NotNull} parameters.
+     */
+    PARAMETERS,
+
+    /**
+     * Classes with a lot of {@code @NotNull} methods which have multiple {@code return} statements.
+     */
+    RETURNS,
+
+    /**
+     * Classes without explicit {@code @NotNull} annotations in a package marked by
+     * {@code @ParametersAreNonnullByDefault} in its {@code package-info.java}.
+     */
+    PACKAGE_DEFAULTS,
+
+    /**
+     * Classes and interfaces with methods which have primitive and {@code void} types, several annotations
+     * per declaration (not only nullability ones) and constructors which delegate to {@code this()}/{@code super()}.
+     * Targets processing of the {@code AST} elements which are not instrumented.
+     */
+    MIXED_DECLARATIONS
+}
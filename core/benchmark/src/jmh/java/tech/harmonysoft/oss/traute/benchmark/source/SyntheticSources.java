@@ -0,0 +1,179 @@
+package tech.harmonysoft.oss.traute.benchmark.source;
+
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.benchmark.compiler.InMemorySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Generates source code for the {@link Scenario benchmark scenarios}.</p>
+ * <p>Every generated compilation unit contains a noticeable number of imports in order to mimic
+ * real-world code, where the plugin has to resolve annotations against them.</p>
+ */
+public class SyntheticSources {
+
+    private static final String PACKAGE = "tech.harmonysoft.oss.traute.benchmark.generated";
+
+    private static final String[] IMPORTS = {
+            "java.io.*",
+            "java.math.BigDecimal",
+            "java.math.BigInteger",
+            "java.nio.charset.StandardCharsets",
+            "java.time.*",
+            "java.util.*",
+            "java.util.concurrent.*",
+            "java.util.concurrent.atomic.AtomicInteger",
+            "java.util.concurrent.atomic.AtomicLong",
+            "java.util.function.*",
+            "java.util.regex.Pattern",
+            "java.util.stream.Collectors",
+            "java.util.stream.Stream",
+            "org.jetbrains.annotations.NotNull",
+            "org.jetbrains.annotations.Nullable"
+    };
+
+    private static final String[] PARAMETER_TYPES = { "String", "Object", "List<String>", "Integer", "Map<String, Long>" };
+
+    private SyntheticSources() {
+    }
+
+    /**
+     * Generates sources for the given scenario.
+     *
+     * @param scenario          target scenario
+     * @param classesNumber     number of classes to generate
+     * @param methodsPerClass   number of methods to generate per class
+     * @return                  generated sources
+     */
+    @NotNull
+    public static List<InMemorySource> generate(@NotNull Scenario scenario, int classesNumber, int methodsPerClass) {
+        List<InMemorySource> result = new ArrayList<>();
+        String packageName = PACKAGE + "." + scenario.name().toLowerCase();
+        if (scenario == Scenario.PACKAGE_DEFAULTS) {
+            result.add(new InMemorySource(packageName + ".package-info", String.format(
+                    "@javax.annotation.ParametersAreNonnullByDefault%npackage %s;", packageName
+            )));
+        }
+        for (int i = 0; i < classesNumber; i++) {
+            String className = "Generated" + i;
+            StringBuilder buffer = new StringBuilder();
+            buffer.append("package ").append(packageName).append(";\n\n");
+            for (String anImport : IMPORTS) {
+                buffer.append("import ").append(anImport).append(";\n");
+            }
+            buffer.append("\npublic class ").append(className).append(" {\n\n");
+            if (scenario == Scenario.MIXED_DECLARATIONS) {
+                appendConstructors(buffer, className);
+            }
+            for (int j = 0; j < methodsPerClass; j++) {
+                switch (scenario) {
+                    case PARAMETERS: appendParametersMethod(buffer, j, "@NotNull "); break;
+                    case RETURNS: appendReturnsMethod(buffer, j); break;
+                    case PACKAGE_DEFAULTS: appendParametersMethod(buffer, j, ""); break;
+                    case MIXED_DECLARATIONS: appendMixedDeclarations(buffer, j); break;
+                    default: throw new IllegalArgumentException(String.format(
+                            "Unsupported benchmark scenario %s. Supported: %s",
+                            scenario, Arrays.toString(Scenario.values())
+                    ));
+                }
+            }
+            buffer.append("}\n");
+            result.add(new InMemorySource(packageName + "." + className, buffer.toString()));
+        }
+        return result;
+    }
+
+    /**
+     * Generates a class with a single {@code @NotNull} method which has a lot of statements in its body
+     * and a {@code switch} with the given number of {@code 'case ...: return'} branches.
+     *
+     * @param branches  number of {@code 'case'} branches to generate, also used as a number
+     *                  of statements in the method body
+     * @return          generated source
+     */
+    @NotNull
+    public static InMemorySource generateLargeSwitch(int branches) {
+        String packageName = PACKAGE + ".largeswitch";
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("package ").append(packageName).append(";\n\n")
+              .append("import org.jetbrains.annotations.NotNull;\n\n")
+              .append("public class Dispatcher {\n\n")
+              .append("    @NotNull\n")
+              .append("    public String dispatch(int i) {\n")
+              .append("        int counter = i;\n");
+        for (int j = 0; j < branches; j++) {
+            buffer.append("        counter += ").append(j).append(";\n");
+        }
+        buffer.append("        switch (counter) {\n");
+        for (int j = 0; j < branches; j++) {
+            buffer.append("            case ").append(j).append(": return \"").append(j).append("\";\n");
+        }
+        buffer.append("        }\n")
+              .append("        return \"default\";\n")
+              .append("    }\n")
+              .append("}\n");
+        return new InMemorySource(packageName + ".Dispatcher", buffer.toString());
+    }
+
+    private static void appendParametersMethod(@NotNull StringBuilder buffer, int index, @NotNull String annotation) {
+        buffer.append("    public int method").append(index).append("(");
+        for (int i = 0; i < PARAMETER_TYPES.length; i++) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            buffer.append(annotation).append(PARAMETER_TYPES[i]).append(" arg").append(i);
+            buffer.append(", int primitive").append(i);
+        }
+        buffer.append(") {\n")
+              .append("        return arg0.length() + primitive0 + primitive").append(PARAMETER_TYPES.length - 1)
+              .append(";\n    }\n\n");
+    }
+
+    private static void appendReturnsMethod(@NotNull StringBuilder buffer, int index) {
+        buffer.append("    @NotNull\n")
+              .append("    public String method").append(index).append("(int i) {\n")
+              .append("        if (i < 0) {\n")
+              .append("            return \"negative\";\n")
+              .append("        }\n")
+              .append("        switch (i) {\n")
+              .append("            case 0: return \"zero\";\n")
+              .append("            case 1: return \"one\";\n")
+              .append("            case 2: return String.valueOf(i);\n")
+              .append("        }\n")
+              .append("        for (int j = 0; j < i; j++) {\n")
+              .append("            if (j * j > i) {\n")
+              .append("                return Integer.toString(j);\n")
+              .append("            }\n")
+              .append("        }\n")
+              .append("        return \"").append(index).append("\";\n")
+              .append("    }\n\n");
+    }
+
+    private static void appendConstructors(@NotNull StringBuilder buffer, @NotNull String className) {
+        buffer.append("    public ").append(className).append("() {\n")
+              .append("        this(\"\");\n")
+              .append("    }\n\n")
+              .append("    public ").append(className).append("(@NotNull String s) {\n")
+              .append("        super();\n")
+              .append("    }\n\n");
+    }
+
+    private static void appendMixedDeclarations(@NotNull StringBuilder buffer, int index) {
+        buffer.append("    @Deprecated\n")
+              .append("    @SuppressWarnings(\"unused\")\n")
+              .append("    public void method").append(index)
+              .append("(int a, long b, @Nullable String c, @Deprecated double d, boolean[] e) {\n")
+              .append("    }\n\n")
+              .append("    @SuppressWarnings(\"unchecked\")\n")
+              .append("    @Nullable\n")
+              .append("    public Void voidMethod").append(index).append("(boolean flag, char c) {\n")
+              .append("        return null;\n")
+              .append("    }\n\n")
+              .append("    @FunctionalInterface\n")
+              .append("    public interface Callback").append(index).append(" {\n")
+              .append("        @NotNull String call(@NotNull String s, int i);\n")
+              .append("    }\n\n");
+    }
+}
@@ -0,0 +1,152 @@
+package tech.harmonysoft.oss.traute.common.instrumentation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines a condition which enables generated {@code null}-checks in runtime.
+ */
+public enum CheckGuard {
+
+    /**
+     * Generated checks are always active.
+     */
+    NONE("none"),
+
+    /**
+     * <p>
+     *     Generated checks are active only when assertions are enabled for the class ({@code -ea}), the same way
+     *     as for the {@code assert} statement:
+     * </p>
+     * <pre>
+     *     public class MyClass {
+     *
+     *         static final boolean traute$assertionsDisabled = !MyClass.class.desiredAssertionStatus();
+     *
+     *         public void service(&#064;NotNull String arg) {
+     *             if (!traute$assertionsDisabled &amp;&amp; arg == null) {
+     *                 throw new NullPointerException("[problem details]");
+     *             }
+     *             // Method body
+     *         }
+     *     }
+     * </pre>
+     * <p>
+     *     The flag is {@code static final}, so, the {@code JIT} removes the checks completely when assertions
+     *     are disabled ({@code -da}).
+     * </p>
+     * <p>
+     *     Top-level interfaces and annotations can't have package-private fields, checks inside them are guarded
+     *     by an {@code assert} statement then.
+     * </p>
+     */
+    ASSERTIONS("assertions"),
+
+    /**
+     * <p>
+     *     Generated checks are active unless they are switched off for the class' package in runtime. The setting
+     *     is resolved once per top-level class during its initialization from {@code traute.enabled.[prefix]}
+     *     system properties and {@code /traute.properties} classpath resource (system properties win), where
+     *     the most specific class name or package prefix match is used:
+     * </p>
+     * <pre>
+     *     -Dtraute.enabled.com.acme.hot=false      # switch off checks in 'com.acme.hot' and its sub-packages
+     *     -Dtraute.enabled.com.acme.hot.Api=true   # but keep them in the 'com.acme.hot.Api' class
+     *     -Dtraute.enabled=false                   # switch off all checks
+     * </pre>
+     * <p>
+     *     The resolved value is stored in a {@code static final} flag of the top-level class:
+     * </p>
+     * <pre>
+     *     public class MyClass {
+     *
+     *         static final boolean traute$enabled = traute$resolveEnabled();
+     *
+     *         public void service(&#064;NotNull String arg) {
+     *             if (traute$enabled &amp;&amp; arg == null) {
+     *                 throw new NullPointerException("[problem details]");
+     *             }
+     *             // Method body
+     *         }
+     *
+     *         static boolean traute$resolveEnabled() {
+     *             // Resolve the setting
+     *         }
+     *     }
+     * </pre>
+     * <p>
+     *     So, the {@code JIT} removes switched off checks completely.
+     * </p>
+     * <p>
+     *     Top-level interfaces and annotations can't have package-private members, checks inside them are
+     *     always active.
+     * </p>
+     */
+    RUNTIME("runtime"),
+
+    /**
+     * <p>
+     *     Generated checks can be switched on and off per {@link InstrumentationType instrumentation type} and
+     *     package in a running JVM through the {@code tech.harmonysoft.oss.traute.runtime.CheckSwitches} API or
+     *     {@code JMX}. Every top-level class holds a switch per instrumentation type - an invoker of a
+     *     {@code java.lang.invoke.MutableCallSite} shared by all classes of the same package:
+     * </p>
+     * <pre>
+     *     public class MyClass {
+     *
+     *         static final java.lang.invoke.MethodHandle traute$parameterSwitch
+     *             = tech.harmonysoft.oss.traute.runtime.CheckSwitches.get("parameter", MyClass.class);
+     *
+     *         public void service(&#064;NotNull String arg) {
+     *             if (traute$parameterEnabled() &amp;&amp; arg == null) {
+     *                 throw new NullPointerException("[problem details]");
+     *             }
+     *             // Method body
+     *         }
+     *
+     *         static boolean traute$parameterEnabled() {
+     *             try {
+     *                 return (boolean) traute$parameterSwitch.invokeExact();
+     *             } catch (Throwable e) {
+     *                 throw new AssertionError(e);
+     *             }
+     *         }
+     *     }
+     * </pre>
+     * <p>
+     *     The {@code JIT} treats call site's target as a constant, i.e. switched off checks are removed from
+     *     the compiled code and dependent methods are recompiled when the switch is changed.
+     * </p>
+     * <p>
+     *     Top-level interfaces and annotations can't have package-private members, checks inside them are
+     *     always active.
+     * </p>
+     */
+    SWITCHABLE("switchable");
+
+    private static final Map<String, CheckGuard> BY_SHORT_NAME = new HashMap<>();
+    static {
+        for (CheckGuard guard : values()) {
+            BY_SHORT_NAME.put(guard.getShortName(), guard);
+        }
+    }
+
+    @NotNull private final String shortName;
+
+    CheckGuard(@NotNull String shortName) {
+        this.shortName = shortName;
+    }
+
+    @Nullable
+    public static CheckGuard byShortName(@NotNull String shortName) {
+        return BY_SHORT_NAME.get(shortName);
+    }
+
+    @NotNull
+    public String getShortName() {
+        return shortName;
+    }
+}
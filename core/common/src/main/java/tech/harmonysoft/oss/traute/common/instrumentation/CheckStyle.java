@@ -0,0 +1,134 @@
+package tech.harmonysoft.oss.traute.common.instrumentation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines how a failure branch of a generated {@code null}-check looks like.
+ */
+public enum CheckStyle {
+
+    /**
+     * An exception is created and thrown right at the check site:
+     * <pre>
+     *     public void service(&#064;NotNull String arg) {
+     *         if (arg == null) {
+     *             throw new NullPointerException("[problem details]");
+     *         }
+     *         // Method body
+     *     }
+     * </pre>
+     */
+    INLINE("inline"),
+
+    /**
+     * <p>
+     *     The check site calls a static helper method which is generated once per top-level class
+     *     and which creates and throws an exception:
+     * </p>
+     * <pre>
+     *     public void service(&#064;NotNull String arg) {
+     *         if (arg == null) {
+     *             traute$failParameter("[problem details]");
+     *         }
+     *         // Method body
+     *     }
+     * </pre>
+     * <p>
+     *     That keeps instrumented methods' bytecode small, so, the {@code JIT} is still able to inline
+     *     short methods like getters and setters. The helper's stack frame is removed from the exception's
+     *     stack trace, i.e. it looks the same as for the {@link #INLINE} style.
+     * </p>
+     * <p>
+     *     Top-level interfaces and annotations can't have package-private static methods, so, checks
+     *     inside them are always generated in the {@link #INLINE} style.
+     * </p>
+     */
+    HELPER("helper"),
+
+    /**
+     * <p>
+     *     {@link java.util.Objects#requireNonNull(Object, String)} is used for the checks:
+     * </p>
+     * <pre>
+     *     public void service(&#064;NotNull String arg) {
+     *         java.util.Objects.requireNonNull(arg, "[problem details]");
+     *         // Method body
+     *     }
+     *
+     *     &#064;NotNull
+     *     public String compute() {
+     *         return java.util.Objects.requireNonNull(doCompute(), "[problem details]");
+     *     }
+     * </pre>
+     * <p>
+     *     This gives the smallest bytecode and {@code 'return'} expressions are checked in place, i.e. no
+     *     temporary variables are introduced. However, top stack trace element of the exception points
+     *     to the {@code requireNonNull()} method, the check site is the second element.
+     * </p>
+     * <p>
+     *     The style is applicable only when {@link NullPointerException} is configured to be thrown
+     *     for the target instrumentation type. {@link #INLINE} checks are generated otherwise.
+     * </p>
+     */
+    REQUIRE_NON_NULL("requireNonNull"),
+
+    /**
+     * <p>
+     *     The same as {@link #HELPER} but the check site passes an {@code int} id of the check to the helper
+     *     instead of the exception text:
+     * </p>
+     * <pre>
+     *     public void service(&#064;NotNull String arg) {
+     *         if (arg == null) {
+     *             traute$failParameter(0);
+     *         }
+     *         // Method body
+     *     }
+     *
+     *     static void traute$failParameter(int siteId) {
+     *         NullPointerException exception = new NullPointerException(
+     *                 tech.harmonysoft.oss.traute.runtime.CheckMessages.get(MyClass.class, siteId)
+     *         );
+     *         // Remove the helper frame from the stack trace
+     *         throw exception;
+     *     }
+     * </pre>
+     * <p>
+     *     Exception texts are not put into the class' constant pool, they are stored in a classpath resource
+     *     generated for every top-level class - {@code META-INF/traute/messages/[class-name].bin}. The resource
+     *     is read by the {@code traute-runtime} library only when a check fails for the first time.
+     * </p>
+     * <p>
+     *     Top-level interfaces and annotations can't have package-private static methods, so, checks
+     *     inside them are always generated in the {@link #INLINE} style.
+     * </p>
+     */
+    SITE_ID("siteId");
+
+    private static final Map<String, CheckStyle> BY_SHORT_NAME = new HashMap<>();
+    static {
+        for (CheckStyle style : values()) {
+            BY_SHORT_NAME.put(style.getShortName(), style);
+        }
+    }
+
+    @NotNull private final String shortName;
+
+    CheckStyle(@NotNull String shortName) {
+        this.shortName = shortName;
+    }
+
+    @Nullable
+    public static CheckStyle byShortName(@NotNull String shortName) {
+        return BY_SHORT_NAME.get(shortName);
+    }
+
+    @NotNull
+    public String getShortName() {
+        return shortName;
+    }
+}
@@ -0,0 +1,71 @@
+package tech.harmonysoft.oss.traute.common.instrumentation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines what happens when a generated {@code null}-check fails.
+ */
+public enum FailureAction {
+
+    /**
+     * An exception is thrown, see {@link CheckStyle}.
+     */
+    THROW("throw"),
+
+    /**
+     * <p>
+     *     The violation is recorded and the execution continues (<i>count-and-continue</i> mode):
+     * </p>
+     * <pre>
+     *     public class MyClass {
+     *
+     *         static final ViolationSites traute$violations = ViolationRegistry.register(
+     *                 MyClass.class, new String[] { "[problem details]" }, new String[] { "parameter" }
+     *         );
+     *
+     *         public void service(&#064;NotNull String arg) {
+     *             if (arg == null) {
+     *                 traute$violations.record(0);
+     *             }
+     *             // Method body
+     *         }
+     *     }
+     * </pre>
+     * <p>
+     *     Every check gets an id during compilation, it's an index in the lock-free counters array held
+     *     by the top-level class. Recorded violations are available through the {@code ViolationRegistry} class
+     *     from the {@code traute-runtime} library, so, it should be on the classpath.
+     * </p>
+     * <p>
+     *     {@link CheckStyle} is not applied in this mode.
+     * </p>
+     */
+    COUNT("count");
+
+    private static final Map<String, FailureAction> BY_SHORT_NAME = new HashMap<>();
+    static {
+        for (FailureAction action : values()) {
+            BY_SHORT_NAME.put(action.getShortName(), action);
+        }
+    }
+
+    @NotNull private final String shortName;
+
+    FailureAction(@NotNull String shortName) {
+        this.shortName = shortName;
+    }
+
+    @Nullable
+    public static FailureAction byShortName(@NotNull String shortName) {
+        return BY_SHORT_NAME.get(shortName);
+    }
+
+    @NotNull
+    public String getShortName() {
+        return shortName;
+    }
+}
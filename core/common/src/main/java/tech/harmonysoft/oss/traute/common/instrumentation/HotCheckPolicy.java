@@ -0,0 +1,54 @@
+package tech.harmonysoft.oss.traute.common.instrumentation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines how {@code null}-checks which are executed often according to a recorded execution profile
+ * (see {@code traute.hot.profile} option) are generated.
+ */
+public enum HotCheckPolicy {
+
+    /**
+     * No check is generated.
+     */
+    ELIDE("elide"),
+
+    /**
+     * The check's failure path is moved to a static helper method, the same way as for {@link CheckStyle#HELPER},
+     * so that the hot method's bytecode is as small as possible and stays within the {@code JIT} inlining limits.
+     */
+    HELPER("helper"),
+
+    /**
+     * The check is active only when assertions are enabled for the class, the same way as for
+     * {@link CheckGuard#ASSERTIONS}.
+     */
+    ASSERTIONS("assertions");
+
+    private static final Map<String, HotCheckPolicy> BY_SHORT_NAME = new HashMap<>();
+    static {
+        for (HotCheckPolicy policy : values()) {
+            BY_SHORT_NAME.put(policy.getShortName(), policy);
+        }
+    }
+
+    @NotNull private final String shortName;
+
+    HotCheckPolicy(@NotNull String shortName) {
+        this.shortName = shortName;
+    }
+
+    @Nullable
+    public static HotCheckPolicy byShortName(@NotNull String shortName) {
+        return BY_SHORT_NAME.get(shortName);
+    }
+
+    @NotNull
+    public String getShortName() {
+        return shortName;
+    }
+}
@@ -50,7 +50,34 @@ public enum InstrumentationType {
      *     }
      * </pre>
      */
-    METHOD_RETURN("return");
+    METHOD_RETURN("return"),
+
+    /**
+     * <p>
+     *     Final instance fields marked by a {@code NotNull} annotation are checked once at the end of every
+     *     constructor which doesn't delegate to another constructor of the same class. Not applied by default.
+     * </p>
+     * Before:
+     * <pre>
+     *     &#064;NotNull private final String name;
+     *
+     *     public Person(String name) {
+     *         this.name = name;
+     *     }
+     * </pre>
+     * After:
+     * <pre>
+     *     &#064;NotNull private final String name;
+     *
+     *     public Person(String name) {
+     *         this.name = name;
+     *         if (this.name == null) {
+     *             throw new NullPointerException("[problem details]");
+     *         }
+     *     }
+     * </pre>
+     */
+    FIELD("field");
 
     private static Map<String, InstrumentationType> BY_SHORT_NAME = new HashMap<>();
     static {
@@ -2,6 +2,10 @@ package tech.harmonysoft.oss.traute.common.settings;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 
 import java.io.File;
@@ -14,13 +18,31 @@ public class TrautePluginSettings {
     private final Set<String>                           notNullAnnotations          = new HashSet<>();
     private final Set<String>                           nullableAnnotations         = new HashSet<>();
     private final Set<InstrumentationType>              instrumentationsToApply     = new HashSet<>();
+    private final Set<InstrumentationType>              stacklessExceptions         = new HashSet<>();
     private final Map<InstrumentationType, String>      exceptionsToThrow           = new HashMap<>();
     private final Map<InstrumentationType, String>      exceptionTextPatterns       = new HashMap<>();
     private final Map<InstrumentationType, Set<String>> notNullByDefaultAnnotations = new HashMap<>();
+    private final Set<String>                           nonNullMethods              = new HashSet<>();
 
-    @Nullable private final File logFile;
+    @Nullable private final File       logFile;
+    @NotNull  private final CheckStyle checkStyle;
+    @NotNull  private final CheckGuard checkGuard;
+    @NotNull  private final FailureAction failureAction;
+    @Nullable private final File       hotProfile;
+    @NotNull  private final HotCheckPolicy hotCheckPolicy;
 
     private final boolean verboseMode;
+    private final int     combinedCheckThreshold;
+    private final boolean combinedCheckReportAll;
+    private final boolean wrapReturn;
+    private final boolean jfrEvents;
+    private final boolean jmxCounters;
+    private final boolean profile;
+    private final long    hotThreshold;
+    private final boolean elideDereferenced;
+    private final boolean elideDelegated;
+    private final boolean elidePrivate;
+    private final boolean elideReturn;
 
     public TrautePluginSettings(@NotNull Set<String> notNullAnnotations,
                                 @NotNull Set<String> nullableAnnotations,
@@ -29,7 +51,25 @@ public class TrautePluginSettings {
                                 @NotNull Map<InstrumentationType, String> exceptionTextPatterns,
                                 @NotNull Map<InstrumentationType, Set<String>> notNullByDefaultAnnotations,
                                 @Nullable File logFile,
-                                boolean verboseMode)
+                                boolean verboseMode,
+                                @NotNull CheckStyle checkStyle,
+                                @NotNull CheckGuard checkGuard,
+                                @NotNull FailureAction failureAction,
+                                @NotNull Set<InstrumentationType> stacklessExceptions,
+                                int combinedCheckThreshold,
+                                boolean combinedCheckReportAll,
+                                boolean wrapReturn,
+                                boolean jfrEvents,
+                                boolean jmxCounters,
+                                boolean profile,
+                                @Nullable File hotProfile,
+                                long hotThreshold,
+                                @NotNull HotCheckPolicy hotCheckPolicy,
+                                boolean elideDereferenced,
+                                boolean elideDelegated,
+                                boolean elidePrivate,
+                                boolean elideReturn,
+                                @NotNull Set<String> nonNullMethods)
     {
         this.logFile = logFile;
         this.notNullAnnotations.addAll(notNullAnnotations);
@@ -39,6 +79,24 @@ public class TrautePluginSettings {
         this.exceptionTextPatterns.putAll(exceptionTextPatterns);
         this.notNullByDefaultAnnotations.putAll(notNullByDefaultAnnotations);
         this.verboseMode = verboseMode;
+        this.checkStyle = checkStyle;
+        this.checkGuard = checkGuard;
+        this.failureAction = failureAction;
+        this.stacklessExceptions.addAll(stacklessExceptions);
+        this.combinedCheckThreshold = combinedCheckThreshold;
+        this.combinedCheckReportAll = combinedCheckReportAll;
+        this.wrapReturn = wrapReturn;
+        this.jfrEvents = jfrEvents;
+        this.jmxCounters = jmxCounters;
+        this.profile = profile;
+        this.hotProfile = hotProfile;
+        this.hotThreshold = hotThreshold;
+        this.hotCheckPolicy = hotCheckPolicy;
+        this.elideDereferenced = elideDereferenced;
+        this.elideDelegated = elideDelegated;
+        this.elidePrivate = elidePrivate;
+        this.elideReturn = elideReturn;
+        this.nonNullMethods.addAll(nonNullMethods);
     }
 
     @NotNull
@@ -70,6 +128,20 @@ public class TrautePluginSettings {
         return exceptionsToThrow;
     }
 
+    /**
+     * @param type  target instrumentation type
+     * @return      {@code true} if exceptions thrown from failed checks of the given type shouldn't capture
+     *              a stack trace
+     */
+    public boolean isStacklessException(@NotNull InstrumentationType type) {
+        return stacklessExceptions.contains(type);
+    }
+
+    @NotNull
+    public Set<InstrumentationType> getStacklessExceptions() {
+        return stacklessExceptions;
+    }
+
     @Nullable
     public String getExceptionTextPattern(@NotNull InstrumentationType type) {
         return exceptionTextPatterns.get(type);
@@ -98,4 +170,132 @@ public class TrautePluginSettings {
     public boolean isVerboseMode() {
         return verboseMode;
     }
+
+    @NotNull
+    public CheckStyle getCheckStyle() {
+        return checkStyle;
+    }
+
+    @NotNull
+    public CheckGuard getCheckGuard() {
+        return checkGuard;
+    }
+
+    @NotNull
+    public FailureAction getFailureAction() {
+        return failureAction;
+    }
+
+    /**
+     * @return  minimum number of checked method parameters which are verified by a single combined check;
+     *          non-positive value means that combined checks are not generated
+     */
+    public int getCombinedCheckThreshold() {
+        return combinedCheckThreshold;
+    }
+
+    /**
+     * @return  {@code true} if a failed combined check should report all {@code null} parameters,
+     *          {@code false} if only the first one should be reported
+     */
+    public boolean isCombinedCheckReportAll() {
+        return combinedCheckReportAll;
+    }
+
+    /**
+     * @return  {@code true} if {@code 'return'} expressions should be checked in place by a call to the runtime
+     *          library
+     */
+    public boolean isWrapReturn() {
+        return wrapReturn;
+    }
+
+    /**
+     * @return  {@code true} if failed checks should emit a {@code JDK Flight Recorder} event
+     */
+    public boolean isJfrEvents() {
+        return jfrEvents;
+    }
+
+    /**
+     * @return  {@code true} if failed checks which throw an exception should be recorded by the {@code JMX}
+     *          violation counters
+     */
+    public boolean isJmxCounters() {
+        return jmxCounters;
+    }
+
+    /**
+     * @return  {@code true} if generated checks should count how often they are executed
+     */
+    public boolean isProfile() {
+        return profile;
+    }
+
+    /**
+     * @return  a recorded execution profile of the checks (if any)
+     */
+    @NotNull
+    public Optional<File> getHotProfile() {
+        return Optional.ofNullable(hotProfile);
+    }
+
+    /**
+     * @return  minimum number of executions in the {@link #getHotProfile() recorded profile} which makes
+     *          a check hot
+     */
+    public long getHotThreshold() {
+        return hotThreshold;
+    }
+
+    /**
+     * @return  a policy to apply to the checks which are hot according to the {@link #getHotProfile() recorded
+     *          profile}
+     */
+    @NotNull
+    public HotCheckPolicy getHotCheckPolicy() {
+        return hotCheckPolicy;
+    }
+
+    /**
+     * @return  {@code true} if explicit checks should not be generated for method parameters which are
+     *          unconditionally dereferenced at method entry, i.e. which are verified by the {@code JVM} anyway
+     */
+    public boolean isElideDereferenced() {
+        return elideDereferenced;
+    }
+
+    /**
+     * @return  {@code true} if explicit checks should not be generated for method parameters which are passed
+     *          unchanged to a constructor or method of the same class which checks them
+     */
+    public boolean isElideDelegated() {
+        return elideDelegated;
+    }
+
+    /**
+     * @return  {@code true} if explicit checks should not be generated for parameters of {@code private} methods
+     *          and constructors which are given non-{@code null} arguments at all call sites
+     */
+    public boolean isElidePrivate() {
+        return elidePrivate;
+    }
+
+    /**
+     * @return  {@code true} if explicit checks should not be generated for {@code 'return'} expressions which
+     *          can't evaluate to {@code null}, e.g. literals, object creations or calls to
+     *          {@link #getNonNullMethods() non-null methods}
+     */
+    public boolean isElideReturn() {
+        return elideReturn;
+    }
+
+    /**
+     * @return  fully qualified names of static methods which never return {@code null},
+     *          e.g. {@code 'java.util.Collections.emptyList'}
+     */
+    @NotNull
+    public Set<String> getNonNullMethods() {
+        return nonNullMethods;
+    }
 }
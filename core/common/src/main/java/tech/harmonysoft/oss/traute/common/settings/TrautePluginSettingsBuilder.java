@@ -2,6 +2,10 @@ package tech.harmonysoft.oss.traute.common.settings;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 
 import java.io.File;
@@ -111,20 +115,104 @@ public class TrautePluginSettingsBuilder {
     ));
 
     public static final Set<InstrumentationType> DEFAULT_INSTRUMENTATIONS_TO_APPLY =
-            EnumSet.allOf(InstrumentationType.class);
+            EnumSet.of(InstrumentationType.METHOD_PARAMETER, InstrumentationType.METHOD_RETURN);
 
     public static final boolean DEFAULT_VERBOSE_MODE = false;
 
+    public static final CheckStyle DEFAULT_CHECK_STYLE = CheckStyle.INLINE;
+
+    public static final CheckGuard DEFAULT_CHECK_GUARD = CheckGuard.NONE;
+
+    public static final FailureAction DEFAULT_FAILURE_ACTION = FailureAction.THROW;
+
+    public static final int DEFAULT_COMBINED_CHECK_THRESHOLD = 0;
+
+    public static final boolean DEFAULT_COMBINED_CHECK_REPORT_ALL = false;
+
+    public static final boolean DEFAULT_WRAP_RETURN = false;
+
+    public static final boolean DEFAULT_JFR_EVENTS = false;
+
+    public static final boolean DEFAULT_JMX_COUNTERS = false;
+
+    public static final boolean DEFAULT_PROFILE = false;
+
+    public static final long DEFAULT_HOT_THRESHOLD = 1_000_000L;
+
+    public static final HotCheckPolicy DEFAULT_HOT_CHECK_POLICY = HotCheckPolicy.ASSERTIONS;
+
+    public static final boolean DEFAULT_ELIDE_DEREFERENCED = false;
+
+    public static final boolean DEFAULT_ELIDE_DELEGATED = false;
+
+    public static final boolean DEFAULT_ELIDE_PRIVATE = false;
+
+    public static final boolean DEFAULT_ELIDE_RETURN = false;
+
+    /**
+     * Static methods which never return {@code null}, their calls are not checked when
+     * {@link TrautePluginSettings#isElideReturn() 'return' checks elision} is on.
+     */
+    public static final Set<String> DEFAULT_NON_NULL_METHODS = new HashSet<>(asList(
+            "java.lang.String.valueOf",
+            "java.lang.String.format",
+            "java.lang.String.join",
+            "java.lang.Boolean.valueOf",
+            "java.lang.Byte.valueOf",
+            "java.lang.Character.valueOf",
+            "java.lang.Short.valueOf",
+            "java.lang.Integer.valueOf",
+            "java.lang.Long.valueOf",
+            "java.lang.Float.valueOf",
+            "java.lang.Double.valueOf",
+            "java.util.Objects.requireNonNull",
+            "java.util.Optional.of",
+            "java.util.Optional.ofNullable",
+            "java.util.Optional.empty",
+            "java.util.Arrays.asList",
+            "java.util.Collections.emptyList",
+            "java.util.Collections.emptySet",
+            "java.util.Collections.emptyMap",
+            "java.util.Collections.singletonList",
+            "java.util.Collections.singleton",
+            "java.util.Collections.singletonMap",
+            "java.util.Collections.unmodifiableList",
+            "java.util.Collections.unmodifiableSet",
+            "java.util.Collections.unmodifiableMap",
+            "java.util.Collections.unmodifiableCollection",
+            "java.util.List.of",
+            "java.util.Set.of",
+            "java.util.Map.of"
+    ));
+
     private final Set<String>              notNullAnnotations      = new HashSet<>();
     private final Set<String>              nullableAnnotations     = new HashSet<>();
+    private final Set<String>              nonNullMethods          = new HashSet<>();
     private final Set<InstrumentationType> instrumentationsToApply = EnumSet.noneOf(InstrumentationType.class);
+    private final Set<InstrumentationType> stacklessExceptions     = EnumSet.noneOf(InstrumentationType.class);
 
     private final Map<InstrumentationType, String>      exceptionsToThrow           = new HashMap<>();
     private final Map<InstrumentationType, String>      exceptionTextPatterns       = new HashMap<>();
     private final Map<InstrumentationType, Set<String>> notNullByDefaultAnnotations = new HashMap<>();
 
-    @Nullable private File    logFile;
-    @Nullable private Boolean verbose;
+    @Nullable private File       logFile;
+    @Nullable private Boolean    verbose;
+    @Nullable private CheckStyle checkStyle;
+    @Nullable private CheckGuard checkGuard;
+    @Nullable private FailureAction failureAction;
+    @Nullable private Integer    combinedCheckThreshold;
+    @Nullable private Boolean    combinedCheckReportAll;
+    @Nullable private Boolean    wrapReturn;
+    @Nullable private Boolean    jfrEvents;
+    @Nullable private Boolean    jmxCounters;
+    @Nullable private Boolean    profile;
+    @Nullable private File       hotProfile;
+    @Nullable private Long       hotThreshold;
+    @Nullable private HotCheckPolicy hotCheckPolicy;
+    @Nullable private Boolean    elideDereferenced;
+    @Nullable private Boolean    elideDelegated;
+    @Nullable private Boolean    elidePrivate;
+    @Nullable private Boolean    elideReturn;
 
     @NotNull
     public static TrautePluginSettingsBuilder settingsBuilder() {
@@ -157,6 +245,12 @@ public class TrautePluginSettingsBuilder {
         return this;
     }
 
+    @NotNull
+    public TrautePluginSettingsBuilder withStacklessException(@NotNull InstrumentationType type) {
+        stacklessExceptions.add(type);
+        return this;
+    }
+
     @NotNull
     public TrautePluginSettingsBuilder withExceptionTextPattern(@NotNull InstrumentationType type,
                                                                 @NotNull String pattern)
@@ -185,6 +279,108 @@ public class TrautePluginSettingsBuilder {
         return this;
     }
 
+    @NotNull
+    public TrautePluginSettingsBuilder withCheckStyle(@NotNull CheckStyle checkStyle) {
+        this.checkStyle = checkStyle;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withCheckGuard(@NotNull CheckGuard checkGuard) {
+        this.checkGuard = checkGuard;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withFailureAction(@NotNull FailureAction failureAction) {
+        this.failureAction = failureAction;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withCombinedCheckThreshold(int threshold) {
+        combinedCheckThreshold = threshold;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withCombinedCheckReportAll(boolean reportAll) {
+        combinedCheckReportAll = reportAll;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withWrapReturn(boolean wrapReturn) {
+        this.wrapReturn = wrapReturn;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withJfrEvents(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withJmxCounters(boolean jmxCounters) {
+        this.jmxCounters = jmxCounters;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withProfile(boolean profile) {
+        this.profile = profile;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withHotProfile(@NotNull File hotProfile) {
+        this.hotProfile = hotProfile;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withHotThreshold(long hotThreshold) {
+        this.hotThreshold = hotThreshold;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withHotCheckPolicy(@NotNull HotCheckPolicy hotCheckPolicy) {
+        this.hotCheckPolicy = hotCheckPolicy;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withElideDereferenced(boolean elideDereferenced) {
+        this.elideDereferenced = elideDereferenced;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withElideDelegated(boolean elideDelegated) {
+        this.elideDelegated = elideDelegated;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withElidePrivate(boolean elidePrivate) {
+        this.elidePrivate = elidePrivate;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withElideReturn(boolean elideReturn) {
+        this.elideReturn = elideReturn;
+        return this;
+    }
+
+    @NotNull
+    public TrautePluginSettingsBuilder withNonNullMethods(@NotNull String... nonNullMethods) {
+        this.nonNullMethods.addAll(Arrays.asList(nonNullMethods));
+        return this;
+    }
+
     @NotNull
     public TrautePluginSettings build() {
         Set<String> notNullAnnotations = new HashSet<>(this.notNullAnnotations);
@@ -217,6 +413,86 @@ public class TrautePluginSettingsBuilder {
         if (verbose == null) {
             verbose = DEFAULT_VERBOSE_MODE;
         }
+
+        CheckStyle checkStyle = this.checkStyle;
+        if (checkStyle == null) {
+            checkStyle = DEFAULT_CHECK_STYLE;
+        }
+
+        CheckGuard checkGuard = this.checkGuard;
+        if (checkGuard == null) {
+            checkGuard = DEFAULT_CHECK_GUARD;
+        }
+
+        FailureAction failureAction = this.failureAction;
+        if (failureAction == null) {
+            failureAction = DEFAULT_FAILURE_ACTION;
+        }
+
+        Integer combinedCheckThreshold = this.combinedCheckThreshold;
+        if (combinedCheckThreshold == null) {
+            combinedCheckThreshold = DEFAULT_COMBINED_CHECK_THRESHOLD;
+        }
+
+        Boolean combinedCheckReportAll = this.combinedCheckReportAll;
+        if (combinedCheckReportAll == null) {
+            combinedCheckReportAll = DEFAULT_COMBINED_CHECK_REPORT_ALL;
+        }
+
+        Boolean wrapReturn = this.wrapReturn;
+        if (wrapReturn == null) {
+            wrapReturn = DEFAULT_WRAP_RETURN;
+        }
+
+        Boolean jfrEvents = this.jfrEvents;
+        if (jfrEvents == null) {
+            jfrEvents = DEFAULT_JFR_EVENTS;
+        }
+
+        Boolean jmxCounters = this.jmxCounters;
+        if (jmxCounters == null) {
+            jmxCounters = DEFAULT_JMX_COUNTERS;
+        }
+
+        Boolean profile = this.profile;
+        if (profile == null) {
+            profile = DEFAULT_PROFILE;
+        }
+
+        Long hotThreshold = this.hotThreshold;
+        if (hotThreshold == null) {
+            hotThreshold = DEFAULT_HOT_THRESHOLD;
+        }
+
+        HotCheckPolicy hotCheckPolicy = this.hotCheckPolicy;
+        if (hotCheckPolicy == null) {
+            hotCheckPolicy = DEFAULT_HOT_CHECK_POLICY;
+        }
+
+        Boolean elideDereferenced = this.elideDereferenced;
+        if (elideDereferenced == null) {
+            elideDereferenced = DEFAULT_ELIDE_DEREFERENCED;
+        }
+
+        Boolean elideDelegated = this.elideDelegated;
+        if (elideDelegated == null) {
+            elideDelegated = DEFAULT_ELIDE_DELEGATED;
+        }
+
+        Boolean elidePrivate = this.elidePrivate;
+        if (elidePrivate == null) {
+            elidePrivate = DEFAULT_ELIDE_PRIVATE;
+        }
+
+        Boolean elideReturn = this.elideReturn;
+        if (elideReturn == null) {
+            elideReturn = DEFAULT_ELIDE_RETURN;
+        }
+
+        Set<String> nonNullMethods = new HashSet<>(this.nonNullMethods);
+        if (nonNullMethods.isEmpty()) {
+            nonNullMethods.addAll(DEFAULT_NON_NULL_METHODS);
+        }
         return new TrautePluginSettings(notNullAnnotations,
                                         nullableAnnotations,
                                         instrumentationsToApply,
@@ -224,6 +500,24 @@ public class TrautePluginSettingsBuilder {
                                         exceptionTextPatterns,
                                         notNullByDefaultAnnotations,
                                         logFile,
-                                        verbose);
+                                        verbose,
+                                        checkStyle,
+                                        checkGuard,
+                                        failureAction,
+                                        stacklessExceptions,
+                                        combinedCheckThreshold,
+                                        combinedCheckReportAll,
+                                        wrapReturn,
+                                        jfrEvents,
+                                        jmxCounters,
+                                        profile,
+                                        hotProfile,
+                                        hotThreshold,
+                                        hotCheckPolicy,
+                                        elideDereferenced,
+                                        elideDelegated,
+                                        elidePrivate,
+                                        elideReturn,
+                                        nonNullMethods);
     }
 }
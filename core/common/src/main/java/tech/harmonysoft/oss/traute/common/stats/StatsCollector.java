@@ -8,7 +8,8 @@ import java.util.concurrent.ConcurrentMap;
 
 public class StatsCollector {
 
-    private final ConcurrentMap<InstrumentationType, Long> stats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InstrumentationType, Long> stats       = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InstrumentationType, Long> elidedStats = new ConcurrentHashMap<>();
 
     public void increment(@NotNull InstrumentationType type) {
         add(type, 1);
@@ -18,11 +19,25 @@ public class StatsCollector {
         stats.compute(type, (key, value) -> value == null ? count : value + count);
     }
 
+    /**
+     * Remembers a check which is not generated because it's proven to be redundant.
+     *
+     * @param type  type of the skipped check
+     */
+    public void incrementElided(@NotNull InstrumentationType type) {
+        elidedStats.compute(type, (key, value) -> value == null ? 1 : value + 1);
+    }
+
     @NotNull
     public ConcurrentMap<InstrumentationType, Long> getStats() {
         return stats;
     }
 
+    @NotNull
+    public ConcurrentMap<InstrumentationType, Long> getElidedStats() {
+        return elidedStats;
+    }
+
     @Override
     public String toString() {
         return stats.toString();
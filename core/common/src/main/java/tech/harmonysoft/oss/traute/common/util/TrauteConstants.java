@@ -1,5 +1,9 @@
 package tech.harmonysoft.oss.traute.common.util;
 
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 
 import java.util.Collections;
@@ -16,8 +20,6 @@ public class TrauteConstants {
             "boolean", "byte", "short", "char", "int", "long", "float", "double"
     )));
 
-    public static final Set<String> METHOD_RETURN_TYPES_TO_SKIP;
-
     /**
      * <p>
      *     Compiler's option name to use for specifying custom {@code @NotNull} annotations to use
@@ -114,6 +116,21 @@ public class TrauteConstants {
      */
     public static final String OPTION_PREFIX_EXCEPTION_TO_THROW = "traute.exception.";
 
+    /**
+     * <p>
+     *     Prefix for compiler's option prefix for specifying that an exception thrown on failed {@code null}-check
+     *     shouldn't capture a stack trace. Resulting option is constructed from the current prefix and
+     *     {@link InstrumentationType#getShortName()}.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.stackless.exception.parameter=true} instructs the plugin to generate a parameter
+     *     check which throws {@code tech.harmonysoft.oss.traute.runtime.StacklessNullPointerException} in case
+     *     of failure. Only {@link NullPointerException} and {@link IllegalArgumentException} have stackless
+     *     counterparts, they are provided by the {@code traute-runtime} library.
+     * </p>
+     */
+    public static final String OPTION_PREFIX_STACKLESS_EXCEPTION = "traute.stackless.exception.";
+
     /**
      * <p>
      *     Prefix for compiler's option prefix for specifying a text to use in an exception thrown from
@@ -128,6 +145,233 @@ public class TrauteConstants {
      */
     public static final String OPTION_PREFIX_EXCEPTION_TEXT = "traute.failure.text.";
 
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying how failure branches of generated {@code null}-checks
+     *     look like.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.check.style=helper} instructs the plugin to delegate exception construction
+     *     to a static helper method generated once per top-level class.
+     * </p>
+     *
+     * @see CheckStyle
+     * @see CheckStyle#getShortName()
+     */
+    public static final String OPTION_CHECK_STYLE = "traute.check.style";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying a condition which enables generated {@code null}-checks
+     *     in runtime.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.check.guard=assertions} instructs the plugin to generate checks which are active
+     *     only when assertions are enabled ({@code -ea}) and {@code -Atraute.check.guard=runtime} instructs
+     *     the plugin to generate checks which might be switched off per package in runtime.
+     *     {@code -Atraute.check.guard=switchable} allows to switch the checks on and off in a running JVM.
+     * </p>
+     *
+     * @see CheckGuard
+     * @see CheckGuard#getShortName()
+     */
+    public static final String OPTION_CHECK_GUARD = "traute.check.guard";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying what happens when a generated {@code null}-check fails.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.failure.action=count} instructs the plugin to generate checks which record
+     *     violations and continue execution instead of throwing an exception.
+     * </p>
+     *
+     * @see FailureAction
+     * @see FailureAction#getShortName()
+     */
+    public static final String OPTION_FAILURE_ACTION = "traute.failure.action";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying minimum number of checked parameters of a method which
+     *     triggers generation of a single combined {@code null}-check for all of them instead of a dedicated
+     *     check per parameter.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.combined.check.threshold=3} instructs the plugin to generate a check like
+     *     {@code if (a == null | b == null | c == null)} for a method with three {@code NotNull} parameters,
+     *     the offending parameter is found by a static helper method generated once per top-level class.
+     *     Combined checks are not generated by default.
+     * </p>
+     */
+    public static final String OPTION_COMBINED_CHECK_THRESHOLD = "traute.combined.check.threshold";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if a failed
+     *     {@link #OPTION_COMBINED_CHECK_THRESHOLD combined check} should report all {@code null} parameters.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.combined.check.report.all=true} instructs the plugin to generate combined checks
+     *     which throw an exception with texts for all {@code null} parameters. Only the first {@code null}
+     *     parameter is reported by default.
+     * </p>
+     */
+    public static final String OPTION_COMBINED_CHECK_REPORT_ALL = "traute.combined.check.report.all";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if {@code 'return'} expressions should be checked in place
+     *     by a call to the {@code tech.harmonysoft.oss.traute.runtime.TrauteChecks} class.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.wrap.return=true} instructs the plugin to rewrite {@code 'return [expression]'}
+     *     as {@code 'return TrauteChecks.ret([expression], "[problem details]")'} instead of storing the expression
+     *     in a temporary variable and checking it by an {@code 'if'}. The {@code traute-runtime} library should
+     *     be on the classpath then.
+     * </p>
+     */
+    public static final String OPTION_WRAP_RETURN = "traute.wrap.return";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if failed checks should emit a {@code JDK Flight Recorder}
+     *     event.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.jfr.events=true} instructs the plugin to generate checks which emit
+     *     a {@code traute.NullCheckViolation} event through the {@code traute-runtime} library before throwing
+     *     an exception or recording a violation.
+     * </p>
+     */
+    public static final String OPTION_JFR_EVENTS = "traute.jfr.events";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if failed checks which throw an exception should be counted
+     *     by the violation counters exposed through {@code JMX}.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.jmx.counters=true} instructs the plugin to generate checks which call
+     *     {@code traute$violations.record([site-id])} before throwing an exception, i.e. the failures are available
+     *     through the {@code tech.harmonysoft.oss.traute.runtime.ViolationRegistry} class and its {@code JMX} bean.
+     *     The {@code traute-runtime} library should be on the classpath then. Checks generated in
+     *     {@code count-and-continue} mode are always counted.
+     * </p>
+     */
+    public static final String OPTION_JMX_COUNTERS = "traute.jmx.counters";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if generated checks should count how often they are
+     *     executed (<i>profiling</i> build).
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.profile=true} instructs the plugin to precede every check by a call to a per-site
+     *     counter from the {@code traute-runtime} library. The counters are dumped as a ranked {@code CSV} on JVM
+     *     shutdown or on demand through the {@code tech.harmonysoft.oss.traute.runtime.ProfileRegistry} class.
+     * </p>
+     */
+    public static final String OPTION_PROFILE = "traute.profile";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying a recorded execution profile of the checks, i.e. a {@code CSV}
+     *     file dumped by a {@link #OPTION_PROFILE profiling} build.
+     * </p>
+     * <p>
+     *     Checks which were executed at least {@link #OPTION_HOT_THRESHOLD threshold} times are generated
+     *     according to the {@link #OPTION_HOT_POLICY configured policy}, e.g.
+     *     {@code -Atraute.hot.profile=traute-profile.csv}.
+     * </p>
+     */
+    public static final String OPTION_HOT_PROFILE = "traute.hot.profile";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying minimum number of executions in
+     *     a {@link #OPTION_HOT_PROFILE recorded profile} which makes a check hot.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.hot.threshold=100000}.
+     * </p>
+     */
+    public static final String OPTION_HOT_THRESHOLD = "traute.hot.threshold";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying how checks which are hot according to
+     *     the {@link #OPTION_HOT_PROFILE recorded profile} are generated.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.hot.policy=elide}, see {@link HotCheckPolicy} for the available values.
+     * </p>
+     */
+    public static final String OPTION_HOT_POLICY = "traute.hot.policy";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if explicit checks should be skipped for method parameters
+     *     which are unconditionally dereferenced at method entry before any side effect.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.elide.dereferenced=true} instructs the plugin to rely on the {@code JVM}'s implicit
+     *     {@code null}-check in methods like {@code int size(@NotNull List<?> list) { return list.size(); }}.
+     * </p>
+     */
+    public static final String OPTION_ELIDE_DEREFERENCED = "traute.elide.dereferenced";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if explicit checks should be skipped for method parameters
+     *     which are passed unchanged to a constructor or method of the same class which checks them.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.elide.delegated=true} instructs the plugin to check {@code 'name'} only once
+     *     in a constructor chain like {@code Person(String name) { this(name, 0); }}.
+     * </p>
+     */
+    public static final String OPTION_ELIDE_DELEGATED = "traute.elide.delegated";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if explicit checks should be skipped for parameters
+     *     of {@code private} methods and constructors which are given non-{@code null} arguments at all call sites.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.elide.private=true} instructs the plugin not to check {@code 'builder'}
+     *     in {@code private Person(@NotNull Builder builder)} if it's called only as {@code new Person(this)}.
+     * </p>
+     */
+    public static final String OPTION_ELIDE_PRIVATE = "traute.elide.private";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying if explicit checks should be skipped for {@code 'return'}
+     *     expressions which can't evaluate to {@code null}.
+     * </p>
+     * <p>
+     *     E.g. {@code -Atraute.elide.return=true} instructs the plugin not to check statements like
+     *     {@code return new ArrayList<>();}, {@code return "label";} or {@code return Collections.emptyList();}.
+     * </p>
+     */
+    public static final String OPTION_ELIDE_RETURN = "traute.elide.return";
+
+    /**
+     * <p>
+     *     Compiler's option name to use for specifying custom static methods which never return {@code null}
+     *     ({@value #SEPARATOR}-separated), they are taken into account when {@link #OPTION_ELIDE_RETURN} is on.
+     * </p>
+     * <p>
+     *     This is not mandatory setting as default methods are used otherwise. Only given methods are
+     *     considered if this argument is specified.
+     * </p>
+     * <p>
+     *     Example: {@code -Atraute.methods.non.null=com.google.common.collect.ImmutableList.of:java.util.List.of}
+     * </p>
+     */
+    public static final String OPTION_NON_NULL_METHODS = "traute.methods.non.null";
+
     /**
      * This text is replaced by the actual parameter name in the
      * {@link InstrumentationType#METHOD_PARAMETER parametere check}.
@@ -148,13 +392,6 @@ public class TrauteConstants {
 
     public static final String PACKAGE_INFO = "package-info";
 
-    static {
-        Set<String> set = new HashSet<>(PRIMITIVE_TYPES);
-        set.add("void");
-        set.add("Void");
-        METHOD_RETURN_TYPES_TO_SKIP = set;
-    }
-
     private TrauteConstants() {
     }
 }
@@ -13,15 +13,26 @@ import com.sun.tools.javac.util.Log;
 import com.sun.tools.javac.util.Names;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder;
 import tech.harmonysoft.oss.traute.common.stats.StatsCollector;
 import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+import tech.harmonysoft.oss.traute.javac.common.CheckMessagesWriter;
+import tech.harmonysoft.oss.traute.javac.common.CompilationUnitPreFilter;
 import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
+import tech.harmonysoft.oss.traute.javac.common.ConfiguredAnnotations;
+import tech.harmonysoft.oss.traute.javac.common.HotChecks;
 import tech.harmonysoft.oss.traute.javac.common.InstrumentationApplianceFinder;
+import tech.harmonysoft.oss.traute.javac.common.NonNullMethods;
 import tech.harmonysoft.oss.traute.javac.common.PackageInfoManager;
 import tech.harmonysoft.oss.traute.javac.instrumentation.Instrumentator;
+import tech.harmonysoft.oss.traute.javac.instrumentation.field.FieldInstrumentator;
+import tech.harmonysoft.oss.traute.javac.instrumentation.field.FieldToInstrumentInfo;
 import tech.harmonysoft.oss.traute.javac.instrumentation.method.MethodReturnInstrumentator;
 import tech.harmonysoft.oss.traute.javac.instrumentation.method.ReturnToInstrumentInfo;
 import tech.harmonysoft.oss.traute.javac.instrumentation.parameter.ParameterInstrumentator;
@@ -32,6 +43,7 @@ import tech.harmonysoft.oss.traute.javac.log.FileLogger;
 import tech.harmonysoft.oss.traute.javac.log.TrautePluginLogger;
 import tech.harmonysoft.oss.traute.javac.text.ExceptionTextGeneratorManager;
 
+import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import java.io.File;
 import java.io.PrintWriter;
@@ -39,7 +51,6 @@ import java.io.StringWriter;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.util.*;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -51,6 +62,8 @@ import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.OPTION_LOG
 import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.OPTION_PREFIX_ANNOTATIONS_NOT_NULL_BY_DEFAULT;
 import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.SEPARATOR;
 import static tech.harmonysoft.oss.traute.javac.log.AbstractLogger.getProblemMessageSuffix;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.getStacklessException;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isNullPointerException;
 
 /**
  * <p>A {@code javac} plugin which inserts {@code null}-checks for target method arguments and returns from method.</p>
@@ -105,6 +118,7 @@ public class TrauteJavacPlugin implements Plugin {
 
     private final Instrumentator<ParameterToInstrumentInfo> parameterInstrumentator = new ParameterInstrumentator();
     private final Instrumentator<ReturnToInstrumentInfo>    methodInstrumentator    = new MethodReturnInstrumentator();
+    private final Instrumentator<FieldToInstrumentInfo>     fieldInstrumentator     = new FieldInstrumentator();
     private final Set<String>                               pluginOptionKeys        = new HashSet<>();
     private final PackageInfoManager                        packageInfoManager      = new PackageInfoManager();
 
@@ -129,6 +143,13 @@ public class TrauteJavacPlugin implements Plugin {
         AtomicBoolean contextClosed = new AtomicBoolean();
         TrautePluginSettings settings = getPluginSettings(context);
         pluginSettingsRef.set(settings);
+        ConfiguredAnnotations configuredAnnotations = new ConfiguredAnnotations(settings, Names.instance(context));
+        CompilationUnitPreFilter preFilter = new CompilationUnitPreFilter(configuredAnnotations,
+                                                                          packageInfoManager,
+                                                                          Names.instance(context));
+        HotChecks hotChecks = HotChecks.load(settings, getPluginLogger(settings.getLogFile().orElse(null),
+                                                                       Log.instance(context)));
+        NonNullMethods nonNullMethods = new NonNullMethods(settings.getNonNullMethods(), Names.instance(context));
         task.addTaskListener(new TaskListener() {
             @Override
             public void started(TaskEvent event) {
@@ -168,6 +189,9 @@ public class TrauteJavacPlugin implements Plugin {
                 TrautePluginSettings pluginSettings = pluginSettingsRef.get();
                 StatsCollector statsCollector = new StatsCollector();
                 try {
+                    if (!preFilter.mayHaveInstrumentations(compilationUnit)) {
+                        return;
+                    }
                     compilationUnit.accept(new InstrumentationApplianceFinder(
                             new CompilationUnitProcessingContext(pluginSettings,
                                                                  treeMaker,
@@ -175,9 +199,16 @@ public class TrauteJavacPlugin implements Plugin {
                                                                  logger,
                                                                  statsCollector,
                                                                  new ExceptionTextGeneratorManager(logger),
-                                                                 packageInfoManager),
+                                                                 packageInfoManager,
+                                                                 configuredAnnotations,
+                                                                 new CheckMessagesWriter(
+                                                                         context.get(JavaFileManager.class)
+                                                                 ),
+                                                                 hotChecks,
+                                                                 nonNullMethods),
                             parameterInstrumentator,
-                            methodInstrumentator),null);
+                            methodInstrumentator,
+                            fieldInstrumentator),null);
                     if (pluginSettings.isVerboseMode()) {
                         printInstrumentationResults(compilationUnit.getSourceFile(), statsCollector, logger);
                     }
@@ -193,6 +224,13 @@ public class TrauteJavacPlugin implements Plugin {
 
             @Override
             public void finished(TaskEvent event) {
+                if (event.getKind() == TaskEvent.Kind.ENTER && !isContextClosed()) {
+                    // All compilation units of the current round are already entered at this point. We don't wait
+                    // for TaskEvent.Kind.ANALYZE because javac might replace its context after annotation
+                    // processing, then the plugin's listener is called only with the closed context.
+                    mayBePrintPreFilterResults();
+                    return;
+                }
                 if (event.getKind() != TaskEvent.Kind.PARSE || isContextClosed()) {
                     return;
                 }
@@ -211,6 +249,23 @@ public class TrauteJavacPlugin implements Plugin {
                 packageInfoManager.onCompilationUnit(compilationUnit);
             }
 
+            private void mayBePrintPreFilterResults() {
+                int processedUnits = preFilter.getProcessedUnits();
+                if (processedUnits <= 0) {
+                    return;
+                }
+                int skippedUnits = preFilter.getSkippedUnits();
+                preFilter.resetStats();
+                if (settings.isVerboseMode()) {
+                    TrautePluginLogger logger = getPluginLogger(settings.getLogFile().orElse(null),
+                                                                Log.instance(context));
+                    logger.info(String.format(
+                            "skipped %d compilation unit%s out of %d as they don't have anything to instrument",
+                            skippedUnits, skippedUnits == 1 ? "" : "s", processedUnits
+                    ));
+                }
+            }
+
             /**
              * We encountered a situation when target context is closed (internal state is {@code null}) but plugin's
              * listener is called. That was the case for processing sources generated by an annotation processor.
@@ -316,8 +371,23 @@ public class TrauteJavacPlugin implements Plugin {
         applyNullableAnnotations(logger, builder, options);
         applyInstrumentations(logger, builder, options);
         applyExceptionsToThrow(logger, builder, options);
+        applyStacklessExceptions(logger, builder, options);
         applyExceptionTextPatterns(logger, builder, options);
         applyNotNullByDefaultAnnotations(logger, builder, options);
+        applyCheckStyle(logger, builder, options);
+        applyCheckGuard(logger, builder, options);
+        applyFailureAction(logger, builder, options);
+        applyCombinedCheck(logger, builder, options);
+        applyWrapReturn(logger, builder, options);
+        applyJfrEvents(logger, builder, options);
+        applyJmxCounters(logger, builder, options);
+        applyProfile(logger, builder, options);
+        applyHotProfile(logger, builder, options);
+        applyElideDereferenced(logger, builder, options);
+        applyElideDelegated(logger, builder, options);
+        applyElidePrivate(logger, builder, options);
+        applyElideReturn(logger, builder, options);
+        applyNonNullMethods(logger, builder, options);
 
         return builder.build();
     }
@@ -410,6 +480,43 @@ public class TrauteJavacPlugin implements Plugin {
         }
     }
 
+    private void applyStacklessExceptions(@Nullable TrautePluginLogger logger,
+                                          @NotNull TrautePluginSettingsBuilder builder,
+                                          @NotNull Map<String, String> options)
+    {
+        for (Map.Entry<String, String> entry : options.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(TrauteConstants.OPTION_PREFIX_STACKLESS_EXCEPTION)) {
+                continue;
+            }
+            String instrumentationString = key.substring(TrauteConstants.OPTION_PREFIX_STACKLESS_EXCEPTION.length());
+            InstrumentationType type = InstrumentationType.byShortName(instrumentationString);
+            String value = entry.getValue();
+            if (type == null || value == null || !"true".equalsIgnoreCase(value.trim())) {
+                continue;
+            }
+            String exceptionToThrow = options.getOrDefault(TrauteConstants.OPTION_PREFIX_EXCEPTION_TO_THROW
+                                                           + instrumentationString,
+                                                           TrautePluginSettings.DEFAULT_EXCEPTION_TO_THROW);
+            if (getStacklessException(exceptionToThrow) == null) {
+                if (logger != null) {
+                    logger.report(String.format(
+                            "Stackless exceptions are available only for %s and %s but '%s' checks are configured "
+                            + "to throw %s. Falling back to regular exceptions for them",
+                            NullPointerException.class.getSimpleName(),
+                            IllegalArgumentException.class.getSimpleName(),
+                            instrumentationString, exceptionToThrow
+                    ));
+                }
+                continue;
+            }
+            builder.withStacklessException(type);
+            if (logger != null) {
+                logger.info(String.format("using stackless exceptions in '%s' checks", instrumentationString));
+            }
+        }
+    }
+
     private void applyExceptionTextPatterns(@Nullable TrautePluginLogger logger,
                                             @NotNull TrautePluginSettingsBuilder builder,
                                             @NotNull Map<String, String> options)
@@ -459,6 +566,327 @@ public class TrauteJavacPlugin implements Plugin {
         }
     }
 
+    private void applyCheckStyle(@Nullable TrautePluginLogger logger,
+                                 @NotNull TrautePluginSettingsBuilder builder,
+                                 @NotNull Map<String, String> options)
+    {
+        String checkStyleString = options.get(TrauteConstants.OPTION_CHECK_STYLE);
+        if (checkStyleString == null) {
+            return;
+        }
+        CheckStyle checkStyle = CheckStyle.byShortName(checkStyleString.trim());
+        if (checkStyle == null) {
+            if (logger != null) {
+                String knownStyles = Arrays.stream(CheckStyle.values())
+                                           .map(CheckStyle::getShortName)
+                                           .collect(joining(", "));
+                logger.report(String.format(
+                        "Unknown check style is defined through the '%s' option - '%s'. Known styles: %s",
+                        TrauteConstants.OPTION_CHECK_STYLE, checkStyleString, knownStyles
+                ));
+            }
+            return;
+        }
+        builder.withCheckStyle(checkStyle);
+        if (logger == null) {
+            return;
+        }
+        logger.info(String.format("using '%s' check style", checkStyle.getShortName()));
+        if (checkStyle != CheckStyle.REQUIRE_NON_NULL) {
+            return;
+        }
+        for (InstrumentationType type : InstrumentationType.values()) {
+            String exceptionToThrow = options.get(TrauteConstants.OPTION_PREFIX_EXCEPTION_TO_THROW
+                                                  + type.getShortName());
+            if (exceptionToThrow != null && !isNullPointerException(exceptionToThrow)) {
+                logger.report(String.format(
+                        "'%s' check style can't be used for '%s' checks as they are configured to throw %s. "
+                        + "Falling back to the '%s' check style for them",
+                        checkStyle.getShortName(), type.getShortName(), exceptionToThrow,
+                        CheckStyle.INLINE.getShortName()
+                ));
+            }
+        }
+    }
+
+    private void applyCheckGuard(@Nullable TrautePluginLogger logger,
+                                 @NotNull TrautePluginSettingsBuilder builder,
+                                 @NotNull Map<String, String> options)
+    {
+        String checkGuardString = options.get(TrauteConstants.OPTION_CHECK_GUARD);
+        if (checkGuardString == null) {
+            return;
+        }
+        CheckGuard checkGuard = CheckGuard.byShortName(checkGuardString.trim());
+        if (checkGuard == null) {
+            if (logger != null) {
+                String knownGuards = Arrays.stream(CheckGuard.values())
+                                           .map(CheckGuard::getShortName)
+                                           .collect(joining(", "));
+                logger.report(String.format(
+                        "Unknown check guard is defined through the '%s' option - '%s'. Known guards: %s",
+                        TrauteConstants.OPTION_CHECK_GUARD, checkGuardString, knownGuards
+                ));
+            }
+            return;
+        }
+        builder.withCheckGuard(checkGuard);
+        if (logger != null) {
+            logger.info(String.format("using '%s' check guard", checkGuard.getShortName()));
+        }
+    }
+
+    private void applyFailureAction(@Nullable TrautePluginLogger logger,
+                                    @NotNull TrautePluginSettingsBuilder builder,
+                                    @NotNull Map<String, String> options)
+    {
+        String failureActionString = options.get(TrauteConstants.OPTION_FAILURE_ACTION);
+        if (failureActionString == null) {
+            return;
+        }
+        FailureAction failureAction = FailureAction.byShortName(failureActionString.trim());
+        if (failureAction == null) {
+            if (logger != null) {
+                String knownActions = Arrays.stream(FailureAction.values())
+                                            .map(FailureAction::getShortName)
+                                            .collect(joining(", "));
+                logger.report(String.format(
+                        "Unknown failure action is defined through the '%s' option - '%s'. Known actions: %s",
+                        TrauteConstants.OPTION_FAILURE_ACTION, failureActionString, knownActions
+                ));
+            }
+            return;
+        }
+        builder.withFailureAction(failureAction);
+        if (logger != null) {
+            logger.info(String.format("using '%s' failure action", failureAction.getShortName()));
+        }
+    }
+
+    private void applyCombinedCheck(@Nullable TrautePluginLogger logger,
+                                    @NotNull TrautePluginSettingsBuilder builder,
+                                    @NotNull Map<String, String> options)
+    {
+        String thresholdString = options.get(TrauteConstants.OPTION_COMBINED_CHECK_THRESHOLD);
+        if (thresholdString == null) {
+            return;
+        }
+        int threshold;
+        try {
+            threshold = Integer.parseInt(thresholdString.trim());
+        } catch (NumberFormatException e) {
+            threshold = -1;
+        }
+        if (threshold < 2) {
+            if (logger != null) {
+                logger.report(String.format(
+                        "Invalid combined check threshold is defined through the '%s' option - '%s'. "
+                        + "Expected a number greater than one",
+                        TrauteConstants.OPTION_COMBINED_CHECK_THRESHOLD, thresholdString
+                ));
+            }
+            return;
+        }
+        boolean reportAll = "true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_COMBINED_CHECK_REPORT_ALL));
+        builder.withCombinedCheckThreshold(threshold);
+        builder.withCombinedCheckReportAll(reportAll);
+        if (logger != null) {
+            logger.info(String.format(
+                    "using combined checks for methods with %d or more checked parameters, %s",
+                    threshold, reportAll ? "all null parameters are reported" : "the first null parameter is reported"
+            ));
+        }
+    }
+
+    private void applyWrapReturn(@Nullable TrautePluginLogger logger,
+                                 @NotNull TrautePluginSettingsBuilder builder,
+                                 @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_WRAP_RETURN))) {
+            return;
+        }
+        builder.withWrapReturn(true);
+        if (logger == null) {
+            return;
+        }
+        logger.info("'return' expressions are checked in place");
+        String exceptionToThrow = options.get(TrauteConstants.OPTION_PREFIX_EXCEPTION_TO_THROW
+                                              + InstrumentationType.METHOD_RETURN.getShortName());
+        if (exceptionToThrow != null && !isNullPointerException(exceptionToThrow)) {
+            logger.report(String.format(
+                    "'return' expressions can't be checked in place as the checks are configured to throw %s. "
+                    + "Falling back to regular checks for them",
+                    exceptionToThrow
+            ));
+        }
+    }
+
+    private void applyJfrEvents(@Nullable TrautePluginLogger logger,
+                                @NotNull TrautePluginSettingsBuilder builder,
+                                @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_JFR_EVENTS))) {
+            return;
+        }
+        builder.withJfrEvents(true);
+        if (logger != null) {
+            logger.info("failed checks emit JFR events");
+        }
+    }
+
+    private void applyJmxCounters(@Nullable TrautePluginLogger logger,
+                                  @NotNull TrautePluginSettingsBuilder builder,
+                                  @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_JMX_COUNTERS))) {
+            return;
+        }
+        builder.withJmxCounters(true);
+        if (logger != null) {
+            logger.info("failed checks are recorded by the JMX violation counters");
+        }
+    }
+
+    private void applyProfile(@Nullable TrautePluginLogger logger,
+                              @NotNull TrautePluginSettingsBuilder builder,
+                              @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_PROFILE))) {
+            return;
+        }
+        builder.withProfile(true);
+        if (logger != null) {
+            logger.info("checks count how often they are executed (profiling build)");
+        }
+    }
+
+    private void applyHotProfile(@Nullable TrautePluginLogger logger,
+                                 @NotNull TrautePluginSettingsBuilder builder,
+                                 @NotNull Map<String, String> options)
+    {
+        String profilePath = options.get(TrauteConstants.OPTION_HOT_PROFILE);
+        if (profilePath == null || profilePath.trim().isEmpty()) {
+            return;
+        }
+        builder.withHotProfile(new File(profilePath.trim()));
+
+        long threshold = TrautePluginSettingsBuilder.DEFAULT_HOT_THRESHOLD;
+        String thresholdString = options.get(TrauteConstants.OPTION_HOT_THRESHOLD);
+        if (thresholdString != null) {
+            long configuredThreshold;
+            try {
+                configuredThreshold = Long.parseLong(thresholdString.trim());
+            } catch (NumberFormatException e) {
+                configuredThreshold = -1;
+            }
+            if (configuredThreshold > 0) {
+                threshold = configuredThreshold;
+                builder.withHotThreshold(threshold);
+            } else if (logger != null) {
+                logger.report(String.format(
+                        "Invalid hot check threshold is defined through the '%s' option - '%s'. "
+                        + "Expected a positive number, using the default value %d",
+                        TrauteConstants.OPTION_HOT_THRESHOLD, thresholdString, threshold
+                ));
+            }
+        }
+
+        HotCheckPolicy policy = TrautePluginSettingsBuilder.DEFAULT_HOT_CHECK_POLICY;
+        String policyString = options.get(TrauteConstants.OPTION_HOT_POLICY);
+        if (policyString != null) {
+            HotCheckPolicy configuredPolicy = HotCheckPolicy.byShortName(policyString.trim());
+            if (configuredPolicy != null) {
+                policy = configuredPolicy;
+                builder.withHotCheckPolicy(policy);
+            } else if (logger != null) {
+                String knownPolicies = Arrays.stream(HotCheckPolicy.values())
+                                             .map(HotCheckPolicy::getShortName)
+                                             .collect(joining(", "));
+                logger.report(String.format(
+                        "Unknown hot check policy is defined through the '%s' option - '%s'. Known policies: %s",
+                        TrauteConstants.OPTION_HOT_POLICY, policyString, knownPolicies
+                ));
+            }
+        }
+
+        if (logger != null) {
+            logger.info(String.format(
+                    "applying '%s' policy to the checks executed %d or more times according to profile %s",
+                    policy.getShortName(), threshold, profilePath.trim()
+            ));
+        }
+    }
+
+    private void applyElideDereferenced(@Nullable TrautePluginLogger logger,
+                                        @NotNull TrautePluginSettingsBuilder builder,
+                                        @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_ELIDE_DEREFERENCED))) {
+            return;
+        }
+        builder.withElideDereferenced(true);
+        if (logger != null) {
+            logger.info("parameters dereferenced at method entry are not checked explicitly");
+        }
+    }
+
+    private void applyElideDelegated(@Nullable TrautePluginLogger logger,
+                                     @NotNull TrautePluginSettingsBuilder builder,
+                                     @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_ELIDE_DELEGATED))) {
+            return;
+        }
+        builder.withElideDelegated(true);
+        if (logger != null) {
+            logger.info("parameters passed to checking delegates are not checked explicitly");
+        }
+    }
+
+    private void applyElidePrivate(@Nullable TrautePluginLogger logger,
+                                   @NotNull TrautePluginSettingsBuilder builder,
+                                   @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_ELIDE_PRIVATE))) {
+            return;
+        }
+        builder.withElidePrivate(true);
+        if (logger != null) {
+            logger.info("parameters of private methods given non-null arguments at all call sites are not checked");
+        }
+    }
+
+    private void applyElideReturn(@Nullable TrautePluginLogger logger,
+                                  @NotNull TrautePluginSettingsBuilder builder,
+                                  @NotNull Map<String, String> options)
+    {
+        if (!"true".equalsIgnoreCase(options.get(TrauteConstants.OPTION_ELIDE_RETURN))) {
+            return;
+        }
+        builder.withElideReturn(true);
+        if (logger != null) {
+            logger.info("'return' expressions which can't be null are not checked");
+        }
+    }
+
+    private void applyNonNullMethods(@Nullable TrautePluginLogger logger,
+                                     @NotNull TrautePluginSettingsBuilder builder,
+                                     @NotNull Map<String, String> options)
+    {
+        String nonNullMethodsString = options.get(TrauteConstants.OPTION_NON_NULL_METHODS);
+        if (nonNullMethodsString == null) {
+            return;
+        }
+        nonNullMethodsString = nonNullMethodsString.trim();
+        String[] nonNullMethods = nonNullMethodsString.split(SEPARATOR);
+        if (nonNullMethods.length > 0) {
+            builder.withNonNullMethods(nonNullMethods);
+            if (logger != null) {
+                logger.info("using the following non-null methods: " + Arrays.toString(nonNullMethods));
+            }
+        }
+    }
+
     private void applyVerboseMode(@Nullable TrautePluginLogger logger,
                                   @NotNull TrautePluginSettingsBuilder builder,
                                   @NotNull Map<String, String> options)
@@ -474,13 +902,25 @@ public class TrauteJavacPlugin implements Plugin {
                                              @NotNull StatsCollector statsCollector,
                                              @NotNull TrautePluginLogger logger)
     {
+        String fileName = file.toUri().getSchemeSpecificPart();
+        while (fileName.startsWith("//")) {
+            fileName = fileName.substring(1);
+        }
+        printStats(statsCollector.getStats(), "added %d instrumentation%s to the class %s - %s", fileName, logger);
+        printStats(statsCollector.getElidedStats(),
+                   "skipped %d redundant check%s in the class %s - %s", fileName, logger);
+    }
 
-        ConcurrentMap<InstrumentationType, Long> stats = statsCollector.getStats();
-        long totalInstrumentationsNumber = stats.entrySet()
-                                                .stream()
-                                                .mapToLong(Map.Entry::getValue)
-                                                .sum();
-        if (totalInstrumentationsNumber <= 0) {
+    private static void printStats(@NotNull Map<InstrumentationType, Long> stats,
+                                   @NotNull String format,
+                                   @NotNull String fileName,
+                                   @NotNull TrautePluginLogger logger)
+    {
+        long total = stats.values()
+                          .stream()
+                          .mapToLong(Long::longValue)
+                          .sum();
+        if (total <= 0) {
             return;
         }
         StringBuilder details = new StringBuilder();
@@ -491,15 +931,7 @@ public class TrauteJavacPlugin implements Plugin {
             }
         }
         details.setLength(details.length() - 2);
-
-        String fileName = file.toUri().getSchemeSpecificPart();
-        while (fileName.startsWith("//")) {
-            fileName = fileName.substring(1);
-        }
-        logger.info(String.format(
-                "added %d instrumentation%s to the class %s - %s",
-                totalInstrumentationsNumber, totalInstrumentationsNumber > 1 ? "s" : "", fileName, details)
-        );
+        logger.info(String.format(format, total, total > 1 ? "s" : "", fileName, details));
     }
 
     @NotNull
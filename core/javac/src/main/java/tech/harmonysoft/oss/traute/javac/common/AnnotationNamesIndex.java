@@ -0,0 +1,93 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * <p>Allows to resolve annotation names used in source code against a predefined set of qualified annotation names.</p>
+ * <p>
+ *     Example: given index is built for the {@code org.jetbrains.annotations.NotNull}. It resolves
+ *     {@code NotNull} used in source code into it if the compilation unit has one of the imports below
+ *     (or it's located in the {@code org.jetbrains.annotations} package):
+ *     <ul>
+ *       <li>{@code import org.jetbrains.annotations.NotNull}</li>
+ *       <li>{@code import org.jetbrains.annotations.*}</li>
+ *     </ul>
+ * </p>
+ * <p>
+ *     All expensive processing is done during the index construction, that's why it's expected
+ *     to be built once per configured annotations set and re-used for all compilation units.
+ * </p>
+ */
+public class AnnotationNamesIndex {
+
+    private final Map<Name, String>          qualifiedNames = new HashMap<>();
+    private final Map<Name, List<Candidate>> candidates     = new HashMap<>();
+
+    public AnnotationNamesIndex(@NotNull Collection<String> qualifiedNames, @NotNull Names names) {
+        for (String qualifiedName : qualifiedNames) {
+            this.qualifiedNames.put(names.fromString(qualifiedName), qualifiedName);
+            // Remember all possible relative names. E.g. for 'org.jetbrains.annotations.NotNull' we want to be able
+            // to resolve 'NotNull', 'annotations.NotNull' etc against 'org.jetbrains.annotations', 'org.jetbrains' etc
+            for (int i = qualifiedName.lastIndexOf('.'); i > 0; i = qualifiedName.lastIndexOf('.', i - 1)) {
+                candidates.computeIfAbsent(names.fromString(qualifiedName.substring(i + 1)), k -> new ArrayList<>())
+                          .add(new Candidate(qualifiedName, names.fromString(qualifiedName.substring(0, i))));
+            }
+        }
+    }
+
+    /**
+     * Resolves given annotation name used in source code.
+     *
+     * @param annotationInSource    annotation name as it's used in source code, e.g. {@code NotNull}
+     *                              or {@code org.jetbrains.annotations.NotNull}
+     * @param imports               imports of the compilation unit which contains given annotation
+     * @return                      qualified name of the given annotation if it's one of the annotations
+     *                              the current index is built for; {@code null} otherwise
+     */
+    @Nullable
+    public String resolve(@NotNull Name annotationInSource, @NotNull ImportsIndex imports) {
+        String qualifiedName = qualifiedNames.get(annotationInSource);
+        if (qualifiedName != null) {
+            // Qualified annotation, like 'void test(@javax.annotation.Nonnull String s) {}'
+            return qualifiedName;
+        }
+
+        Name explicitImport = imports.getExplicitImport(annotationInSource);
+        if (explicitImport != null) {
+            // Explicit import shadows classes with the same name from the current package and on-demand imports
+            return qualifiedNames.get(explicitImport);
+        }
+
+        List<Candidate> candidates = this.candidates.getOrDefault(annotationInSource, emptyList());
+        for (Candidate candidate : candidates) {
+            if (candidate.packageName == imports.getPackageName()) {
+                return candidate.qualifiedName;
+            }
+        }
+        for (Candidate candidate : candidates) {
+            // Support an import like 'import org.jetbrains.annotations.*;'
+            if (imports.isOnDemandImport(candidate.packageName)) {
+                return candidate.qualifiedName;
+            }
+        }
+        return null;
+    }
+
+    private static class Candidate {
+
+        @NotNull public final String qualifiedName;
+        @NotNull public final Name   packageName;
+
+        Candidate(@NotNull String qualifiedName, @NotNull Name packageName) {
+            this.qualifiedName = qualifiedName;
+            this.packageName = packageName;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.javac.log.TrautePluginLogger;
+
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.getCheckMessagesResourceName;
+
+/**
+ * <p>
+ *     Stores exception texts of the checks generated in the {@link CheckStyle#SITE_ID} check style
+ *     into a classpath resource next to the compiled classes. The resource is read by the
+ *     {@code tech.harmonysoft.oss.traute.runtime.CheckMessages} class, its format is defined there.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public class CheckMessagesWriter {
+
+    /** Size of the {@code CONSTANT_Utf8} and {@code CONSTANT_String} constant pool entries without the text. */
+    private static final int CONSTANT_POOL_ENTRIES_OVERHEAD = 3 + 3;
+
+    @Nullable private final JavaFileManager fileManager;
+
+    public CheckMessagesWriter(@Nullable JavaFileManager fileManager) {
+        this.fileManager = fileManager;
+    }
+
+    /**
+     * Stores given exception texts for the given top-level class.
+     *
+     * @param hostName  binary name of the top-level class which holds the checks
+     * @param messages  exception texts indexed by check id
+     * @param logger    logger to use
+     * @param verbose   a flag which tells whether constant pool savings should be reported
+     */
+    public void write(@NotNull String hostName,
+                      @NotNull List<String> messages,
+                      @NotNull TrautePluginLogger logger,
+                      boolean verbose)
+    {
+        String resourceName = getCheckMessagesResourceName(hostName);
+        if (fileManager == null) {
+            logger.report(String.format(
+                    "Can't store exception texts of the '%s' check style checks for class %s - no file manager is "
+                    + "available in the current javac context. Generic texts will be used by the checks",
+                    CheckStyle.SITE_ID.getShortName(), hostName
+            ));
+            return;
+        }
+        try {
+            FileObject resource = fileManager.getFileForOutput(StandardLocation.CLASS_OUTPUT, "", resourceName, null);
+            try (DataOutputStream out = new DataOutputStream(resource.openOutputStream())) {
+                out.writeInt(messages.size());
+                for (String message : messages) {
+                    out.writeUTF(message);
+                }
+            }
+        } catch (IOException e) {
+            logger.report(String.format(
+                    "Can't store exception texts of the '%s' check style checks for class %s to the %s resource "
+                    + "- %s. Generic texts will be used by the checks",
+                    CheckStyle.SITE_ID.getShortName(), hostName, resourceName, e
+            ));
+            return;
+        }
+
+        if (verbose) {
+            logger.info(String.format(
+                    "moved %d exception text%s of class %s to the %s resource, its constant pool is about %d bytes "
+                    + "smaller", messages.size(), messages.size() > 1 ? "s" : "", hostName, resourceName,
+                    getConstantPoolSize(messages)
+            ));
+        }
+    }
+
+    /**
+     * @param messages  exception texts
+     * @return          number of bytes which given texts take in a class' constant pool
+     */
+    private static long getConstantPoolSize(@NotNull List<String> messages) {
+        long result = 0;
+        for (String message : new HashSet<>(messages)) {
+            result += CONSTANT_POOL_ENTRIES_OVERHEAD;
+            for (int i = 0; i < message.length(); i++) {
+                // Modified UTF-8 used in class files
+                char c = message.charAt(i);
+                if (c > 0 && c < 0x80) {
+                    result++;
+                } else if (c < 0x800) {
+                    result += 2;
+                } else {
+                    result += 3;
+                }
+            }
+        }
+        return result;
+    }
+}
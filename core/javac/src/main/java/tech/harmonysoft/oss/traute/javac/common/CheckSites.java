@@ -0,0 +1,58 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *     Assigns ids to {@code null}-checks generated for the top-level class being processed. Ids are sequential
+ *     and start from zero for every top-level class.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class CheckSites {
+
+    private final List<String>              messages = new ArrayList<>();
+    private final List<InstrumentationType> types    = new ArrayList<>();
+
+    /**
+     * Registers a new check.
+     *
+     * @param message   exception text of the check
+     * @param type      instrumentation type of the check
+     * @return          id of the check
+     */
+    public int register(@NotNull String message, @NotNull InstrumentationType type) {
+        messages.add(message);
+        types.add(type);
+        return messages.size() - 1;
+    }
+
+    /**
+     * @return  exception texts of all checks registered for the current top-level class, indexed by check id
+     */
+    @NotNull
+    public List<String> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    /**
+     * @return  instrumentation types of all checks registered for the current top-level class, indexed by check id
+     */
+    @NotNull
+    public List<InstrumentationType> getTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Is expected to be called when processing of a top-level class starts.
+     */
+    public void onTopLevelClassStart() {
+        messages.clear();
+        types.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Holds names of a class' final fields which can't be {@code null} once its object is constructed, i.e. they
+ *     are marked by a {@code NotNull} annotation and are either initialized by a non-null expression or
+ *     {@link InstrumentationType#FIELD checked at the end of the class' constructors}.
+ * </p>
+ * <p>
+ *     Allows to tell if a {@code 'return'} statement just reads one of them, e.g. {@code 'return name;'} or
+ *     {@code 'return this.name;'}. There is no need to check such expressions.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class CheckedFields {
+
+    private final Set<Name> fields = new HashSet<>();
+
+    @NotNull private final Names names;
+
+    public CheckedFields(@NotNull Names names) {
+        this.names = names;
+    }
+
+    public void add(@NotNull Name field) {
+        fields.add(field);
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * @param returnStatement   a {@code 'return'} statement of the given method
+     * @param method            an instance method of the current class
+     * @return                  name of the checked field returned by the given statement (if any)
+     */
+    @Nullable
+    public Name getReturnedField(@NotNull JCTree.JCReturn returnStatement, @NotNull JCTree.JCMethodDecl method) {
+        if (returnStatement.expr == null) {
+            return null;
+        }
+        JCTree.JCExpression e = TreeInfo.skipParens(returnStatement.expr);
+        if (e instanceof JCTree.JCFieldAccess) {
+            JCTree.JCFieldAccess access = (JCTree.JCFieldAccess) e;
+            JCTree.JCExpression selected = TreeInfo.skipParens(access.selected);
+            boolean thisAccess = selected instanceof JCTree.JCIdent && ((JCTree.JCIdent) selected).name == names._this;
+            return thisAccess && fields.contains(access.name) ? access.name : null;
+        }
+        if (!(e instanceof JCTree.JCIdent)) {
+            return null;
+        }
+        Name name = ((JCTree.JCIdent) e).name;
+        if (!fields.contains(name)) {
+            return null;
+        }
+        // The field might be shadowed by a parameter or a local variable
+        for (JCTree.JCVariableDecl parameter : method.params) {
+            if (parameter.name == name) {
+                return null;
+            }
+        }
+        VariablesFinder finder = new VariablesFinder(name);
+        finder.scan(method.body);
+        return finder.found ? null : name;
+    }
+
+    private static class VariablesFinder extends TreeScanner {
+
+        @NotNull private final Name name;
+
+        private boolean found;
+
+        VariablesFinder(@NotNull Name name) {
+            this.name = name;
+        }
+
+        @Override
+        public void visitVarDef(JCTree.JCVariableDecl tree) {
+            found |= tree.name == name;
+            super.visitVarDef(tree);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>
+ *     Allows to quickly detect compilation units which can't have instrumentation sites, i.e. which don't
+ *     have any of the {@link ConfiguredAnnotations#mayTriggerInstrumentation(Name) configured annotations}
+ *     and are located in a package without {@code NotNullByDefault} annotations.
+ * </p>
+ * <p>
+ *     Such compilation units can be skipped without running full-blown {@link InstrumentationApplianceFinder}
+ *     for them.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class CompilationUnitPreFilter {
+
+    @NotNull private final ConfiguredAnnotations configuredAnnotations;
+    @NotNull private final PackageInfoManager    packageInfoManager;
+    @NotNull private final Names                 names;
+
+    private int processedUnits;
+    private int skippedUnits;
+
+    public CompilationUnitPreFilter(@NotNull ConfiguredAnnotations configuredAnnotations,
+                                    @NotNull PackageInfoManager packageInfoManager,
+                                    @NotNull Names names)
+    {
+        this.configuredAnnotations = configuredAnnotations;
+        this.packageInfoManager = packageInfoManager;
+        this.names = names;
+    }
+
+    /**
+     * @param compilationUnit   compilation unit to check
+     * @return                  {@code true} if given compilation unit might contain instrumentation sites;
+     *                          {@code false} if it definitely doesn't contain them
+     */
+    public boolean mayHaveInstrumentations(@NotNull CompilationUnitTree compilationUnit) {
+        processedUnits++;
+        if (hasPackageDefaults(compilationUnit)) {
+            return true;
+        }
+        AnnotationScanner scanner = new AnnotationScanner();
+        compilationUnit.accept(scanner, null);
+        if (!scanner.found) {
+            skippedUnits++;
+        }
+        return scanner.found;
+    }
+
+    private boolean hasPackageDefaults(@NotNull CompilationUnitTree compilationUnit) {
+        ExpressionTree packageNameExpression = compilationUnit.getPackageName();
+        // Avoid pretty-printing the package name tree, its full name is already in the names table
+        Name packageName = packageNameExpression instanceof JCTree
+                           ? TreeInfo.fullName((JCTree) packageNameExpression)
+                           : names.empty;
+        for (String annotation : packageInfoManager.getPackageAnnotations(packageName.toString())) {
+            String simpleName = annotation.substring(annotation.lastIndexOf('.') + 1);
+            if (configuredAnnotations.mayTriggerInstrumentation(names.fromString(simpleName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return  number of compilation units checked since the last {@link #resetStats() reset}
+     */
+    public int getProcessedUnits() {
+        return processedUnits;
+    }
+
+    /**
+     * @return  number of compilation units which are considered to not have instrumentation sites
+     *          since the last {@link #resetStats() reset}
+     */
+    public int getSkippedUnits() {
+        return skippedUnits;
+    }
+
+    public void resetStats() {
+        processedUnits = 0;
+        skippedUnits = 0;
+    }
+
+    private class AnnotationScanner extends TreeScanner<Void, Void> {
+
+        private boolean found;
+
+        @Override
+        public Void scan(Tree tree, Void aVoid) {
+            // Stop as soon as the first match is found
+            return found ? null : super.scan(tree, aVoid);
+        }
+
+        @Override
+        public Void visitImport(ImportTree node, Void aVoid) {
+            return null;
+        }
+
+        @Override
+        public Void visitAnnotation(AnnotationTree node, Void aVoid) {
+            Tree type = node.getAnnotationType();
+            if (type instanceof JCTree) {
+                Name simpleName = TreeInfo.name((JCTree) type);
+                if (simpleName != null && configuredAnnotations.mayTriggerInstrumentation(simpleName)) {
+                    found = true;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -9,15 +9,15 @@ import tech.harmonysoft.oss.traute.common.stats.StatsCollector;
 import tech.harmonysoft.oss.traute.javac.log.TrautePluginLogger;
 import tech.harmonysoft.oss.traute.javac.text.ExceptionTextGeneratorManager;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Holds data necessary for processing a {@link CompilationUnitTree} given by {@code javac}
  */
 public class CompilationUnitProcessingContext {
 
-    private final Set<String> imports = new HashSet<>();
+    private final ImportsIndex     imports          = new ImportsIndex();
+    private final SyntheticMembers syntheticMembers = new SyntheticMembers();
+    private final CheckSites       checkSites       = new CheckSites();
+    private final ProfileSites     profileSites     = new ProfileSites();
 
     @NotNull private final TrautePluginSettings          pluginSettings;
     @NotNull private final TreeMaker                     astFactory;
@@ -26,6 +26,10 @@ public class CompilationUnitProcessingContext {
     @NotNull private final StatsCollector                statsCollector;
     @NotNull private final ExceptionTextGeneratorManager exceptionTextGeneratorManager;
     @NotNull private final PackageInfoManager            packageInfoManager;
+    @NotNull private final ConfiguredAnnotations         configuredAnnotations;
+    @NotNull private final CheckMessagesWriter           checkMessagesWriter;
+    @NotNull private final HotChecks                     hotChecks;
+    @NotNull private final NonNullMethods                nonNullMethods;
 
     public CompilationUnitProcessingContext(
             @NotNull TrautePluginSettings pluginSettings,
@@ -34,7 +38,11 @@ public class CompilationUnitProcessingContext {
             @NotNull TrautePluginLogger logger,
             @NotNull StatsCollector statsCollector,
             @NotNull ExceptionTextGeneratorManager exceptionTextGeneratorManager,
-            @NotNull PackageInfoManager packageInfoManager)
+            @NotNull PackageInfoManager packageInfoManager,
+            @NotNull ConfiguredAnnotations configuredAnnotations,
+            @NotNull CheckMessagesWriter checkMessagesWriter,
+            @NotNull HotChecks hotChecks,
+            @NotNull NonNullMethods nonNullMethods)
     {
         this.pluginSettings = pluginSettings;
         this.statsCollector = statsCollector;
@@ -43,10 +51,10 @@ public class CompilationUnitProcessingContext {
         this.logger = logger;
         this.exceptionTextGeneratorManager = exceptionTextGeneratorManager;
         this.packageInfoManager = packageInfoManager;
-    }
-
-    public void addImport(@NotNull String importText) {
-        imports.add(importText);
+        this.configuredAnnotations = configuredAnnotations;
+        this.checkMessagesWriter = checkMessagesWriter;
+        this.hotChecks = hotChecks;
+        this.nonNullMethods = nonNullMethods;
     }
 
     @NotNull
@@ -55,10 +63,25 @@ public class CompilationUnitProcessingContext {
     }
 
     @NotNull
-    public Set<String> getImports() {
+    public ImportsIndex getImports() {
         return imports;
     }
 
+    @NotNull
+    public SyntheticMembers getSyntheticMembers() {
+        return syntheticMembers;
+    }
+
+    @NotNull
+    public CheckSites getCheckSites() {
+        return checkSites;
+    }
+
+    @NotNull
+    public ProfileSites getProfileSites() {
+        return profileSites;
+    }
+
     @NotNull
     public TreeMaker getAstFactory() {
         return astFactory;
@@ -88,4 +111,24 @@ public class CompilationUnitProcessingContext {
     public PackageInfoManager getPackageInfoManager() {
         return packageInfoManager;
     }
+
+    @NotNull
+    public ConfiguredAnnotations getConfiguredAnnotations() {
+        return configuredAnnotations;
+    }
+
+    @NotNull
+    public CheckMessagesWriter getCheckMessagesWriter() {
+        return checkMessagesWriter;
+    }
+
+    @NotNull
+    public HotChecks getHotChecks() {
+        return hotChecks;
+    }
+
+    @NotNull
+    public NonNullMethods getNonNullMethods() {
+        return nonNullMethods;
+    }
 }
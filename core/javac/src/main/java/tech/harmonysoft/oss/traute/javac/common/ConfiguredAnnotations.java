@@ -0,0 +1,83 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
+
+import java.util.*;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Holds {@link AnnotationNamesIndex indexes} for all annotations configured in the {@link TrautePluginSettings}.
+ */
+public class ConfiguredAnnotations {
+
+    private final Map<InstrumentationType, AnnotationNamesIndex> notNullByDefault
+            = new EnumMap<>(InstrumentationType.class);
+
+    private final Set<Name> triggerSimpleNames = new HashSet<>();
+
+    @NotNull private final AnnotationNamesIndex notNull;
+    @NotNull private final AnnotationNamesIndex nullable;
+
+    public ConfiguredAnnotations(@NotNull TrautePluginSettings settings, @NotNull Names names) {
+        notNull = new AnnotationNamesIndex(settings.getNotNullAnnotations(), names);
+        addSimpleNames(settings.getNotNullAnnotations(), names);
+        nullable = new AnnotationNamesIndex(settings.getNullableAnnotations(), names);
+        for (InstrumentationType type : InstrumentationType.values()) {
+            Set<String> annotations = settings.getNotNullByDefaultAnnotations(type);
+            notNullByDefault.put(type, new AnnotationNamesIndex(annotations == null ? emptySet() : annotations, names));
+            if (annotations != null) {
+                addSimpleNames(annotations, names);
+            }
+        }
+    }
+
+    private void addSimpleNames(@NotNull Collection<String> qualifiedNames, @NotNull Names names) {
+        for (String qualifiedName : qualifiedNames) {
+            triggerSimpleNames.add(names.fromString(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1)));
+        }
+    }
+
+    /**
+     * Allows to quickly check if an annotation might cause an instrumentation. False positives are possible here,
+     * e.g. when an annotation has the same simple name as one of the configured annotations but belongs
+     * to another package.
+     *
+     * @param simpleName    simple name of the annotation to check
+     * @return              {@code true} if any of the configured {@code NotNull} or {@code NotNullByDefault}
+     *                      annotations has the given simple name; {@code false} otherwise
+     */
+    public boolean mayTriggerInstrumentation(@NotNull Name simpleName) {
+        return triggerSimpleNames.contains(simpleName);
+    }
+
+    /**
+     * @return  an index for the {@link TrautePluginSettings#getNotNullAnnotations() NotNull annotations}
+     */
+    @NotNull
+    public AnnotationNamesIndex getNotNull() {
+        return notNull;
+    }
+
+    /**
+     * @return  an index for the {@link TrautePluginSettings#getNullableAnnotations() Nullable annotations}
+     */
+    @NotNull
+    public AnnotationNamesIndex getNullable() {
+        return nullable;
+    }
+
+    /**
+     * @param type  target instrumentation type
+     * @return      an index for the {@link TrautePluginSettings#getNotNullByDefaultAnnotations(InstrumentationType)
+     *              NotNullByDefault annotations} of the given type
+     */
+    @NotNull
+    public AnnotationNamesIndex getNotNullByDefault(@NotNull InstrumentationType type) {
+        return notNullByDefault.get(type);
+    }
+}
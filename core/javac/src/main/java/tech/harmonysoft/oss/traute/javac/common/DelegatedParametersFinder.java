@@ -0,0 +1,291 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Finds method parameters which are passed unchanged to another method or constructor of the same class
+ *     as the first action of the method, e.g. {@code 'name'} in {@code 'Person(String name) { this(name, 0); }'}
+ *     or {@code 'key'} in {@code 'Object get(String key) { return get(key, null); }'}. There is no need to check
+ *     such parameters when the callee verifies them.
+ * </p>
+ * <p>
+ *     The analysis is performed before attribution, so, the callee is resolved by name and number of arguments
+ *     among the members of the same class declaration. A call is not considered if the resolution is ambiguous
+ *     (overloads of the same arity, varargs, a class which extends another class or implements an interface,
+ *     i.e. might inherit a more specific overload) or if the callee might be overridden (methods which are not
+ *     {@code static}, {@code private} or {@code final} in non-final classes). Other arguments of a method call
+ *     must not have side effects, i.e. only identifiers, literals, {@code this} fields and constants are allowed.
+ *     Arguments of a {@code this(...)} call are not restricted as parameter checks are inserted after it anyway.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class DelegatedParametersFinder {
+
+    /**
+     * Holds calls which pass verified parameters to other methods of the current class by method and
+     * parameter index. A {@code null} value means that the parameter is verified but not passed to a delegate.
+     */
+    private final Map<JCTree.JCMethodDecl, Map<Integer, DelegateCall>> verifiedParameters = new IdentityHashMap<>();
+
+    @NotNull private final JCTree.JCClassDecl classDecl;
+    @NotNull private final Names              names;
+
+    public DelegatedParametersFinder(@NotNull JCTree.JCClassDecl classDecl, @NotNull Names names) {
+        this.classDecl = classDecl;
+        this.names = names;
+    }
+
+    /**
+     * Remembers parameters which are verified at the given method's entry, either by explicit checks or
+     * implicitly by the {@code JVM}. Is expected to be called before the method's body is instrumented.
+     *
+     * @param method            a method of the current class
+     * @param parameterIndexes  indexes of the given method's verified parameters
+     */
+    public void addVerifiedParameters(@NotNull JCTree.JCMethodDecl method, @NotNull Set<Integer> parameterIndexes) {
+        Map<Integer, DelegateCall> calls = new HashMap<>();
+        for (Integer index : parameterIndexes) {
+            calls.put(index, getDelegateCall(method, index));
+        }
+        verifiedParameters.put(method, calls);
+    }
+
+    /**
+     * Forgets a parameter which turns out to be not verified at method entry.
+     *
+     * @param method            a method of the current class
+     * @param parameterIndex    an index of the given method's parameter
+     */
+    public void removeVerifiedParameter(@NotNull JCTree.JCMethodDecl method, int parameterIndex) {
+        Map<Integer, DelegateCall> calls = verifiedParameters.get(method);
+        if (calls != null) {
+            calls.remove(parameterIndex);
+        }
+    }
+
+    /**
+     * Is expected to be called when all methods of the current class are
+     * {@link #addVerifiedParameters(JCTree.JCMethodDecl, Set) registered}.
+     *
+     * @param method    a method of the current class
+     * @return          indexes of the given method's verified parameters which are verified by a delegate call
+     *                  as well, i.e. which checks might be dropped
+     */
+    @NotNull
+    public Set<Integer> find(@NotNull JCTree.JCMethodDecl method) {
+        Set<Integer> result = new HashSet<>();
+        Map<Integer, DelegateCall> calls = verifiedParameters.getOrDefault(method, Collections.emptyMap());
+        for (Map.Entry<Integer, DelegateCall> entry : calls.entrySet()) {
+            Map.Entry<JCTree.JCMethodDecl, Integer> delegate = resolve(method, entry.getValue());
+            if (delegate != null) {
+                Set<Map.Entry<JCTree.JCMethodDecl, Integer>> visited = new HashSet<>();
+                visited.add(new AbstractMap.SimpleImmutableEntry<>(method, entry.getKey()));
+                if (isVerified(delegate, visited)) {
+                    result.add(entry.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param parameter a method parameter to check
+     * @param visited   parameters processed so far, they are used for detecting delegation cycles
+     * @return          {@code true} if given parameter is verified by its method's own check or by a chain of
+     *                  delegate calls which ends with a check
+     */
+    private boolean isVerified(@NotNull Map.Entry<JCTree.JCMethodDecl, Integer> parameter,
+                               @NotNull Set<Map.Entry<JCTree.JCMethodDecl, Integer>> visited)
+    {
+        Map<Integer, DelegateCall> calls = verifiedParameters.get(parameter.getKey());
+        if (calls == null || !calls.containsKey(parameter.getValue()) || !visited.add(parameter)) {
+            return false;
+        }
+        Map.Entry<JCTree.JCMethodDecl, Integer> delegate = resolve(parameter.getKey(),
+                                                                   calls.get(parameter.getValue()));
+        return delegate == null || isVerified(delegate, visited);
+    }
+
+    /**
+     * @param method            a method of the current class
+     * @param parameterIndex    an index of the given method's parameter
+     * @return                  a call which passes given parameter unchanged if it's the first statement
+     *                          of the given method; {@code null} otherwise
+     */
+    @Nullable
+    private DelegateCall getDelegateCall(@NotNull JCTree.JCMethodDecl method, int parameterIndex) {
+        if (method.body == null || method.body.stats.isEmpty()) {
+            return null;
+        }
+        JCTree.JCStatement statement = method.body.stats.head;
+        JCTree.JCExpression expression;
+        if (statement instanceof JCTree.JCExpressionStatement) {
+            expression = ((JCTree.JCExpressionStatement) statement).expr;
+        } else if (statement instanceof JCTree.JCReturn) {
+            expression = ((JCTree.JCReturn) statement).expr;
+        } else {
+            return null;
+        }
+        if (!(expression instanceof JCTree.JCMethodInvocation)) {
+            return null;
+        }
+
+        JCTree.JCMethodInvocation invocation = (JCTree.JCMethodInvocation) expression;
+        JCTree.JCExpression methodSelect = TreeInfo.skipParens(invocation.meth);
+        Name calleeName;
+        if (methodSelect instanceof JCTree.JCIdent) {
+            calleeName = ((JCTree.JCIdent) methodSelect).name;
+        } else if (methodSelect instanceof JCTree.JCFieldAccess
+                   && isThis(TreeInfo.skipParens(((JCTree.JCFieldAccess) methodSelect).selected)))
+        {
+            calleeName = ((JCTree.JCFieldAccess) methodSelect).name;
+        } else {
+            return null;
+        }
+        if (calleeName == names._super) {
+            return null;
+        }
+        boolean constructorCall = calleeName == names._this;
+        if (!constructorCall && !invocation.args.stream().allMatch(DelegatedParametersFinder::isSideEffectFree)) {
+            // Parameter checks are inserted before the first statement, i.e. before arguments evaluation
+            return null;
+        }
+
+        Name parameterName = method.params.get(parameterIndex).name;
+        int argumentIndex = 0;
+        for (JCTree.JCExpression argument : invocation.args) {
+            JCTree.JCExpression e = TreeInfo.skipParens(argument);
+            if (e instanceof JCTree.JCIdent && ((JCTree.JCIdent) e).name == parameterName) {
+                return new DelegateCall(constructorCall ? names.init : calleeName,
+                                        invocation.args.size(),
+                                        argumentIndex);
+            }
+            argumentIndex++;
+        }
+        return null;
+    }
+
+    /**
+     * @param caller    a method of the current class
+     * @param call      a call from the given method
+     * @return          target method and its parameter's index if the call can be resolved unambiguously;
+     *                  {@code null} otherwise
+     */
+    @Nullable
+    private Map.Entry<JCTree.JCMethodDecl, Integer> resolve(@NotNull JCTree.JCMethodDecl caller,
+                                                            @Nullable DelegateCall call)
+    {
+        if (call == null) {
+            return null;
+        }
+        JCTree.JCMethodDecl callee = resolve(call.calleeName, call.arity);
+        if (callee == null || callee == caller) {
+            return null;
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(callee, call.argumentIndex);
+    }
+
+    /**
+     * @param name      target method's name
+     * @param arity     target method's parameters number
+     * @return          a method of the current class with the given name and parameters number if it's the
+     *                  only candidate and it can't be overridden; {@code null} otherwise
+     */
+    @Nullable
+    private JCTree.JCMethodDecl resolve(@NotNull Name name, int arity) {
+        JCTree.JCMethodDecl result = null;
+        for (JCTree member : classDecl.defs) {
+            if (!(member instanceof JCTree.JCMethodDecl)) {
+                continue;
+            }
+            JCTree.JCMethodDecl candidate = (JCTree.JCMethodDecl) member;
+            if (candidate.name != name) {
+                continue;
+            }
+            List<JCTree.JCVariableDecl> parameters = candidate.params;
+            if (!parameters.isEmpty() && (parameters.last().mods.flags & Flags.VARARGS) != 0) {
+                return null;
+            }
+            if (parameters.size() != arity) {
+                continue;
+            }
+            if (result != null) {
+                return null;
+            }
+            result = candidate;
+        }
+        if (result == null || name == names.init) {
+            return result;
+        }
+        if (mayInheritMethods()) {
+            // An inherited overload might be more specific for the call's arguments
+            return null;
+        }
+        boolean overridable = (result.mods.flags & (Flags.STATIC | Flags.PRIVATE | Flags.FINAL)) == 0
+                              && (classDecl.mods.flags & Flags.FINAL) == 0;
+        return overridable ? null : result;
+    }
+
+    /**
+     * @return  {@code true} if the current class might inherit methods from a super class or an interface,
+     *          they are not available before attribution
+     */
+    private boolean mayInheritMethods() {
+        return classDecl.extending != null || !classDecl.implementing.isEmpty() || classDecl.name.isEmpty();
+    }
+
+    private boolean isThis(@NotNull JCTree.JCExpression expression) {
+        return expression instanceof JCTree.JCIdent && ((JCTree.JCIdent) expression).name == names._this;
+    }
+
+    private static boolean isSideEffectFree(@NotNull JCTree.JCExpression argument) {
+        JCTree.JCExpression e = TreeInfo.skipParens(argument);
+        if (e instanceof JCTree.JCIdent || e instanceof JCTree.JCLiteral) {
+            return true;
+        }
+        if (e instanceof JCTree.JCUnary) {
+            return (e.hasTag(JCTree.Tag.NEG) || e.hasTag(JCTree.Tag.POS))
+                   && TreeInfo.skipParens(((JCTree.JCUnary) e).arg) instanceof JCTree.JCLiteral;
+        }
+        if (e instanceof JCTree.JCFieldAccess) {
+            // 'this' fields and constants like 'Defaults.TIMEOUT'
+            JCTree.JCExpression selected = ((JCTree.JCFieldAccess) e).selected;
+            if (!(selected instanceof JCTree.JCIdent) && !(selected instanceof JCTree.JCFieldAccess)) {
+                return false;
+            }
+            Name qualifier = TreeInfo.name(selected);
+            return qualifier == qualifier.table.names._this
+                   || (!qualifier.isEmpty() && Character.isUpperCase(qualifier.charAt(0)));
+        }
+        return false;
+    }
+
+    private static class DelegateCall {
+
+        @NotNull private final Name calleeName;
+        private final          int  arity;
+        private final          int  argumentIndex;
+
+        DelegateCall(@NotNull Name calleeName, int arity, int argumentIndex) {
+            this.calleeName = calleeName;
+            this.arity = arity;
+            this.argumentIndex = argumentIndex;
+        }
+    }
+}
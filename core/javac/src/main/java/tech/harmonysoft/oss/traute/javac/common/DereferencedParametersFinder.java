@@ -0,0 +1,192 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Name;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Finds method parameters which are unconditionally dereferenced at method entry before any side effect, e.g.
+ *     {@code 'list'} in {@code 'return list.size();'}. The {@code JVM} throws a {@link NullPointerException} for
+ *     such parameters anyway, so, explicit checks for them might be skipped.
+ * </p>
+ * <p>
+ *     The analysis is performed before attribution, i.e. it's purely syntactic and conservative. Only method calls,
+ *     field reads, array accesses, field writes, {@code 'synchronized'} and enhanced {@code 'for'} statements
+ *     which use a parameter as a receiver are counted. The analysis stops on the first expression which might
+ *     have a side effect or throw another exception. Static members accessed through a parameter can't be told
+ *     apart from instance members here (such code is reported by {@code javac -Xlint:static}).
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class DereferencedParametersFinder {
+
+    private final Set<Name> result = new HashSet<>();
+
+    @NotNull private final Set<Name> parameters;
+
+    private boolean stopped;
+
+    private DereferencedParametersFinder(@NotNull Set<Name> parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * @param body          target method's body
+     * @param parameters    target method's parameter names
+     * @return              names of the given parameters which are unconditionally dereferenced at the beginning
+     *                      of the given method body before any side effect
+     */
+    @NotNull
+    public static Set<Name> find(@NotNull JCTree.JCBlock body, @NotNull Set<Name> parameters) {
+        DereferencedParametersFinder finder = new DereferencedParametersFinder(parameters);
+        List<JCTree.JCStatement> statements = body.getStatements();
+        for (int i = 0; i < statements.size() && !finder.stopped; i++) {
+            JCTree.JCStatement statement = statements.get(i);
+            if (i == 0 && TreeInfo.isSelfCall(statement)) {
+                // Parameter checks are inserted after this() or super() call in constructors
+                continue;
+            }
+            finder.processStatement(statement);
+        }
+        return finder.result;
+    }
+
+    private void processStatement(@NotNull JCTree.JCStatement statement) {
+        if (statement instanceof JCTree.JCExpressionStatement) {
+            process(((JCTree.JCExpressionStatement) statement).expr);
+        } else if (statement instanceof JCTree.JCVariableDecl) {
+            process(((JCTree.JCVariableDecl) statement).init);
+        } else if (statement instanceof JCTree.JCReturn) {
+            process(((JCTree.JCReturn) statement).expr);
+            stopped = true;
+        } else if (statement instanceof JCTree.JCThrow) {
+            process(((JCTree.JCThrow) statement).expr);
+            stopped = true;
+        } else if (statement instanceof JCTree.JCSynchronized) {
+            dereference(((JCTree.JCSynchronized) statement).lock);
+            stopped = true;
+        } else if (statement instanceof JCTree.JCEnhancedForLoop) {
+            dereference(((JCTree.JCEnhancedForLoop) statement).expr);
+            stopped = true;
+        } else {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Processes given expression in the evaluation order.
+     *
+     * @param expression    an expression to process
+     */
+    private void process(@Nullable JCTree.JCExpression expression) {
+        if (expression == null || stopped) {
+            return;
+        }
+        JCTree.JCExpression e = TreeInfo.skipParens(expression);
+        if (e instanceof JCTree.JCIdent || e instanceof JCTree.JCLiteral || e instanceof JCTree.JCLambda) {
+            return;
+        }
+
+        if (e instanceof JCTree.JCFieldAccess) {
+            JCTree.JCExpression selected = TreeInfo.skipParens(((JCTree.JCFieldAccess) e).selected);
+            if (isParameter(selected)) {
+                dereference(selected);
+            } else if (selected instanceof JCTree.JCFieldAccess) {
+                process(selected);
+                // Intermediate value might be null
+                stopped = true;
+            } else if (!isThis(selected)) {
+                // Static field read might initialize a class, other receivers might be null
+                stopped = true;
+            }
+            return;
+        }
+
+        if (e instanceof JCTree.JCMethodInvocation) {
+            JCTree.JCMethodInvocation invocation = (JCTree.JCMethodInvocation) e;
+            JCTree.JCExpression receiver = null;
+            if (invocation.meth instanceof JCTree.JCFieldAccess) {
+                receiver = ((JCTree.JCFieldAccess) invocation.meth).selected;
+                process(receiver);
+            }
+            invocation.args.forEach(this::process);
+            // Receiver is dereferenced after arguments evaluation
+            dereference(receiver);
+            stopped = true;
+            return;
+        }
+
+        if (e instanceof JCTree.JCArrayAccess) {
+            JCTree.JCArrayAccess arrayAccess = (JCTree.JCArrayAccess) e;
+            process(arrayAccess.indexed);
+            process(arrayAccess.index);
+            dereference(arrayAccess.indexed);
+            stopped = true;
+            return;
+        }
+
+        if (e instanceof JCTree.JCAssign) {
+            JCTree.JCAssign assign = (JCTree.JCAssign) e;
+            JCTree.JCExpression variable = TreeInfo.skipParens(assign.lhs);
+            JCTree.JCExpression receiver = null;
+            if (variable instanceof JCTree.JCFieldAccess) {
+                receiver = TreeInfo.skipParens(((JCTree.JCFieldAccess) variable).selected);
+                if (!isParameter(receiver) && !isThis(receiver)) {
+                    stopped = true;
+                    return;
+                }
+            } else if (!(variable instanceof JCTree.JCIdent)) {
+                stopped = true;
+                return;
+            }
+            process(assign.rhs);
+            dereference(receiver);
+            stopped = true;
+            return;
+        }
+
+        if (e instanceof JCTree.JCBinary) {
+            JCTree.JCBinary binary = (JCTree.JCBinary) e;
+            process(binary.lhs);
+            if (!binary.hasTag(JCTree.Tag.AND) && !binary.hasTag(JCTree.Tag.OR)) {
+                process(binary.rhs);
+            }
+        } else if (e instanceof JCTree.JCUnary) {
+            process(((JCTree.JCUnary) e).arg);
+        } else if (e instanceof JCTree.JCTypeCast) {
+            process(((JCTree.JCTypeCast) e).expr);
+        } else if (e instanceof JCTree.JCConditional) {
+            process(((JCTree.JCConditional) e).cond);
+        } else if (e instanceof JCTree.JCNewClass && ((JCTree.JCNewClass) e).encl == null) {
+            ((JCTree.JCNewClass) e).args.forEach(this::process);
+        }
+        // The operation itself might have a side effect or throw an exception (e.g. on unboxing or division)
+        stopped = true;
+    }
+
+    private void dereference(@Nullable JCTree.JCExpression expression) {
+        if (expression == null || stopped) {
+            return;
+        }
+        JCTree.JCExpression e = TreeInfo.skipParens(expression);
+        if (isParameter(e)) {
+            result.add(((JCTree.JCIdent) e).name);
+        }
+    }
+
+    private boolean isParameter(@NotNull JCTree.JCExpression expression) {
+        return expression instanceof JCTree.JCIdent && parameters.contains(((JCTree.JCIdent) expression).name);
+    }
+
+    private static boolean isThis(@NotNull JCTree.JCExpression expression) {
+        return expression instanceof JCTree.JCIdent
+               && ((JCTree.JCIdent) expression).name == ((JCTree.JCIdent) expression).name.table.names._this;
+    }
+}
@@ -0,0 +1,162 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
+import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+import tech.harmonysoft.oss.traute.javac.log.TrautePluginLogger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Holds the checks which are hot according to a {@link TrautePluginSettings#getHotProfile() recorded execution
+ *     profile}, i.e. a {@code CSV} dumped by a {@link TrautePluginSettings#isProfile() profiling} build.
+ * </p>
+ * <p>
+ *     Checks are identified by qualified method name, {@link InstrumentationType instrumentation type} and checked
+ *     element name (method parameter's name, an empty string for {@code 'return'} checks). All {@code 'return'}
+ *     checks of the same method share the same key, the hottest of them defines the key's hotness.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public class HotChecks {
+
+    private static final String COLUMN_HITS    = "hits";
+    private static final String COLUMN_TYPE    = "type";
+    private static final String COLUMN_METHOD  = "method";
+    private static final String COLUMN_ELEMENT = "element";
+
+    @NotNull private final Map<String, Long> hits;
+    @NotNull private final HotCheckPolicy    policy;
+
+    private final long threshold;
+
+    public HotChecks(@NotNull Map<String, Long> hits, long threshold, @NotNull HotCheckPolicy policy) {
+        this.hits = Collections.unmodifiableMap(new HashMap<>(hits));
+        this.threshold = threshold;
+        this.policy = policy;
+    }
+
+    /**
+     * Reads the {@link TrautePluginSettings#getHotProfile() configured profile}. Problems are reported to
+     * the given logger, no check is considered hot then.
+     *
+     * @param settings  plugin settings to use
+     * @param logger    logger to use
+     * @return          hot checks according to the given settings
+     */
+    @NotNull
+    public static HotChecks load(@NotNull TrautePluginSettings settings, @NotNull TrautePluginLogger logger) {
+        File file = settings.getHotProfile().orElse(null);
+        if (file == null) {
+            return new HotChecks(Collections.emptyMap(), settings.getHotThreshold(), settings.getHotCheckPolicy());
+        }
+        Map<String, Long> hits = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            List<String> columns = header == null ? Collections.emptyList() : parseCsvLine(header);
+            int hitsIndex = columns.indexOf(COLUMN_HITS);
+            int typeIndex = columns.indexOf(COLUMN_TYPE);
+            int methodIndex = columns.indexOf(COLUMN_METHOD);
+            int elementIndex = columns.indexOf(COLUMN_ELEMENT);
+            if (hitsIndex < 0 || typeIndex < 0 || methodIndex < 0 || elementIndex < 0) {
+                logger.report(String.format(
+                        "Can't read checks execution profile from %s (the '%s' option) - expected to find columns "
+                        + "%s, %s, %s and %s in its header but got '%s'. All checks are generated as usual",
+                        file, TrauteConstants.OPTION_HOT_PROFILE, COLUMN_HITS, COLUMN_TYPE, COLUMN_METHOD,
+                        COLUMN_ELEMENT, header
+                ));
+                return new HotChecks(Collections.emptyMap(), settings.getHotThreshold(), settings.getHotCheckPolicy());
+            }
+            int lineNumber = 1;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                List<String> values = parseCsvLine(line);
+                try {
+                    String key = getKey(values.get(methodIndex), values.get(typeIndex), values.get(elementIndex));
+                    hits.merge(key, Long.parseLong(values.get(hitsIndex).trim()), Math::max);
+                } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                    logger.report(String.format(
+                            "Skipping malformed line #%d in checks execution profile %s - '%s'",
+                            lineNumber, file, line
+                    ));
+                }
+            }
+        } catch (IOException e) {
+            logger.report(String.format(
+                    "Can't read checks execution profile from %s (the '%s' option) - %s. All checks are generated "
+                    + "as usual", file, TrauteConstants.OPTION_HOT_PROFILE, e
+            ));
+            return new HotChecks(Collections.emptyMap(), settings.getHotThreshold(), settings.getHotCheckPolicy());
+        }
+        return new HotChecks(hits, settings.getHotThreshold(), settings.getHotCheckPolicy());
+    }
+
+    /**
+     * @param method    qualified name of the method which holds the check
+     * @param type      check's instrumentation type
+     * @param element   name of the checked element, e.g. method parameter's name, an empty string for
+     *                  {@code 'return'} checks
+     * @return          a policy to apply to the check if it's hot, {@code null} otherwise
+     */
+    @Nullable
+    public HotCheckPolicy getPolicy(@Nullable String method,
+                                    @NotNull InstrumentationType type,
+                                    @NotNull String element)
+    {
+        if (method == null || hits.isEmpty()) {
+            return null;
+        }
+        Long count = hits.get(getKey(method, type.getShortName(), element));
+        return count != null && count >= threshold ? policy : null;
+    }
+
+    @NotNull
+    private static String getKey(@NotNull String method, @NotNull String type, @NotNull String element) {
+        return method + "|" + type + "|" + element;
+    }
+
+    @NotNull
+    private static List<String> parseCsvLine(@NotNull String line) {
+        List<String> result = new ArrayList<>();
+        StringBuilder buffer = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    buffer.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    buffer.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                result.add(buffer.toString());
+                buffer.setLength(0);
+            } else {
+                buffer.append(c);
+            }
+        }
+        result.add(buffer.toString());
+        return result;
+    }
+}
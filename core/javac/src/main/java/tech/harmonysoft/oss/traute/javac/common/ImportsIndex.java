@@ -0,0 +1,77 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.util.Name;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Holds names available in a compilation unit, i.e. its package and imports.</p>
+ * <p>
+ *     It's populated once during the compilation unit processing and is used for resolving
+ *     short annotation names into qualified ones. All names are {@code javac}'s interned {@link Name names},
+ *     so, lookups don't require building strings.
+ * </p>
+ */
+public class ImportsIndex {
+
+    private final Map<Name/* simple name */, Name/* qualified name */> explicitImports = new HashMap<>();
+    private final Set<Name/* package name */>                           onDemandImports = new HashSet<>();
+
+    @Nullable private Name packageName;
+
+    /**
+     * Remembers an import like {@code import org.jetbrains.annotations.NotNull}.
+     *
+     * @param simpleName    imported class' simple name, e.g. {@code NotNull}
+     * @param qualifiedName imported class' qualified name, e.g. {@code org.jetbrains.annotations.NotNull}
+     */
+    public void addExplicitImport(@NotNull Name simpleName, @NotNull Name qualifiedName) {
+        explicitImports.put(simpleName, qualifiedName);
+    }
+
+    /**
+     * Remembers an import like {@code import org.jetbrains.annotations.*}.
+     *
+     * @param packageName   imported package name, e.g. {@code org.jetbrains.annotations}
+     */
+    public void addOnDemandImport(@NotNull Name packageName) {
+        onDemandImports.add(packageName);
+    }
+
+    /**
+     * @return  current compilation unit's package name; {@code null} for the default package
+     */
+    @Nullable
+    public Name getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(@Nullable Name packageName) {
+        this.packageName = packageName;
+    }
+
+    /**
+     * @param simpleName    simple class name, e.g. {@code NotNull}
+     * @return              qualified name of the class with the given name explicitly imported by the
+     *                      current compilation unit (if any)
+     */
+    @Nullable
+    public Name getExplicitImport(@NotNull Name simpleName) {
+        return explicitImports.get(simpleName);
+    }
+
+    /**
+     * @param packageName   target package name
+     * @return              {@code true} if all classes from the given package are imported
+     *                      by the current compilation unit, e.g. {@code import org.jetbrains.annotations.*};
+     *                      {@code false} otherwise
+     */
+    public boolean isOnDemandImport(@NotNull Name packageName) {
+        return onDemandImports.contains(packageName);
+    }
+}
@@ -4,11 +4,18 @@ import com.sun.source.tree.*;
 import com.sun.source.util.TreeScanner;
 import com.sun.tools.javac.code.Flags;
 import com.sun.tools.javac.tree.JCTree;
-import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
 import tech.harmonysoft.oss.traute.javac.instrumentation.Instrumentator;
+import tech.harmonysoft.oss.traute.javac.instrumentation.field.FieldToInstrumentInfo;
 import tech.harmonysoft.oss.traute.javac.instrumentation.method.ReturnToInstrumentInfo;
 import tech.harmonysoft.oss.traute.javac.instrumentation.parameter.ParameterToInstrumentInfo;
 
@@ -16,12 +23,16 @@ import javax.lang.model.element.Modifier;
 import javax.tools.JavaCompiler;
 import java.util.*;
 import java.util.concurrent.Callable;
-
-import static java.util.Collections.emptySet;
+import java.util.function.Supplier;
+import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.FIELD;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_PARAMETER;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_RETURN;
-import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.METHOD_RETURN_TYPES_TO_SKIP;
-import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.PRIMITIVE_TYPES;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.getConstructorCall;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isCheckedFieldReturnElisionApplicable;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isDelegatedParameterElisionApplicable;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isDereferencedParameterElisionApplicable;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isNonNullArgumentsElisionApplicable;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isNonNullReturnElisionApplicable;
 
 /**
  * Inspects {@code AST} built by {@link JavaCompiler}, finds places where to apply {@code null}-checks
@@ -35,36 +46,83 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
     private final Stack<String>  parametersNotNullByDefault = new Stack<>();
     private final Stack<String>  returnNotNullByDefault     = new Stack<>();
 
+    /**
+     * Holds delegate calls analyzers for the classes being processed. An entry is {@code null} when
+     * the analysis is not applicable.
+     */
+    private final Stack<DelegatedParametersFinder> delegatedParametersFinders = new Stack<>();
+
+    /**
+     * Holds final fields to check at the end of constructors of the classes being processed mapped to their
+     * {@code NotNull} annotations. An entry is empty when field checks are not applicable.
+     */
+    private final Stack<Map<JCTree.JCVariableDecl, String>> fieldsToCheck = new Stack<>();
+
+    /**
+     * Holds fields which can't be null once an object of the class being processed is constructed. An entry is
+     * {@code null} when there are no such fields or {@code 'return'} checks for them can't be skipped.
+     */
+    private final Stack<CheckedFields> checkedFields = new Stack<>();
+
     @NotNull private final CompilationUnitProcessingContext          context;
     @NotNull private final Instrumentator<ParameterToInstrumentInfo> parameterInstrumenter;
     @NotNull private final Instrumentator<ReturnToInstrumentInfo>    returnInstrumenter;
+    @NotNull private final Instrumentator<FieldToInstrumentInfo>     fieldInstrumenter;
+
+    @NotNull private final Name voidName;
 
     private String              packageName;
-    private String              methodName;
+    private Name                methodName;
+    private JCTree.JCMethodDecl methodDecl;
     private JCTree.JCExpression methodReturnType;
     private String              methodNotNullAnnotation;
     private int                 tmpVariableCounter;
     private int                 anonymousClassCounter;
     private boolean             instrumentReturnExpression;
 
+    /**
+     * Holds parameter checks to apply at the end of the current top-level class processing, {@code null} when
+     * checks are applied right away.
+     */
+    @Nullable private PendingParameterChecks pendingParameterChecks;
+
+    /**
+     * Tells which 'return' expressions of the current method can't be null, {@code null} when
+     * the analysis is not applicable.
+     */
+    @Nullable private NonNullExpressions nonNullExpressions;
+
     public InstrumentationApplianceFinder(@NotNull CompilationUnitProcessingContext context,
                                           @NotNull Instrumentator<ParameterToInstrumentInfo> parameterInstrumentator,
-                                          @NotNull Instrumentator<ReturnToInstrumentInfo> returnInstrumentator)
+                                          @NotNull Instrumentator<ReturnToInstrumentInfo> returnInstrumentator,
+                                          @NotNull Instrumentator<FieldToInstrumentInfo> fieldInstrumentator)
     {
         this.context = context;
         this.parameterInstrumenter = parameterInstrumentator;
         this.returnInstrumenter = returnInstrumentator;
+        this.fieldInstrumenter = fieldInstrumentator;
+        voidName = context.getSymbolsTable().fromString(Void.class.getSimpleName());
     }
 
     @Override
     public Void visitCompilationUnit(CompilationUnitTree node, Void aVoid) {
         ExpressionTree packageName = node.getPackageName();
         this.packageName = packageName == null ? "" : packageName.toString();
-        Set<String> packageAnnotations = context.getPackageInfoManager().getPackageAnnotations(this.packageName);
-        String location = this.packageName.isEmpty() ? "default package" : this.packageName + " package";
-        return withDefaultNotNullAnnotations(packageAnnotations,
-                                             location,
-                                             () -> super.visitCompilationUnit(node, aVoid));
+        if (packageName instanceof JCTree) {
+            context.getImports().setPackageName(TreeInfo.fullName((JCTree) packageName));
+        }
+        Names names = context.getSymbolsTable();
+        List<Name> packageAnnotations = new ArrayList<>();
+        for (String annotation : context.getPackageInfoManager().getPackageAnnotations(this.packageName)) {
+            packageAnnotations.add(names.fromString(annotation));
+        }
+        ConfiguredAnnotations configuredAnnotations = context.getConfiguredAnnotations();
+        return withDefaultNotNullAnnotations(
+                findMatch(packageAnnotations, configuredAnnotations.getNotNullByDefault(METHOD_PARAMETER)),
+                findMatch(packageAnnotations, configuredAnnotations.getNotNullByDefault(METHOD_RETURN)),
+                () -> this.packageName.isEmpty() ? "default package" : this.packageName + " package",
+                () -> super.visitCompilationUnit(node, aVoid)
+        );
     }
 
     @Override
@@ -79,46 +137,174 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
         if (modifiers instanceof JCTree.JCModifiers) {
             processingInterface = (((JCTree.JCModifiers) modifiers).flags & Flags.INTERFACE) != 0;
         } else {
-            processingInterface = modifiers.toString().contains("interface");
+            processingInterface = node.getKind() == Tree.Kind.INTERFACE
+                                  || node.getKind() == Tree.Kind.ANNOTATION_TYPE;
+        }
+        boolean topLevelClass = classNames.isEmpty();
+        if (topLevelClass) {
+            // Static helpers can be added only to top-level classes - inner classes can't have static methods
+            // and interfaces' static members are always public
+            context.getSyntheticMembers().onTopLevelClassStart(
+                    node instanceof JCTree.JCClassDecl ? (JCTree.JCClassDecl) node : null,
+                    processingInterface
+            );
+            context.getCheckSites().onTopLevelClassStart();
+            context.getProfileSites().onTopLevelClassStart();
+            pendingParameterChecks = createPendingParameterChecks(node);
         }
         classNames.push(className);
         this.processingInterface.push(processingInterface);
+        pushFields(node, processingInterface);
+        if (pendingParameterChecks != null
+            && node instanceof JCTree.JCClassDecl
+            && isDelegatedParameterElisionApplicable(context.getPluginSettings()))
+        {
+            delegatedParametersFinders.push(new DelegatedParametersFinder((JCTree.JCClassDecl) node,
+                                                                          context.getSymbolsTable()));
+        } else {
+            delegatedParametersFinders.push(null);
+        }
 
         try {
+            String location = className;
             return withDefaultNotNullAnnotations(modifiers,
-                                                 className + " class",
+                                                 () -> location + " class",
                                                  () -> super.visitClass(node, aVoid));
         } finally {
             classNames.pop();
             this.processingInterface.pop();
+            fieldsToCheck.pop();
+            checkedFields.pop();
+            delegatedParametersFinders.pop();
+            if (topLevelClass) {
+                if (pendingParameterChecks != null) {
+                    instrumentMethodParameters(pendingParameterChecks, className);
+                    pendingParameterChecks = null;
+                }
+                context.getSyntheticMembers().onTopLevelClassEnd(context.getAstFactory());
+                mayBeWriteCheckMessages(className);
+            }
+        }
+    }
+
+    /**
+     * Parameter checks are applied at the end of the top-level class processing when they depend
+     * on other methods' checks.
+     *
+     * @param topLevelClass a top-level class which processing is about to start
+     * @return              a holder for parameter checks to apply if they should be deferred; {@code null} otherwise
+     */
+    @Nullable
+    private PendingParameterChecks createPendingParameterChecks(@NotNull ClassTree topLevelClass) {
+        if (!(topLevelClass instanceof JCTree.JCClassDecl)) {
+            return null;
+        }
+        TrautePluginSettings settings = context.getPluginSettings();
+        if (isNonNullArgumentsElisionApplicable(settings)) {
+            // Call sites are collected before the AST is modified
+            return new PendingParameterChecks(new NonNullArgumentsFinder((JCTree.JCClassDecl) topLevelClass,
+                                                                         context.getSymbolsTable()));
+        }
+        return isDelegatedParameterElisionApplicable(settings) ? new PendingParameterChecks(null) : null;
+    }
+
+    /**
+     * Collects final fields of the given class which should be checked at the end of its constructors and
+     * the fields which can't be null once its object is constructed.
+     *
+     * @param node                  a class which processing is about to start
+     * @param processingInterface   {@code true} if given class is an interface
+     */
+    private void pushFields(@NotNull ClassTree node, boolean processingInterface) {
+        Map<JCTree.JCVariableDecl, String> toCheck = new LinkedHashMap<>();
+        TrautePluginSettings settings = context.getPluginSettings();
+        Names names = context.getSymbolsTable();
+        CheckedFields checked = isCheckedFieldReturnElisionApplicable(settings) ? new CheckedFields(names) : null;
+        if (settings.isEnabled(FIELD)
+            && !processingInterface
+            && node instanceof JCTree.JCClassDecl
+            // Record fields are assigned after the canonical constructor's body, records are not available
+            // in Java 8 API, so, their kind is checked by name
+            && !"RECORD".equals(node.getKind().name()))
+        {
+            JCTree.JCClassDecl classDecl = (JCTree.JCClassDecl) node;
+            boolean hasConstructors = classDecl.defs.stream().anyMatch(TreeInfo::isConstructor);
+            for (JCTree member : classDecl.defs) {
+                if (!(member instanceof JCTree.JCVariableDecl)) {
+                    continue;
+                }
+                JCTree.JCVariableDecl field = (JCTree.JCVariableDecl) member;
+                if ((field.mods.flags & Flags.FINAL) == 0
+                    || (field.mods.flags & Flags.STATIC) != 0
+                    || field.vartype == null
+                    || field.vartype.getKind() == Tree.Kind.PRIMITIVE_TYPE)
+                {
+                    continue;
+                }
+                Optional<String> notNullAnnotation = findAnnotation(field.mods).notNull;
+                if (!notNullAnnotation.isPresent()) {
+                    continue;
+                }
+                if (field.init != null && NonNullExpressions.isNonNull(field.init, names)) {
+                    if (checked != null) {
+                        checked.add(field.name);
+                    }
+                    continue;
+                }
+                if (!hasConstructors) {
+                    // Default constructors are added by the compiler later
+                    continue;
+                }
+                toCheck.put(field, notNullAnnotation.get());
+                HotCheckPolicy hotCheckPolicy = context.getHotChecks().getPolicy(getQualifiedMethodName(names.init),
+                                                                                 FIELD,
+                                                                                 field.name.toString());
+                if (checked != null && (hotCheckPolicy == null || hotCheckPolicy == HotCheckPolicy.HELPER)) {
+                    // Elided and assertion-guarded checks can't be relied on
+                    checked.add(field.name);
+                }
+            }
         }
+        fieldsToCheck.push(toCheck);
+        checkedFields.push(checked == null || checked.isEmpty() ? null : checked);
+    }
+
+    private void mayBeWriteCheckMessages(@NotNull String topLevelClassName) {
+        TrautePluginSettings settings = context.getPluginSettings();
+        List<String> messages = context.getCheckSites().getMessages();
+        if (settings.getCheckStyle() != CheckStyle.SITE_ID
+            || settings.getFailureAction() != FailureAction.THROW
+            || messages.isEmpty())
+        {
+            return;
+        }
+        String hostName = packageName.isEmpty() ? topLevelClassName : packageName + "." + topLevelClassName;
+        context.getCheckMessagesWriter().write(hostName, messages, context.getLogger(), settings.isVerboseMode());
     }
 
     private <T> T withDefaultNotNullAnnotations(@Nullable ModifiersTree modifiers,
-                                               @NotNull String location,
+                                               @NotNull Supplier<String> location,
                                                @NotNull Callable<T> action)
     {
-        return withDefaultNotNullAnnotations(extractAnnotations(modifiers), location, action);
+        ConfiguredAnnotations configuredAnnotations = context.getConfiguredAnnotations();
+        return withDefaultNotNullAnnotations(
+                findMatch(modifiers, configuredAnnotations.getNotNullByDefault(METHOD_PARAMETER)),
+                findMatch(modifiers, configuredAnnotations.getNotNullByDefault(METHOD_RETURN)),
+                location,
+                action
+        );
     }
 
-    private <T> T withDefaultNotNullAnnotations(@NotNull Set<String> annotations,
-                                               @NotNull String location,
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private <T> T withDefaultNotNullAnnotations(@NotNull Optional<String> parameterNotNullByDefaultAnnotation,
+                                               @NotNull Optional<String> returnNotNullByDefaultAnnotation,
+                                               @NotNull Supplier<String> location,
                                                @NotNull Callable<T> action)
     {
-        TrautePluginSettings settings = context.getPluginSettings();
-
-        Optional<String> parameterNotNullByDefaultAnnotation = findMatch(
-                annotations,
-                settings.getNotNullByDefaultAnnotations(METHOD_PARAMETER)
-        );
         parameterNotNullByDefaultAnnotation.ifPresent(s -> parametersNotNullByDefault.push(String.format(
-                "%s annotation on the %s", s, location)));
-        Optional<String> returnNotNullByDefaultAnnotation = findMatch(
-                annotations,
-                settings.getNotNullByDefaultAnnotations(METHOD_RETURN)
-        );
+                "%s annotation on the %s", s, location.get())));
         returnNotNullByDefaultAnnotation.ifPresent(s -> returnNotNullByDefault.push(String.format(
-                "%s annotation on the %s", s, location)));
+                "%s annotation on the %s", s, location.get())));
         try {
             return action.call();
         } catch (Exception e) {
@@ -135,31 +321,59 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
 
     @Override
     public Void visitImport(ImportTree node, Void v) {
-        if (!node.isStatic()) {
-            context.addImport(node.getQualifiedIdentifier().toString());
+        Tree identifier = node.getQualifiedIdentifier();
+        if (!node.isStatic() && identifier instanceof JCTree.JCFieldAccess) {
+            JCTree.JCFieldAccess access = (JCTree.JCFieldAccess) identifier;
+            Name qualifier = TreeInfo.fullName(access.selected);
+            if (access.name == context.getSymbolsTable().asterisk) {
+                context.getImports().addOnDemandImport(qualifier);
+            } else {
+                context.getImports().addExplicitImport(access.name, qualifier.append('.', access.name));
+            }
         }
         return v;
     }
 
     @Override
     public Void visitMethod(MethodTree method, Void v) {
-        methodName = method.getName().toString();
+        methodName = (Name) method.getName();
+        methodDecl = method instanceof JCTree.JCMethodDecl ? (JCTree.JCMethodDecl) method : null;
         return withDefaultNotNullAnnotations(
-                method.getModifiers(), getQualifiedMethodName() + " method", () -> {
+                method.getModifiers(), () -> getQualifiedMethodName() + " method", () -> {
                     instrumentReturnExpression = shouldInstrumentReturnExpression(method);
+                    if (instrumentReturnExpression
+                        && isNonNullReturnElisionApplicable(context.getPluginSettings())
+                        && method instanceof JCTree.JCMethodDecl)
+                    {
+                        nonNullExpressions = new NonNullExpressions((JCTree.JCMethodDecl) method,
+                                                                    context.getNonNullMethods(),
+                                                                    context.getImports(),
+                                                                    context.getSymbolsTable());
+                    }
                     if (shouldInstrumentMethodParameters(method)) {
                         JCTree.JCBlock methodBody = getMethodBody(method);
                         if (methodBody != null) {
                             instrumentMethodParameters(method, methodBody);
                         }
                     }
+                    if (method.getReturnType() == null
+                        && !fieldsToCheck.isEmpty()
+                        && !fieldsToCheck.peek().isEmpty())
+                    {
+                        JCTree.JCBlock constructorBody = getMethodBody(method);
+                        if (constructorBody != null) {
+                            instrumentFields(constructorBody);
+                        }
+                    }
                     try {
                         return super.visitMethod(method, v);
                     } finally {
                         methodReturnType = null;
                         methodNotNullAnnotation = null;
                         methodName = null;
+                        methodDecl = null;
                         instrumentReturnExpression = false;
+                        nonNullExpressions = null;
                         tmpVariableCounter = 1;
                     }
                 });
@@ -229,6 +443,15 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
                 // by a NotNull, then for the previous before the last etc
                 (o1, o2) -> o2.getMethodParameterIndex() - o1.getMethodParameterIndex()
         );
+        Set<Name> dereferencedParameters = Collections.emptySet();
+        if (isDereferencedParameterElisionApplicable(context.getPluginSettings())) {
+            Set<Name> parameterNames = new HashSet<>();
+            for (VariableTree variable : method.getParameters()) {
+                parameterNames.add((Name) variable.getName());
+            }
+            dereferencedParameters = DereferencedParametersFinder.find(bodyBlock, parameterNames);
+        }
+        Set<Integer> verifiedParameters = new HashSet<>();
         int parameterIndex = -1;
         int parametersNumber = method.getParameters().size();
         for (VariableTree variable : method.getParameters()) {
@@ -237,7 +460,7 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
                 continue;
             }
             Tree type = variable.getType();
-            if (type != null && PRIMITIVE_TYPES.contains(type.toString())) {
+            if (type != null && type.getKind() == Tree.Kind.PRIMITIVE_TYPE) {
                 continue;
             }
             Annotations annotations = findAnnotation(variable.getModifiers());
@@ -247,6 +470,25 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
 
                 String notNullByDefaultAnnotationDescription =
                         parametersNotNullByDefault.isEmpty() ? null : parametersNotNullByDefault.peek();
+                String parameterName = variable.getName().toString();
+                if (dereferencedParameters.contains((Name) variable.getName())) {
+                    if (context.getPluginSettings().isVerboseMode()) {
+                        context.getLogger().info(String.format(
+                                "skipping null-check for argument '%s' in the method %s() - it's dereferenced "
+                                + "at method entry", parameterName, getQualifiedMethodName()
+                        ));
+                    }
+                    verifiedParameters.add(parameterIndex);
+                    continue;
+                }
+                HotCheckPolicy hotCheckPolicy = getHotCheckPolicy(METHOD_PARAMETER, parameterName);
+                if (hotCheckPolicy == HotCheckPolicy.ELIDE) {
+                    continue;
+                }
+                if (hotCheckPolicy == null || hotCheckPolicy == HotCheckPolicy.HELPER) {
+                    // Assertion-guarded checks might be disabled at runtime
+                    verifiedParameters.add(parameterIndex);
+                }
                 variablesToCheck.add(new ParameterToInstrumentInfo(context,
                                                                    annotations.notNull.orElse(null),
                                                                    notNullByDefaultAnnotationDescription,
@@ -255,20 +497,121 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
                                                                    getQualifiedMethodName(),
                                                                    parameterIndex,
                                                                    parametersNumber,
-                                                                   method.getReturnType() == null));
+                                                                   method.getReturnType() == null,
+                                                                   hotCheckPolicy));
             }
         }
 
-        for (ParameterToInstrumentInfo info : variablesToCheck) {
-            mayBeSetPosition(info.getMethodParameter(), context.getAstFactory());
-            parameterInstrumenter.instrument(info);
+        PendingParameterChecks pending = pendingParameterChecks;
+        if (pending != null && method instanceof JCTree.JCMethodDecl) {
+            // Checks are analyzed when all methods of the current top-level class are known
+            JCTree.JCMethodDecl methodDecl = (JCTree.JCMethodDecl) method;
+            pending.checks.put(methodDecl, variablesToCheck);
+            pending.verifiedParameters.put(methodDecl, verifiedParameters);
+            DelegatedParametersFinder delegatedParametersFinder = delegatedParametersFinders.peek();
+            if (delegatedParametersFinder != null) {
+                delegatedParametersFinder.addVerifiedParameters(methodDecl, verifiedParameters);
+                pending.delegatedParametersFinders.put(methodDecl, delegatedParametersFinder);
+            }
+        } else {
+            parameterInstrumenter.instrumentAll(variablesToCheck);
         }
     }
 
+    private void instrumentMethodParameters(@NotNull PendingParameterChecks pending,
+                                            @NotNull String topLevelClassName)
+    {
+        boolean verbose = context.getPluginSettings().isVerboseMode();
+        NonNullArgumentsFinder nonNullArgumentsFinder = pending.nonNullArgumentsFinder;
+        if (nonNullArgumentsFinder != null) {
+            Map<JCTree.JCMethodDecl, Set<Integer>> nonNullParameters = nonNullArgumentsFinder.find(
+                    (method, index) -> pending.verifiedParameters.getOrDefault(method, Collections.emptySet())
+                                                                 .contains(index)
+            );
+            int skipped = 0;
+            for (Map.Entry<JCTree.JCMethodDecl, SortedSet<ParameterToInstrumentInfo>> entry
+                    : pending.checks.entrySet())
+            {
+                Set<Integer> indexes = nonNullParameters.getOrDefault(entry.getKey(), Collections.emptySet());
+                DelegatedParametersFinder delegatedParametersFinder =
+                        pending.delegatedParametersFinders.get(entry.getKey());
+                Iterator<ParameterToInstrumentInfo> iterator = entry.getValue().iterator();
+                while (iterator.hasNext()) {
+                    ParameterToInstrumentInfo info = iterator.next();
+                    if (!indexes.contains(info.getMethodParameterIndex())) {
+                        continue;
+                    }
+                    iterator.remove();
+                    skipped++;
+                    if (delegatedParametersFinder != null) {
+                        // The check is dropped, so, delegating methods can't rely on it
+                        delegatedParametersFinder.removeVerifiedParameter(entry.getKey(),
+                                                                          info.getMethodParameterIndex());
+                    }
+                    if (verbose) {
+                        context.getLogger().info(String.format(
+                                "skipping null-check for argument '%s' in the method %s() - all callers pass "
+                                + "non-null values", info.getMethodParameter().getName(), info.getQualifiedMethodName()
+                        ));
+                    }
+                }
+            }
+            if (verbose && skipped > 0) {
+                context.getLogger().info(String.format(
+                        "skipped %d null-check%s for parameters of private methods in the %s class - all callers "
+                        + "pass non-null values", skipped, skipped > 1 ? "s" : "", topLevelClassName
+                ));
+            }
+        }
+
+        pending.checks.forEach((method, variablesToCheck) -> {
+            DelegatedParametersFinder delegatedParametersFinder = pending.delegatedParametersFinders.get(method);
+            if (delegatedParametersFinder != null) {
+                Set<Integer> delegatedParameters = delegatedParametersFinder.find(method);
+                variablesToCheck.removeIf(info -> {
+                    if (!delegatedParameters.contains(info.getMethodParameterIndex())) {
+                        return false;
+                    }
+                    if (verbose) {
+                        context.getLogger().info(String.format(
+                                "skipping null-check for argument '%s' in the method %s() - it's passed to a delegate "
+                                + "which checks it", info.getMethodParameter().getName(), info.getQualifiedMethodName()
+                        ));
+                    }
+                    return true;
+                });
+            }
+            parameterInstrumenter.instrumentAll(variablesToCheck);
+        });
+    }
+
+    private void instrumentFields(@NotNull JCTree.JCBlock constructorBody) {
+        if (getConstructorCall(constructorBody, context.getSymbolsTable()) == context.getSymbolsTable()._this) {
+            // Fields are checked by the constructor which the current one delegates to
+            return;
+        }
+        List<FieldToInstrumentInfo> infos = new ArrayList<>();
+        for (Map.Entry<JCTree.JCVariableDecl, String> entry : fieldsToCheck.peek().entrySet()) {
+            HotCheckPolicy hotCheckPolicy = getHotCheckPolicy(FIELD, entry.getKey().name.toString());
+            if (hotCheckPolicy == HotCheckPolicy.ELIDE) {
+                continue;
+            }
+            infos.add(new FieldToInstrumentInfo(context,
+                                                entry.getValue(),
+                                                entry.getKey(),
+                                                constructorBody,
+                                                getQualifiedMethodName(),
+                                                hotCheckPolicy));
+        }
+        fieldInstrumenter.instrumentAll(infos);
+    }
+
     private boolean mayBeInstrumentReturnType(@NotNull MethodTree method) {
         Tree returnType = method.getReturnType();
         if (returnType == null
-            || METHOD_RETURN_TYPES_TO_SKIP.contains(returnType.toString())
+            // Primitive types and 'void'
+            || returnType.getKind() == Tree.Kind.PRIMITIVE_TYPE
+            || (returnType instanceof JCTree.JCIdent && ((JCTree.JCIdent) returnType).name == voidName)
             || (!(returnType instanceof JCTree.JCExpression)))
         {
             return false;
@@ -290,14 +633,6 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
         return "tmpTrauteVar" + ++tmpVariableCounter;
     }
 
-    private void mayBeSetPosition(@NotNull Tree astNode, @NotNull TreeMaker astFactory) {
-        if (astNode instanceof JCTree) {
-            // Mark our AST factory with the given AST node's offset in order to see corresponding
-            // line in the stack trace when an NPE is thrown.
-            astFactory.at(((JCTree) astNode).pos);
-        }
-    }
-
     /**
      * Checks if given {@code AST} element's modifiers contain any of the
      * {@link TrautePluginSettings#getNotNullAnnotations() NotNull} or
@@ -308,31 +643,46 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
      */
     @NotNull
     private Annotations findAnnotation(@Nullable ModifiersTree modifiers) {
-        Set<String> annotationsInSource = extractAnnotations(modifiers);
-        if (annotationsInSource.isEmpty()) {
+        if (modifiers == null || modifiers.getAnnotations() == null || modifiers.getAnnotations().isEmpty()) {
             return Annotations.EMPTY;
         }
-        return new Annotations(findMatch(annotationsInSource, context.getPluginSettings().getNotNullAnnotations()),
-                               findMatch(annotationsInSource, context.getPluginSettings().getNullableAnnotations()));
+        ConfiguredAnnotations configuredAnnotations = context.getConfiguredAnnotations();
+        return new Annotations(findMatch(modifiers, configuredAnnotations.getNotNull()),
+                               findMatch(modifiers, configuredAnnotations.getNullable()));
     }
 
+    /**
+     * Checks if any annotation from the given {@code AST} element's modifiers matches any of the
+     * {@code target annotations}.
+     *
+     * @param modifiers         {@code AST} element's modifiers to check
+     * @param targetAnnotations target annotations to check against
+     * @return                  a matched annotation (if any)
+     * @see #findMatch(Collection, AnnotationNamesIndex)
+     */
     @NotNull
-    private Set<String> extractAnnotations(@Nullable ModifiersTree modifiers) {
+    private Optional<String> findMatch(@Nullable ModifiersTree modifiers,
+                                       @NotNull AnnotationNamesIndex targetAnnotations)
+    {
         if (modifiers == null) {
-            return emptySet();
+            return Optional.empty();
         }
         java.util.List<? extends AnnotationTree> annotations = modifiers.getAnnotations();
         if (annotations == null) {
-            return emptySet();
+            return Optional.empty();
         }
-        Set<String> result = new HashSet<>();
         for (AnnotationTree annotation : annotations) {
             Tree type = annotation.getAnnotationType();
-            if (type != null) {
-                result.add(type.toString());
+            if (type instanceof JCTree) {
+                // A javac's interned name is used here in order to avoid pretty-printing the annotation's AST
+                Name name = TreeInfo.fullName((JCTree) type);
+                String match = name == null ? null : targetAnnotations.resolve(name, context.getImports());
+                if (match != null) {
+                    return Optional.of(match);
+                }
             }
         }
-        return result;
+        return Optional.empty();
     }
 
     /**
@@ -356,35 +706,13 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
      * @return                      a matched annotation (if any)
      */
     @NotNull
-    private Optional<String> findMatch(@NotNull Collection<String> annotationsToCheck,
-                                       @NotNull Set<String> targetAnnotations)
+    private Optional<String> findMatch(@NotNull Collection<Name> annotationsToCheck,
+                                       @NotNull AnnotationNamesIndex targetAnnotations)
     {
-        for (String annotationInSource : annotationsToCheck) {
-            if (targetAnnotations.contains(annotationInSource)) {
-                // Qualified annotation, like 'void test(@javax.annotation.Nonnul String s) {}'
-                return Optional.of(annotationInSource);
-            }
-            if (packageName != null) {
-                String candidate = String.format("%s.%s", packageName, annotationInSource);
-                if (targetAnnotations.contains(candidate)) {
-                    return Optional.of(candidate);
-                }
-            }
-            for (String anImport : context.getImports()) {
-                // Support an import like 'import org.jetbrains.annotations.*;'
-                if (anImport.endsWith(".*")) {
-                    String candidate = anImport.substring(0, anImport.length() - 1) + annotationInSource;
-                    if (targetAnnotations.contains(candidate)) {
-                        return Optional.of(candidate);
-                    }
-                    continue;
-                }
-                if (!targetAnnotations.contains(anImport)) {
-                    continue;
-                }
-                if (anImport.endsWith(annotationInSource)) {
-                    return Optional.of(anImport);
-                }
+        for (Name annotationInSource : annotationsToCheck) {
+            String match = targetAnnotations.resolve(annotationInSource, context.getImports());
+            if (match != null) {
+                return Optional.of(match);
             }
         }
         return Optional.empty();
@@ -392,6 +720,11 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
 
     @Nullable
     private String getQualifiedMethodName() {
+        return getQualifiedMethodName(methodName);
+    }
+
+    @Nullable
+    private String getQualifiedMethodName(@Nullable Name methodName) {
         StringBuilder buffer = new StringBuilder();
         if (packageName != null) {
             buffer.append(packageName).append(".");
@@ -490,9 +823,39 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
             && methodReturnType != null
             && !parents.isEmpty())
         {
-            mayBeSetPosition(node, context.getAstFactory());
+            CheckedFields fields = checkedFields.isEmpty() ? null : checkedFields.peek();
+            Name field = fields != null && methodDecl != null && node instanceof JCTree.JCReturn
+                         ? fields.getReturnedField((JCTree.JCReturn) node, methodDecl)
+                         : null;
+            if (field != null) {
+                context.getStatsCollector().incrementElided(METHOD_RETURN);
+                if (context.getPluginSettings().isVerboseMode()) {
+                    context.getLogger().info(String.format(
+                            "skipping null-check for 'return' expression in method %s() - it returns final field "
+                            + "'%s' which can't be null once the object is constructed", getQualifiedMethodName(), field
+                    ));
+                }
+                return super.visitReturn(node, aVoid);
+            }
+            if (nonNullExpressions != null
+                && node instanceof JCTree.JCReturn
+                && nonNullExpressions.isNonNull((JCTree.JCReturn) node))
+            {
+                context.getStatsCollector().incrementElided(METHOD_RETURN);
+                if (context.getPluginSettings().isVerboseMode()) {
+                    context.getLogger().info(String.format(
+                            "skipping null-check for 'return' expression in method %s() - it can't be null",
+                            getQualifiedMethodName()
+                    ));
+                }
+                return super.visitReturn(node, aVoid);
+            }
             String notNullByDefaultDescription = returnNotNullByDefault.isEmpty() ? null
                                                                                   : returnNotNullByDefault.peek();
+            HotCheckPolicy hotCheckPolicy = getHotCheckPolicy(METHOD_RETURN, "");
+            if (hotCheckPolicy == HotCheckPolicy.ELIDE) {
+                return super.visitReturn(node, aVoid);
+            }
             returnInstrumenter.instrument(new ReturnToInstrumentInfo(context,
                                                                      methodNotNullAnnotation,
                                                                      notNullByDefaultDescription,
@@ -500,11 +863,50 @@ public class InstrumentationApplianceFinder extends TreeScanner<Void, Void> {
                                                                      methodReturnType,
                                                                      getTmpVariableName(),
                                                                      parents.peek(),
-                                                                     getQualifiedMethodName()));
+                                                                     getQualifiedMethodName(),
+                                                                     hotCheckPolicy));
         }
         return super.visitReturn(node, aVoid);
     }
 
+    /**
+     * @param type      instrumentation type of the check to generate
+     * @param element   name of the checked element, e.g. method parameter's or field's name, an empty string
+     *                  for {@code 'return'} checks
+     * @return          a policy to apply to the check if it's hot according to the recorded execution profile,
+     *                  {@code null} otherwise
+     */
+    @Nullable
+    private HotCheckPolicy getHotCheckPolicy(@NotNull InstrumentationType type, @NotNull String element) {
+        String method = getQualifiedMethodName();
+        HotCheckPolicy result = context.getHotChecks().getPolicy(method, type, element);
+        if (result == HotCheckPolicy.ELIDE && context.getPluginSettings().isVerboseMode()) {
+            context.getLogger().info(String.format(
+                    "skipping '%s' check%s in %s() - it's hot according to the recorded execution profile",
+                    type.getShortName(), element.isEmpty() ? "" : " for '" + element + "'", method
+            ));
+        }
+        return result;
+    }
+
+    private static class PendingParameterChecks {
+
+        private final Map<JCTree.JCMethodDecl, SortedSet<ParameterToInstrumentInfo>> checks = new LinkedHashMap<>();
+
+        /** Holds indexes of the parameters verified at method entry by method. */
+        private final Map<JCTree.JCMethodDecl, Set<Integer>> verifiedParameters = new IdentityHashMap<>();
+
+        /** Holds delegate calls analyzers of the methods' classes by method. */
+        private final Map<JCTree.JCMethodDecl, DelegatedParametersFinder> delegatedParametersFinders
+                = new IdentityHashMap<>();
+
+        @Nullable private final NonNullArgumentsFinder nonNullArgumentsFinder;
+
+        PendingParameterChecks(@Nullable NonNullArgumentsFinder nonNullArgumentsFinder) {
+            this.nonNullArgumentsFinder = nonNullArgumentsFinder;
+        }
+    }
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     private static class Annotations {
 
@@ -0,0 +1,345 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Stack;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>
+ *     Finds parameters of {@code private} methods and constructors which are given non-{@code null} arguments
+ *     at all call sites, e.g. {@code 'builder'} in {@code 'private Person(Builder builder)'} which is called only
+ *     as {@code 'new Person(this)'}, or {@code 'name'} in {@code 'private void doSet(String name)'} which is called
+ *     only as {@code 'doSet(name)'} from a method which checks its own {@code 'name'} parameter.
+ * </p>
+ * <p>
+ *     {@code Private} members are accessible only inside the top-level class, so, all their call sites are
+ *     collected from its {@code AST}. The analysis is performed before attribution, i.e. calls are matched
+ *     to methods by name and number of arguments and to constructors by simple class name and number of arguments.
+ *     A call site which might target several methods is taken into account for all of them. Methods and
+ *     constructors which are used in method references, have varargs or have no call sites are not considered.
+ * </p>
+ * <p>
+ *     An argument is considered to be non-{@code null} if it's an expression which can't evaluate
+ *     to {@code null} (e.g. a literal, {@code this}, an object creation or an arithmetic expression)
+ *     or a parameter of the calling method which is never reassigned and is either checked at method entry
+ *     or is proven to be non-{@code null} by this analysis itself. Arguments of {@code this(...)}
+ *     and {@code super(...)} calls are evaluated before parameter checks, so, parameters passed to them
+ *     are not trusted.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class NonNullArgumentsFinder {
+
+    /** Marks an argument which can't be {@code null}. */
+    private static final int NON_NULL = -1;
+
+    /** Marks an argument which might be {@code null}. */
+    private static final int UNKNOWN = -2;
+
+    private final java.util.List<JCTree.JCMethodDecl> candidates         = new ArrayList<>();
+    private final java.util.List<CallSite>            callSites          = new ArrayList<>();
+    private final Set<Name>                           referencedMethods  = new HashSet<>();
+    private final Set<Name>                           referencedClasses  = new HashSet<>();
+
+    /** Holds names which calls to the candidate methods use, i.e. method names and simple class names. */
+    private final Map<JCTree.JCMethodDecl, Name> candidateCallNames = new IdentityHashMap<>();
+
+    /** Holds names of the parameters which are reassigned in a method's body by method. */
+    private final Map<JCTree.JCMethodDecl, Set<Name>> assignedParameters = new IdentityHashMap<>();
+
+    @NotNull private final Names names;
+
+    /**
+     * Collects call sites from the given class, is expected to be called before its {@code AST} is modified.
+     *
+     * @param topLevelClass a top-level class to analyze
+     * @param names         symbols table to use
+     */
+    public NonNullArgumentsFinder(@NotNull JCTree.JCClassDecl topLevelClass, @NotNull Names names) {
+        this.names = names;
+        new CallSitesCollector().scan(topLevelClass);
+    }
+
+    /**
+     * @param checked   tells if a method's parameter with the given index is checked at method entry
+     * @return          indexes of {@code private} methods' parameters which are given non-{@code null} arguments
+     *                  at all call sites by method
+     */
+    @NotNull
+    public Map<JCTree.JCMethodDecl, Set<Integer>> find(@NotNull BiPredicate<JCTree.JCMethodDecl, Integer> checked) {
+        Map<JCTree.JCMethodDecl, Set<Integer>> result = new IdentityHashMap<>();
+        Map<JCTree.JCMethodDecl, java.util.List<CallSite>> callSitesByMethod = new IdentityHashMap<>();
+        for (JCTree.JCMethodDecl candidate : candidates) {
+            boolean constructor = candidate.name == names.init;
+            Name callName = candidateCallNames.get(candidate);
+            if ((constructor ? referencedClasses : referencedMethods).contains(callName)) {
+                continue;
+            }
+            java.util.List<CallSite> sites = new ArrayList<>();
+            for (CallSite site : callSites) {
+                if (site.constructor == constructor
+                    && site.name == callName
+                    && site.arguments.length == candidate.params.size())
+                {
+                    sites.add(site);
+                }
+            }
+            if (sites.isEmpty()) {
+                continue;
+            }
+            Set<Integer> parameters = new HashSet<>();
+            for (int i = 0; i < candidate.params.size(); i++) {
+                parameters.add(i);
+            }
+            result.put(candidate, parameters);
+            callSitesByMethod.put(candidate, sites);
+        }
+
+        // Drop parameters given a possibly null argument until nothing changes
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<JCTree.JCMethodDecl, Set<Integer>> entry : result.entrySet()) {
+                for (CallSite site : callSitesByMethod.get(entry.getKey())) {
+                    changed |= entry.getValue().removeIf(i -> !isNonNull(site, i, result, checked));
+                }
+            }
+        }
+        result.values().removeIf(Set::isEmpty);
+        return result;
+    }
+
+    private boolean isNonNull(@NotNull CallSite site,
+                              int argumentIndex,
+                              @NotNull Map<JCTree.JCMethodDecl, Set<Integer>> nonNullParameters,
+                              @NotNull BiPredicate<JCTree.JCMethodDecl, Integer> checked)
+    {
+        int argument = site.arguments[argumentIndex];
+        if (argument == NON_NULL) {
+            return true;
+        }
+        JCTree.JCMethodDecl caller = site.caller;
+        if (argument == UNKNOWN || caller == null) {
+            return false;
+        }
+        Name parameterName = caller.params.get(argument).name;
+        if (assignedParameters.getOrDefault(caller, Collections.emptySet()).contains(parameterName)) {
+            return false;
+        }
+        return nonNullParameters.getOrDefault(caller, Collections.emptySet()).contains(argument)
+               || checked.test(caller, argument);
+    }
+
+    @Nullable
+    private static Name getSimpleName(@Nullable JCTree type) {
+        if (type instanceof JCTree.JCTypeApply) {
+            type = ((JCTree.JCTypeApply) type).clazz;
+        }
+        if (type instanceof JCTree.JCAnnotatedType) {
+            type = ((JCTree.JCAnnotatedType) type).underlyingType;
+        }
+        return type == null ? null : TreeInfo.name(type);
+    }
+
+    private class CallSitesCollector extends TreeScanner {
+
+        private final Stack<JCTree.JCClassDecl> classes = new Stack<>();
+
+        @Nullable private JCTree.JCMethodDecl method;
+        private boolean                       constructorCallArguments;
+
+        @Override
+        public void visitClassDef(JCTree.JCClassDecl tree) {
+            for (JCTree member : tree.defs) {
+                if (member instanceof JCTree.JCMethodDecl) {
+                    mayBeAddCandidate(tree, (JCTree.JCMethodDecl) member);
+                }
+            }
+            JCTree.JCMethodDecl enclosingMethod = method;
+            boolean enclosingConstructorCallArguments = constructorCallArguments;
+            // Enclosing method's parameters are not trusted in local and anonymous classes
+            method = null;
+            constructorCallArguments = false;
+            classes.push(tree);
+            try {
+                super.visitClassDef(tree);
+            } finally {
+                classes.pop();
+                method = enclosingMethod;
+                constructorCallArguments = enclosingConstructorCallArguments;
+            }
+        }
+
+        private void mayBeAddCandidate(@NotNull JCTree.JCClassDecl owner, @NotNull JCTree.JCMethodDecl candidate) {
+            List<JCTree.JCVariableDecl> parameters = candidate.params;
+            if ((candidate.mods.flags & Flags.PRIVATE) == 0
+                || candidate.body == null
+                || parameters.isEmpty()
+                || (parameters.last().mods.flags & Flags.VARARGS) != 0)
+            {
+                return;
+            }
+            candidates.add(candidate);
+            candidateCallNames.put(candidate, candidate.name == names.init ? owner.name : candidate.name);
+        }
+
+        @Override
+        public void visitMethodDef(JCTree.JCMethodDecl tree) {
+            JCTree.JCMethodDecl enclosingMethod = method;
+            method = tree;
+            try {
+                super.visitMethodDef(tree);
+            } finally {
+                method = enclosingMethod;
+            }
+        }
+
+        @Override
+        public void visitApply(JCTree.JCMethodInvocation tree) {
+            Name name = TreeInfo.name(TreeInfo.skipParens(tree.meth));
+            boolean constructorCall = false;
+            if (name == names._this && !classes.isEmpty()) {
+                constructorCall = true;
+                addCallSite(true, classes.peek().name, tree.args, true);
+            } else if (name == names._super && !classes.isEmpty()) {
+                constructorCall = true;
+                Name superClassName = getSimpleName(classes.peek().extending);
+                if (superClassName != null) {
+                    addCallSite(true, superClassName, tree.args, true);
+                }
+            } else if (name != null) {
+                addCallSite(false, name, tree.args, false);
+            }
+
+            scan(tree.meth);
+            boolean enclosingConstructorCallArguments = constructorCallArguments;
+            constructorCallArguments |= constructorCall;
+            try {
+                scan(tree.args);
+            } finally {
+                constructorCallArguments = enclosingConstructorCallArguments;
+            }
+        }
+
+        @Override
+        public void visitNewClass(JCTree.JCNewClass tree) {
+            Name className = getSimpleName(tree.clazz);
+            if (className != null) {
+                addCallSite(true, className, tree.args, false);
+            }
+            super.visitNewClass(tree);
+        }
+
+        @Override
+        public void visitReference(JCTree.JCMemberReference tree) {
+            if (tree.getMode() == MemberReferenceTree.ReferenceMode.NEW) {
+                Name className = getSimpleName(tree.expr);
+                if (className != null) {
+                    referencedClasses.add(className);
+                }
+            } else {
+                referencedMethods.add(tree.name);
+            }
+            super.visitReference(tree);
+        }
+
+        @Override
+        public void visitAssign(JCTree.JCAssign tree) {
+            mayBeMarkAssigned(tree.lhs);
+            super.visitAssign(tree);
+        }
+
+        @Override
+        public void visitAssignop(JCTree.JCAssignOp tree) {
+            mayBeMarkAssigned(tree.lhs);
+            super.visitAssignop(tree);
+        }
+
+        private void mayBeMarkAssigned(@NotNull JCTree.JCExpression variable) {
+            JCTree.JCExpression e = TreeInfo.skipParens(variable);
+            if (method != null && e instanceof JCTree.JCIdent) {
+                assignedParameters.computeIfAbsent(method, m -> new HashSet<>()).add(((JCTree.JCIdent) e).name);
+            }
+        }
+
+        /**
+         * @param constructor               a flag which tells if it's a constructor call
+         * @param name                      target method's name or target class' simple name
+         * @param args                      call arguments
+         * @param explicitConstructorCall   a flag which tells if it's a {@code this(...)} or {@code super(...)}
+         *                                  call, i.e. the one which arguments are evaluated before parameter checks
+         */
+        private void addCallSite(boolean constructor,
+                                 @NotNull Name name,
+                                 @NotNull List<JCTree.JCExpression> args,
+                                 boolean explicitConstructorCall)
+        {
+            int[] arguments = new int[args.size()];
+            int i = 0;
+            for (JCTree.JCExpression argument : args) {
+                arguments[i++] = classify(argument, explicitConstructorCall);
+            }
+            callSites.add(new CallSite(constructor, name, arguments, method));
+        }
+
+        private int classify(@NotNull JCTree.JCExpression argument, boolean explicitConstructorCall) {
+            if (NonNullExpressions.isNonNull(argument, names)) {
+                return NON_NULL;
+            }
+            JCTree.JCExpression e = TreeInfo.skipParens(argument);
+            if (method == null
+                || constructorCallArguments
+                || explicitConstructorCall
+                || !(e instanceof JCTree.JCIdent))
+            {
+                return UNKNOWN;
+            }
+            Name name = ((JCTree.JCIdent) e).name;
+            int i = 0;
+            for (JCTree.JCVariableDecl parameter : method.params) {
+                if (parameter.name == name) {
+                    return i;
+                }
+                i++;
+            }
+            return UNKNOWN;
+        }
+    }
+
+    private static class CallSite {
+
+        /** Holds either a calling method's parameter index or {@link #NON_NULL} or {@link #UNKNOWN}. */
+        @NotNull private final int[] arguments;
+
+        @NotNull  private final Name                name;
+        @Nullable private final JCTree.JCMethodDecl caller;
+        private final           boolean             constructor;
+
+        CallSite(boolean constructor,
+                 @NotNull Name name,
+                 @NotNull int[] arguments,
+                 @Nullable JCTree.JCMethodDecl caller)
+        {
+            this.constructor = constructor;
+            this.name = name;
+            this.arguments = arguments;
+            this.caller = caller;
+        }
+    }
+}
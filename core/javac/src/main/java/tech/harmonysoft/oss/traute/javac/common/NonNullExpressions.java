@@ -0,0 +1,337 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     Tells if {@code 'return'} expressions of a method can't evaluate to {@code null}, e.g.
+ *     {@code 'return new ArrayList<>();'}, {@code 'return "label";'}, {@code 'return this;'},
+ *     {@code 'return "id-" + id;'} or {@code 'return Collections.emptyList();'}. There is no need to check
+ *     such expressions.
+ * </p>
+ * <p>
+ *     The analysis is performed before attribution and is local to the method body. Besides the
+ *     {@link #isNonNull(JCTree.JCExpression, Names) expressions which are non-null by construction}, it
+ *     recognizes calls to the {@link NonNullMethods configured non-null methods} and local variables or
+ *     parameters which are never reassigned in the method and which are either initialized by a non-null
+ *     expression or checked by a statement like {@code 'if (result == null) throw ...'} or
+ *     {@code 'if (result == null) return ...'} on the way to the {@code 'return'}. Fields are never trusted.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class NonNullExpressions {
+
+    @NotNull private final JCTree.JCMethodDecl method;
+    @NotNull private final NonNullMethods      nonNullMethods;
+    @NotNull private final ImportsIndex        imports;
+    @NotNull private final Names               names;
+
+    /** Names of the variables which are assigned in the method's body, is built lazily. */
+    @Nullable private Set<Name> assignedNames;
+
+    public NonNullExpressions(@NotNull JCTree.JCMethodDecl method,
+                              @NotNull NonNullMethods nonNullMethods,
+                              @NotNull ImportsIndex imports,
+                              @NotNull Names names)
+    {
+        this.method = method;
+        this.nonNullMethods = nonNullMethods;
+        this.imports = imports;
+        this.names = names;
+    }
+
+    /**
+     * @param expression    an expression to check
+     * @param names         symbols table to use
+     * @return              {@code true} if given expression can't evaluate to {@code null} regardless of
+     *                      its context, e.g. it's a literal, {@code this} or an object creation
+     */
+    public static boolean isNonNull(@NotNull JCTree.JCExpression expression, @NotNull Names names) {
+        return isNonNull(expression, names, e -> false);
+    }
+
+    /**
+     * @param expression    an expression to check
+     * @param names         symbols table to use
+     * @param other         a fallback for the expressions which are not non-null by construction
+     * @return              {@code true} if given expression can't evaluate to {@code null}
+     */
+    private static boolean isNonNull(@NotNull JCTree.JCExpression expression,
+                                     @NotNull Names names,
+                                     @NotNull Predicate<JCTree.JCExpression> other)
+    {
+        JCTree.JCExpression e = TreeInfo.skipParens(expression);
+        if (e instanceof JCTree.JCLiteral) {
+            return e.getKind() != Tree.Kind.NULL_LITERAL;
+        }
+        if (e instanceof JCTree.JCNewClass
+            || e instanceof JCTree.JCNewArray
+            || e instanceof JCTree.JCLambda
+            || e instanceof JCTree.JCMemberReference
+            || e instanceof JCTree.JCInstanceOf)
+        {
+            return true;
+        }
+        if (e instanceof JCTree.JCBinary || e instanceof JCTree.JCUnary) {
+            // Either a string concatenation or a primitive value which is boxed for a reference type
+            return true;
+        }
+        if (e instanceof JCTree.JCTypeCast) {
+            return isNonNull(((JCTree.JCTypeCast) e).expr, names, other);
+        }
+        if (e instanceof JCTree.JCConditional) {
+            return isNonNull(((JCTree.JCConditional) e).truepart, names, other)
+                   && isNonNull(((JCTree.JCConditional) e).falsepart, names, other);
+        }
+        if (e instanceof JCTree.JCIdent && ((JCTree.JCIdent) e).name == names._this) {
+            return true;
+        }
+        if (e instanceof JCTree.JCFieldAccess) {
+            // 'Outer.this' and 'Type.class'
+            Name name = ((JCTree.JCFieldAccess) e).name;
+            if (name == names._this || name == names._class) {
+                return true;
+            }
+        }
+        return other.test(e);
+    }
+
+    /**
+     * @param returnStatement   a {@code 'return'} statement of the current method
+     * @return                  {@code true} if given statement's expression can't evaluate to {@code null}
+     */
+    public boolean isNonNull(@NotNull JCTree.JCReturn returnStatement) {
+        return returnStatement.expr != null && isNonNull(returnStatement.expr, returnStatement);
+    }
+
+    /**
+     * @param expression    an expression to check
+     * @param location      a statement of the current method which contains given expression
+     * @return              {@code true} if given expression can't evaluate to {@code null}
+     */
+    private boolean isNonNull(@NotNull JCTree.JCExpression expression, @NotNull JCTree.JCStatement location) {
+        return isNonNull(expression, names, e -> {
+            if (e instanceof JCTree.JCMethodInvocation) {
+                return nonNullMethods.isNonNull((JCTree.JCMethodInvocation) e, imports);
+            }
+            return e instanceof JCTree.JCIdent && isNonNullVariable(((JCTree.JCIdent) e).name, location);
+        });
+    }
+
+    /**
+     * @param name      a variable name
+     * @param location  a statement of the current method which uses the variable
+     * @return          {@code true} if given name refers to a local variable or a parameter of the current method
+     *                  which is known to be non-{@code null} at the given location
+     */
+    private boolean isNonNullVariable(@NotNull Name name, @NotNull JCTree.JCStatement location) {
+        if (getAssignedNames().contains(name)) {
+            return false;
+        }
+        java.util.List<JCTree> path = new PathFinder(location).find(method.body);
+        if (path == null) {
+            return false;
+        }
+        boolean checked = false;
+        for (int i = path.size() - 1; i > 0; i--) {
+            List<JCTree.JCStatement> statements = getStatements(path.get(i - 1));
+            if (statements == null) {
+                continue;
+            }
+            // Statements which precede the location are processed from the nearest one
+            java.util.List<JCTree.JCStatement> preceding = new ArrayList<>();
+            for (JCTree.JCStatement statement : statements) {
+                if (statement == path.get(i)) {
+                    break;
+                }
+                preceding.add(0, statement);
+            }
+            for (JCTree.JCStatement statement : preceding) {
+                if (statement instanceof JCTree.JCVariableDecl && ((JCTree.JCVariableDecl) statement).name == name) {
+                    JCTree.JCExpression initializer = ((JCTree.JCVariableDecl) statement).init;
+                    return checked || (initializer != null && isNonNull(initializer, statement));
+                }
+                checked |= isNullCheck(statement, name);
+            }
+        }
+        if (!checked) {
+            return false;
+        }
+        // The name is not declared by a preceding statement, so, it's either a parameter or a field
+        for (JCTree.JCVariableDecl parameter : method.params) {
+            if (parameter.name == name) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static List<JCTree.JCStatement> getStatements(@NotNull JCTree tree) {
+        if (tree instanceof JCTree.JCBlock) {
+            return ((JCTree.JCBlock) tree).stats;
+        }
+        if (tree instanceof JCTree.JCCase) {
+            return ((JCTree.JCCase) tree).stats;
+        }
+        return null;
+    }
+
+    /**
+     * @param statement a statement to check
+     * @param name      target variable name
+     * @return          {@code true} if given statement doesn't complete normally when a variable with
+     *                  the given name is {@code null}, e.g. {@code 'if (name == null) throw ...'}
+     */
+    private static boolean isNullCheck(@NotNull JCTree.JCStatement statement, @NotNull Name name) {
+        if (!(statement instanceof JCTree.JCIf)) {
+            return false;
+        }
+        JCTree.JCIf ifStatement = (JCTree.JCIf) statement;
+        return ifStatement.elsepart == null
+               && isNullComparison(ifStatement.cond, name)
+               && completesAbruptly(ifStatement.thenpart);
+    }
+
+    /**
+     * @param condition an expression to check
+     * @param name      target variable name
+     * @return          {@code true} if given condition is {@code true} when a variable with the given name is
+     *                  {@code null}, e.g. {@code 'name == null'} or {@code 'name == null || other == null'}
+     */
+    private static boolean isNullComparison(@NotNull JCTree.JCExpression condition, @NotNull Name name) {
+        JCTree.JCExpression e = TreeInfo.skipParens(condition);
+        if (!(e instanceof JCTree.JCBinary)) {
+            return false;
+        }
+        JCTree.JCBinary binary = (JCTree.JCBinary) e;
+        if (binary.hasTag(JCTree.Tag.OR)) {
+            return isNullComparison(binary.lhs, name) || isNullComparison(binary.rhs, name);
+        }
+        return binary.hasTag(JCTree.Tag.EQ)
+               && ((isVariable(binary.lhs, name) && isNullLiteral(binary.rhs))
+                   || (isNullLiteral(binary.lhs) && isVariable(binary.rhs, name)));
+    }
+
+    private static boolean isVariable(@NotNull JCTree.JCExpression expression, @NotNull Name name) {
+        JCTree.JCExpression e = TreeInfo.skipParens(expression);
+        return e instanceof JCTree.JCIdent && ((JCTree.JCIdent) e).name == name;
+    }
+
+    private static boolean isNullLiteral(@NotNull JCTree.JCExpression expression) {
+        return TreeInfo.skipParens(expression).getKind() == Tree.Kind.NULL_LITERAL;
+    }
+
+    private static boolean completesAbruptly(@Nullable JCTree.JCStatement statement) {
+        if (statement instanceof JCTree.JCBlock) {
+            List<JCTree.JCStatement> statements = ((JCTree.JCBlock) statement).stats;
+            return !statements.isEmpty() && completesAbruptly(statements.last());
+        }
+        return statement instanceof JCTree.JCThrow
+               || statement instanceof JCTree.JCReturn
+               || statement instanceof JCTree.JCBreak
+               || statement instanceof JCTree.JCContinue;
+    }
+
+    @NotNull
+    private Set<Name> getAssignedNames() {
+        Set<Name> result = assignedNames;
+        if (result == null) {
+            AssignmentsCollector collector = new AssignmentsCollector();
+            collector.scan(method.body);
+            assignedNames = result = collector.names;
+        }
+        return result;
+    }
+
+    private static class AssignmentsCollector extends TreeScanner {
+
+        private final Set<Name> names = new HashSet<>();
+
+        @Override
+        public void visitAssign(JCTree.JCAssign tree) {
+            addName(tree.lhs);
+            super.visitAssign(tree);
+        }
+
+        @Override
+        public void visitAssignop(JCTree.JCAssignOp tree) {
+            addName(tree.lhs);
+            super.visitAssignop(tree);
+        }
+
+        @Override
+        public void visitUnary(JCTree.JCUnary tree) {
+            if (tree.hasTag(JCTree.Tag.PREINC)
+                || tree.hasTag(JCTree.Tag.PREDEC)
+                || tree.hasTag(JCTree.Tag.POSTINC)
+                || tree.hasTag(JCTree.Tag.POSTDEC))
+            {
+                addName(tree.arg);
+            }
+            super.visitUnary(tree);
+        }
+
+        private void addName(@NotNull JCTree.JCExpression target) {
+            JCTree.JCExpression e = TreeInfo.skipParens(target);
+            if (e instanceof JCTree.JCIdent) {
+                names.add(((JCTree.JCIdent) e).name);
+            }
+        }
+    }
+
+    /**
+     * Finds {@code AST} nodes on the way from a root node to the target node.
+     */
+    private static class PathFinder extends TreeScanner {
+
+        private final Deque<JCTree> current = new ArrayDeque<>();
+
+        @NotNull  private final JCTree                   target;
+        @Nullable private       java.util.List<JCTree>   result;
+
+        PathFinder(@NotNull JCTree target) {
+            this.target = target;
+        }
+
+        /**
+         * @param root  a root node to start from
+         * @return      nodes from the given root to the target node (inclusive); {@code null} if the target
+         *              node is not found
+         */
+        @Nullable
+        java.util.List<JCTree> find(@Nullable JCTree root) {
+            scan(root);
+            return result;
+        }
+
+        @Override
+        public void scan(JCTree tree) {
+            if (tree == null || result != null) {
+                return;
+            }
+            current.addLast(tree);
+            if (tree == target) {
+                result = new ArrayList<>(current);
+            } else {
+                super.scan(tree);
+            }
+            current.removeLast();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
+
+import java.util.*;
+
+/**
+ * <p>
+ *     Holds {@link TrautePluginSettings#getNonNullMethods() static methods which never return null} and allows
+ *     to check if a method call used in source code targets one of them.
+ * </p>
+ * <p>
+ *     Only qualified calls are recognized, e.g. {@code Collections.emptyList()} or
+ *     {@code java.util.Collections.emptyList()}, their qualifiers are resolved in the same way as
+ *     {@link AnnotationNamesIndex annotation names}. Classes from the {@code java.lang} package are
+ *     resolved implicitly unless a class with the same name is imported explicitly.
+ * </p>
+ * <p>
+ *     It's expected to be built once per configured methods set and re-used for all compilation units.
+ * </p>
+ */
+public class NonNullMethods {
+
+    private static final String JAVA_LANG_PREFIX = "java.lang.";
+
+    private final Map<Name/* method name */, Set<String>/* qualified class names */> classes = new HashMap<>();
+    private final Map<Name/* simple class name */, String/* qualified class name */> javaLangClasses
+            = new HashMap<>();
+
+    @NotNull private final AnnotationNamesIndex classNames;
+
+    public NonNullMethods(@NotNull Collection<String> qualifiedMethodNames, @NotNull Names names) {
+        Set<String> qualifiedClassNames = new HashSet<>();
+        for (String qualifiedMethodName : qualifiedMethodNames) {
+            int i = qualifiedMethodName.lastIndexOf('.');
+            if (i <= 0) {
+                continue;
+            }
+            String qualifiedClassName = qualifiedMethodName.substring(0, i);
+            qualifiedClassNames.add(qualifiedClassName);
+            classes.computeIfAbsent(names.fromString(qualifiedMethodName.substring(i + 1)), k -> new HashSet<>())
+                   .add(qualifiedClassName);
+            if (qualifiedClassName.startsWith(JAVA_LANG_PREFIX)
+                && qualifiedClassName.indexOf('.', JAVA_LANG_PREFIX.length()) < 0)
+            {
+                javaLangClasses.put(names.fromString(qualifiedClassName.substring(JAVA_LANG_PREFIX.length())),
+                                    qualifiedClassName);
+            }
+        }
+        classNames = new AnnotationNamesIndex(qualifiedClassNames, names);
+    }
+
+    /**
+     * @param invocation    a method call to check
+     * @param imports       imports of the compilation unit which contains given method call
+     * @return              {@code true} if given method call targets one of the configured methods;
+     *                      {@code false} otherwise
+     */
+    public boolean isNonNull(@NotNull JCTree.JCMethodInvocation invocation, @NotNull ImportsIndex imports) {
+        JCTree.JCExpression methodSelect = TreeInfo.skipParens(invocation.meth);
+        if (!(methodSelect instanceof JCTree.JCFieldAccess)) {
+            return false;
+        }
+        JCTree.JCFieldAccess access = (JCTree.JCFieldAccess) methodSelect;
+        Set<String> candidates = classes.get(access.name);
+        if (candidates == null) {
+            return false;
+        }
+        Name qualifier = TreeInfo.fullName(access.selected);
+        if (qualifier == null) {
+            return false;
+        }
+        String qualifiedClassName = resolve(qualifier, imports);
+        return qualifiedClassName != null && candidates.contains(qualifiedClassName);
+    }
+
+    @Nullable
+    private String resolve(@NotNull Name classInSource, @NotNull ImportsIndex imports) {
+        String result = classNames.resolve(classInSource, imports);
+        if (result == null && imports.getExplicitImport(classInSource) == null) {
+            result = javaLangClasses.get(classInSource);
+        }
+        return result;
+    }
+}
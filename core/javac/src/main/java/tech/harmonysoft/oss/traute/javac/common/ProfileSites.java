@@ -0,0 +1,75 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *     Assigns ids to execution counters of the {@code null}-checks generated for the top-level class being
+ *     processed in a {@link tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings#isProfile() profiling}
+ *     build. Ids are sequential and start from zero for every top-level class.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class ProfileSites {
+
+    private final List<String> methods  = new ArrayList<>();
+    private final List<String> types    = new ArrayList<>();
+    private final List<String> elements = new ArrayList<>();
+
+    /**
+     * Registers a new check.
+     *
+     * @param method    qualified name of the method which holds the check (if available)
+     * @param type      instrumentation type of the check
+     * @param element   name of the checked element, e.g. method parameter's name
+     * @return          id of the check
+     */
+    public int register(@Nullable String method, @NotNull InstrumentationType type, @NotNull String element) {
+        methods.add(method == null ? "" : method);
+        types.add(type.getShortName());
+        elements.add(element);
+        return methods.size() - 1;
+    }
+
+    /**
+     * @return  qualified names of the methods which hold the checks registered for the current top-level class,
+     *          indexed by check id
+     */
+    @NotNull
+    public List<String> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * @return  short names of the instrumentation types of the checks registered for the current top-level class,
+     *          indexed by check id
+     */
+    @NotNull
+    public List<String> getTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    /**
+     * @return  names of the elements checked by the checks registered for the current top-level class,
+     *          indexed by check id
+     */
+    @NotNull
+    public List<String> getElements() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Is expected to be called when processing of a top-level class starts.
+     */
+    public void onTopLevelClassStart() {
+        methods.clear();
+        types.clear();
+        elements.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package tech.harmonysoft.oss.traute.javac.common;
+
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javac.util.Name;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *     Collects members (methods, fields) generated by the plugin for the top-level class being processed
+ *     and adds them to the class' {@code AST} once its processing is done.
+ * </p>
+ * <p>
+ *     Every member is identified by its name, i.e. it's generated only once regardless of the number
+ *     of instrumentations which need it.
+ * </p>
+ * <p>Not thread-safe.</p>
+ */
+public class SyntheticMembers {
+
+    private final Map<Name, Supplier<JCTree>> pending = new LinkedHashMap<>();
+
+    @Nullable private JCTree.JCClassDecl host;
+    private boolean interfaceHost;
+
+    /**
+     * @return  {@code true} if package-private synthetic members can be added to the current top-level class
+     */
+    public boolean isAvailable() {
+        return host != null && !interfaceHost;
+    }
+
+    /**
+     * @return  {@code true} if synthetic {@code static final} fields can be added to the current top-level class;
+     *          note that fields are implicitly {@code public} if the class is an interface
+     */
+    public boolean isFieldAvailable() {
+        return host != null;
+    }
+
+    /**
+     * @return  simple name of the current top-level class
+     * @throws IllegalStateException    if there is no {@link #isFieldAvailable() current top-level class}
+     */
+    @NotNull
+    public Name getHostName() throws IllegalStateException {
+        if (host == null) {
+            throw new IllegalStateException("There is no current top-level class");
+        }
+        return host.name;
+    }
+
+    /**
+     * Registers a member to be added to the current top-level class unless a member with the same name
+     * is already registered.
+     *
+     * @param name      member's name
+     * @param factory   member's {@code AST} factory, called only once when current top-level class' processing
+     *                  is done
+     * @throws IllegalStateException    if there is no {@link #isFieldAvailable() current top-level class}
+     */
+    public void register(@NotNull Name name, @NotNull Supplier<JCTree> factory) throws IllegalStateException {
+        if (host == null) {
+            throw new IllegalStateException(String.format(
+                    "Can't register synthetic member '%s' - there is no current top-level class to host it", name
+            ));
+        }
+        pending.putIfAbsent(name, factory);
+    }
+
+    /**
+     * Is expected to be called when processing of a top-level class starts.
+     *
+     * @param host          a top-level class which receives synthetic members; {@code null} if the class can't
+     *                      have them
+     * @param interfaceHost a flag which tells if the given class is an interface or an annotation, i.e. only
+     *                      fields can be added to it
+     */
+    public void onTopLevelClassStart(@Nullable JCTree.JCClassDecl host, boolean interfaceHost) {
+        this.host = host;
+        this.interfaceHost = interfaceHost;
+        pending.clear();
+    }
+
+    /**
+     * Is expected to be called when processing of a top-level class ends. Adds all registered members
+     * to the class. Fields are put before the class' own members, so, they are initialized before any
+     * other static initializer is executed. Other members are put after the class' own members.
+     *
+     * @param astFactory    {@code AST} factory used by the registered member factories
+     */
+    public void onTopLevelClassEnd(@NotNull TreeMaker astFactory) {
+        JCTree.JCClassDecl host = this.host;
+        this.host = null;
+        if (host == null || pending.isEmpty()) {
+            pending.clear();
+            return;
+        }
+        astFactory.at(host.pos);
+        ListBuffer<JCTree> fields = new ListBuffer<>();
+        ListBuffer<JCTree> members = new ListBuffer<>();
+        for (Supplier<JCTree> factory : pending.values()) {
+            JCTree member = factory.get();
+            if (member instanceof JCTree.JCVariableDecl) {
+                fields.append(member);
+            } else {
+                members.append(member);
+            }
+        }
+        host.defs = fields.toList().appendList(host.defs).appendList(members.toList());
+        pending.clear();
+    }
+}
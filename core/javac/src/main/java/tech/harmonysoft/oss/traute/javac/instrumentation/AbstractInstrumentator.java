@@ -13,9 +13,13 @@ public abstract class AbstractInstrumentator<T extends InstrumentationInfo> impl
     public void instrument(@NotNull T instrumentationInfo) {
         boolean instrumented = mayBeInstrument(instrumentationInfo);
         if (instrumented) {
-            instrumentationInfo.getContext().getStatsCollector().increment(instrumentationInfo.getType());
+            onInstrumented(instrumentationInfo);
         }
     }
 
+    protected void onInstrumented(@NotNull T instrumentationInfo) {
+        instrumentationInfo.getContext().getStatsCollector().increment(instrumentationInfo.getType());
+    }
+
     protected abstract boolean mayBeInstrument(@NotNull T instrumentationInfo);
 }
@@ -1,6 +1,8 @@
 package tech.harmonysoft.oss.traute.javac.instrumentation;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 
@@ -30,4 +32,18 @@ public interface InstrumentationInfo {
      * @return {@code NotNullByDefault} annotation description which implies the instrumentation (if any)
      */
     String getNotNullByDefaultAnnotationDescription();
+
+    /**
+     * @return  qualified name of the method which holds the instrumented element (if available)
+     */
+    @Nullable
+    String getQualifiedMethodName();
+
+    /**
+     * @return  a policy to apply to the check if it's hot according to the
+     *          {@link tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings#getHotProfile() recorded
+     *          profile}, {@code null} otherwise
+     */
+    @Nullable
+    HotCheckPolicy getHotCheckPolicy();
 }
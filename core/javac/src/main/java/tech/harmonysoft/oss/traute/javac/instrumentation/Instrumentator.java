@@ -2,6 +2,8 @@ package tech.harmonysoft.oss.traute.javac.instrumentation;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 /**
  * Defines contract for a service which knows how to perform target instrumentation.
  *
@@ -15,4 +17,19 @@ public interface Instrumentator<T extends InstrumentationInfo> {
      * @param instrumentationInfo   instrumentation info
      */
     void instrument(@NotNull T instrumentationInfo);
+
+    /**
+     * <p>Performs instrumentation for all given data.</p>
+     * <p>
+     *     Implementations might override this method in order to apply all instrumentations in a single pass,
+     *     e.g. when all of them modify the same {@code AST} element.
+     * </p>
+     *
+     * @param instrumentationInfos  instrumentation infos
+     */
+    default void instrumentAll(@NotNull Collection<T> instrumentationInfos) {
+        for (T info : instrumentationInfos) {
+            instrument(info);
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package tech.harmonysoft.oss.traute.javac.instrumentation.field;
+
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.tree.TreeTranslator;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
+import tech.harmonysoft.oss.traute.javac.instrumentation.AbstractInstrumentator;
+import tech.harmonysoft.oss.traute.javac.text.ExceptionTextGenerator;
+
+import java.util.Collection;
+
+import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.FIELD;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.buildVarCheck;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.getConstructorCall;
+
+/**
+ * <p>Enhances target constructor in a way to check {@code NotNull} final fields at its end.</p>
+ * <p>Example.</p>
+ * <pre>
+ * Original code:
+ *     public Person(String name) {
+ *         super();
+ *         if (name.isEmpty()) {
+ *             this.name = "anonymous";
+ *             return;
+ *         }
+ *         this.name = name;
+ *     }
+ * </pre>
+ * <pre>
+ * Instrumented code:
+ *     public Person(String name) {
+ *         super();
+ *         if (true) traute$constructor: {
+ *             if (name.isEmpty()) {
+ *                 this.name = "anonymous";
+ *                 break traute$constructor;
+ *             }
+ *             this.name = name;
+ *         }
+ *         if (this.name == null) {
+ *             throw new NullPointerException("[the details]");
+ *         }
+ *     }
+ * </pre>
+ * <p>
+ *     Constructor's {@code 'return'} statements are replaced by {@code 'break'} to the labeled block, so, the checks
+ *     are defined only once. The {@code 'if (true)'} wrapper keeps the checks reachable from the compiler's point
+ *     of view when the constructor always throws an exception.
+ * </p>
+ * <p>
+ *     {@link #instrumentAll(Collection) Batch instrumentation} is expected to receive all fields checked by the same
+ *     constructor. Its statements are rebuilt only once then.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public class FieldInstrumentator extends AbstractInstrumentator<FieldToInstrumentInfo> {
+
+    private static final String LABEL = "traute$constructor";
+
+    @Override
+    public void instrumentAll(@NotNull Collection<FieldToInstrumentInfo> infos) {
+        if (infos.isEmpty()) {
+            return;
+        }
+        FieldToInstrumentInfo firstInfo = infos.iterator().next();
+        setPosition(firstInfo);
+        ListBuffer<JCTree.JCStatement> checks = new ListBuffer<>();
+        for (FieldToInstrumentInfo info : infos) {
+            checks.append(buildCheck(info));
+        }
+        addChecks(firstInfo, checks.toList());
+        for (FieldToInstrumentInfo info : infos) {
+            mayBeLogInstrumentation(info);
+            onInstrumented(info);
+        }
+    }
+
+    @Override
+    protected boolean mayBeInstrument(@NotNull FieldToInstrumentInfo info) {
+        setPosition(info);
+        addChecks(info, List.of(buildCheck(info)));
+        mayBeLogInstrumentation(info);
+        return true;
+    }
+
+    private static void setPosition(@NotNull FieldToInstrumentInfo info) {
+        // Mark our AST factory with the constructor's end offset in order to see corresponding
+        // line in the stack trace when an NPE is thrown.
+        JCTree.JCBlock body = info.getConstructorBody();
+        info.getContext().getAstFactory().at(body.endpos > body.pos ? body.endpos : body.pos);
+    }
+
+    @NotNull
+    private static JCTree.JCStatement buildCheck(@NotNull FieldToInstrumentInfo info) {
+        CompilationUnitProcessingContext context = info.getContext();
+        ExceptionTextGenerator<FieldToInstrumentInfo> generator =
+                context.getExceptionTextGeneratorManager().getGenerator(FIELD, context.getPluginSettings());
+        // The field is referenced through 'this' as constructor parameters often have the same names
+        return buildVarCheck(info, "this." + info.getField().getName(), generator.generate(info));
+    }
+
+    private static void addChecks(@NotNull FieldToInstrumentInfo info, @NotNull List<JCTree.JCStatement> checks) {
+        CompilationUnitProcessingContext context = info.getContext();
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        JCTree.JCBlock body = info.getConstructorBody();
+        ListBuffer<JCTree.JCStatement> newStatements = new ListBuffer<>();
+        List<JCTree.JCStatement> statements = body.stats;
+        if (getConstructorCall(body, symbolsTable) != null) {
+            newStatements.append(statements.head);
+            statements = statements.tail;
+        }
+        if (!statements.isEmpty()) {
+            Name label = symbolsTable.fromString(LABEL);
+            ReturnReplacer replacer = new ReturnReplacer(factory, label);
+            statements = replacer.translate(statements);
+            JCTree.JCStatement block = factory.Block(0, statements);
+            if (replacer.replaced) {
+                block = factory.Labelled(label, block);
+            }
+            newStatements.append(factory.If(factory.Literal(TypeTag.BOOLEAN, 1), block, null));
+        }
+        newStatements.appendList(checks);
+        body.stats = newStatements.toList();
+    }
+
+    private static void mayBeLogInstrumentation(@NotNull FieldToInstrumentInfo info) {
+        CompilationUnitProcessingContext context = info.getContext();
+        if (context.getPluginSettings().isVerboseMode()) {
+            String constructorName = info.getQualifiedMethodName();
+            String constructorNotice = constructorName == null ? "" : " in the constructor " + constructorName + "()";
+            context.getLogger().info(String.format(
+                    "added a null-check for field '%s'%s", info.getField().getName(), constructorNotice
+            ));
+        }
+    }
+
+    /**
+     * Replaces constructor's {@code 'return'} statements by {@code 'break'} to the given label. Nested classes and
+     * lambdas are not processed as their {@code 'return'} statements don't leave the constructor.
+     */
+    private static class ReturnReplacer extends TreeTranslator {
+
+        @NotNull private final TreeMaker factory;
+        @NotNull private final Name      label;
+
+        private boolean replaced;
+
+        ReturnReplacer(@NotNull TreeMaker factory, @NotNull Name label) {
+            this.factory = factory;
+            this.label = label;
+        }
+
+        @Override
+        public void visitReturn(JCTree.JCReturn tree) {
+            replaced = true;
+            result = factory.at(tree.pos).Break(label);
+        }
+
+        @Override
+        public void visitClassDef(JCTree.JCClassDecl tree) {
+            result = tree;
+        }
+
+        @Override
+        public void visitLambda(JCTree.JCLambda tree) {
+            result = tree;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package tech.harmonysoft.oss.traute.javac.instrumentation.field;
+
+import com.sun.source.tree.VariableTree;
+import com.sun.tools.javac.tree.JCTree;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
+import tech.harmonysoft.oss.traute.javac.instrumentation.InstrumentationInfo;
+
+/**
+ * A utility data class for describing a final field marked by a {@code NotNull} annotation which should be checked
+ * at the end of a constructor.
+ */
+public class FieldToInstrumentInfo implements InstrumentationInfo {
+
+    @NotNull private final CompilationUnitProcessingContext context;
+    @NotNull private final String                           notNullAnnotation;
+    @NotNull private final VariableTree                     field;
+    @NotNull private final JCTree.JCBlock                   constructorBody;
+
+    @Nullable private final String         qualifiedMethodName;
+    @Nullable private final HotCheckPolicy hotCheckPolicy;
+
+    public FieldToInstrumentInfo(@NotNull CompilationUnitProcessingContext context,
+                                 @NotNull String notNullAnnotation,
+                                 @NotNull VariableTree field,
+                                 @NotNull JCTree.JCBlock constructorBody,
+                                 @Nullable String qualifiedMethodName,
+                                 @Nullable HotCheckPolicy hotCheckPolicy)
+    {
+        this.context = context;
+        this.notNullAnnotation = notNullAnnotation;
+        this.field = field;
+        this.constructorBody = constructorBody;
+        this.qualifiedMethodName = qualifiedMethodName;
+        this.hotCheckPolicy = hotCheckPolicy;
+    }
+
+    @Override
+    @NotNull
+    public InstrumentationType getType() {
+        return InstrumentationType.FIELD;
+    }
+
+    @Override
+    @NotNull
+    public CompilationUnitProcessingContext getContext() {
+        return context;
+    }
+
+    @Override
+    @NotNull
+    public String getNotNullAnnotation() {
+        return notNullAnnotation;
+    }
+
+    /**
+     * @return  {@code null} - fields are checked only when they are explicitly marked by a {@code NotNull}
+     *          annotation
+     */
+    @Override
+    @Nullable
+    public String getNotNullByDefaultAnnotationDescription() {
+        return null;
+    }
+
+    /**
+     * @return {@code AST} element for the field marked by the {@code NotNull} annotation
+     */
+    @NotNull
+    public VariableTree getField() {
+        return field;
+    }
+
+    /**
+     * @return body of the constructor which should check the target field
+     */
+    @NotNull
+    public JCTree.JCBlock getConstructorBody() {
+        return constructorBody;
+    }
+
+    /**
+     * @return  qualified name of the constructor which should check the target field, e.g.
+     *          {@code 'com.example.Person.<init>'} (if that information is available)
+     */
+    @Override
+    @Nullable
+    public String getQualifiedMethodName() {
+        return qualifiedMethodName;
+    }
+
+    @Override
+    @Nullable
+    public HotCheckPolicy getHotCheckPolicy() {
+        return hotCheckPolicy;
+    }
+}
@@ -1,11 +1,16 @@
 package tech.harmonysoft.oss.traute.javac.instrumentation.method;
 
 import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ReturnTree;
 import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.TreeMaker;
 import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.ListBuffer;
 import com.sun.tools.javac.util.Names;
 import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
 import tech.harmonysoft.oss.traute.javac.text.ExceptionTextGenerator;
 import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
 import tech.harmonysoft.oss.traute.javac.instrumentation.AbstractInstrumentator;
@@ -14,6 +19,8 @@ import tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil;
 import java.util.Optional;
 
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_RETURN;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isRequireNonNullApplicable;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isReturnWrapperApplicable;
 
 /**
  * <p>
@@ -39,12 +46,30 @@ import static tech.harmonysoft.oss.traute.common.instrumentation.Instrumentation
  *         return tmpVar;
  *     }
  * </pre>
+ * <p>
+ *     {@link CheckStyle#REQUIRE_NON_NULL} style and {@link TrautePluginSettings#isWrapReturn() configured wrapping}
+ *     rewrite {@code 'return'} expression in place, i.e. neither temporary variable nor statements rebuild
+ *     is necessary then:
+ * </p>
+ * <pre>
+ *     &#064;NotNull
+ *     public Integer compute() {
+ *         return tech.harmonysoft.oss.traute.runtime.TrauteChecks.ret(doCompute(), "[the details]");
+ *     }
+ * </pre>
+ * <p>
+ *     That is not done for {@link CheckGuard guarded} checks as they need a statement.
+ * </p>
  * <p>Thread-safe.</p>
  */
 public class MethodReturnInstrumentator extends AbstractInstrumentator<ReturnToInstrumentInfo> {
 
     @Override
     protected boolean mayBeInstrument(@NotNull ReturnToInstrumentInfo info) {
+        if (isReturnExpressionWrappingApplicable(info)) {
+            return mayBeWrapReturnExpression(info);
+        }
+        setPosition(info);
         ReturnInstrumentationAstParent parent
                 = info.getParent().accept(new MethodInstrumentationParentFinder(info), null);
         if (parent == null) {
@@ -54,22 +79,21 @@ public class MethodReturnInstrumentator extends AbstractInstrumentator<ReturnToI
         if (!returnCheckOptional.isPresent()) {
             return false;
         }
-        List<JCTree.JCStatement> statements = parent.getStatements();
-        for (int i = 0; i < statements.size(); i++) {
-            JCTree.JCStatement statement = statements.get(i);
+        ListBuffer<JCTree.JCStatement> newStatements = new ListBuffer<>();
+        boolean replaced = false;
+        for (JCTree.JCStatement statement : parent.getStatements()) {
             if (statement == info.getReturnExpression()) {
-                List<JCTree.JCStatement> newStatements = returnCheckOptional.get();
-                for (int j = i + 1; j < statements.size(); j++) {
-                    newStatements = newStatements.append(statements.get(j));
-                }
-                for (int j = i - 1; j >= 0; j--) {
-                    newStatements = newStatements.prepend(statements.get(j));
-                }
-                parent.setStatements(newStatements);
-                mayBeLogInstrumentation(info);
-                return true;
+                newStatements.appendList(returnCheckOptional.get());
+                replaced = true;
+            } else {
+                newStatements.append(statement);
             }
         }
+        if (replaced) {
+            parent.setStatements(newStatements.toList());
+            mayBeLogInstrumentation(info);
+            return true;
+        }
         // When control flow reaches this place, that means that the AST parent doesn't contain any statments, so,
         // we just populate it with new instructions.
         parent.setStatements(returnCheckOptional.get());
@@ -77,8 +101,59 @@ public class MethodReturnInstrumentator extends AbstractInstrumentator<ReturnToI
         return true;
     }
 
+    private static boolean isReturnExpressionWrappingApplicable(@NotNull ReturnToInstrumentInfo info) {
+        TrautePluginSettings settings = info.getContext().getPluginSettings();
+        return settings.getCheckGuard() == CheckGuard.NONE
+               && info.getHotCheckPolicy() == null
+               && (isReturnWrapperApplicable(settings) || isRequireNonNullApplicable(settings, METHOD_RETURN));
+    }
+
+    /**
+     * Replaces {@code 'return [expression]'} by {@code 'return TrauteChecks.ret([expression], ...)'} or
+     * {@code 'return java.util.Objects.requireNonNull([expression], ...)'}.
+     *
+     * @param info  target {@code 'return'} info
+     * @return      {@code true} if the {@code 'return'} is instrumented
+     */
+    private boolean mayBeWrapReturnExpression(@NotNull ReturnToInstrumentInfo info) {
+        CompilationUnitProcessingContext context = info.getContext();
+        ReturnTree returnTree = info.getReturnExpression();
+        if (!(returnTree instanceof JCTree.JCReturn) || ((JCTree.JCReturn) returnTree).expr == null) {
+            context.getLogger().reportDetails(String.format(
+                    "find a 'return' expression of type %s but got %s",
+                    JCTree.JCReturn.class.getName(), returnTree.getClass().getName()
+            ));
+            return false;
+        }
+        JCTree.JCReturn jcReturn = (JCTree.JCReturn) returnTree;
+        setPosition(info);
+        ExceptionTextGenerator<ReturnToInstrumentInfo> generator =
+                context.getExceptionTextGeneratorManager().getGenerator(METHOD_RETURN, context.getPluginSettings());
+        String errorMessage = generator.generate(info);
+        if (isReturnWrapperApplicable(context.getPluginSettings())) {
+            jcReturn.expr = InstrumentationUtil.buildReturnWrapper(context, jcReturn.expr, errorMessage);
+        } else {
+            jcReturn.expr = InstrumentationUtil.buildRequireNonNull(context.getAstFactory(),
+                                                                   context.getSymbolsTable(),
+                                                                   jcReturn.expr,
+                                                                   errorMessage);
+        }
+        mayBeLogInstrumentation(info);
+        return true;
+    }
+
+    private static void setPosition(@NotNull ReturnToInstrumentInfo info) {
+        ReturnTree returnTree = info.getReturnExpression();
+        if (returnTree instanceof JCTree) {
+            // Mark our AST factory with the 'return' offset in order to see corresponding
+            // line in the stack trace when an NPE is thrown.
+            info.getContext().getAstFactory().at(((JCTree) returnTree).pos);
+        }
+    }
+
     @NotNull
     private static Optional<List<JCTree.JCStatement>> buildReturnCheck(@NotNull ReturnToInstrumentInfo info) {
+        setPosition(info);
         CompilationUnitProcessingContext context = info.getContext();
         ExpressionTree returnExpression = info.getReturnExpression().getExpression();
         if (!(returnExpression instanceof JCTree.JCExpression)) {
@@ -104,12 +179,9 @@ public class MethodReturnInstrumentator extends AbstractInstrumentator<ReturnToI
                         returnJcExpression
                 )
         );
-        String exceptionToThrow = info.getContext().getPluginSettings().getExceptionToThrow(METHOD_RETURN);
-        result = result.append(InstrumentationUtil.buildVarCheck(factory,
-                                                                 symbolsTable,
+        result = result.append(InstrumentationUtil.buildVarCheck(info,
                                                                  info.getTmpVariableName(),
-                                                                 errorMessage,
-                                                                 exceptionToThrow));
+                                                                 errorMessage));
         result = result.append(
                 factory.Return(
                         factory.Ident(symbolsTable.fromString(info.getTmpVariableName()))));
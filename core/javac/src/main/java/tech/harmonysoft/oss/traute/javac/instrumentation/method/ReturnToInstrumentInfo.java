@@ -5,6 +5,7 @@ import com.sun.source.tree.Tree;
 import com.sun.tools.javac.tree.JCTree;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 import tech.harmonysoft.oss.traute.javac.instrumentation.InstrumentationInfo;
 import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
@@ -20,7 +21,8 @@ public class ReturnToInstrumentInfo implements InstrumentationInfo {
     @NotNull private final String                           tmpVariableName;
     @NotNull private final Tree                             parent;
 
-    @Nullable private final String qualifiedMethodName;
+    @Nullable private final String         qualifiedMethodName;
+    @Nullable private final HotCheckPolicy hotCheckPolicy;
 
     private final String notNullAnnotation;
     private final String notNullByDefaultAnnotationDescription;
@@ -32,7 +34,8 @@ public class ReturnToInstrumentInfo implements InstrumentationInfo {
                                   @NotNull JCTree.JCExpression returnType,
                                   @NotNull String tmpVariableName,
                                   @NotNull Tree parent,
-                                  @Nullable String qualifiedMethodName)
+                                  @Nullable String qualifiedMethodName,
+                                  @Nullable HotCheckPolicy hotCheckPolicy)
     {
         if (notNullAnnotation == null && notNullByDefaultAnnotationDescription == null) {
             throw new IllegalArgumentException(String.format(
@@ -47,6 +50,7 @@ public class ReturnToInstrumentInfo implements InstrumentationInfo {
         this.tmpVariableName = tmpVariableName;
         this.parent = parent;
         this.qualifiedMethodName = qualifiedMethodName;
+        this.hotCheckPolicy = hotCheckPolicy;
     }
 
     @Override
@@ -136,8 +140,15 @@ public class ReturnToInstrumentInfo implements InstrumentationInfo {
      * @return  qualified method name which {@code NotNull} parameter should be instrumented
      *          (if that information is available)
      */
+    @Override
     @Nullable
     public String getQualifiedMethodName() {
         return qualifiedMethodName;
     }
+
+    @Override
+    @Nullable
+    public HotCheckPolicy getHotCheckPolicy() {
+        return hotCheckPolicy;
+    }
 }
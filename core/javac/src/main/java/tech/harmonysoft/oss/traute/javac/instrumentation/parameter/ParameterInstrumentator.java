@@ -1,39 +1,104 @@
 package tech.harmonysoft.oss.traute.javac.instrumentation.parameter;
 
-import com.sun.source.tree.ExpressionStatementTree;
-import com.sun.source.tree.ExpressionTree;
-import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.VariableTree;
 import com.sun.tools.javac.tree.JCTree;
-import com.sun.tools.javac.tree.TreeMaker;
 import com.sun.tools.javac.util.List;
 import com.sun.tools.javac.util.Names;
 import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
 import tech.harmonysoft.oss.traute.javac.text.ExceptionTextGenerator;
 import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
 import tech.harmonysoft.oss.traute.javac.instrumentation.AbstractInstrumentator;
+import tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_PARAMETER;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.buildCombinedVarCheck;
 import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.buildVarCheck;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.getConstructorCall;
+import static tech.harmonysoft.oss.traute.javac.util.InstrumentationUtil.isCombinedCheckApplicable;
 
 /**
  * <p>Enhances target method in a way to include a {@code null}-check for the target method parameter.</p>
+ * <p>
+ *     {@link #instrumentAll(Collection) Batch instrumentation} is expected to receive all parameters of the same
+ *     method. A single {@link InstrumentationUtil#buildCombinedVarCheck combined check} is generated for them
+ *     if their number reaches {@link TrautePluginSettings#getCombinedCheckThreshold() configured threshold}.
+ * </p>
  * <p>Thread-safe.</p>
  */
 public class ParameterInstrumentator extends AbstractInstrumentator<ParameterToInstrumentInfo> {
 
+    @Override
+    public void instrumentAll(@NotNull Collection<ParameterToInstrumentInfo> infos) {
+        if (infos.isEmpty()) {
+            return;
+        }
+        CompilationUnitProcessingContext context = infos.iterator().next().getContext();
+        if (!isCombinedCheckApplicable(context, infos.size())
+            || infos.stream().anyMatch(info -> info.getHotCheckPolicy() != null))
+        {
+            super.instrumentAll(infos);
+            return;
+        }
+
+        java.util.List<ParameterToInstrumentInfo> sortedInfos = new ArrayList<>(infos);
+        sortedInfos.sort(Comparator.comparingInt(ParameterToInstrumentInfo::getMethodParameterIndex));
+        ParameterToInstrumentInfo firstInfo = sortedInfos.get(0);
+        setPosition(firstInfo);
+        java.util.List<String> parameterNames = new ArrayList<>();
+        java.util.List<String> errorMessages = new ArrayList<>();
+        ExceptionTextGenerator<ParameterToInstrumentInfo> generator =
+                context.getExceptionTextGeneratorManager().getGenerator(METHOD_PARAMETER, context.getPluginSettings());
+        for (ParameterToInstrumentInfo info : sortedInfos) {
+            parameterNames.add(info.getMethodParameter().getName().toString());
+            errorMessages.add(generator.generate(info));
+        }
+        addCheck(firstInfo, buildCombinedVarCheck(context, METHOD_PARAMETER, parameterNames, errorMessages));
+
+        for (ParameterToInstrumentInfo info : sortedInfos) {
+            mayBeLogInstrumentation(info);
+            onInstrumented(info);
+        }
+        if (context.getPluginSettings().isVerboseMode()) {
+            String methodName = firstInfo.getQualifiedMethodName();
+            String methodNotice = methodName == null ? "" : " in the method " + methodName + "()";
+            context.getLogger().info(String.format(
+                    "combined null-checks for %d arguments%s into a single check",
+                    sortedInfos.size(), methodNotice
+            ));
+        }
+    }
+
     @Override
     protected boolean mayBeInstrument(@NotNull ParameterToInstrumentInfo info) {
+        setPosition(info);
         String parameterName = info.getMethodParameter().getName().toString();
         CompilationUnitProcessingContext context = info.getContext();
         ExceptionTextGenerator<ParameterToInstrumentInfo> generator =
                 context.getExceptionTextGeneratorManager().getGenerator(METHOD_PARAMETER, context.getPluginSettings());
         String errorMessage = generator.generate(info);
-        TreeMaker factory = context.getAstFactory();
-        Names symbolsTable = context.getSymbolsTable();
+        addCheck(info, buildVarCheck(info, parameterName, errorMessage));
+        mayBeLogInstrumentation(info);
+        return true;
+    }
+
+    private static void setPosition(@NotNull ParameterToInstrumentInfo info) {
+        VariableTree parameter = info.getMethodParameter();
+        if (parameter instanceof JCTree) {
+            // Mark our AST factory with the given AST node's offset in order to see corresponding
+            // line in the stack trace when an NPE is thrown.
+            info.getContext().getAstFactory().at(((JCTree) parameter).pos);
+        }
+    }
+
+    private static void addCheck(@NotNull ParameterToInstrumentInfo info, @NotNull JCTree.JCStatement varCheck) {
+        Names symbolsTable = info.getContext().getSymbolsTable();
         JCTree.JCBlock body = info.getBody();
-        String exceptionToThrow = info.getContext().getPluginSettings().getExceptionToThrow(METHOD_PARAMETER);
-        JCTree.JCIf varCheck = buildVarCheck(factory, symbolsTable, parameterName, errorMessage, exceptionToThrow);
-        if (info.isConstructor() && isFirstStatementThisOrSuperCall(body)) {
+        if (info.isConstructor() && getConstructorCall(body, symbolsTable) != null) {
             List<JCTree.JCStatement> newStatements = List.of(varCheck);
             List<JCTree.JCStatement> statements = body.getStatements();
             for (int i = 1; i < statements.size(); i++) {
@@ -44,36 +109,17 @@ public class ParameterInstrumentator extends AbstractInstrumentator<ParameterToI
         } else {
             body.stats = body.stats.prepend(varCheck);
         }
+    }
 
+    private static void mayBeLogInstrumentation(@NotNull ParameterToInstrumentInfo info) {
+        CompilationUnitProcessingContext context = info.getContext();
         if (context.getPluginSettings().isVerboseMode()) {
             String methodName = info.getQualifiedMethodName();
             String methodNotice = methodName == null ? "" : " in the method " + methodName + "()";
             context.getLogger().info(String.format(
                     "added a null-check for argument '%s'%s",
-                    parameterName, methodNotice
+                    info.getMethodParameter().getName(), methodNotice
             ));
         }
-        return true;
-    }
-
-    private static boolean isFirstStatementThisOrSuperCall(@NotNull JCTree.JCBlock body) {
-        List<JCTree.JCStatement> statements = body.getStatements();
-        if (statements.isEmpty()) {
-            return false;
-        }
-        JCTree.JCStatement expressionCandidate = statements.get(0);
-        if (expressionCandidate instanceof ExpressionStatementTree) {
-            ExpressionStatementTree expression = (ExpressionStatementTree) expressionCandidate;
-            ExpressionTree methodInvocationCandidate = expression.getExpression();
-            if (methodInvocationCandidate instanceof MethodInvocationTree) {
-                MethodInvocationTree methodInvocation = (MethodInvocationTree) methodInvocationCandidate;
-                ExpressionTree methodSelect = methodInvocation.getMethodSelect();
-                if (methodSelect != null) {
-                    String select = methodSelect.toString();
-                    return "this".equals(select) || "super".equals(select);
-                }
-            }
-        }
-        return false;
     }
 }
@@ -4,6 +4,7 @@ import com.sun.source.tree.VariableTree;
 import com.sun.tools.javac.tree.JCTree;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 import tech.harmonysoft.oss.traute.javac.instrumentation.InstrumentationInfo;
 import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
@@ -20,7 +21,8 @@ public class ParameterToInstrumentInfo implements InstrumentationInfo {
     private final String notNullAnnotation;
     private final String notNullByDefaultAnnotationDescription;
 
-    @Nullable private final String qualifiedMethodName;
+    @Nullable private final String         qualifiedMethodName;
+    @Nullable private final HotCheckPolicy hotCheckPolicy;
 
     private final int     methodParameterIndex;
     private final int     methodParametersNumber;
@@ -34,7 +36,8 @@ public class ParameterToInstrumentInfo implements InstrumentationInfo {
                                      @Nullable String qualifiedMethodName,
                                      int methodParameterIndex,
                                      int methodParametersNumber,
-                                     boolean constructor)
+                                     boolean constructor,
+                                     @Nullable HotCheckPolicy hotCheckPolicy)
     {
         if (notNullAnnotation == null && notNullByDefaultAnnotationDescription == null) {
             throw new IllegalArgumentException(String.format(
@@ -51,6 +54,7 @@ public class ParameterToInstrumentInfo implements InstrumentationInfo {
         this.methodParameterIndex = methodParameterIndex;
         this.methodParametersNumber = methodParametersNumber;
         this.constructor = constructor;
+        this.hotCheckPolicy = hotCheckPolicy;
     }
 
     @Override
@@ -95,11 +99,18 @@ public class ParameterToInstrumentInfo implements InstrumentationInfo {
      * @return  qualified method name which {@code NotNull} parameter should be instrumented
      *          (if that information is available)
      */
+    @Override
     @Nullable
     public String getQualifiedMethodName() {
         return qualifiedMethodName;
     }
 
+    @Override
+    @Nullable
+    public HotCheckPolicy getHotCheckPolicy() {
+        return hotCheckPolicy;
+    }
+
     /**
      * @return target parameter's index (zero-based)
      */
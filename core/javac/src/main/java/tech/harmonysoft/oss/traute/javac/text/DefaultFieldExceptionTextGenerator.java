@@ -0,0 +1,22 @@
+package tech.harmonysoft.oss.traute.javac.text;
+
+import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.javac.instrumentation.field.FieldToInstrumentInfo;
+
+public class DefaultFieldExceptionTextGenerator implements ExceptionTextGenerator<FieldToInstrumentInfo> {
+
+    private static final String CONSTRUCTOR_SUFFIX = ".<init>";
+
+    @NotNull
+    @Override
+    public String generate(@NotNull FieldToInstrumentInfo context) {
+        String className = context.getQualifiedMethodName();
+        if (className != null && className.endsWith(CONSTRUCTOR_SUFFIX)) {
+            className = className.substring(0, className.length() - CONSTRUCTOR_SUFFIX.length());
+        }
+        String constructorNotice = className == null ? "a constructor" : "the " + className + " constructor";
+        return String.format("Field '%s' of type %s is marked by @%s but it's null at the end of %s",
+                             context.getField().getName(), context.getField().getType(),
+                             context.getNotNullAnnotation(), constructorNotice);
+    }
+}
@@ -18,6 +18,7 @@ public class ExceptionTextGeneratorManager {
     static {
         DEFAULT_GENERATORS.put(InstrumentationType.METHOD_PARAMETER, new DefaultParameterExceptionTextGenerator());
         DEFAULT_GENERATORS.put(InstrumentationType.METHOD_RETURN, new DefaultReturnExceptionTextGenerator());
+        DEFAULT_GENERATORS.put(InstrumentationType.FIELD, new DefaultFieldExceptionTextGenerator());
         if (DEFAULT_GENERATORS.size() != InstrumentationType.values().length) {
             throw new RuntimeException(String.format(
                     "Default exception text generators for failed checks are not registered for all "
@@ -1,19 +1,1123 @@
 package tech.harmonysoft.oss.traute.javac.util;
 
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.tools.javac.code.Flags;
 import com.sun.tools.javac.code.TypeTag;
 import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
 import com.sun.tools.javac.tree.TreeMaker;
 import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javac.util.Name;
 import com.sun.tools.javac.util.Names;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
+import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
+import tech.harmonysoft.oss.traute.javac.common.CheckSites;
+import tech.harmonysoft.oss.traute.javac.common.CompilationUnitProcessingContext;
+import tech.harmonysoft.oss.traute.javac.common.ProfileSites;
+import tech.harmonysoft.oss.traute.javac.common.SyntheticMembers;
+import tech.harmonysoft.oss.traute.javac.instrumentation.InstrumentationInfo;
+import tech.harmonysoft.oss.traute.javac.instrumentation.field.FieldToInstrumentInfo;
+import tech.harmonysoft.oss.traute.javac.instrumentation.parameter.ParameterToInstrumentInfo;
+
+import java.util.stream.Collectors;
 
 import static com.sun.tools.javac.util.List.nil;
 
 public class InstrumentationUtil {
 
+    /**
+     * Name prefix for generated {@link CheckStyle#HELPER failure helpers}, the full name is built by adding
+     * capitalized {@link InstrumentationType#getShortName() instrumentation type}, e.g. {@code traute$failParameter}.
+     */
+    public static final String FAILURE_HELPER_PREFIX = "traute$fail";
+
+    /**
+     * Name of the failure helper generated for {@link TrautePluginSettings#getCombinedCheckThreshold() combined}
+     * parameter checks.
+     */
+    public static final String COMBINED_FAILURE_HELPER_NAME = "traute$failParameters";
+
+    /**
+     * Name of the static flag generated for the {@link CheckGuard#ASSERTIONS} guard.
+     */
+    public static final String ASSERTIONS_DISABLED_FLAG_NAME = "traute$assertionsDisabled";
+
+    /**
+     * Name of the local variable used for the {@link CheckGuard#ASSERTIONS} guard when there is no place
+     * for the {@link #ASSERTIONS_DISABLED_FLAG_NAME static flag}.
+     */
+    public static final String CHECKS_ENABLED_VARIABLE_NAME = "traute$checksEnabled";
+
+    /**
+     * Name of the static flag generated for the {@link CheckGuard#RUNTIME} guard.
+     */
+    public static final String ENABLED_FLAG_NAME = "traute$enabled";
+
+    /**
+     * Name of the static method which resolves {@link #ENABLED_FLAG_NAME} value.
+     */
+    public static final String ENABLED_RESOLVER_NAME = "traute$resolveEnabled";
+
+    /**
+     * Name of the system property and {@link #ENABLED_CONFIG_RESOURCE config} property which switch
+     * {@link CheckGuard#RUNTIME runtime-guarded} checks on/off. It's followed by a package or class name prefix,
+     * e.g. {@code traute.enabled.com.acme.hot}.
+     */
+    public static final String ENABLED_PROPERTY = "traute.enabled";
+
+    /**
+     * Classpath resource which might hold {@link #ENABLED_PROPERTY} settings.
+     */
+    public static final String ENABLED_CONFIG_RESOURCE = "/traute.properties";
+
+    /**
+     * Name suffix of the static field which holds {@link CheckGuard#SWITCHABLE} guard's switch, the full name is
+     * built as {@code traute$[instrumentation-type]Switch}.
+     */
+    public static final String SWITCH_FIELD_SUFFIX = "Switch";
+
+    /**
+     * Name suffix of the static method which tells whether {@link CheckGuard#SWITCHABLE switchable} checks
+     * are enabled, the full name is built as {@code traute$[instrumentation-type]Enabled}.
+     */
+    public static final String SWITCH_GETTER_SUFFIX = "Enabled";
+
+    /**
+     * Runtime method which creates a switch for the {@link CheckGuard#SWITCHABLE} guard.
+     */
+    public static final String SWITCH_FACTORY = "tech.harmonysoft.oss.traute.runtime.CheckSwitches.get";
+
+    /**
+     * Runtime method which emits a {@code JDK Flight Recorder} event from a failed check when
+     * {@link TrautePluginSettings#isJfrEvents() JFR events} are configured.
+     */
+    public static final String VIOLATION_EVENT_EMITTER = "tech.harmonysoft.oss.traute.runtime.TrauteEvents.violation";
+
+    /**
+     * Name of the static field which holds violation counters in {@link FailureAction#COUNT count-and-continue}
+     * mode or when {@link TrautePluginSettings#isJmxCounters() JMX counters} are configured.
+     */
+    public static final String VIOLATIONS_FIELD_NAME = "traute$violations";
+
+    /**
+     * Runtime class which holds violation counters for a top-level class, see {@link #VIOLATIONS_FIELD_NAME}.
+     */
+    public static final String VIOLATION_SITES_CLASS = "tech.harmonysoft.oss.traute.runtime.ViolationSites";
+
+    /**
+     * Runtime method which creates {@link #VIOLATION_SITES_CLASS violation counters} for a top-level class.
+     */
+    public static final String VIOLATION_SITES_FACTORY = "tech.harmonysoft.oss.traute.runtime.ViolationRegistry.register";
+
+    /**
+     * Name of the static field which holds execution counters of the checks in a
+     * {@link TrautePluginSettings#isProfile() profiling} build.
+     */
+    public static final String PROFILE_FIELD_NAME = "traute$profile";
+
+    /**
+     * Runtime class which holds execution counters of the checks for a top-level class in a
+     * {@link TrautePluginSettings#isProfile() profiling} build.
+     */
+    public static final String PROFILE_CLASS = "tech.harmonysoft.oss.traute.runtime.CheckProfile";
+
+    /**
+     * Runtime method which creates {@link #PROFILE_CLASS execution counters} for a top-level class.
+     */
+    public static final String PROFILE_FACTORY = "tech.harmonysoft.oss.traute.runtime.ProfileRegistry.register";
+
+    /**
+     * Runtime method which resolves exception text by check id for the {@link CheckStyle#SITE_ID} check style.
+     */
+    public static final String CHECK_MESSAGES_GETTER = "tech.harmonysoft.oss.traute.runtime.CheckMessages.get";
+
+    /**
+     * Name prefix of the classpath resource which holds exception texts of a top-level class' checks for
+     * the {@link CheckStyle#SITE_ID} check style, the full name is built by adding class' binary name and
+     * {@link #CHECK_MESSAGES_RESOURCE_SUFFIX}.
+     */
+    public static final String CHECK_MESSAGES_RESOURCE_PREFIX = "META-INF/traute/messages/";
+
+    public static final String CHECK_MESSAGES_RESOURCE_SUFFIX = ".bin";
+
+    /**
+     * Runtime method which checks an expression in place when
+     * {@link TrautePluginSettings#isWrapReturn() 'return' expressions wrapping} is configured.
+     */
+    public static final String RETURN_WRAPPER = "tech.harmonysoft.oss.traute.runtime.TrauteChecks.ret";
+
+    /**
+     * Same as {@link #RETURN_WRAPPER} but it throws a {@link #STACKLESS_NPE_CLASS stackless exception}.
+     */
+    public static final String STACKLESS_RETURN_WRAPPER
+            = "tech.harmonysoft.oss.traute.runtime.TrauteChecks.retStackless";
+
+    /**
+     * Runtime {@link NullPointerException} which doesn't capture a stack trace, it's thrown by checks configured to
+     * use {@link TrautePluginSettings#isStacklessException(InstrumentationType) stackless exceptions}.
+     */
+    public static final String STACKLESS_NPE_CLASS
+            = "tech.harmonysoft.oss.traute.runtime.StacklessNullPointerException";
+
+    /**
+     * Runtime {@link IllegalArgumentException} which doesn't capture a stack trace, it's thrown by checks configured
+     * to use {@link TrautePluginSettings#isStacklessException(InstrumentationType) stackless exceptions}.
+     */
+    public static final String STACKLESS_IAE_CLASS
+            = "tech.harmonysoft.oss.traute.runtime.StacklessIllegalArgumentException";
+
     private InstrumentationUtil() {
     }
 
+    /**
+     * Builds an {@code AST} statement for a {@code null}-check of the given variable according to
+     * the {@link TrautePluginSettings#getCheckStyle() configured check style},
+     * {@link TrautePluginSettings#getCheckGuard() configured check guard},
+     * {@link TrautePluginSettings#isProfile() profiling} setting and
+     * {@link InstrumentationInfo#getHotCheckPolicy() hot check policy}.
+     *
+     * @param info          information about the instrumented element
+     * @param variableName  a variable name to use, might be qualified, e.g. {@code this.name}
+     * @param errorMessage  an error message to use
+     * @return              an {@code AST} statement for the parameters above
+     * @see #buildVarCheck(TreeMaker, Names, String, String, String)
+     */
+    @NotNull
+    public static JCTree.JCStatement buildVarCheck(@NotNull InstrumentationInfo info,
+                                                   @NotNull String variableName,
+                                                   @NotNull String errorMessage)
+    {
+        CompilationUnitProcessingContext context = info.getContext();
+        JCTree.JCStatement check = buildUnguardedVarCheck(info, variableName, errorMessage);
+        if (info.getHotCheckPolicy() == HotCheckPolicy.ASSERTIONS) {
+            return mayBeProfile(info, guardByAssertions(context, check));
+        }
+        return mayBeProfile(info, guard(context, info.getType(), check));
+    }
+
+    /**
+     * @param context       current compilation unit's processing context
+     * @param checksNumber  number of checked parameters of the method
+     * @return              {@code true} if the method's parameters should be verified by a single
+     *                      {@link #buildCombinedVarCheck combined check}
+     */
+    public static boolean isCombinedCheckApplicable(@NotNull CompilationUnitProcessingContext context,
+                                                    int checksNumber)
+    {
+        TrautePluginSettings settings = context.getPluginSettings();
+        int threshold = settings.getCombinedCheckThreshold();
+        return threshold > 1
+               && checksNumber >= threshold
+               && settings.getFailureAction() == FailureAction.THROW
+               && !settings.isJfrEvents()
+               && !settings.isProfile()
+               && context.getSyntheticMembers().isAvailable();
+    }
+
+    /**
+     * Builds an {@code AST} statement for a single {@code null}-check of all given variables according to
+     * the {@link TrautePluginSettings#getCheckGuard() configured check guard}:
+     * <pre>
+     *     if ([variable-1] == null | [variable-2] == null | ...) {
+     *         traute$failParameters(new java.lang.Object[] { [variable-1], [variable-2], ... },
+     *                               new java.lang.String[] { [error-message-1], [error-message-2], ... });
+     *     }
+     * </pre>
+     * The non-short-circuit {@code '|'} makes the check a single branch. Check ids are passed to the helper instead
+     * of error messages for the {@link CheckStyle#SITE_ID} check style. Every failed variable is
+     * {@link #buildViolationRecord recorded} before the helper call when {@link #isJmxCountersApplicable JMX counters}
+     * are used.
+     *
+     * @param context       current compilation unit's processing context
+     * @param type          instrumentation type of the check
+     * @param variableNames names of the variables to check
+     * @param errorMessages error messages to use, one per variable
+     * @return              an {@code AST} statement for the parameters above
+     * @see #isCombinedCheckApplicable(CompilationUnitProcessingContext, int)
+     */
+    @NotNull
+    public static JCTree.JCStatement buildCombinedVarCheck(@NotNull CompilationUnitProcessingContext context,
+                                                           @NotNull InstrumentationType type,
+                                                           @NotNull java.util.List<String> variableNames,
+                                                           @NotNull java.util.List<String> errorMessages)
+    {
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        TrautePluginSettings settings = context.getPluginSettings();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        String exceptionToThrow = getExceptionToThrow(settings, type);
+        boolean siteIds = settings.getCheckStyle() == CheckStyle.SITE_ID;
+        boolean reportAll = settings.isCombinedCheckReportAll();
+        boolean jmxCounters = isJmxCountersApplicable(context);
+        Name helperName = symbolsTable.fromString(COMBINED_FAILURE_HELPER_NAME);
+        Name hostName = syntheticMembers.getHostName();
+        syntheticMembers.register(helperName, () -> buildCombinedFailureHelper(factory,
+                                                                                symbolsTable,
+                                                                                helperName,
+                                                                                exceptionToThrow,
+                                                                                siteIds ? hostName : null,
+                                                                                reportAll));
+
+        JCTree.JCExpression condition = null;
+        ListBuffer<JCTree.JCExpression> values = new ListBuffer<>();
+        ListBuffer<JCTree.JCExpression> messages = new ListBuffer<>();
+        ListBuffer<JCTree.JCStatement> records = new ListBuffer<>();
+        for (int i = 0; i < variableNames.size(); i++) {
+            String variableName = variableNames.get(i);
+            JCTree.JCExpression variableCheck = factory.Binary(JCTree.Tag.EQ,
+                                                               factory.Ident(symbolsTable.fromString(variableName)),
+                                                               factory.Literal(TypeTag.BOT, null));
+            condition = condition == null ? variableCheck : factory.Binary(JCTree.Tag.BITOR, condition, variableCheck);
+            values.append(factory.Ident(symbolsTable.fromString(variableName)));
+            int siteId = siteIds || jmxCounters ? context.getCheckSites().register(errorMessages.get(i), type) : -1;
+            if (siteIds) {
+                messages.append(factory.Literal(TypeTag.INT, siteId));
+            } else {
+                messages.append(factory.Literal(TypeTag.CLASS, errorMessages.get(i)));
+            }
+            if (jmxCounters) {
+                records.append(factory.If(buildNullCondition(factory, symbolsTable, variableName),
+                                          buildViolationRecord(context, siteId),
+                                          null));
+            }
+        }
+        JCTree.JCIf check = factory.If(
+                factory.Parens(condition),
+                factory.Block(0, records.toList().append(
+                        factory.Exec(
+                                factory.Apply(
+                                        nil(),
+                                        factory.Ident(helperName),
+                                        List.of(factory.NewArray(buildQualifiedExpression("java.lang.Object",
+                                                                                          factory,
+                                                                                          symbolsTable),
+                                                                 nil(),
+                                                                 values.toList()),
+                                                factory.NewArray(siteIds ? factory.TypeIdent(TypeTag.INT)
+                                                                         : buildQualifiedExpression("java.lang.String",
+                                                                                                    factory,
+                                                                                                    symbolsTable),
+                                                                 nil(),
+                                                                 messages.toList()))
+                                )
+                        )
+                )),
+                null
+        );
+        return guard(context, type, check);
+    }
+
+    @NotNull
+    private static JCTree.JCStatement guard(@NotNull CompilationUnitProcessingContext context,
+                                            @NotNull InstrumentationType type,
+                                            @NotNull JCTree.JCStatement check)
+    {
+        switch (context.getPluginSettings().getCheckGuard()) {
+            case ASSERTIONS: return guardByAssertions(context, check);
+            case RUNTIME: return guardByRuntimeSetting(context, check);
+            case SWITCHABLE: return guardBySwitch(context, type, check);
+            default: return check;
+        }
+    }
+
+    @NotNull
+    private static JCTree.JCStatement buildUnguardedVarCheck(@NotNull InstrumentationInfo info,
+                                                             @NotNull String variableName,
+                                                             @NotNull String errorMessage)
+    {
+        CompilationUnitProcessingContext context = info.getContext();
+        InstrumentationType type = info.getType();
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        TrautePluginSettings settings = context.getPluginSettings();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        if (settings.getFailureAction() == FailureAction.COUNT && syntheticMembers.isFieldAvailable()) {
+            return buildCountingVarCheck(info, variableName, errorMessage);
+        }
+        if (isRequireNonNullApplicable(settings, type)) {
+            return factory.Exec(buildRequireNonNull(factory,
+                                                    symbolsTable,
+                                                    buildQualifiedExpression(variableName, factory, symbolsTable),
+                                                    errorMessage));
+        }
+
+        String exceptionToThrow = getExceptionToThrow(settings, type);
+        CheckStyle checkStyle = settings.getCheckStyle();
+        if (checkStyle == CheckStyle.INLINE && info.getHotCheckPolicy() == HotCheckPolicy.HELPER) {
+            checkStyle = CheckStyle.HELPER;
+        }
+        if ((checkStyle != CheckStyle.HELPER && checkStyle != CheckStyle.SITE_ID) || !syntheticMembers.isAvailable()) {
+            JCTree.JCIf check = buildVarCheck(factory, symbolsTable, variableName, errorMessage, exceptionToThrow);
+            return mayBeAddViolationEvent(info, mayBeRecordViolation(info, -1, errorMessage, check), check);
+        }
+
+        Name helperName = symbolsTable.fromString(getFailureHelperName(type));
+        JCTree.JCExpression helperArgument;
+        int siteId = -1;
+        if (checkStyle == CheckStyle.SITE_ID) {
+            Name hostName = syntheticMembers.getHostName();
+            syntheticMembers.register(helperName, () -> buildSiteIdFailureHelper(factory,
+                                                                                  symbolsTable,
+                                                                                  helperName,
+                                                                                  exceptionToThrow,
+                                                                                  hostName));
+            siteId = context.getCheckSites().register(errorMessage, type);
+            helperArgument = factory.Literal(TypeTag.INT, siteId);
+        } else {
+            syntheticMembers.register(helperName,
+                                      () -> buildFailureHelper(factory, symbolsTable, helperName, exceptionToThrow));
+            helperArgument = factory.Literal(TypeTag.CLASS, errorMessage);
+        }
+        JCTree.JCIf check = factory.If(
+                buildNullCondition(factory, symbolsTable, variableName),
+                factory.Block(0, List.of(
+                        factory.Exec(
+                                factory.Apply(
+                                        nil(),
+                                        factory.Ident(helperName),
+                                        List.of(helperArgument)
+                                )
+                        )
+                )),
+                null
+        );
+        return mayBeAddViolationEvent(info, mayBeRecordViolation(info, siteId, errorMessage, check), check);
+    }
+
+    /**
+     * @param context   current compilation unit's processing context
+     * @return          {@code true} if failed checks which throw an exception should be recorded by the
+     *                  {@link TrautePluginSettings#isJmxCounters() JMX violation counters}
+     */
+    private static boolean isJmxCountersApplicable(@NotNull CompilationUnitProcessingContext context) {
+        TrautePluginSettings settings = context.getPluginSettings();
+        return settings.isJmxCounters()
+               && settings.getFailureAction() == FailureAction.THROW
+               && context.getSyntheticMembers().isFieldAvailable();
+    }
+
+    /**
+     * Adds a violation record to the beginning of the given failed check's body if
+     * {@link #isJmxCountersApplicable JMX counters} are used:
+     * <pre>
+     *     if ([variable-name] == null) {
+     *         traute$violations.record([site-id]);
+     *         [original-body]
+     *     }
+     * </pre>
+     *
+     * @param info          information about the instrumented element
+     * @param siteId        id of the check if it's assigned, {@code -1} otherwise
+     * @param errorMessage  the check's error message
+     * @param check         a check to process
+     * @return              id of the check, a new id is assigned if given id is {@code -1} and the check is
+     *                      recorded; given id otherwise
+     */
+    private static int mayBeRecordViolation(@NotNull InstrumentationInfo info,
+                                            int siteId,
+                                            @NotNull String errorMessage,
+                                            @NotNull JCTree.JCIf check)
+    {
+        CompilationUnitProcessingContext context = info.getContext();
+        if (!isJmxCountersApplicable(context)) {
+            return siteId;
+        }
+        int result = siteId < 0 ? context.getCheckSites().register(errorMessage, info.getType()) : siteId;
+        JCTree.JCBlock body = (JCTree.JCBlock) check.thenpart;
+        body.stats = body.stats.prepend(buildViolationRecord(context, result));
+        return result;
+    }
+
+    /**
+     * Builds an {@code AST} statement which records a violation of the given check, the
+     * {@link #VIOLATIONS_FIELD_NAME violation counters} field is registered for the current top-level class:
+     * <pre>
+     *     static final tech.harmonysoft.oss.traute.runtime.ViolationSites traute$violations
+     *             = tech.harmonysoft.oss.traute.runtime.ViolationRegistry.register(
+     *                     [top-level-class].class,
+     *                     new java.lang.String[] { [error-message-0], [error-message-1], ... },
+     *                     new java.lang.String[] { [instrumentation-type-0], [instrumentation-type-1], ... }
+     *             );
+     *     ...
+     *     traute$violations.record([site-id]);
+     * </pre>
+     *
+     * @param context   current compilation unit's processing context
+     * @param siteId    id of the check
+     * @return          an {@code AST} statement for the parameters above
+     */
+    @NotNull
+    private static JCTree.JCStatement buildViolationRecord(@NotNull CompilationUnitProcessingContext context,
+                                                           int siteId)
+    {
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        CheckSites checkSites = context.getCheckSites();
+        Name fieldName = symbolsTable.fromString(VIOLATIONS_FIELD_NAME);
+        Name hostName = syntheticMembers.getHostName();
+        syntheticMembers.register(fieldName, () -> factory.VarDef(
+                factory.Modifiers(Flags.STATIC | Flags.FINAL),
+                fieldName,
+                buildQualifiedExpression(VIOLATION_SITES_CLASS, factory, symbolsTable),
+                factory.Apply(
+                        nil(),
+                        buildQualifiedExpression(VIOLATION_SITES_FACTORY, factory, symbolsTable),
+                        List.of(factory.Select(factory.Ident(hostName), symbolsTable._class),
+                                buildStringArray(factory, symbolsTable, checkSites.getMessages()),
+                                buildStringArray(factory,
+                                                 symbolsTable,
+                                                 checkSites.getTypes()
+                                                           .stream()
+                                                           .map(InstrumentationType::getShortName)
+                                                           .collect(Collectors.toList())))
+                )
+        ));
+        return factory.Exec(
+                factory.Apply(
+                        nil(),
+                        factory.Select(factory.Ident(fieldName), symbolsTable.fromString("record")),
+                        List.of(factory.Literal(TypeTag.INT, siteId))
+                )
+        );
+    }
+
+    /**
+     * Adds a statement which emits a {@code JDK Flight Recorder} event to the beginning of the given failed check's
+     * body if {@link TrautePluginSettings#isJfrEvents() JFR events} are configured:
+     * <pre>
+     *     if ([variable-name] == null) {
+     *         tech.harmonysoft.oss.traute.runtime.TrauteEvents.violation(
+     *                 [top-level-class].class, [site-id], "[method]", "[parameter-name]", [parameter-index], "[type]"
+     *         );
+     *         [original-body]
+     *     }
+     * </pre>
+     * Parameter name and index are {@code null} and {@code -1} for non-parameter checks.
+     *
+     * @param info      information about the instrumented element
+     * @param siteId    id of the check if it's assigned, {@code -1} otherwise
+     * @param check     a check to process
+     * @return          given check
+     */
+    @NotNull
+    private static JCTree.JCIf mayBeAddViolationEvent(@NotNull InstrumentationInfo info,
+                                                      int siteId,
+                                                      @NotNull JCTree.JCIf check)
+    {
+        CompilationUnitProcessingContext context = info.getContext();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        if (!context.getPluginSettings().isJfrEvents() || !syntheticMembers.isFieldAvailable()) {
+            return check;
+        }
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        String methodName = info.getQualifiedMethodName();
+        JCTree.JCExpression parameterName = factory.Literal(TypeTag.BOT, null);
+        int parameterIndex = -1;
+        if (info instanceof ParameterToInstrumentInfo) {
+            ParameterToInstrumentInfo parameterInfo = (ParameterToInstrumentInfo) info;
+            parameterName = factory.Literal(TypeTag.CLASS, parameterInfo.getMethodParameter().getName().toString());
+            parameterIndex = parameterInfo.getMethodParameterIndex();
+        }
+        JCTree.JCStatement event = factory.Exec(factory.Apply(
+                nil(),
+                buildQualifiedExpression(VIOLATION_EVENT_EMITTER, factory, symbolsTable),
+                List.of(factory.Select(factory.Ident(syntheticMembers.getHostName()), symbolsTable._class),
+                        factory.Literal(TypeTag.INT, siteId),
+                        methodName == null ? factory.Literal(TypeTag.BOT, null)
+                                           : factory.Literal(TypeTag.CLASS, methodName),
+                        parameterName,
+                        factory.Literal(TypeTag.INT, parameterIndex),
+                        factory.Literal(TypeTag.CLASS, info.getType().getShortName()))
+        ));
+        JCTree.JCBlock body = (JCTree.JCBlock) check.thenpart;
+        body.stats = body.stats.prepend(event);
+        return check;
+    }
+
+    /**
+     * Prepends given check by an execution counter increment if a
+     * {@link TrautePluginSettings#isProfile() profiling} build is configured:
+     * <pre>
+     *     static final tech.harmonysoft.oss.traute.runtime.CheckProfile traute$profile
+     *             = tech.harmonysoft.oss.traute.runtime.ProfileRegistry.register(
+     *                     [top-level-class].class,
+     *                     new java.lang.String[] { [method-0], [method-1], ... },
+     *                     new java.lang.String[] { [instrumentation-type-0], [instrumentation-type-1], ... },
+     *                     new java.lang.String[] { [element-0], [element-1], ... }
+     *             );
+     *     ...
+     *     {
+     *         traute$profile.hit([site-id]);
+     *         [given-check]
+     *     }
+     * </pre>
+     * The element is a parameter name for {@link InstrumentationType#METHOD_PARAMETER parameter checks}, a field
+     * name for {@link InstrumentationType#FIELD field checks} and an empty string for other checks.
+     *
+     * @param info      information about the instrumented element
+     * @param check     a check to process
+     * @return          an {@code AST} statement for the parameters above
+     */
+    @NotNull
+    private static JCTree.JCStatement mayBeProfile(@NotNull InstrumentationInfo info,
+                                                   @NotNull JCTree.JCStatement check)
+    {
+        CompilationUnitProcessingContext context = info.getContext();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        if (!context.getPluginSettings().isProfile() || !syntheticMembers.isFieldAvailable()) {
+            return check;
+        }
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        ProfileSites profileSites = context.getProfileSites();
+        Name fieldName = symbolsTable.fromString(PROFILE_FIELD_NAME);
+        Name hostName = syntheticMembers.getHostName();
+        syntheticMembers.register(fieldName, () -> factory.VarDef(
+                factory.Modifiers(Flags.STATIC | Flags.FINAL),
+                fieldName,
+                buildQualifiedExpression(PROFILE_CLASS, factory, symbolsTable),
+                factory.Apply(
+                        nil(),
+                        buildQualifiedExpression(PROFILE_FACTORY, factory, symbolsTable),
+                        List.of(factory.Select(factory.Ident(hostName), symbolsTable._class),
+                                buildStringArray(factory, symbolsTable, profileSites.getMethods()),
+                                buildStringArray(factory, symbolsTable, profileSites.getTypes()),
+                                buildStringArray(factory, symbolsTable, profileSites.getElements()))
+                )
+        ));
+        String element = "";
+        if (info instanceof ParameterToInstrumentInfo) {
+            element = ((ParameterToInstrumentInfo) info).getMethodParameter().getName().toString();
+        } else if (info instanceof FieldToInstrumentInfo) {
+            element = ((FieldToInstrumentInfo) info).getField().getName().toString();
+        }
+        int siteId = profileSites.register(info.getQualifiedMethodName(), info.getType(), element);
+        return factory.Block(0, List.of(
+                factory.Exec(
+                        factory.Apply(
+                                nil(),
+                                factory.Select(factory.Ident(fieldName), symbolsTable.fromString("hit")),
+                                List.of(factory.Literal(TypeTag.INT, siteId))
+                        )
+                ),
+                check
+        ));
+    }
+
+    /**
+     * Builds an {@code AST} expression which looks as below:
+     * <pre>
+     *     new java.lang.String[] { [value-0], [value-1], ... }
+     * </pre>
+     *
+     * @param factory       {@code AST} factory to use
+     * @param symbolsTable  symbols table to use
+     * @param values        array's elements
+     * @return              an {@code AST} expression for the parameters above
+     */
+    @NotNull
+    private static JCTree.JCNewArray buildStringArray(@NotNull TreeMaker factory,
+                                                      @NotNull Names symbolsTable,
+                                                      @NotNull java.util.List<String> values)
+    {
+        return factory.NewArray(buildQualifiedExpression("java.lang.String", factory, symbolsTable),
+                                nil(),
+                                List.from(values.stream()
+                                                .map(value -> factory.Literal(TypeTag.CLASS, value))
+                                                .toArray(JCTree.JCExpression[]::new)));
+    }
+
+    /**
+     * Builds an {@code AST 'if'} element for {@link FailureAction#COUNT count-and-continue} mode
+     * (see {@link #buildViolationRecord(CompilationUnitProcessingContext, int)}):
+     * <pre>
+     *     if ([given-variable-name] == null) {
+     *         traute$violations.record([site-id]);
+     *     }
+     * </pre>
+     *
+     * @param info          information about the instrumented element
+     * @param variableName  a variable name to use
+     * @param errorMessage  an error message to use
+     * @return              an {@code AST 'if'} for the parameters above
+     */
+    @NotNull
+    private static JCTree.JCIf buildCountingVarCheck(@NotNull InstrumentationInfo info,
+                                                     @NotNull String variableName,
+                                                     @NotNull String errorMessage)
+    {
+        CompilationUnitProcessingContext context = info.getContext();
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        int siteId = context.getCheckSites().register(errorMessage, info.getType());
+        return mayBeAddViolationEvent(info, siteId, factory.If(
+                buildNullCondition(factory, symbolsTable, variableName),
+                factory.Block(0, List.of(buildViolationRecord(context, siteId))),
+                null
+        ));
+    }
+
+    /**
+     * <p>
+     *     Makes the given check active only when assertions are enabled. The check is expected to be
+     *     an {@code 'if'} or an expression statement.
+     * </p>
+     * <p>
+     *     A {@code static final} flag is registered for the current top-level class if possible:
+     * </p>
+     * <pre>
+     *     static final boolean traute$assertionsDisabled = ![top-level-class].class.desiredAssertionStatus();
+     *     ...
+     *     if (!traute$assertionsDisabled &amp;&amp; [original-condition]) {
+     *         [original-body]
+     *     }
+     * </pre>
+     * <p>
+     *     Otherwise the {@code assert} statement is used (e.g. for interfaces):
+     * </p>
+     * <pre>
+     *     {
+     *         boolean traute$checksEnabled = false;
+     *         assert traute$checksEnabled = true;
+     *         if (traute$checksEnabled &amp;&amp; [original-condition]) {
+     *             [original-body]
+     *         }
+     *     }
+     * </pre>
+     *
+     * @param context   current compilation unit's processing context
+     * @param check     a check to guard
+     * @return          guarded check
+     */
+    @NotNull
+    private static JCTree.JCStatement guardByAssertions(@NotNull CompilationUnitProcessingContext context,
+                                                        @NotNull JCTree.JCStatement check)
+    {
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        if (syntheticMembers.isAvailable()) {
+            Name flagName = symbolsTable.fromString(ASSERTIONS_DISABLED_FLAG_NAME);
+            Name hostName = syntheticMembers.getHostName();
+            syntheticMembers.register(flagName,
+                                      () -> buildAssertionsDisabledFlag(factory, symbolsTable, flagName, hostName));
+            return addGuardCondition(factory, factory.Unary(JCTree.Tag.NOT, factory.Ident(flagName)), check);
+        }
+
+        Name variableName = symbolsTable.fromString(CHECKS_ENABLED_VARIABLE_NAME);
+        return factory.Block(0, List.of(
+                factory.VarDef(factory.Modifiers(0),
+                               variableName,
+                               factory.TypeIdent(TypeTag.BOOLEAN),
+                               factory.Literal(TypeTag.BOOLEAN, 0)),
+                factory.Assert(factory.Assign(factory.Ident(variableName), factory.Literal(TypeTag.BOOLEAN, 1)),
+                               null),
+                addGuardCondition(factory, factory.Ident(variableName), check)
+        ));
+    }
+
+    /**
+     * Makes the given check active only when it's not {@link CheckGuard#RUNTIME switched off in runtime}.
+     * The check is expected to be an {@code 'if'} or an expression statement:
+     * <pre>
+     *     static final boolean traute$enabled = traute$resolveEnabled();
+     *     ...
+     *     if (traute$enabled &amp;&amp; [original-condition]) {
+     *         [original-body]
+     *     }
+     * </pre>
+     * The check is returned as-is if current top-level class can't host the flag (e.g. for interfaces).
+     *
+     * @param context   current compilation unit's processing context
+     * @param check     a check to guard
+     * @return          guarded check
+     */
+    @NotNull
+    private static JCTree.JCStatement guardByRuntimeSetting(@NotNull CompilationUnitProcessingContext context,
+                                                            @NotNull JCTree.JCStatement check)
+    {
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        if (!syntheticMembers.isAvailable()) {
+            return check;
+        }
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        Name flagName = symbolsTable.fromString(ENABLED_FLAG_NAME);
+        Name resolverName = symbolsTable.fromString(ENABLED_RESOLVER_NAME);
+        Name hostName = syntheticMembers.getHostName();
+        syntheticMembers.register(flagName, () -> factory.VarDef(
+                factory.Modifiers(Flags.STATIC | Flags.FINAL),
+                flagName,
+                factory.TypeIdent(TypeTag.BOOLEAN),
+                factory.Apply(nil(), factory.Ident(resolverName), nil())
+        ));
+        syntheticMembers.register(resolverName,
+                                  () -> buildEnabledResolver(factory, symbolsTable, resolverName, hostName));
+        return addGuardCondition(factory, factory.Ident(flagName), check);
+    }
+
+    /**
+     * Makes the given check active only when it's not {@link CheckGuard#SWITCHABLE switched off} in runtime.
+     * The check is expected to be an {@code 'if'} or an expression statement:
+     * <pre>
+     *     static final java.lang.invoke.MethodHandle traute$[type]Switch
+     *             = tech.harmonysoft.oss.traute.runtime.CheckSwitches.get("[type]", [top-level-class].class);
+     *     ...
+     *     if (traute$[type]Enabled() &amp;&amp; [original-condition]) {
+     *         [original-body]
+     *     }
+     * </pre>
+     * The check is returned as-is if current top-level class can't host the switch (e.g. for interfaces).
+     *
+     * @param context   current compilation unit's processing context
+     * @param type      instrumentation type of the check
+     * @param check     a check to guard
+     * @return          guarded check
+     * @see #buildSwitchGetter(TreeMaker, Names, Name, Name)
+     */
+    @NotNull
+    private static JCTree.JCStatement guardBySwitch(@NotNull CompilationUnitProcessingContext context,
+                                                    @NotNull InstrumentationType type,
+                                                    @NotNull JCTree.JCStatement check)
+    {
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        if (!syntheticMembers.isAvailable()) {
+            return check;
+        }
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        String prefix = "traute$" + type.getShortName();
+        Name switchName = symbolsTable.fromString(prefix + SWITCH_FIELD_SUFFIX);
+        Name getterName = symbolsTable.fromString(prefix + SWITCH_GETTER_SUFFIX);
+        Name hostName = syntheticMembers.getHostName();
+        syntheticMembers.register(switchName, () -> factory.VarDef(
+                factory.Modifiers(Flags.STATIC | Flags.FINAL),
+                switchName,
+                buildQualifiedExpression("java.lang.invoke.MethodHandle", factory, symbolsTable),
+                factory.Apply(nil(),
+                              buildQualifiedExpression(SWITCH_FACTORY, factory, symbolsTable),
+                              List.of(factory.Literal(TypeTag.CLASS, type.getShortName()),
+                                      factory.Select(factory.Ident(hostName), symbolsTable._class)))
+        ));
+        syntheticMembers.register(getterName,
+                                  () -> buildSwitchGetter(factory, symbolsTable, getterName, switchName));
+        return addGuardCondition(factory, factory.Apply(nil(), factory.Ident(getterName), nil()), check);
+    }
+
+    /**
+     * Builds a method which looks as below:
+     * <pre>
+     *     static boolean [given-getter-name]() {
+     *         try {
+     *             return (boolean) [given-switch-name].invokeExact();
+     *         } catch (java.lang.Throwable e) {
+     *             throw new java.lang.AssertionError(e);
+     *         }
+     *     }
+     * </pre>
+     * The switch is a {@code static final} method handle, so, the {@code JIT} inlines its target. The method is
+     * needed because {@code invokeExact()} declares {@code Throwable}, i.e. it can't be used in a check directly.
+     *
+     * @param factory       an {@code AST} factory to use
+     * @param symbolsTable  a symbols table to use
+     * @param getterName    method's name
+     * @param switchName    name of the field which holds the switch
+     * @return              an {@code AST} method definition for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCMethodDecl buildSwitchGetter(@NotNull TreeMaker factory,
+                                                        @NotNull Names symbolsTable,
+                                                        @NotNull Name getterName,
+                                                        @NotNull Name switchName)
+    {
+        Name e = symbolsTable.fromString("e");
+        return factory.MethodDef(
+                factory.Modifiers(Flags.STATIC),
+                getterName,
+                factory.TypeIdent(TypeTag.BOOLEAN),
+                nil(),
+                nil(),
+                nil(),
+                factory.Block(0, List.of(factory.Try(
+                        factory.Block(0, List.of(factory.Return(factory.TypeCast(
+                                factory.TypeIdent(TypeTag.BOOLEAN),
+                                factory.Apply(nil(),
+                                              factory.Select(factory.Ident(switchName),
+                                                             symbolsTable.fromString("invokeExact")),
+                                              nil())
+                        )))),
+                        List.of(factory.Catch(
+                                factory.VarDef(factory.Modifiers(0),
+                                               e,
+                                               buildQualifiedExpression("java.lang.Throwable",
+                                                                        factory,
+                                                                        symbolsTable),
+                                               null),
+                                factory.Block(0, List.of(factory.Throw(factory.NewClass(
+                                        null,
+                                        nil(),
+                                        buildQualifiedExpression("java.lang.AssertionError",
+                                                                 factory,
+                                                                 symbolsTable),
+                                        List.of(factory.Ident(e)),
+                                        null
+                                ))))
+                        )),
+                        null
+                ))),
+                null
+        );
+    }
+
+    /**
+     * Builds a method which looks as below:
+     * <pre>
+     *     static boolean [given-resolver-name]() {
+     *         java.util.Properties config = new java.util.Properties();
+     *         try {
+     *             java.io.InputStream in = [given-class-name].class.getResourceAsStream("/traute.properties");
+     *             if (in != null) {
+     *                 try {
+     *                     config.load(in);
+     *                 } finally {
+     *                     in.close();
+     *                 }
+     *             }
+     *         } catch (java.lang.Exception e) {
+     *         }
+     *         java.lang.String key = "traute.enabled." + [given-class-name].class.getName();
+     *         for (;;) {
+     *             java.lang.String value = java.lang.System.getProperty(key, config.getProperty(key));
+     *             if (value != null) {
+     *                 return java.lang.Boolean.parseBoolean(value);
+     *             }
+     *             int i = key.lastIndexOf('.');
+     *             if (i &lt; "traute.enabled".length()) {
+     *                 return true;
+     *             }
+     *             key = key.substring(0, i);
+     *         }
+     *     }
+     * </pre>
+     * I.e. the most specific {@code traute.enabled.[prefix]} property is used and {@code traute.enabled} is
+     * the last one to check.
+     *
+     * @param factory       an {@code AST} factory to use
+     * @param symbolsTable  a symbols table to use
+     * @param resolverName  method's name
+     * @param className     simple name of the top-level class which hosts the method
+     * @return              an {@code AST} method definition for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCMethodDecl buildEnabledResolver(@NotNull TreeMaker factory,
+                                                           @NotNull Names symbolsTable,
+                                                           @NotNull Name resolverName,
+                                                           @NotNull Name className)
+    {
+        Name config = symbolsTable.fromString("config");
+        Name in = symbolsTable.fromString("in");
+        Name e = symbolsTable.fromString("e");
+        Name key = symbolsTable.fromString("key");
+        Name value = symbolsTable.fromString("value");
+        Name i = symbolsTable.fromString("i");
+        JCTree.JCExpression hostClass = factory.Select(factory.Ident(className), symbolsTable._class);
+        return factory.MethodDef(
+                factory.Modifiers(Flags.STATIC),
+                resolverName,
+                factory.TypeIdent(TypeTag.BOOLEAN),
+                nil(),
+                nil(),
+                nil(),
+                factory.Block(0, List.of(
+                        factory.VarDef(factory.Modifiers(0),
+                                       config,
+                                       buildQualifiedExpression("java.util.Properties", factory, symbolsTable),
+                                       factory.NewClass(null,
+                                                        nil(),
+                                                        buildQualifiedExpression("java.util.Properties",
+                                                                                 factory,
+                                                                                 symbolsTable),
+                                                        nil(),
+                                                        null)),
+                        factory.Try(
+                                factory.Block(0, List.of(
+                                        factory.VarDef(
+                                                factory.Modifiers(0),
+                                                in,
+                                                buildQualifiedExpression("java.io.InputStream",
+                                                                         factory,
+                                                                         symbolsTable),
+                                                factory.Apply(
+                                                        nil(),
+                                                        factory.Select(hostClass,
+                                                                       symbolsTable.fromString("getResourceAsStream")),
+                                                        List.of(factory.Literal(TypeTag.CLASS,
+                                                                                ENABLED_CONFIG_RESOURCE))
+                                                )
+                                        ),
+                                        factory.If(
+                                                factory.Binary(JCTree.Tag.NE,
+                                                               factory.Ident(in),
+                                                               factory.Literal(TypeTag.BOT, null)),
+                                                factory.Block(0, List.of(factory.Try(
+                                                        factory.Block(0, List.of(factory.Exec(factory.Apply(
+                                                                nil(),
+                                                                factory.Select(factory.Ident(config),
+                                                                               symbolsTable.fromString("load")),
+                                                                List.of(factory.Ident(in))
+                                                        )))),
+                                                        nil(),
+                                                        factory.Block(0, List.of(factory.Exec(factory.Apply(
+                                                                nil(),
+                                                                factory.Select(factory.Ident(in),
+                                                                               symbolsTable.fromString("close")),
+                                                                nil()
+                                                        ))))
+                                                ))),
+                                                null
+                                        )
+                                )),
+                                List.of(factory.Catch(
+                                        factory.VarDef(factory.Modifiers(0),
+                                                       e,
+                                                       buildQualifiedExpression("java.lang.Exception",
+                                                                                factory,
+                                                                                symbolsTable),
+                                                       null),
+                                        factory.Block(0, nil())
+                                )),
+                                null
+                        ),
+                        factory.VarDef(
+                                factory.Modifiers(0),
+                                key,
+                                buildQualifiedExpression("java.lang.String", factory, symbolsTable),
+                                factory.Binary(JCTree.Tag.PLUS,
+                                               factory.Literal(TypeTag.CLASS, ENABLED_PROPERTY + "."),
+                                               factory.Apply(nil(),
+                                                             factory.Select(
+                                                                     factory.Select(factory.Ident(className),
+                                                                                    symbolsTable._class),
+                                                                     symbolsTable.fromString("getName")
+                                                             ),
+                                                             nil()))
+                        ),
+                        factory.ForLoop(nil(), null, nil(), factory.Block(0, List.of(
+                                factory.VarDef(
+                                        factory.Modifiers(0),
+                                        value,
+                                        buildQualifiedExpression("java.lang.String", factory, symbolsTable),
+                                        factory.Apply(
+                                                nil(),
+                                                buildQualifiedExpression("java.lang.System.getProperty",
+                                                                         factory,
+                                                                         symbolsTable),
+                                                List.of(factory.Ident(key), factory.Apply(
+                                                        nil(),
+                                                        factory.Select(factory.Ident(config),
+                                                                       symbolsTable.fromString("getProperty")),
+                                                        List.of(factory.Ident(key))
+                                                ))
+                                        )
+                                ),
+                                factory.If(
+                                        factory.Binary(JCTree.Tag.NE,
+                                                       factory.Ident(value),
+                                                       factory.Literal(TypeTag.BOT, null)),
+                                        factory.Block(0, List.of(factory.Return(factory.Apply(
+                                                nil(),
+                                                buildQualifiedExpression("java.lang.Boolean.parseBoolean",
+                                                                         factory,
+                                                                         symbolsTable),
+                                                List.of(factory.Ident(value))
+                                        )))),
+                                        null
+                                ),
+                                factory.VarDef(
+                                        factory.Modifiers(0),
+                                        i,
+                                        factory.TypeIdent(TypeTag.INT),
+                                        factory.Apply(nil(),
+                                                      factory.Select(factory.Ident(key),
+                                                                     symbolsTable.fromString("lastIndexOf")),
+                                                      List.of(factory.Literal(TypeTag.CHAR, (int) '.')))
+                                ),
+                                factory.If(
+                                        factory.Binary(JCTree.Tag.LT,
+                                                       factory.Ident(i),
+                                                       factory.Literal(TypeTag.INT, ENABLED_PROPERTY.length())),
+                                        factory.Block(0, List.of(factory.Return(factory.Literal(TypeTag.BOOLEAN,
+                                                                                                1)))),
+                                        null
+                                ),
+                                factory.Exec(factory.Assign(
+                                        factory.Ident(key),
+                                        factory.Apply(nil(),
+                                                      factory.Select(factory.Ident(key),
+                                                                     symbolsTable.fromString("substring")),
+                                                      List.of(factory.Literal(TypeTag.INT, 0), factory.Ident(i)))
+                                ))
+                        )))
+                )),
+                null
+        );
+    }
+
+    @NotNull
+    private static JCTree.JCStatement addGuardCondition(@NotNull TreeMaker factory,
+                                                        @NotNull JCTree.JCExpression guard,
+                                                        @NotNull JCTree.JCStatement check)
+    {
+        if (check instanceof JCTree.JCIf) {
+            JCTree.JCIf jcIf = (JCTree.JCIf) check;
+            jcIf.cond = factory.Binary(JCTree.Tag.AND, guard, jcIf.cond);
+            return jcIf;
+        }
+        return factory.If(guard, factory.Block(0, List.of(check)), null);
+    }
+
+    /**
+     * Builds a field which looks as below:
+     * <pre>
+     *     static final boolean [given-flag-name] = ![given-class-name].class.desiredAssertionStatus();
+     * </pre>
+     *
+     * @param factory       an {@code AST} factory to use
+     * @param symbolsTable  a symbols table to use
+     * @param flagName      field's name
+     * @param className     simple name of the top-level class which hosts the field
+     * @return              an {@code AST} field definition for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCVariableDecl buildAssertionsDisabledFlag(@NotNull TreeMaker factory,
+                                                                    @NotNull Names symbolsTable,
+                                                                    @NotNull Name flagName,
+                                                                    @NotNull Name className)
+    {
+        return factory.VarDef(
+                factory.Modifiers(Flags.STATIC | Flags.FINAL),
+                flagName,
+                factory.TypeIdent(TypeTag.BOOLEAN),
+                factory.Unary(JCTree.Tag.NOT, factory.Apply(
+                        nil(),
+                        factory.Select(factory.Select(factory.Ident(className), symbolsTable._class),
+                                       symbolsTable.fromString("desiredAssertionStatus")),
+                        nil()
+                ))
+        );
+    }
+
     /**
      * Builds an {@code AST 'if'} element which looks as below:
      * <pre>
@@ -37,14 +1141,7 @@ public class InstrumentationUtil {
                                             @NotNull String exceptionToThrow)
     {
         return factory.If(
-                factory.Parens(
-                        factory.Binary(
-                                JCTree.Tag.EQ,
-                                factory.Ident(
-                                        symbolsTable.fromString(variableName)
-                                ),
-                                factory.Literal(TypeTag.BOT, null))
-                ),
+                buildNullCondition(factory, symbolsTable, variableName),
                 factory.Block(0, List.of(
                         factory.Throw(
                                 factory.NewClass(
@@ -65,7 +1162,23 @@ public class InstrumentationUtil {
                                                                     @NotNull TreeMaker factory,
                                                                     @NotNull Names symbolsTable)
     {
-        String[] parts = exceptionClass.split("\\.");
+        return buildQualifiedExpression(exceptionClass, factory, symbolsTable);
+    }
+
+    /**
+     * Builds an {@code AST} expression for the given dot-separated name, e.g. {@code java.util.Arrays.asList}.
+     *
+     * @param qualifiedName     a name to process
+     * @param factory           an {@code AST} factory to use
+     * @param symbolsTable      a symbols table to use
+     * @return                  an {@code AST} expression for the given name
+     */
+    @NotNull
+    public static JCTree.JCExpression buildQualifiedExpression(@NotNull String qualifiedName,
+                                                               @NotNull TreeMaker factory,
+                                                               @NotNull Names symbolsTable)
+    {
+        String[] parts = qualifiedName.split("\\.");
         JCTree.JCIdent identifier = factory.Ident(symbolsTable.fromString(parts[0]));
         JCTree.JCFieldAccess selector = null;
         for (int i = 1; i < parts.length; i++) {
@@ -73,4 +1186,569 @@ public class InstrumentationUtil {
         }
         return selector == null ? identifier : selector;
     }
+
+    /**
+     * @param settings  plugin settings to use
+     * @param type      target instrumentation type
+     * @return          {@code true} if {@link CheckStyle#REQUIRE_NON_NULL} checks should be generated for the given
+     *                  instrumentation type
+     */
+    public static boolean isRequireNonNullApplicable(@NotNull TrautePluginSettings settings,
+                                                     @NotNull InstrumentationType type)
+    {
+        return settings.getCheckStyle() == CheckStyle.REQUIRE_NON_NULL
+               && settings.getFailureAction() == FailureAction.THROW
+               && !settings.isStacklessException(type)
+               && !settings.isJfrEvents()
+               && !settings.isJmxCounters()
+               && !settings.isProfile()
+               && isNullPointerException(settings.getExceptionToThrow(type));
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @return          {@code true} if {@code 'return'} expressions should be wrapped by the
+     *                  {@link #buildReturnWrapper runtime check}
+     */
+    public static boolean isReturnWrapperApplicable(@NotNull TrautePluginSettings settings) {
+        return settings.isWrapReturn()
+               && settings.getFailureAction() == FailureAction.THROW
+               && !settings.isJfrEvents()
+               && !settings.isJmxCounters()
+               && !settings.isProfile()
+               && isNullPointerException(settings.getExceptionToThrow(InstrumentationType.METHOD_RETURN));
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @return          {@code true} if explicit checks should be skipped for method parameters which are
+     *                  {@link TrautePluginSettings#isElideDereferenced() dereferenced at method entry}, i.e.
+     *                  if the {@code JVM}'s implicit {@link NullPointerException} is an equivalent of the check
+     */
+    public static boolean isDereferencedParameterElisionApplicable(@NotNull TrautePluginSettings settings) {
+        return settings.isElideDereferenced()
+               && settings.getFailureAction() == FailureAction.THROW
+               && !settings.isJfrEvents()
+               && !settings.isJmxCounters()
+               && !settings.isProfile()
+               && isNullPointerException(settings.getExceptionToThrow(InstrumentationType.METHOD_PARAMETER));
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @return          {@code true} if explicit checks should be skipped for method parameters which are
+     *                  {@link TrautePluginSettings#isElideDelegated() passed to a delegate} which checks them;
+     *                  profiling builds keep all checks as every check site is expected to be counted there
+     */
+    public static boolean isDelegatedParameterElisionApplicable(@NotNull TrautePluginSettings settings) {
+        return settings.isElideDelegated() && !settings.isProfile();
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @return          {@code true} if explicit checks should be skipped for parameters of {@code private} methods
+     *                  which are {@link TrautePluginSettings#isElidePrivate() given non-null arguments} at all
+     *                  call sites. Callers' checks are relied on then, so, they must stop the execution
+     *                  unconditionally
+     */
+    public static boolean isNonNullArgumentsElisionApplicable(@NotNull TrautePluginSettings settings) {
+        return settings.isElidePrivate()
+               && settings.getFailureAction() == FailureAction.THROW
+               && settings.getCheckGuard() == CheckGuard.NONE
+               && !settings.isProfile();
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @return          {@code true} if explicit checks should be skipped for {@code 'return'} expressions
+     *                  which {@link TrautePluginSettings#isElideReturn() can't evaluate to null}
+     */
+    public static boolean isNonNullReturnElisionApplicable(@NotNull TrautePluginSettings settings) {
+        return settings.isElideReturn() && !settings.isProfile();
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @return          {@code true} if {@code 'return'} checks should be skipped for getters which return
+     *                  {@link InstrumentationType#FIELD final fields checked by constructors}. Constructors' checks
+     *                  are relied on then, so, they must stop the execution on failure
+     */
+    public static boolean isCheckedFieldReturnElisionApplicable(@NotNull TrautePluginSettings settings) {
+        return settings.isEnabled(InstrumentationType.FIELD)
+               && settings.getFailureAction() == FailureAction.THROW
+               && settings.getCheckGuard() == CheckGuard.NONE
+               && !settings.isProfile();
+    }
+
+    /**
+     * @param body          a constructor's body
+     * @param symbolsTable  a symbols table to use
+     * @return              {@code this} or {@code super} name if the given constructor starts from an explicit
+     *                      constructor call like {@code this(...)} or {@code super(...)}; {@code null} otherwise
+     */
+    @Nullable
+    public static Name getConstructorCall(@NotNull JCTree.JCBlock body, @NotNull Names symbolsTable) {
+        List<JCTree.JCStatement> statements = body.getStatements();
+        if (statements.isEmpty()) {
+            return null;
+        }
+        JCTree.JCStatement expressionCandidate = statements.get(0);
+        if (expressionCandidate instanceof ExpressionStatementTree) {
+            ExpressionStatementTree expression = (ExpressionStatementTree) expressionCandidate;
+            ExpressionTree methodInvocationCandidate = expression.getExpression();
+            if (methodInvocationCandidate instanceof MethodInvocationTree) {
+                MethodInvocationTree methodInvocation = (MethodInvocationTree) methodInvocationCandidate;
+                ExpressionTree methodSelect = methodInvocation.getMethodSelect();
+                if (methodSelect instanceof JCTree) {
+                    Name select = TreeInfo.name((JCTree) methodSelect);
+                    if (select == symbolsTable._this || select == symbolsTable._super) {
+                        return select;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds an {@code AST} expression which looks as below:
+     * <pre>
+     *     tech.harmonysoft.oss.traute.runtime.TrauteChecks.ret([given-expression], [given-error-message])
+     * </pre>
+     * {@code 'retStackless()'} is called instead when
+     * {@link TrautePluginSettings#isStacklessException(InstrumentationType) stackless exceptions} are configured.
+     * A top-level class' literal and check id are passed instead of the error message for the
+     * {@link CheckStyle#SITE_ID} check style:
+     * <pre>
+     *     tech.harmonysoft.oss.traute.runtime.TrauteChecks.ret([given-expression], [top-level-class].class, [site-id])
+     * </pre>
+     *
+     * @param context       current compilation unit's processing context
+     * @param expression    an expression to check
+     * @param errorMessage  an error message to use
+     * @return              an {@code AST} expression for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCMethodInvocation buildReturnWrapper(@NotNull CompilationUnitProcessingContext context,
+                                                               @NotNull JCTree.JCExpression expression,
+                                                               @NotNull String errorMessage)
+    {
+        TreeMaker factory = context.getAstFactory();
+        Names symbolsTable = context.getSymbolsTable();
+        TrautePluginSettings settings = context.getPluginSettings();
+        SyntheticMembers syntheticMembers = context.getSyntheticMembers();
+        List<JCTree.JCExpression> arguments;
+        if (settings.getCheckStyle() == CheckStyle.SITE_ID && syntheticMembers.isFieldAvailable()) {
+            arguments = List.of(expression,
+                                factory.Select(factory.Ident(syntheticMembers.getHostName()), symbolsTable._class),
+                                factory.Literal(TypeTag.INT, context.getCheckSites().register(
+                                        errorMessage, InstrumentationType.METHOD_RETURN
+                                )));
+        } else {
+            arguments = List.of(expression, factory.Literal(TypeTag.CLASS, errorMessage));
+        }
+        String wrapper = settings.isStacklessException(InstrumentationType.METHOD_RETURN) ? STACKLESS_RETURN_WRAPPER
+                                                                                            : RETURN_WRAPPER;
+        return factory.Apply(nil(), buildQualifiedExpression(wrapper, factory, symbolsTable), arguments);
+    }
+
+    public static boolean isNullPointerException(@NotNull String exceptionClass) {
+        return NullPointerException.class.getSimpleName().equals(exceptionClass)
+               || NullPointerException.class.getName().equals(exceptionClass);
+    }
+
+    public static boolean isIllegalArgumentException(@NotNull String exceptionClass) {
+        return IllegalArgumentException.class.getSimpleName().equals(exceptionClass)
+               || IllegalArgumentException.class.getName().equals(exceptionClass);
+    }
+
+    /**
+     * @param exceptionClass    an exception class configured for a check
+     * @return                  a runtime class which is a stackless counterpart of the given exception;
+     *                          {@code null} if there is no such class
+     */
+    @Nullable
+    public static String getStacklessException(@NotNull String exceptionClass) {
+        if (isNullPointerException(exceptionClass)) {
+            return STACKLESS_NPE_CLASS;
+        } else if (isIllegalArgumentException(exceptionClass)) {
+            return STACKLESS_IAE_CLASS;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param settings  plugin settings to use
+     * @param type      target instrumentation type
+     * @return          an exception class to throw from failed checks of the given type, it's a
+     *                  {@link #getStacklessException(String) stackless exception} if that's configured
+     */
+    @NotNull
+    public static String getExceptionToThrow(@NotNull TrautePluginSettings settings,
+                                             @NotNull InstrumentationType type)
+    {
+        String exceptionToThrow = settings.getExceptionToThrow(type);
+        if (settings.isStacklessException(type)) {
+            String stacklessException = getStacklessException(exceptionToThrow);
+            if (stacklessException != null) {
+                return stacklessException;
+            }
+        }
+        return exceptionToThrow;
+    }
+
+    /**
+     * Builds an {@code AST} expression which looks as below:
+     * <pre>
+     *     java.util.Objects.requireNonNull([given-expression], [given-error-message])
+     * </pre>
+     *
+     * @param factory       an {@code AST} factory to use
+     * @param symbolsTable  a symbols table to use
+     * @param expression    an expression to check
+     * @param errorMessage  an error message to use
+     * @return              an {@code AST} expression for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCMethodInvocation buildRequireNonNull(@NotNull TreeMaker factory,
+                                                                @NotNull Names symbolsTable,
+                                                                @NotNull JCTree.JCExpression expression,
+                                                                @NotNull String errorMessage)
+    {
+        return factory.Apply(
+                nil(),
+                buildQualifiedExpression("java.util.Objects.requireNonNull", factory, symbolsTable),
+                List.of(expression, factory.Literal(TypeTag.CLASS, errorMessage))
+        );
+    }
+
+    @NotNull
+    public static String getCheckMessagesResourceName(@NotNull String hostName) {
+        return CHECK_MESSAGES_RESOURCE_PREFIX + hostName + CHECK_MESSAGES_RESOURCE_SUFFIX;
+    }
+
+    @NotNull
+    public static String getFailureHelperName(@NotNull InstrumentationType type) {
+        String shortName = type.getShortName();
+        return FAILURE_HELPER_PREFIX + Character.toUpperCase(shortName.charAt(0)) + shortName.substring(1);
+    }
+
+    /**
+     * Builds a method which looks as below:
+     * <pre>
+     *     static void [given-helper-name](java.lang.String message) {
+     *         [given-exception] exception = new [given-exception](message);
+     *         java.lang.StackTraceElement[] trace = exception.getStackTrace();
+     *         exception.setStackTrace(java.util.Arrays.copyOfRange(trace, 1, trace.length));
+     *         throw exception;
+     *     }
+     * </pre>
+     * The helper's frame is removed from the stack trace, so, the exception looks as if it was thrown
+     * from the check site. {@link #getStacklessException(String) Stackless exceptions} have no stack trace,
+     * the helper just throws them then:
+     * <pre>
+     *     static void [given-helper-name](java.lang.String message) {
+     *         throw new [given-exception](message);
+     *     }
+     * </pre>
+     *
+     * @param factory           an {@code AST} factory to use
+     * @param symbolsTable      a symbols table to use
+     * @param helperName        helper method's name
+     * @param exceptionToThrow  an exception to throw
+     * @return                  an {@code AST} method definition for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCMethodDecl buildFailureHelper(@NotNull TreeMaker factory,
+                                                         @NotNull Names symbolsTable,
+                                                         @NotNull Name helperName,
+                                                         @NotNull String exceptionToThrow)
+    {
+        Name message = symbolsTable.fromString("message");
+        return buildFailureHelper(factory,
+                                  symbolsTable,
+                                  helperName,
+                                  exceptionToThrow,
+                                  factory.VarDef(factory.Modifiers(Flags.PARAMETER),
+                                                 message,
+                                                 buildQualifiedExpression("java.lang.String", factory, symbolsTable),
+                                                 null),
+                                  factory.Ident(message));
+    }
+
+    /**
+     * Builds a method which looks as below:
+     * <pre>
+     *     static void [given-helper-name](int siteId) {
+     *         [given-exception] exception = new [given-exception](
+     *                 tech.harmonysoft.oss.traute.runtime.CheckMessages.get([given-host-name].class, siteId)
+     *         );
+     *         java.lang.StackTraceElement[] trace = exception.getStackTrace();
+     *         exception.setStackTrace(java.util.Arrays.copyOfRange(trace, 1, trace.length));
+     *         throw exception;
+     *     }
+     * </pre>
+     * Exception texts are resolved from the {@link CheckSites check sites} table stored in a classpath resource,
+     * see {@link CheckStyle#SITE_ID}.
+     *
+     * @param factory           an {@code AST} factory to use
+     * @param symbolsTable      a symbols table to use
+     * @param helperName        helper method's name
+     * @param exceptionToThrow  an exception to throw
+     * @param hostName          simple name of the top-level class which hosts the helper
+     * @return                  an {@code AST} method definition for the parameters above
+     * @see #buildFailureHelper(TreeMaker, Names, Name, String)
+     */
+    @NotNull
+    public static JCTree.JCMethodDecl buildSiteIdFailureHelper(@NotNull TreeMaker factory,
+                                                               @NotNull Names symbolsTable,
+                                                               @NotNull Name helperName,
+                                                               @NotNull String exceptionToThrow,
+                                                               @NotNull Name hostName)
+    {
+        Name siteId = symbolsTable.fromString("siteId");
+        return buildFailureHelper(factory,
+                                  symbolsTable,
+                                  helperName,
+                                  exceptionToThrow,
+                                  factory.VarDef(factory.Modifiers(Flags.PARAMETER),
+                                                 siteId,
+                                                 factory.TypeIdent(TypeTag.INT),
+                                                 null),
+                                  factory.Apply(
+                                          nil(),
+                                          buildQualifiedExpression(CHECK_MESSAGES_GETTER, factory, symbolsTable),
+                                          List.of(factory.Select(factory.Ident(hostName), symbolsTable._class),
+                                                  factory.Ident(siteId))
+                                  ));
+    }
+
+    @NotNull
+    private static JCTree.JCMethodDecl buildFailureHelper(@NotNull TreeMaker factory,
+                                                          @NotNull Names symbolsTable,
+                                                          @NotNull Name helperName,
+                                                          @NotNull String exceptionToThrow,
+                                                          @NotNull JCTree.JCVariableDecl parameter,
+                                                          @NotNull JCTree.JCExpression message)
+    {
+        return buildFailureHelper(factory,
+                                  symbolsTable,
+                                  helperName,
+                                  exceptionToThrow,
+                                  List.of(parameter),
+                                  nil(),
+                                  message);
+    }
+
+    /**
+     * Builds a method for {@link #buildCombinedVarCheck combined checks} which looks as below:
+     * <pre>
+     *     static void traute$failParameters(java.lang.Object[] values, java.lang.String[] messages) {
+     *         java.lang.String message = null;
+     *         for (int i = 0; i &lt; values.length; i++) {
+     *             if (values[i] == null) {
+     *                 message = messages[i];
+     *                 break;
+     *             }
+     *         }
+     *         [given-exception] exception = new [given-exception](message);
+     *         java.lang.StackTraceElement[] trace = exception.getStackTrace();
+     *         exception.setStackTrace(java.util.Arrays.copyOfRange(trace, 1, trace.length));
+     *         throw exception;
+     *     }
+     * </pre>
+     * Texts of all {@code null} parameters are joined when all of them should be reported:
+     * <pre>
+     *             if (values[i] == null) {
+     *                 message = message == null ? messages[i] : message + "; " + messages[i];
+     *             }
+     * </pre>
+     * The helper receives check ids ({@code int[] siteIds}) instead of texts for the {@link CheckStyle#SITE_ID}
+     * check style, they are resolved by {@code tech.harmonysoft.oss.traute.runtime.CheckMessages.get()}.
+     *
+     * @param factory           an {@code AST} factory to use
+     * @param symbolsTable      a symbols table to use
+     * @param helperName        helper method's name
+     * @param exceptionToThrow  an exception to throw
+     * @param siteIdsHostName   simple name of the top-level class which hosts the helper if check ids are
+     *                          passed to the helper; {@code null} if texts are passed
+     * @param reportAll         a flag which tells whether all {@code null} parameters should be reported
+     * @return                  an {@code AST} method definition for the parameters above
+     */
+    @NotNull
+    public static JCTree.JCMethodDecl buildCombinedFailureHelper(@NotNull TreeMaker factory,
+                                                                 @NotNull Names symbolsTable,
+                                                                 @NotNull Name helperName,
+                                                                 @NotNull String exceptionToThrow,
+                                                                 @Nullable Name siteIdsHostName,
+                                                                 boolean reportAll)
+    {
+        Name values = symbolsTable.fromString("values");
+        Name messages = symbolsTable.fromString(siteIdsHostName == null ? "messages" : "siteIds");
+        Name message = symbolsTable.fromString("message");
+        Name i = symbolsTable.fromString("i");
+        JCTree.JCExpression currentMessage = factory.Indexed(factory.Ident(messages), factory.Ident(i));
+        if (siteIdsHostName != null) {
+            currentMessage = factory.Apply(
+                    nil(),
+                    buildQualifiedExpression(CHECK_MESSAGES_GETTER, factory, symbolsTable),
+                    List.of(factory.Select(factory.Ident(siteIdsHostName), symbolsTable._class), currentMessage)
+            );
+        }
+        JCTree.JCStatement onNull;
+        if (reportAll) {
+            onNull = factory.Exec(factory.Assign(
+                    factory.Ident(message),
+                    factory.Conditional(
+                            factory.Binary(JCTree.Tag.EQ, factory.Ident(message), factory.Literal(TypeTag.BOT, null)),
+                            currentMessage,
+                            factory.Binary(JCTree.Tag.PLUS,
+                                           factory.Binary(JCTree.Tag.PLUS,
+                                                          factory.Ident(message),
+                                                          factory.Literal(TypeTag.CLASS, "; ")),
+                                           currentMessage)
+                    )
+            ));
+        } else {
+            onNull = factory.Block(0, List.of(
+                    factory.Exec(factory.Assign(factory.Ident(message), currentMessage)),
+                    factory.Break(null)
+            ));
+        }
+        return buildFailureHelper(
+                factory,
+                symbolsTable,
+                helperName,
+                exceptionToThrow,
+                List.of(
+                        factory.VarDef(factory.Modifiers(Flags.PARAMETER),
+                                       values,
+                                       factory.TypeArray(buildQualifiedExpression("java.lang.Object",
+                                                                                  factory,
+                                                                                  symbolsTable)),
+                                       null),
+                        factory.VarDef(factory.Modifiers(Flags.PARAMETER),
+                                       messages,
+                                       factory.TypeArray(siteIdsHostName == null
+                                                         ? buildQualifiedExpression("java.lang.String",
+                                                                                    factory,
+                                                                                    symbolsTable)
+                                                         : factory.TypeIdent(TypeTag.INT)),
+                                       null)
+                ),
+                List.of(
+                        factory.VarDef(factory.Modifiers(0),
+                                       message,
+                                       buildQualifiedExpression("java.lang.String", factory, symbolsTable),
+                                       factory.Literal(TypeTag.BOT, null)),
+                        factory.ForLoop(
+                                List.of(factory.VarDef(factory.Modifiers(0),
+                                                       i,
+                                                       factory.TypeIdent(TypeTag.INT),
+                                                       factory.Literal(TypeTag.INT, 0))),
+                                factory.Binary(JCTree.Tag.LT,
+                                               factory.Ident(i),
+                                               factory.Select(factory.Ident(values), symbolsTable.length)),
+                                List.of(factory.Exec(factory.Unary(JCTree.Tag.POSTINC, factory.Ident(i)))),
+                                factory.If(
+                                        factory.Binary(JCTree.Tag.EQ,
+                                                       factory.Indexed(factory.Ident(values), factory.Ident(i)),
+                                                       factory.Literal(TypeTag.BOT, null)),
+                                        onNull,
+                                        null
+                                )
+                        )
+                ),
+                factory.Ident(message)
+        );
+    }
+
+    @NotNull
+    private static JCTree.JCMethodDecl buildFailureHelper(@NotNull TreeMaker factory,
+                                                          @NotNull Names symbolsTable,
+                                                          @NotNull Name helperName,
+                                                          @NotNull String exceptionToThrow,
+                                                          @NotNull List<JCTree.JCVariableDecl> parameters,
+                                                          @NotNull List<JCTree.JCStatement> statements,
+                                                          @NotNull JCTree.JCExpression message)
+    {
+        Name exception = symbolsTable.fromString("exception");
+        Name trace = symbolsTable.fromString("trace");
+        List<JCTree.JCStatement> body;
+        if (STACKLESS_NPE_CLASS.equals(exceptionToThrow) || STACKLESS_IAE_CLASS.equals(exceptionToThrow)) {
+            body = List.of(factory.Throw(factory.NewClass(
+                    null,
+                    nil(),
+                    buildExceptionClassExpression(exceptionToThrow, factory, symbolsTable),
+                    List.of(message),
+                    null
+            )));
+        } else {
+            body = List.of(
+                    factory.VarDef(
+                            factory.Modifiers(0),
+                            exception,
+                            buildExceptionClassExpression(exceptionToThrow, factory, symbolsTable),
+                            factory.NewClass(
+                                    null,
+                                    nil(),
+                                    buildExceptionClassExpression(exceptionToThrow, factory, symbolsTable),
+                                    List.of(message),
+                                    null
+                            )
+                    ),
+                    factory.VarDef(
+                            factory.Modifiers(0),
+                            trace,
+                            factory.TypeArray(buildQualifiedExpression("java.lang.StackTraceElement",
+                                                                       factory,
+                                                                       symbolsTable)),
+                            factory.Apply(
+                                    nil(),
+                                    factory.Select(factory.Ident(exception),
+                                                   symbolsTable.fromString("getStackTrace")),
+                                    nil()
+                            )
+                    ),
+                    factory.Exec(factory.Apply(
+                            nil(),
+                            factory.Select(factory.Ident(exception), symbolsTable.fromString("setStackTrace")),
+                            List.of(factory.Apply(
+                                    nil(),
+                                    buildQualifiedExpression("java.util.Arrays.copyOfRange",
+                                                             factory,
+                                                             symbolsTable),
+                                    List.of(factory.Ident(trace),
+                                            factory.Literal(TypeTag.INT, 1),
+                                            factory.Select(factory.Ident(trace), symbolsTable.length))
+                            ))
+                    )),
+                    factory.Throw(factory.Ident(exception))
+            );
+        }
+        return factory.MethodDef(
+                factory.Modifiers(Flags.STATIC),
+                helperName,
+                factory.TypeIdent(TypeTag.VOID),
+                nil(),
+                parameters,
+                nil(),
+                factory.Block(0, statements.appendList(body)),
+                null
+        );
+    }
+
+    @NotNull
+    private static JCTree.JCExpression buildNullCondition(@NotNull TreeMaker factory,
+                                                          @NotNull Names symbolsTable,
+                                                          @NotNull String variableName)
+    {
+        return factory.Parens(
+                factory.Binary(
+                        JCTree.Tag.EQ,
+                        buildQualifiedExpression(variableName, factory, symbolsTable),
+                        factory.Literal(TypeTag.BOT, null))
+        );
+    }
 }
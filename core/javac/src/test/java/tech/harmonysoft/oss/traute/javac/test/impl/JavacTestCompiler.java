@@ -1,6 +1,10 @@
 package tech.harmonysoft.oss.traute.javac.test.impl;
 
 import org.jetbrains.annotations.NotNull;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
 import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
@@ -14,6 +18,7 @@ import tech.harmonysoft.oss.traute.test.util.TestUtil;
 
 import javax.tools.JavaCompiler;
 import javax.tools.ToolProvider;
+import java.io.File;
 import java.io.StringWriter;
 import java.util.*;
 import java.util.function.Supplier;
@@ -21,6 +26,7 @@ import java.util.function.Supplier;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_PARAMETER;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_RETURN;
 import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.*;
@@ -72,7 +78,14 @@ public class JavacTestCompiler implements TestCompiler {
             }).collect(toList());
         };
 
-        return new CompilationResultImpl(compiledClassesSupplier, output.toString(), testSources);
+        Supplier<Map<String, byte[]>> resourcesSupplier = () -> fileManager.getResources().stream().collect(
+                toMap(SimpleResourceFile::getRelativeName, SimpleResourceFile::getContent)
+        );
+
+        return new CompilationResultImpl(compiledClassesSupplier,
+                                         resourcesSupplier,
+                                         output.toString(),
+                                         testSources);
     }
 
     @NotNull
@@ -114,6 +127,12 @@ public class JavacTestCompiler implements TestCompiler {
             }
         }
 
+        for (InstrumentationType instrumentationType : settings.getStacklessExceptions()) {
+            result.add(String.format("-A%s%s=true",
+                                     TrauteConstants.OPTION_PREFIX_STACKLESS_EXCEPTION,
+                                     instrumentationType.getShortName()));
+        }
+
         for (Map.Entry<InstrumentationType, String> entry : settings.getExceptionTextPatterns().entrySet()) {
             result.add(String.format("-A%s%s=%s",
                                      TrauteConstants.OPTION_PREFIX_EXCEPTION_TEXT,
@@ -147,6 +166,94 @@ public class JavacTestCompiler implements TestCompiler {
         if (verboseLog != DEFAULT_VERBOSE_MODE) {
             result.add(String.format("-A%s=true", TrauteConstants.OPTION_LOG_VERBOSE));
         }
+
+        CheckStyle checkStyle = settings.getCheckStyle();
+        if (checkStyle != DEFAULT_CHECK_STYLE) {
+            result.add(String.format("-A%s=%s", TrauteConstants.OPTION_CHECK_STYLE, checkStyle.getShortName()));
+        }
+
+        CheckGuard checkGuard = settings.getCheckGuard();
+        if (checkGuard != DEFAULT_CHECK_GUARD) {
+            result.add(String.format("-A%s=%s", TrauteConstants.OPTION_CHECK_GUARD, checkGuard.getShortName()));
+        }
+
+        FailureAction failureAction = settings.getFailureAction();
+        if (failureAction != DEFAULT_FAILURE_ACTION) {
+            result.add(String.format("-A%s=%s", TrauteConstants.OPTION_FAILURE_ACTION, failureAction.getShortName()));
+        }
+
+        int combinedCheckThreshold = settings.getCombinedCheckThreshold();
+        if (combinedCheckThreshold != DEFAULT_COMBINED_CHECK_THRESHOLD) {
+            result.add(String.format("-A%s=%d",
+                                     TrauteConstants.OPTION_COMBINED_CHECK_THRESHOLD,
+                                     combinedCheckThreshold));
+        }
+
+        boolean combinedCheckReportAll = settings.isCombinedCheckReportAll();
+        if (combinedCheckReportAll != DEFAULT_COMBINED_CHECK_REPORT_ALL) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_COMBINED_CHECK_REPORT_ALL));
+        }
+
+        boolean wrapReturn = settings.isWrapReturn();
+        if (wrapReturn != DEFAULT_WRAP_RETURN) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_WRAP_RETURN));
+        }
+
+        boolean jfrEvents = settings.isJfrEvents();
+        if (jfrEvents != DEFAULT_JFR_EVENTS) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_JFR_EVENTS));
+        }
+
+        boolean jmxCounters = settings.isJmxCounters();
+        if (jmxCounters != DEFAULT_JMX_COUNTERS) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_JMX_COUNTERS));
+        }
+
+        boolean profile = settings.isProfile();
+        if (profile != DEFAULT_PROFILE) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_PROFILE));
+        }
+
+        File hotProfile = settings.getHotProfile().orElse(null);
+        if (hotProfile != null) {
+            result.add(String.format("-A%s=%s", TrauteConstants.OPTION_HOT_PROFILE, hotProfile.getAbsolutePath()));
+            long hotThreshold = settings.getHotThreshold();
+            if (hotThreshold != DEFAULT_HOT_THRESHOLD) {
+                result.add(String.format("-A%s=%d", TrauteConstants.OPTION_HOT_THRESHOLD, hotThreshold));
+            }
+            HotCheckPolicy hotCheckPolicy = settings.getHotCheckPolicy();
+            if (hotCheckPolicy != DEFAULT_HOT_CHECK_POLICY) {
+                result.add(String.format("-A%s=%s",
+                                         TrauteConstants.OPTION_HOT_POLICY,
+                                         hotCheckPolicy.getShortName()));
+            }
+        }
+
+        boolean elideDereferenced = settings.isElideDereferenced();
+        if (elideDereferenced != DEFAULT_ELIDE_DEREFERENCED) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_ELIDE_DEREFERENCED));
+        }
+
+        boolean elideDelegated = settings.isElideDelegated();
+        if (elideDelegated != DEFAULT_ELIDE_DELEGATED) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_ELIDE_DELEGATED));
+        }
+
+        boolean elidePrivate = settings.isElidePrivate();
+        if (elidePrivate != DEFAULT_ELIDE_PRIVATE) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_ELIDE_PRIVATE));
+        }
+
+        boolean elideReturn = settings.isElideReturn();
+        if (elideReturn != DEFAULT_ELIDE_RETURN) {
+            result.add(String.format("-A%s=true", TrauteConstants.OPTION_ELIDE_RETURN));
+        }
+
+        Set<String> nonNullMethods = settings.getNonNullMethods();
+        if (!nonNullMethods.equals(DEFAULT_NON_NULL_METHODS)) {
+            String optionValue = nonNullMethods.stream().collect(joining(TrauteConstants.SEPARATOR));
+            result.add(String.format("-A%s=%s", TrauteConstants.OPTION_NON_NULL_METHODS, optionValue));
+        }
         return result;
     }
 
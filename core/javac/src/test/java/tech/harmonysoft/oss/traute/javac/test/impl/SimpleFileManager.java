@@ -13,7 +13,8 @@ import java.util.List;
  */
 public class SimpleFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
 
-    private final List<SimpleClassFile> compiled = new ArrayList<>();
+    private final List<SimpleClassFile>    compiled  = new ArrayList<>();
+    private final List<SimpleResourceFile> resources = new ArrayList<>();
 
     public SimpleFileManager(StandardJavaFileManager delegate) {
         super(delegate);
@@ -30,6 +31,15 @@ public class SimpleFileManager extends ForwardingJavaFileManager<StandardJavaFil
         return result;
     }
 
+    @Override
+    public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling)
+    {
+        String name = packageName.isEmpty() ? relativeName : packageName.replace('.', '/') + "/" + relativeName;
+        SimpleResourceFile result = new SimpleResourceFile(name);
+        resources.add(result);
+        return result;
+    }
+
     /**
      * @return  compiled binaries processed by the current class
      */
@@ -37,4 +47,12 @@ public class SimpleFileManager extends ForwardingJavaFileManager<StandardJavaFil
     public List<SimpleClassFile> getCompiled() {
         return compiled;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return  non-class files generated during compilation
+     */
+    @NotNull
+    public List<SimpleResourceFile> getResources() {
+        return resources;
+    }
+}
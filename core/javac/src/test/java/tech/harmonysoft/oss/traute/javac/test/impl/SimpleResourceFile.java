@@ -0,0 +1,41 @@
+package tech.harmonysoft.oss.traute.javac.test.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.tools.SimpleJavaFileObject;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Holder for non-class files generated during test sources compilation.
+ */
+public class SimpleResourceFile extends SimpleJavaFileObject {
+
+    @NotNull private final String relativeName;
+
+    private ByteArrayOutputStream out;
+
+    public SimpleResourceFile(@NotNull String relativeName) {
+        super(URI.create("string:///" + relativeName), Kind.OTHER);
+        this.relativeName = relativeName;
+    }
+
+    /**
+     * @return  classpath-relative name of the current resource
+     */
+    @NotNull
+    public String getRelativeName() {
+        return relativeName;
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+        return out = new ByteArrayOutputStream();
+    }
+
+    @NotNull
+    public byte[] getContent() {
+        return out == null ? new byte[0] : out.toByteArray();
+    }
+}
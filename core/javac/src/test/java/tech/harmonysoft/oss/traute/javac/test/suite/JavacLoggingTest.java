@@ -1,9 +1,71 @@
 package tech.harmonysoft.oss.traute.javac.test.suite;
 
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings;
+import tech.harmonysoft.oss.traute.javac.test.impl.JavacTestCompiler;
 import tech.harmonysoft.oss.traute.javac.test.impl.TrauteJavacExtension;
+import tech.harmonysoft.oss.traute.test.impl.model.TestSourceImpl;
 import tech.harmonysoft.oss.traute.test.suite.LoggingTest;
 
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+import java.util.Set;
+
+import static tech.harmonysoft.oss.traute.test.util.TestConstants.PACKAGE;
+import static tech.harmonysoft.oss.traute.test.util.TestUtil.QUALIFIED_CLASS_NAME;
+import static tech.harmonysoft.oss.traute.test.util.TestUtil.prepareParameterTestSource;
+
 @ExtendWith(TrauteJavacExtension.class)
 public class JavacLoggingTest extends LoggingTest {
+
+    @Test
+    public void verbose_skippedCompilationUnits_annotationProcessor() {
+        compiler = new JavacTestCompiler() {
+            @Override
+            protected @NotNull List<String> getAdditionalCompilerArgs(@NotNull TrautePluginSettings settings) {
+                List<String> result = super.getAdditionalCompilerArgs(settings);
+                result.add("-processor");
+                result.add(NoOpProcessor.class.getName());
+                return result;
+            }
+        };
+        settingsBuilder.withVerboseMode(true);
+        String instrumentedSource = prepareParameterTestSource(NotNull.class.getName(),
+                                                               "public void test(@NotNull Integer i) {}",
+                                                               "1");
+        String plainSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "public class Plain {\n" +
+                "\n" +
+                "  public void test(Integer i) {}\n" +
+                "}", PACKAGE);
+        expectCompilationResult.withText("skipped 1 compilation unit out of 2 as they don't have anything to instrument");
+        doTest(new TestSourceImpl(instrumentedSource, QUALIFIED_CLASS_NAME),
+               new TestSourceImpl(plainSource, PACKAGE + ".Plain"));
+    }
+
+    /**
+     * An annotation processor which doesn't do anything. Its presence is enough for javac to run annotation
+     * processing rounds, e.g. javac 8 replaces its context after that.
+     */
+    @SupportedAnnotationTypes("*")
+    public static class NoOpProcessor extends AbstractProcessor {
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            return false;
+        }
+    }
 }
@@ -83,6 +83,7 @@ class ExceptionTextGeneratorFactoryTest {
                                              "test",
                                              0,
                                              1,
-                                             false);
+                                             false,
+                                             null);
     }
 }
\ No newline at end of file
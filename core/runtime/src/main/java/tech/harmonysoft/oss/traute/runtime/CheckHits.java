@@ -0,0 +1,85 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Snapshot of the execution counter of a single {@code null}-check in a profiling build.
+ */
+public final class CheckHits {
+
+    @NotNull private final Class<?> host;
+    @NotNull private final String   method;
+    @NotNull private final String   instrumentationType;
+    @NotNull private final String   element;
+
+    private final int  siteId;
+    private final long count;
+
+    public CheckHits(@NotNull Class<?> host,
+                     int siteId,
+                     @NotNull String method,
+                     @NotNull String instrumentationType,
+                     @NotNull String element,
+                     long count)
+    {
+        this.host = host;
+        this.siteId = siteId;
+        this.method = method;
+        this.instrumentationType = instrumentationType;
+        this.element = element;
+        this.count = count;
+    }
+
+    /**
+     * @return  top-level class which contains the check
+     */
+    @NotNull
+    public Class<?> getHost() {
+        return host;
+    }
+
+    /**
+     * @return  check's id within the {@link #getHost() host class}
+     */
+    public int getSiteId() {
+        return siteId;
+    }
+
+    /**
+     * @return  qualified name of the method which holds the check, an empty string if it's unknown
+     */
+    @NotNull
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return  short name of the check's instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     */
+    @NotNull
+    public String getInstrumentationType() {
+        return instrumentationType;
+    }
+
+    /**
+     * @return  name of the checked element, e.g. method parameter's name, an empty string for {@code 'return'}
+     *          checks
+     */
+    @NotNull
+    public String getElement() {
+        return element;
+    }
+
+    /**
+     * @return  number of times the check was executed
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d: %d hit(s) - %s %s %s",
+                             host.getName(), siteId, count, instrumentationType, method, element);
+    }
+}
@@ -0,0 +1,83 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>
+ *     Resolves exception texts of {@code null}-checks generated in the {@code 'siteId'} check style. Such checks
+ *     refer to their texts by ids, the texts themselves are stored in a classpath resource generated for every
+ *     top-level class during compilation - {@value #RESOURCE_PREFIX}[class-name]{@value #RESOURCE_SUFFIX}.
+ * </p>
+ * <p>
+ *     The resource is read only when a check fails for the first time in a class, i.e. it costs nothing until then.
+ *     Its format is:
+ * </p>
+ * <pre>
+ *     int      number of texts
+ *     UTF[]    texts indexed by check id, every text is written by {@link java.io.DataOutput#writeUTF(String)}
+ * </pre>
+ * <p>Thread-safe.</p>
+ */
+public final class CheckMessages {
+
+    public static final String RESOURCE_PREFIX = "META-INF/traute/messages/";
+    public static final String RESOURCE_SUFFIX = ".bin";
+
+    private static final ClassValue<String[]> MESSAGES = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> host) {
+            return load(host);
+        }
+    };
+
+    private static final String[] NO_MESSAGES = new String[0];
+
+    private CheckMessages() {
+    }
+
+    /**
+     * @param host      top-level class which holds the failed check
+     * @param siteId    id of the failed check
+     * @return          text of the failed check; a generic text if it's not available, e.g. the resource
+     *                  has been stripped from the binaries
+     */
+    @NotNull
+    public static String get(@NotNull Class<?> host, int siteId) {
+        String[] messages = MESSAGES.get(host);
+        if (siteId >= 0 && siteId < messages.length) {
+            return messages[siteId];
+        }
+        return String.format("Null-check #%d failed in %s (its text is not found in the %s resource)",
+                             siteId, host.getName(), getResourceName(host.getName()));
+    }
+
+    /**
+     * @param hostName  binary name of a top-level class
+     * @return          name of the resource which holds exception texts for the checks of the given class
+     */
+    @NotNull
+    public static String getResourceName(@NotNull String hostName) {
+        return RESOURCE_PREFIX + hostName + RESOURCE_SUFFIX;
+    }
+
+    @NotNull
+    private static String[] load(@NotNull Class<?> host) {
+        InputStream in = host.getResourceAsStream("/" + getResourceName(host.getName()));
+        if (in == null) {
+            return NO_MESSAGES;
+        }
+        try (DataInputStream data = new DataInputStream(in)) {
+            String[] result = new String[data.readInt()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = data.readUTF();
+            }
+            return result;
+        } catch (IOException e) {
+            return NO_MESSAGES;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     Holds execution counters for all {@code null}-checks generated for a single top-level class in a profiling
+ *     build ({@code traute.profile} option). Every check is identified by a site id assigned during compilation,
+ *     that's an index in the counters array.
+ * </p>
+ * <p>
+ *     {@link #hit(int) Counting} doesn't take locks - the counters are {@link LongAdder}s, i.e. threads which
+ *     execute the same check concurrently update different cells instead of a single contended value.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class CheckProfile {
+
+    @NotNull private final Class<?>    host;
+    @NotNull private final String[]    methods;
+    @NotNull private final String[]    types;
+    @NotNull private final String[]    elements;
+    @NotNull private final LongAdder[] counters;
+
+    CheckProfile(@NotNull Class<?> host,
+                 @NotNull String[] methods,
+                 @NotNull String[] types,
+                 @NotNull String[] elements)
+    {
+        this.host = host;
+        this.methods = methods.clone();
+        this.types = types.clone();
+        this.elements = elements.clone();
+        counters = new LongAdder[methods.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Is expected to be called before every execution of a {@code null}-check.
+     *
+     * @param siteId    id of the check
+     */
+    public void hit(int siteId) {
+        counters[siteId].increment();
+    }
+
+    @NotNull
+    public Class<?> getHost() {
+        return host;
+    }
+
+    public int getSitesNumber() {
+        return methods.length;
+    }
+
+    /**
+     * @param siteId    id of the check
+     * @return          qualified name of the method which holds the check, an empty string if it's unknown
+     */
+    @NotNull
+    public String getMethod(int siteId) {
+        return methods[siteId];
+    }
+
+    /**
+     * @param siteId    id of the check
+     * @return          short name of the check's instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     */
+    @NotNull
+    public String getInstrumentationType(int siteId) {
+        return types[siteId];
+    }
+
+    /**
+     * @param siteId    id of the check
+     * @return          name of the checked element, e.g. method parameter's name, an empty string for
+     *                  {@code 'return'} checks
+     */
+    @NotNull
+    public String getElement(int siteId) {
+        return elements[siteId];
+    }
+
+    public long getCount(int siteId) {
+        return counters[siteId].sum();
+    }
+
+    void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.ObjectName;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ *     Entry point for switching {@code null}-checks generated with the {@code 'switchable'} check guard
+ *     on and off in a running JVM.
+ * </p>
+ * <p>
+ *     Every instrumented top-level class {@link #get(String, Class) obtains} a switch per instrumentation type
+ *     during initialization and keeps it in a {@code static final} field. A switch is a
+ *     {@link MutableCallSite#dynamicInvoker() call site invoker} which returns a {@code boolean} constant, call
+ *     sites are shared by all classes of the same package. The {@code JIT} treats call site's target as
+ *     a constant, i.e. switched off checks are removed from the compiled code and dependent methods are
+ *     recompiled when the switch is {@link #setEnabled(String, String, boolean) changed}.
+ * </p>
+ * <p>
+ *     The switches are also exposed through {@code JMX} as the {@value #OBJECT_NAME} bean unless
+ *     {@value #JMX_PROPERTY} system property is {@code false}.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class CheckSwitches {
+
+    public static final String OBJECT_NAME = "tech.harmonysoft.oss.traute:type=CheckSwitches";
+    public static final String JMX_PROPERTY = "traute.jmx";
+
+    private static final MethodHandle ENABLED  = MethodHandles.constant(boolean.class, true);
+    private static final MethodHandle DISABLED = MethodHandles.constant(boolean.class, false);
+
+    /** Call sites by instrumentation type and package. */
+    private static final Map<String, Map<String, MutableCallSite>> SITES = new HashMap<>();
+
+    /** Explicitly set states by instrumentation type and package prefix. */
+    private static final Map<String, Map<String, Boolean>> RULES = new HashMap<>();
+
+    static {
+        if (!"false".equals(System.getProperty(JMX_PROPERTY))) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+            } catch (Exception | LinkageError ignore) {
+                // JMX is not available in the current environment (e.g. Android) or the bean is registered
+                // by another class loader - the switches are still available through the API
+            }
+        }
+    }
+
+    private CheckSwitches() {
+    }
+
+    /**
+     * Is expected to be called from generated code during instrumented class initialization.
+     *
+     * @param type  short name of the instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     * @param host  instrumented top-level class
+     * @return      a method handle of type {@code ()boolean} which tells whether checks of the given type
+     *              are enabled for the given class' package
+     */
+    @NotNull
+    public static MethodHandle get(@NotNull String type, @NotNull Class<?> host) {
+        String packageName = getPackageName(host.getName());
+        synchronized (SITES) {
+            MutableCallSite site = SITES.computeIfAbsent(type, k -> new HashMap<>()).computeIfAbsent(
+                    packageName,
+                    k -> new MutableCallSite(isEnabledByRules(type, packageName) ? ENABLED : DISABLED)
+            );
+            return site.dynamicInvoker();
+        }
+    }
+
+    /**
+     * Switches checks of the given type on or off for the given package and its sub-packages. The most specific
+     * setting wins, i.e. it's possible to switch off checks in {@code 'com.acme'} but keep them in
+     * {@code 'com.acme.api'}. The setting is applied to the classes loaded after this call as well.
+     *
+     * @param type          short name of the instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     * @param packagePrefix target package, an empty string stands for all packages
+     * @param enabled       a flag which tells whether the checks should be active
+     */
+    public static void setEnabled(@NotNull String type, @NotNull String packagePrefix, boolean enabled) {
+        synchronized (SITES) {
+            RULES.computeIfAbsent(type, k -> new HashMap<>()).put(packagePrefix, enabled);
+            List<MutableCallSite> changed = new ArrayList<>();
+            for (Map.Entry<String, MutableCallSite> entry : SITES.getOrDefault(type, new HashMap<>()).entrySet()) {
+                MethodHandle target = isEnabledByRules(type, entry.getKey()) ? ENABLED : DISABLED;
+                MutableCallSite site = entry.getValue();
+                if (site.getTarget() != target) {
+                    site.setTarget(target);
+                    changed.add(site);
+                }
+            }
+            sync(changed);
+        }
+    }
+
+    /**
+     * Drops all {@link #setEnabled(String, String, boolean) settings}, i.e. all checks become active.
+     */
+    public static void reset() {
+        synchronized (SITES) {
+            RULES.clear();
+            List<MutableCallSite> changed = new ArrayList<>();
+            for (Map<String, MutableCallSite> sites : SITES.values()) {
+                for (MutableCallSite site : sites.values()) {
+                    if (site.getTarget() != ENABLED) {
+                        site.setTarget(ENABLED);
+                        changed.add(site);
+                    }
+                }
+            }
+            sync(changed);
+        }
+    }
+
+    /**
+     * @param type          short name of the instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     * @param packageName   target package
+     * @return              {@code true} if checks of the given type are active in the given package
+     */
+    public static boolean isEnabled(@NotNull String type, @NotNull String packageName) {
+        synchronized (SITES) {
+            return isEnabledByRules(type, packageName);
+        }
+    }
+
+    /**
+     * @return  current states of the checks in the packages of all loaded instrumented classes, keyed by
+     *          {@code '[instrumentation-type]:[package]'}
+     */
+    @NotNull
+    public static Map<String, Boolean> getStates() {
+        Map<String, Boolean> result = new TreeMap<>();
+        synchronized (SITES) {
+            SITES.forEach((type, sites) -> sites.forEach(
+                    (packageName, site) -> result.put(type + ":" + packageName, site.getTarget() == ENABLED)
+            ));
+        }
+        return result;
+    }
+
+    private static void sync(@NotNull List<MutableCallSite> sites) {
+        if (!sites.isEmpty()) {
+            MutableCallSite.syncAll(sites.toArray(new MutableCallSite[0]));
+        }
+    }
+
+    private static boolean isEnabledByRules(@NotNull String type, @NotNull String packageName) {
+        Map<String, Boolean> rules = RULES.get(type);
+        if (rules == null) {
+            return true;
+        }
+        for (String prefix = packageName; ; prefix = getPackageName(prefix)) {
+            Boolean enabled = rules.get(prefix);
+            if (enabled != null) {
+                return enabled;
+            }
+            if (prefix.isEmpty()) {
+                return true;
+            }
+        }
+    }
+
+    @NotNull
+    private static String getPackageName(@NotNull String name) {
+        int i = name.lastIndexOf('.');
+        return i < 0 ? "" : name.substring(0, i);
+    }
+
+    private static class Bean implements CheckSwitchesMXBean {
+
+        @Override
+        public Map<String, Boolean> getStates() {
+            return CheckSwitches.getStates();
+        }
+
+        @Override
+        public boolean isEnabled(String type, String packageName) {
+            return CheckSwitches.isEnabled(type, packageName);
+        }
+
+        @Override
+        public void setEnabled(String type, String packagePrefix, boolean enabled) {
+            CheckSwitches.setEnabled(type, packagePrefix, enabled);
+        }
+
+        @Override
+        public void reset() {
+            CheckSwitches.reset();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import java.util.Map;
+
+/**
+ * {@code JMX} view of the {@link CheckSwitches}.
+ */
+public interface CheckSwitchesMXBean {
+
+    /**
+     * @return  current states of the checks in the packages of all loaded instrumented classes, keyed by
+     *          {@code '[instrumentation-type]:[package]'}
+     * @see CheckSwitches#getStates()
+     */
+    Map<String, Boolean> getStates();
+
+    /**
+     * @param type          short name of the instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     * @param packageName   target package
+     * @return              {@code true} if checks of the given type are active in the given package
+     * @see CheckSwitches#isEnabled(String, String)
+     */
+    boolean isEnabled(String type, String packageName);
+
+    /**
+     * @param type          short name of the instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     * @param packagePrefix target package, an empty string stands for all packages
+     * @param enabled       a flag which tells whether the checks should be active
+     * @see CheckSwitches#setEnabled(String, String, boolean)
+     */
+    void setEnabled(String type, String packagePrefix, boolean enabled);
+
+    /**
+     * @see CheckSwitches#reset()
+     */
+    void reset();
+}
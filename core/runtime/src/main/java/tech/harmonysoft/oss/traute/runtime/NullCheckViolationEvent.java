@@ -0,0 +1,66 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code JDK Flight Recorder} event emitted by a failed {@code null}-check. Is expected to be used only through
+ * {@link TrauteEvents}, i.e. the class is not loaded until the first violation and never loaded if
+ * the {@code jdk.jfr} API is not available.
+ */
+@Name(NullCheckViolationEvent.NAME)
+@Label("Null Check Violation")
+@Category("Traute")
+@Description("A null value is detected by a check generated by the Traute javac plugin")
+@StackTrace
+class NullCheckViolationEvent extends Event {
+
+    static final String NAME = "traute.NullCheckViolation";
+
+    @Label("Class")
+    @Description("Top-level class which holds the check")
+    Class<?> host;
+
+    @Label("Site Id")
+    @Description("Id of the check, -1 if it's not assigned")
+    int siteId;
+
+    @Label("Method")
+    String method;
+
+    @Label("Parameter")
+    String parameter;
+
+    @Label("Parameter Index")
+    @Description("Zero-based index of the checked parameter, -1 for non-parameter checks")
+    int parameterIndex;
+
+    @Label("Instrumentation Type")
+    String instrumentationType;
+
+    static void emit(@NotNull Class<?> host,
+                     int siteId,
+                     @Nullable String method,
+                     @Nullable String parameter,
+                     int parameterIndex,
+                     @NotNull String instrumentationType)
+    {
+        NullCheckViolationEvent event = new NullCheckViolationEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.host = host;
+        event.siteId = siteId;
+        event.method = method;
+        event.parameter = parameter;
+        event.parameterIndex = parameterIndex;
+        event.instrumentationType = instrumentationType;
+        event.commit();
+    }
+}
@@ -0,0 +1,157 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>
+ *     Entry point to execution counters of {@code null}-checks generated in a profiling build
+ *     ({@code traute.profile} option).
+ * </p>
+ * <p>
+ *     Every instrumented top-level class {@link #register(Class, String[], String[], String[]) registers} its checks
+ *     during initialization and keeps the {@link CheckProfile result} in a static field. The registry references
+ *     the counters weakly, i.e. it doesn't prevent class unloading.
+ * </p>
+ * <p>
+ *     The counters are {@link #dump(Writer) dumped} as a {@code CSV} ranked by execution count on JVM shutdown.
+ *     The output file is defined by the {@value #OUTPUT_PROPERTY} system property ({@value #DEFAULT_OUTPUT}
+ *     by default), an empty value switches the dump off.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class ProfileRegistry {
+
+    public static final String OUTPUT_PROPERTY = "traute.profile.output";
+    public static final String DEFAULT_OUTPUT  = "traute-profile.csv";
+
+    private static final Queue<WeakReference<CheckProfile>> PROFILES = new ConcurrentLinkedQueue<>();
+
+    static {
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(ProfileRegistry::dumpOnShutdown, "traute-profile-dump"));
+        } catch (IllegalStateException | SecurityException ignore) {
+            // The JVM is shutting down already or hooks are not allowed - the counters are still available
+            // through the API
+        }
+    }
+
+    private ProfileRegistry() {
+    }
+
+    /**
+     * Is expected to be called from generated code during instrumented class initialization.
+     *
+     * @param host      instrumented top-level class
+     * @param methods   qualified names of the methods which hold the class' checks indexed by site id
+     * @param types     short names of the class' checks instrumentation types indexed by site id
+     * @param elements  names of the elements checked by the class' checks indexed by site id
+     * @return          execution counters for the given class
+     */
+    @NotNull
+    public static CheckProfile register(@NotNull Class<?> host,
+                                        @NotNull String[] methods,
+                                        @NotNull String[] types,
+                                        @NotNull String[] elements)
+    {
+        CheckProfile profile = new CheckProfile(host, methods, types, elements);
+        PROFILES.add(new WeakReference<>(profile));
+        return profile;
+    }
+
+    /**
+     * @return  snapshot of the execution counters of all checks, the most frequently executed checks go first
+     */
+    @NotNull
+    public static List<CheckHits> getHits() {
+        List<CheckHits> result = new ArrayList<>();
+        for (CheckProfile profile : getProfiles()) {
+            for (int i = 0; i < profile.getSitesNumber(); i++) {
+                result.add(new CheckHits(profile.getHost(),
+                                         i,
+                                         profile.getMethod(i),
+                                         profile.getInstrumentationType(i),
+                                         profile.getElement(i),
+                                         profile.getCount(i)));
+            }
+        }
+        result.sort(Comparator.comparingLong(CheckHits::getCount).reversed());
+        return result;
+    }
+
+    /**
+     * Writes {@link #getHits() current counters} as a {@code CSV} with the header below:
+     * <pre>
+     *     rank,hits,class,site,type,method,element
+     * </pre>
+     *
+     * @param writer        destination
+     * @throws IOException  in case of a write error
+     */
+    public static void dump(@NotNull Writer writer) throws IOException {
+        writer.write("rank,hits,class,site,type,method,element\n");
+        int rank = 1;
+        for (CheckHits hits : getHits()) {
+            writer.write(String.format("%d,%d,%s,%d,%s,%s,%s\n",
+                                       rank++,
+                                       hits.getCount(),
+                                       escape(hits.getHost().getName()),
+                                       hits.getSiteId(),
+                                       escape(hits.getInstrumentationType()),
+                                       escape(hits.getMethod()),
+                                       escape(hits.getElement())));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Drops all recorded execution counts.
+     */
+    public static void reset() {
+        getProfiles().forEach(CheckProfile::reset);
+    }
+
+    private static void dumpOnShutdown() {
+        String output = System.getProperty(OUTPUT_PROPERTY, DEFAULT_OUTPUT);
+        if (output.isEmpty()) {
+            return;
+        }
+        try (Writer writer = new FileWriter(output)) {
+            dump(writer);
+        } catch (IOException e) {
+            System.err.printf("Can't dump Traute profile to %s - %s%n", output, e);
+        }
+    }
+
+    @NotNull
+    private static String escape(@NotNull String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @NotNull
+    private static List<CheckProfile> getProfiles() {
+        List<CheckProfile> result = new ArrayList<>();
+        for (Iterator<WeakReference<CheckProfile>> iterator = PROFILES.iterator(); iterator.hasNext(); ) {
+            CheckProfile profile = iterator.next().get();
+            if (profile == null) {
+                iterator.remove();
+            } else {
+                result.add(profile);
+            }
+        }
+        return result;
+    }
+}
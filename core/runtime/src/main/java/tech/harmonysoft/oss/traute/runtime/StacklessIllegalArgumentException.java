@@ -0,0 +1,27 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+/**
+ * <p>
+ *     {@link IllegalArgumentException} which doesn't capture a stack trace. It's thrown from failed
+ *     {@code null}-checks configured to use stackless exceptions, so, failure cost doesn't depend on the stack depth.
+ * </p>
+ * <p>
+ *     {@link IllegalArgumentException} doesn't expose the
+ *     {@code (message, cause, enableSuppression, writableStackTrace)} constructor, that's why stack trace capture
+ *     is switched off by overriding {@link #fillInStackTrace()}.
+ *     A stack trace still can be {@link #setStackTrace(StackTraceElement[]) set} explicitly.
+ * </p>
+ */
+public class StacklessIllegalArgumentException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StacklessIllegalArgumentException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
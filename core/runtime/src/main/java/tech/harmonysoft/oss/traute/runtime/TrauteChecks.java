@@ -0,0 +1,109 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     Holds {@code null}-checks which are called from the instrumented code in place of an expression, e.g.
+ *     {@code 'return'} expressions are wrapped as below when the javac plugin is configured to do that:
+ * </p>
+ * <pre>
+ *     return TrauteChecks.ret([expression], "[problem details]");
+ * </pre>
+ * <p>
+ *     Every check is a generic identity method which throws a {@link NullPointerException} if given value
+ *     is {@code null}. The methods are small enough to be inlined by the {@code JIT}, exception construction
+ *     is kept out of the fast path. The check's own frame is removed from the stack trace, so, the exception
+ *     looks as if it was thrown from the call site.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class TrauteChecks {
+
+    private TrauteChecks() {
+    }
+
+    /**
+     * @param value     a value to check
+     * @param message   exception text to use if the value is {@code null}
+     * @param <T>       value's type
+     * @return          given value
+     * @throws NullPointerException     if given value is {@code null}
+     */
+    @NotNull
+    public static <T> T ret(@Nullable T value, @NotNull String message) throws NullPointerException {
+        if (value == null) {
+            throw trimStackTrace(new NullPointerException(message));
+        }
+        return value;
+    }
+
+    /**
+     * Same as {@link #ret(Object, String)} but exception text is resolved by {@link CheckMessages}.
+     *
+     * @param value     a value to check
+     * @param host      top-level class which holds the check
+     * @param siteId    id of the check
+     * @param <T>       value's type
+     * @return          given value
+     * @throws NullPointerException     if given value is {@code null}
+     */
+    @NotNull
+    public static <T> T ret(@Nullable T value, @NotNull Class<?> host, int siteId) throws NullPointerException {
+        if (value == null) {
+            throw trimStackTrace(new NullPointerException(CheckMessages.get(host, siteId)));
+        }
+        return value;
+    }
+
+    /**
+     * Same as {@link #ret(Object, String)} but a {@link StacklessNullPointerException} is thrown.
+     *
+     * @param value     a value to check
+     * @param message   exception text to use if the value is {@code null}
+     * @param <T>       value's type
+     * @return          given value
+     * @throws StacklessNullPointerException    if given value is {@code null}
+     */
+    @NotNull
+    public static <T> T retStackless(@Nullable T value, @NotNull String message)
+            throws StacklessNullPointerException
+    {
+        if (value == null) {
+            throw new StacklessNullPointerException(message);
+        }
+        return value;
+    }
+
+    /**
+     * Same as {@link #ret(Object, Class, int)} but a {@link StacklessNullPointerException} is thrown.
+     *
+     * @param value     a value to check
+     * @param host      top-level class which holds the check
+     * @param siteId    id of the check
+     * @param <T>       value's type
+     * @return          given value
+     * @throws StacklessNullPointerException    if given value is {@code null}
+     */
+    @NotNull
+    public static <T> T retStackless(@Nullable T value, @NotNull Class<?> host, int siteId)
+            throws StacklessNullPointerException
+    {
+        if (value == null) {
+            throw new StacklessNullPointerException(CheckMessages.get(host, siteId));
+        }
+        return value;
+    }
+
+    @NotNull
+    private static NullPointerException trimStackTrace(@NotNull NullPointerException exception) {
+        StackTraceElement[] trace = exception.getStackTrace();
+        if (trace.length > 0) {
+            exception.setStackTrace(Arrays.copyOfRange(trace, 1, trace.length));
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,65 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ *     Emits {@code JDK Flight Recorder} events from failed {@code null}-checks generated with
+ *     the {@code traute.jfr.events} option, so that violation bursts can be correlated with GC, latency and thread
+ *     data of the same recording.
+ * </p>
+ * <p>
+ *     Nothing is done until the first violation: the {@link NullCheckViolationEvent event class} is loaded and
+ *     registered in the Flight Recorder only then. The events are silently skipped if current JVM doesn't provide
+ *     the {@code jdk.jfr} API (e.g. Java 8 before {@code 8u262} or Android).
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class TrauteEvents {
+
+    private TrauteEvents() {
+    }
+
+    /**
+     * Is expected to be called from a failed {@code null}-check before an exception is thrown or a violation
+     * is recorded.
+     *
+     * @param host                  top-level class which holds the check
+     * @param siteId                id of the check if it's assigned (e.g. in {@code count-and-continue} mode),
+     *                              {@code -1} otherwise
+     * @param method                qualified name of the method which holds the check (if available)
+     * @param parameter             name of the checked method parameter, {@code null} for other checks
+     * @param parameterIndex        zero-based index of the checked method parameter, {@code -1} for other checks
+     * @param instrumentationType   short name of the instrumentation type, e.g. {@code 'parameter'} or
+     *                              {@code 'return'}
+     */
+    public static void violation(@NotNull Class<?> host,
+                                 int siteId,
+                                 @Nullable String method,
+                                 @Nullable String parameter,
+                                 int parameterIndex,
+                                 @NotNull String instrumentationType)
+    {
+        if (Jfr.AVAILABLE) {
+            NullCheckViolationEvent.emit(host, siteId, method, parameter, parameterIndex, instrumentationType);
+        }
+    }
+
+    /**
+     * Initialized on the first violation.
+     */
+    private static class Jfr {
+
+        static final boolean AVAILABLE = isAvailable();
+
+        private static boolean isAvailable() {
+            try {
+                Class.forName("jdk.jfr.Event", false, TrauteEvents.class.getClassLoader());
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+    }
+}
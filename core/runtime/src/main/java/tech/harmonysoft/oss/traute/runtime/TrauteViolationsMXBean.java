@@ -0,0 +1,50 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import java.util.Map;
+
+/**
+ * {@code JMX} view of the violations recorded by {@code null}-checks generated in {@code count-and-continue} mode
+ * or with the {@code traute.jmx.counters} option.
+ *
+ * @see ViolationRegistry
+ */
+public interface TrauteViolationsMXBean {
+
+    /**
+     * @return  total number of recorded violations
+     */
+    long getTotalCount();
+
+    /**
+     * @return  numbers of violations of the checks which failed at least once, keyed by
+     *          {@code '[class]#[site-id]'}
+     */
+    Map<String, Long> getCountsBySite();
+
+    /**
+     * @return  numbers of violations by top-level class which holds the checks
+     */
+    Map<String, Long> getCountsByClass();
+
+    /**
+     * @return  numbers of violations by short name of the instrumentation type, e.g. {@code 'parameter'} or
+     *          {@code 'return'}
+     */
+    Map<String, Long> getCountsByInstrumentationType();
+
+    /**
+     * @return  time of the last violation (milliseconds since epoch) of the checks which failed at least once,
+     *          keyed by {@code '[class]#[site-id]'}
+     */
+    Map<String, Long> getLastSeenBySite();
+
+    /**
+     * @return  time of the last violation (milliseconds since epoch), {@code 0} if there are no violations
+     */
+    long getLastSeen();
+
+    /**
+     * @see ViolationRegistry#reset()
+     */
+    void reset();
+}
@@ -0,0 +1,95 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Snapshot of violations recorded for a single {@code null}-check, see {@link ViolationRegistry}.
+ */
+public final class Violation {
+
+    @NotNull  private final Class<?>  host;
+    @NotNull  private final String    message;
+    @NotNull  private final String    instrumentationType;
+    @Nullable private final Throwable firstOccurrence;
+
+    private final int  siteId;
+    private final long count;
+    private final long lastSeen;
+
+    public Violation(@NotNull Class<?> host,
+                     int siteId,
+                     @NotNull String message,
+                     @NotNull String instrumentationType,
+                     long count,
+                     long lastSeen,
+                     @Nullable Throwable firstOccurrence)
+    {
+        this.host = host;
+        this.siteId = siteId;
+        this.message = message;
+        this.instrumentationType = instrumentationType;
+        this.count = count;
+        this.lastSeen = lastSeen;
+        this.firstOccurrence = firstOccurrence;
+    }
+
+    /**
+     * @return  top-level class which contains the check
+     */
+    @NotNull
+    public Class<?> getHost() {
+        return host;
+    }
+
+    /**
+     * @return  check's id within the {@link #getHost() host class}
+     */
+    public int getSiteId() {
+        return siteId;
+    }
+
+    /**
+     * @return  text which would be used for an exception thrown from the check
+     */
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return  short name of the check's instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     */
+    @NotNull
+    public String getInstrumentationType() {
+        return instrumentationType;
+    }
+
+    /**
+     * @return  number of times the check failed
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return  time of the last failure of the check (milliseconds since epoch)
+     */
+    public long getLastSeen() {
+        return lastSeen;
+    }
+
+    /**
+     * @return  a throwable which stack trace points to the first failure of the check; {@code null} if the
+     *          snapshot is taken concurrently with the first failure
+     */
+    @Nullable
+    public Throwable getFirstOccurrence() {
+        return firstOccurrence;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d: %d violation(s) - %s", host.getName(), siteId, count, message);
+    }
+}
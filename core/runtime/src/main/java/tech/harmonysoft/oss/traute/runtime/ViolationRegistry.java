@@ -0,0 +1,200 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>
+ *     Entry point to violations recorded by {@code null}-checks generated in {@code count-and-continue} mode or
+ *     with the {@code traute.jmx.counters} option (checks which throw an exception record the violation first).
+ * </p>
+ * <p>
+ *     Every instrumented top-level class {@link #register(Class, String[], String[]) registers} its checks during
+ *     initialization and keeps the {@link ViolationSites result} in a static field. The registry references
+ *     the sites weakly, i.e. it doesn't prevent class unloading.
+ * </p>
+ * <p>
+ *     The violations are also exposed through {@code JMX} as the {@value #OBJECT_NAME} bean
+ *     (see {@link TrauteViolationsMXBean}). The bean is registered when the first violation is recorded unless
+ *     {@value CheckSwitches#JMX_PROPERTY} system property is {@code false}.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class ViolationRegistry {
+
+    public static final String OBJECT_NAME = "tech.harmonysoft.oss.traute:type=Violations";
+
+    private static final Queue<WeakReference<ViolationSites>> SITES = new ConcurrentLinkedQueue<>();
+
+    private ViolationRegistry() {
+    }
+
+    /**
+     * Is expected to be called from generated code during instrumented class initialization.
+     *
+     * @param host      instrumented top-level class
+     * @param messages  exception texts of the class' checks indexed by site id
+     * @param types     short names of the class' checks instrumentation types indexed by site id, has the same
+     *                  length as the messages array
+     * @return          violation counters for the given class
+     */
+    @NotNull
+    public static ViolationSites register(@NotNull Class<?> host,
+                                          @NotNull String[] messages,
+                                          @NotNull String[] types)
+    {
+        ViolationSites sites = new ViolationSites(host, messages, types);
+        SITES.add(new WeakReference<>(sites));
+        return sites;
+    }
+
+    /**
+     * @return  snapshot of all checks which failed at least once
+     */
+    @NotNull
+    public static List<Violation> getViolations() {
+        List<Violation> result = new ArrayList<>();
+        for (ViolationSites sites : getSites()) {
+            for (int i = 0; i < sites.getSitesNumber(); i++) {
+                long count = sites.getCount(i);
+                if (count > 0) {
+                    result.add(new Violation(sites.getHost(),
+                                             i,
+                                             sites.getMessage(i),
+                                             sites.getInstrumentationType(i),
+                                             count,
+                                             sites.getLastSeen(i),
+                                             sites.getFirstOccurrence(i)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops all recorded violations.
+     */
+    public static void reset() {
+        getSites().forEach(ViolationSites::reset);
+    }
+
+    /**
+     * Is expected to be called when the first violation of a check is recorded.
+     */
+    static void onFirstViolation() {
+        Jmx.ensureRegistered();
+    }
+
+    @NotNull
+    private static List<ViolationSites> getSites() {
+        List<ViolationSites> result = new ArrayList<>();
+        for (Iterator<WeakReference<ViolationSites>> iterator = SITES.iterator(); iterator.hasNext(); ) {
+            ViolationSites sites = iterator.next().get();
+            if (sites == null) {
+                iterator.remove();
+            } else {
+                result.add(sites);
+            }
+        }
+        return result;
+    }
+
+    private static class Bean implements TrauteViolationsMXBean {
+
+        @Override
+        public long getTotalCount() {
+            long result = 0;
+            for (Violation violation : getViolations()) {
+                result += violation.getCount();
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getCountsBySite() {
+            Map<String, Long> result = new TreeMap<>();
+            for (Violation violation : getViolations()) {
+                result.put(getSiteKey(violation), violation.getCount());
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getCountsByClass() {
+            Map<String, Long> result = new TreeMap<>();
+            for (Violation violation : getViolations()) {
+                result.merge(violation.getHost().getName(), violation.getCount(), Long::sum);
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getCountsByInstrumentationType() {
+            Map<String, Long> result = new TreeMap<>();
+            for (Violation violation : getViolations()) {
+                result.merge(violation.getInstrumentationType(), violation.getCount(), Long::sum);
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getLastSeenBySite() {
+            Map<String, Long> result = new TreeMap<>();
+            for (Violation violation : getViolations()) {
+                result.put(getSiteKey(violation), violation.getLastSeen());
+            }
+            return result;
+        }
+
+        @Override
+        public long getLastSeen() {
+            long result = 0;
+            for (Violation violation : getViolations()) {
+                result = Math.max(result, violation.getLastSeen());
+            }
+            return result;
+        }
+
+        @Override
+        public void reset() {
+            ViolationRegistry.reset();
+        }
+
+        @NotNull
+        private static String getSiteKey(@NotNull Violation violation) {
+            return violation.getHost().getName() + "#" + violation.getSiteId();
+        }
+    }
+
+    /**
+     * Initialized on the first violation.
+     */
+    private static class Jmx {
+
+        static {
+            if (!"false".equals(System.getProperty(CheckSwitches.JMX_PROPERTY))) {
+                try {
+                    ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(),
+                                                                             new ObjectName(OBJECT_NAME));
+                } catch (Exception | LinkageError ignore) {
+                    // JMX is not available in the current environment (e.g. Android) or the bean is registered
+                    // by another class loader - the violations are still available through the API
+                }
+            }
+        }
+
+        static void ensureRegistered() {
+            // The bean is registered during class initialization
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package tech.harmonysoft.oss.traute.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     Holds violation counters for all recorded {@code null}-checks generated for a single top-level class (see
+ *     {@link ViolationRegistry}). Every check is identified by a site id assigned during compilation, that's
+ *     an index in the counters array.
+ * </p>
+ * <p>
+ *     {@link #record(int) Recording} doesn't take locks and allocates only when the first violation for the site
+ *     is recorded (a {@link Violation#getFirstOccurrence() stack trace} is captured then). Note that
+ *     {@link LongAdder} might allocate internal cells on contention, their number is bounded by the number
+ *     of CPUs. {@link #getLastSeen(int) Last violation time} is written only when it's changed, i.e. at most
+ *     once per millisecond per site.
+ * </p>
+ * <p>Thread-safe.</p>
+ */
+public final class ViolationSites {
+
+    @NotNull private final Class<?>                        host;
+    @NotNull private final String[]                        messages;
+    @NotNull private final String[]                        types;
+    @NotNull private final LongAdder[]                     counters;
+    @NotNull private final AtomicLongArray                 lastSeen;
+    @NotNull private final AtomicReferenceArray<Throwable> firstOccurrences;
+
+    ViolationSites(@NotNull Class<?> host, @NotNull String[] messages, @NotNull String[] types) {
+        if (types.length != messages.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected to get an instrumentation type for every check site of the class %s (%d) but got %d",
+                    host.getName(), messages.length, types.length
+            ));
+        }
+        this.host = host;
+        this.messages = messages.clone();
+        this.types = types.clone();
+        counters = new LongAdder[messages.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        lastSeen = new AtomicLongArray(messages.length);
+        firstOccurrences = new AtomicReferenceArray<>(messages.length);
+    }
+
+    /**
+     * Is expected to be called from a failed {@code null}-check.
+     *
+     * @param siteId    id of the failed check
+     */
+    public void record(int siteId) {
+        counters[siteId].increment();
+        long now = System.currentTimeMillis();
+        if (lastSeen.get(siteId) != now) {
+            lastSeen.lazySet(siteId, now);
+        }
+        if (firstOccurrences.get(siteId) == null) {
+            Throwable occurrence = new Throwable(messages[siteId]);
+            StackTraceElement[] trace = occurrence.getStackTrace();
+            // Point to the check site instead of the current method
+            occurrence.setStackTrace(Arrays.copyOfRange(trace, 1, trace.length));
+            firstOccurrences.compareAndSet(siteId, null, occurrence);
+            ViolationRegistry.onFirstViolation();
+        }
+    }
+
+    @NotNull
+    public Class<?> getHost() {
+        return host;
+    }
+
+    public int getSitesNumber() {
+        return messages.length;
+    }
+
+    @NotNull
+    public String getMessage(int siteId) {
+        return messages[siteId];
+    }
+
+    /**
+     * @param siteId    id of the check
+     * @return          short name of the check's instrumentation type, e.g. {@code 'parameter'} or {@code 'return'}
+     */
+    @NotNull
+    public String getInstrumentationType(int siteId) {
+        return types[siteId];
+    }
+
+    public long getCount(int siteId) {
+        return counters[siteId].sum();
+    }
+
+    /**
+     * @param siteId    id of the check
+     * @return          time of the last violation of the check (milliseconds since epoch), {@code 0} if the check
+     *                  hasn't failed yet
+     */
+    public long getLastSeen(int siteId) {
+        return lastSeen.get(siteId);
+    }
+
+    @Nullable
+    public Throwable getFirstOccurrence(int siteId) {
+        return firstOccurrences.get(siteId);
+    }
+
+    void reset() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i].reset();
+            lastSeen.set(i, 0);
+            firstOccurrences.set(i, null);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package tech.harmonysoft.oss.traute.test.api.model;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.function.Supplier;
 
 public interface CompilationResult extends Result<Collection<TestSource>> {
@@ -16,6 +17,13 @@ public interface CompilationResult extends Result<Collection<TestSource>> {
     @NotNull
     Supplier<Collection<ClassFile>> getCompiledClassesSupplier();
 
+    /**
+     * @return      non-class files generated during compilation keyed by their classpath-relative paths,
+     *              e.g. {@code META-INF/traute/messages/org.Test.bin}
+     */
+    @NotNull
+    Supplier<Map<String, byte[]>> getResourcesSupplier();
+
     /**
      * @return      compiler's output generated during processing {@link #getInput() target binaries}
      */
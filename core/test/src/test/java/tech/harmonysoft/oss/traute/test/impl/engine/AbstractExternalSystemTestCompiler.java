@@ -52,6 +52,7 @@ public abstract class AbstractExternalSystemTestCompiler implements TestCompiler
         String output = compile(projectRootDir);
         CompilationResultImpl result = new CompilationResultImpl(
                 () -> findBinaries(projectRootDir, getRelativeBinariesPath()),
+                () -> findResources(projectRootDir, getRelativeBinariesPath()),
                 output,
                 testSources,
                 Collections.singletonMap(externalSystemConfig.getName(), new String(read(externalSystemConfig)))
@@ -154,13 +155,46 @@ public abstract class AbstractExternalSystemTestCompiler implements TestCompiler
     private static Collection<ClassFile> doFindBinaries(@NotNull File projectRoot, @NotNull String relativeBinariesPath)
             throws IOException
     {
-        File binariesRoot = new File(projectRoot, relativeBinariesPath);
-        if (!binariesRoot.isDirectory()) {
-            return Collections.emptyList();
-        }
         List<ClassFile> result = new ArrayList<>();
+        for (Map.Entry<String, File> entry : findFiles(new File(projectRoot, relativeBinariesPath)).entrySet()) {
+            String className = entry.getKey();
+            if (!className.endsWith(".class")) {
+                continue;
+            }
+            className = className.substring(0, className.length() - ".class".length());
+            className = className.replace('/', '.');
+            result.add(new ClassFileImpl(className, read(entry.getValue())));
+        }
+        return result;
+    }
+
+    @NotNull
+    private static Map<String, byte[]> findResources(@NotNull File projectRoot, @NotNull String relativeBinariesPath) {
+        try {
+            Map<String, byte[]> result = new HashMap<>();
+            for (Map.Entry<String, File> entry : findFiles(new File(projectRoot, relativeBinariesPath)).entrySet()) {
+                if (!entry.getKey().endsWith(".class")) {
+                    result.put(entry.getKey(), read(entry.getValue()));
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param root  a root directory to process
+     * @return      all files located under the given directory keyed by their '/'-separated relative paths
+     */
+    @NotNull
+    private static Map<String, File> findFiles(@NotNull File root) {
+        if (!root.isDirectory()) {
+            return Collections.emptyMap();
+        }
+        Map<String, File> result = new HashMap<>();
         Stack<File> toProcess = new Stack<>();
-        toProcess.push(binariesRoot);
+        toProcess.push(root);
         while (!toProcess.isEmpty()) {
             File file = toProcess.pop();
             if (file.isDirectory()) {
@@ -173,13 +207,11 @@ public abstract class AbstractExternalSystemTestCompiler implements TestCompiler
                 continue;
             }
 
-            String className = file.getAbsolutePath().substring(binariesRoot.getAbsolutePath().length());
-            className = className.substring(0, className.length() - ".class".length());
-            if (className.startsWith("/")) {
-                className = className.substring(1);
+            String path = file.getAbsolutePath().substring(root.getAbsolutePath().length());
+            if (path.startsWith("/")) {
+                path = path.substring(1);
             }
-            className = className.replace('/', '.');
-            result.add(new ClassFileImpl(className, read(file)));
+            result.put(path, file);
         }
         return result;
     }
@@ -250,6 +282,74 @@ public abstract class AbstractExternalSystemTestCompiler implements TestCompiler
             result.add(String.format("-A%s=true", OPTION_LOG_VERBOSE));
         }
 
+        if (settings.getCheckStyle() != DEFAULT_CHECK_STYLE) {
+            result.add(String.format("-A%s=%s", OPTION_CHECK_STYLE, settings.getCheckStyle().getShortName()));
+        }
+
+        if (settings.getCheckGuard() != DEFAULT_CHECK_GUARD) {
+            result.add(String.format("-A%s=%s", OPTION_CHECK_GUARD, settings.getCheckGuard().getShortName()));
+        }
+
+        if (settings.getFailureAction() != DEFAULT_FAILURE_ACTION) {
+            result.add(String.format("-A%s=%s", OPTION_FAILURE_ACTION, settings.getFailureAction().getShortName()));
+        }
+
+        if (settings.getCombinedCheckThreshold() != DEFAULT_COMBINED_CHECK_THRESHOLD) {
+            result.add(String.format("-A%s=%d", OPTION_COMBINED_CHECK_THRESHOLD, settings.getCombinedCheckThreshold()));
+        }
+
+        if (settings.isCombinedCheckReportAll()) {
+            result.add(String.format("-A%s=true", OPTION_COMBINED_CHECK_REPORT_ALL));
+        }
+
+        if (settings.isWrapReturn()) {
+            result.add(String.format("-A%s=true", OPTION_WRAP_RETURN));
+        }
+
+        if (settings.isJfrEvents()) {
+            result.add(String.format("-A%s=true", OPTION_JFR_EVENTS));
+        }
+
+        if (settings.isJmxCounters()) {
+            result.add(String.format("-A%s=true", OPTION_JMX_COUNTERS));
+        }
+
+        if (settings.isProfile()) {
+            result.add(String.format("-A%s=true", OPTION_PROFILE));
+        }
+
+        settings.getHotProfile().ifPresent(file -> {
+            result.add(String.format("-A%s=%s", OPTION_HOT_PROFILE, file.getAbsolutePath()));
+            if (settings.getHotThreshold() != DEFAULT_HOT_THRESHOLD) {
+                result.add(String.format("-A%s=%d", OPTION_HOT_THRESHOLD, settings.getHotThreshold()));
+            }
+            if (settings.getHotCheckPolicy() != DEFAULT_HOT_CHECK_POLICY) {
+                result.add(String.format("-A%s=%s", OPTION_HOT_POLICY, settings.getHotCheckPolicy().getShortName()));
+            }
+        });
+
+        if (settings.isElideDereferenced()) {
+            result.add(String.format("-A%s=true", OPTION_ELIDE_DEREFERENCED));
+        }
+
+        if (settings.isElideDelegated()) {
+            result.add(String.format("-A%s=true", OPTION_ELIDE_DELEGATED));
+        }
+
+        if (settings.isElidePrivate()) {
+            result.add(String.format("-A%s=true", OPTION_ELIDE_PRIVATE));
+        }
+
+        if (settings.isElideReturn()) {
+            result.add(String.format("-A%s=true", OPTION_ELIDE_RETURN));
+        }
+
+        Set<String> nonNullMethods = settings.getNonNullMethods();
+        if (!nonNullMethods.isEmpty() && !DEFAULT_NON_NULL_METHODS.equals(nonNullMethods)) {
+            String nonNullMethodsString = nonNullMethods.stream().collect(joining(SEPARATOR));
+            result.add(String.format("-A%s=%s", OPTION_NON_NULL_METHODS, nonNullMethodsString));
+        }
+
         settings.getLogFile().ifPresent(
                 file -> result.add(String.format("-A%s=%s", OPTION_LOG_FILE, file.getAbsolutePath()))
         );
@@ -259,6 +359,10 @@ public abstract class AbstractExternalSystemTestCompiler implements TestCompiler
                                                                   OPTION_PREFIX_EXCEPTION_TO_THROW,
                                                                   key.getShortName(),
                                                                   value)));
+        settings.getStacklessExceptions()
+                .forEach(type -> result.add(String.format("-A%s%s=true",
+                                                          OPTION_PREFIX_STACKLESS_EXCEPTION,
+                                                          type.getShortName())));
         settings.getExceptionTextPatterns()
                 .forEach((key, value) -> result.add(String.format("-A%s%s=%s",
                                                                   OPTION_PREFIX_EXCEPTION_TEXT,
@@ -8,6 +8,8 @@ import tech.harmonysoft.oss.traute.test.api.model.RunResult;
 import tech.harmonysoft.oss.traute.test.api.model.TestSource;
 import tech.harmonysoft.oss.traute.test.impl.model.RunResultImpl;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
@@ -30,6 +32,7 @@ public class TrauteInMemoryTestRunner implements TestRunner {
                                                                  .stream()
                                                                  .collect(toMap(ClassFile::getName,
                                                                                 ClassFile::getBinaries));
+        Map<String, byte[]> resources = compilationResult.getResourcesSupplier().get();
         ClassLoader classLoader = new ClassLoader() {
             @Override
             protected Class<?> findClass(String name) {
@@ -42,6 +45,12 @@ public class TrauteInMemoryTestRunner implements TestRunner {
                 }
                 return defineClass(name, compiledBinaries, 0, compiledBinaries.length);
             }
+
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                byte[] resource = resources.get(name);
+                return resource == null ? super.getResourceAsStream(name) : new ByteArrayInputStream(resource);
+            }
         };
         Class<?> clazz;
         try {
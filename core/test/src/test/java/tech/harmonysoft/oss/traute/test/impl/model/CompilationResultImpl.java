@@ -8,6 +8,7 @@ import tech.harmonysoft.oss.traute.test.util.TestUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -20,6 +21,7 @@ public class CompilationResultImpl implements CompilationResult {
     private final Collection<TestSource> input          = new ArrayList<>();
 
     @NotNull private final Supplier<Collection<ClassFile>> compiledClassesSupplier;
+    @NotNull private final Supplier<Map<String, byte[]>>   resourcesSupplier;
     @NotNull private final String compilationOutput;
 
 
@@ -27,15 +29,25 @@ public class CompilationResultImpl implements CompilationResult {
                                  @NotNull String compilationOutput,
                                  @NotNull Collection<TestSource> input)
     {
-        this(compiledClassesSupplier, compilationOutput, input, emptyMap());
+        this(compiledClassesSupplier, Collections::emptyMap, compilationOutput, input, emptyMap());
     }
 
     public CompilationResultImpl(@NotNull Supplier<Collection<ClassFile>> compiledClassesSupplier,
+                                 @NotNull Supplier<Map<String, byte[]>> resourcesSupplier,
+                                 @NotNull String compilationOutput,
+                                 @NotNull Collection<TestSource> input)
+    {
+        this(compiledClassesSupplier, resourcesSupplier, compilationOutput, input, emptyMap());
+    }
+
+    public CompilationResultImpl(@NotNull Supplier<Collection<ClassFile>> compiledClassesSupplier,
+                                 @NotNull Supplier<Map<String, byte[]>> resourcesSupplier,
                                  @NotNull String compilationOutput,
                                  @NotNull Collection<TestSource> input,
                                  @NotNull Map<String, String> additionalInfo)
     {
         this.compiledClassesSupplier = compiledClassesSupplier;
+        this.resourcesSupplier = resourcesSupplier;
         this.compilationOutput = compilationOutput;
         this.input.addAll(input);
         this.additionalInfo.putAll(additionalInfo);
@@ -47,6 +59,12 @@ public class CompilationResultImpl implements CompilationResult {
         return compiledClassesSupplier;
     }
 
+    @Override
+    @NotNull
+    public Supplier<Map<String, byte[]>> getResourcesSupplier() {
+        return resourcesSupplier;
+    }
+
     @Override
     @NotNull
     public String getCompilationOutput() {
@@ -102,4 +102,18 @@ public abstract class CustomAnnotationTest extends AbstractTrauteTest {
         expectNpeFromParameterCheck(testSource, "i1", expectRunResult);
         doTest(String.format("%s.%s", packageName, CLASS_NAME), testSource);
     }
+
+    @Test
+    public void explicitImportShadowsOnDemandImport() {
+        settingsBuilder.withNotNullAnnotations(NotNull.class.getName());
+        String testSource = prepareParameterTestSource(
+                String.format("%s.*;%nimport %s", NotNull.class.getPackage().getName(),
+                              javax.validation.constraints.NotNull.class.getName()),
+                String.format("public void %s(@NotNull Integer i1) {}", METHOD_NAME),
+                "null"
+        );
+        // We don't expect a check here because the 'NotNull' annotation in source is resolved
+        // to the explicitly imported one, which is not listed in the 'custom annotations'
+        doTest(testSource);
+    }
 }
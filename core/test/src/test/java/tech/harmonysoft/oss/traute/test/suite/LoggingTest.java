@@ -4,7 +4,9 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
 import tech.harmonysoft.oss.traute.test.fixture.NN;
+import tech.harmonysoft.oss.traute.test.impl.model.TestSourceImpl;
 
 import javax.tools.JavaFileObject;
 
@@ -15,6 +17,7 @@ import java.nio.file.Files;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static tech.harmonysoft.oss.traute.test.util.TestConstants.CLASS_NAME;
 import static tech.harmonysoft.oss.traute.test.util.TestConstants.PACKAGE;
+import static tech.harmonysoft.oss.traute.test.util.TestUtil.QUALIFIED_CLASS_NAME;
 import static tech.harmonysoft.oss.traute.test.util.TestUtil.prepareParameterTestSource;
 import static tech.harmonysoft.oss.traute.test.util.TestUtil.prepareReturnTestSource;
 
@@ -98,6 +101,53 @@ public abstract class LoggingTest extends AbstractTrauteTest {
         doCompile(testSource);
     }
 
+    @Test
+    public void verbose_siteIdCheckStyleStats() {
+        settingsBuilder.withVerboseMode(true)
+                       .withCheckStyle(CheckStyle.SITE_ID);
+        String testSource = prepareParameterTestSource(NotNull.class.getName(),
+                                                       "public void test(@NotNull Integer i) {}",
+                                                       "1");
+        expectCompilationResult.withText(String.format(
+                "moved 1 exception text of class %s\\.%s to the META-INF/traute/messages/%s\\.%s\\.bin resource, "
+                + "its constant pool is about \\d+ bytes smaller", PACKAGE, CLASS_NAME, PACKAGE, CLASS_NAME
+        ));
+        doCompile(testSource);
+    }
+
+    @Test
+    public void verbose_combinedCheck() {
+        settingsBuilder.withVerboseMode(true)
+                       .withCombinedCheckThreshold(2);
+        String testSource = prepareParameterTestSource(NotNull.class.getName(),
+                                                       "public void test(@NotNull Integer i, @NotNull Long l) {}",
+                                                       "1, 2L");
+        expectCompilationResult.withText(String.format(
+                "combined null-checks for 2 arguments in the method %s\\.%s\\.test\\(\\) into a single check",
+                PACKAGE, CLASS_NAME
+        ));
+        doCompile(testSource);
+    }
+
+    @Test
+    public void verbose_skippedCompilationUnits() {
+        settingsBuilder.withVerboseMode(true);
+        String instrumentedSource = prepareParameterTestSource(NotNull.class.getName(),
+                                                               "public void test(@NotNull Integer i) {}",
+                                                               "1");
+        String plainSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "public class Plain {\n" +
+                "\n" +
+                "  @Deprecated\n" +
+                "  public void test(Integer i) {}\n" +
+                "}", PACKAGE);
+        expectCompilationResult.withText("skipped 1 compilation unit out of 2 as they don't have anything to instrument");
+        doTest(new TestSourceImpl(instrumentedSource, QUALIFIED_CLASS_NAME),
+               new TestSourceImpl(plainSource, PACKAGE + ".Plain"));
+    }
+
     @Test
     public void customSetting_annotations() {
         settingsBuilder.withNotNullAnnotations(NN.class.getName());
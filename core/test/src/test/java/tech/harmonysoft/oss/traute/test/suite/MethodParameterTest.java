@@ -9,12 +9,28 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy;
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType;
+import tech.harmonysoft.oss.traute.runtime.CheckHits;
+import tech.harmonysoft.oss.traute.runtime.CheckSwitches;
+import tech.harmonysoft.oss.traute.runtime.ProfileRegistry;
+import tech.harmonysoft.oss.traute.runtime.StacklessIllegalArgumentException;
+import tech.harmonysoft.oss.traute.runtime.StacklessNullPointerException;
+import tech.harmonysoft.oss.traute.runtime.TrauteViolationsMXBean;
+import tech.harmonysoft.oss.traute.runtime.Violation;
+import tech.harmonysoft.oss.traute.runtime.ViolationRegistry;
 import tech.harmonysoft.oss.traute.test.fixture.NN;
 import tech.harmonysoft.oss.traute.test.impl.model.TestSourceImpl;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import static java.util.Collections.singleton;
 import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.PACKAGE_INFO;
@@ -417,6 +433,1412 @@ public abstract class MethodParameterTest extends AbstractTrauteTest {
         doTest(testSource);
     }
 
+    @Test
+    public void helperCheckStyle() {
+        settingsBuilder.withCheckStyle(CheckStyle.HELPER)
+                       .withExceptionToThrow(InstrumentationType.METHOD_PARAMETER,
+                                             IllegalArgumentException.class.getSimpleName());
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1) {}", METHOD_NAME),
+                "null"
+        );
+        String parameterName = "i1";
+        expectRunResult.withExceptionClass(IllegalArgumentException.class)
+                       .withExceptionMessageSnippet(parameterName)
+                       .atLine(findLineNumber(testSource, parameterName));
+        doTest(testSource);
+    }
+
+    @Test
+    public void helperCheckStyle_nestedClasses() {
+        settingsBuilder.withCheckStyle(CheckStyle.HELPER);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  class Inner {\n" +
+                "    void test(@NotNull Object innerParam) {\n" +
+                "    }\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new Runnable() {\n" +
+                "      public void run() {\n" +
+                "        new %s().new Inner().test(null);\n" +
+                "      }\n" +
+                "    }.run();\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME);
+        expectNpeFromParameterCheck(testSource, "innerParam", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void helperCheckStyle_interface() {
+        settingsBuilder.withCheckStyle(CheckStyle.HELPER);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public interface %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s.test(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME);
+        // Interfaces can't have package-private static helpers, inline checks are expected to be generated
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void requireNonNullCheckStyle() {
+        settingsBuilder.withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1) {}", METHOD_NAME),
+                "null"
+        );
+        // The exception is thrown from the Objects.requireNonNull(), so, we don't check the line number here
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("Argument 'i1' of type Integer");
+        doTest(testSource);
+    }
+
+    @Test
+    public void requireNonNullCheckStyle_nonDefaultExceptionToThrow() {
+        settingsBuilder.withCheckStyle(CheckStyle.REQUIRE_NON_NULL)
+                       .withExceptionToThrow(InstrumentationType.METHOD_PARAMETER,
+                                             IllegalArgumentException.class.getSimpleName());
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1) {}", METHOD_NAME),
+                "null"
+        );
+        String parameterName = "i1";
+        expectCompilationResult.withText("'requireNonNull' check style can't be used for 'parameter' checks");
+        expectRunResult.withExceptionClass(IllegalArgumentException.class)
+                       .withExceptionMessageSnippet(parameterName)
+                       .atLine(findLineNumber(testSource, parameterName));
+        doTest(testSource);
+    }
+
+    @Test
+    public void siteIdCheckStyle() {
+        settingsBuilder.withCheckStyle(CheckStyle.SITE_ID);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1,%n @NotNull Integer i2) {}", METHOD_NAME),
+                "1, null"
+        );
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("Argument 'i2' of type Integer (#1 out of 2, zero-based)")
+                       .atLine(findLineNumber(testSource, "i2"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void siteIdCheckStyle_interface() {
+        settingsBuilder.withCheckStyle(CheckStyle.SITE_ID);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public interface %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s.test(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME);
+        // Interfaces can't have package-private static helpers, inline checks are expected to be generated
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void assertionsCheckGuard_assertionsEnabled() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS);
+        String testSource = prepareAssertionsCheckGuardTestSource("class", true);
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void assertionsCheckGuard_assertionsDisabled() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS);
+        doTest(prepareAssertionsCheckGuardTestSource("class", false));
+    }
+
+    @Test
+    public void assertionsCheckGuard_requireNonNullCheckStyle() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS)
+                       .withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        doTest(prepareAssertionsCheckGuardTestSource("class", false));
+    }
+
+    @Test
+    public void assertionsCheckGuard_interface_assertionsEnabled() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS);
+        String testSource = prepareAssertionsCheckGuardTestSource("interface", true);
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void assertionsCheckGuard_interface_assertionsDisabled() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS);
+        doTest(prepareAssertionsCheckGuardTestSource("interface", false));
+    }
+
+    /**
+     * Assertions status of the test JVM depends on the build system, so, the test program defines it explicitly
+     * for the instrumented class before the class is loaded.
+     */
+    @NotNull
+    private static String prepareAssertionsCheckGuardTestSource(@NotNull String targetKind, boolean assertions) {
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s.class.getClassLoader().setClassAssertionStatus(\"%s.Target\", %s);\n" +
+                "    Target.test(null);\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "%s Target {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, PACKAGE, assertions, targetKind);
+    }
+
+    @Test
+    public void runtimeCheckGuard_notConfigured() {
+        settingsBuilder.withCheckGuard(CheckGuard.RUNTIME);
+        String testSource = prepareRuntimeCheckGuardTestSource();
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void runtimeCheckGuard_switchedOffForPackage() {
+        settingsBuilder.withCheckGuard(CheckGuard.RUNTIME);
+        doTest(prepareRuntimeCheckGuardTestSource(PACKAGE, "false"));
+    }
+
+    @Test
+    public void runtimeCheckGuard_switchedOffGlobally() {
+        settingsBuilder.withCheckGuard(CheckGuard.RUNTIME)
+                       .withCheckStyle(CheckStyle.HELPER);
+        doTest(prepareRuntimeCheckGuardTestSource("", "false"));
+    }
+
+    @Test
+    public void runtimeCheckGuard_switchedOnForClass() {
+        settingsBuilder.withCheckGuard(CheckGuard.RUNTIME);
+        String testSource = prepareRuntimeCheckGuardTestSource(PACKAGE, "false", PACKAGE + ".Target", "true");
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    /**
+     * Prepares a test program which defines given {@code traute.enabled} system properties before the
+     * instrumented class is loaded and clears them in the end.
+     *
+     * @param properties    property name suffixes and values, e.g. {@code "com.acme", "false"}
+     *                      for {@code traute.enabled.com.acme=false}
+     */
+    @NotNull
+    private static String prepareRuntimeCheckGuardTestSource(@NotNull String... properties) {
+        StringBuilder set = new StringBuilder();
+        StringBuilder clear = new StringBuilder();
+        for (int i = 0; i < properties.length; i += 2) {
+            String property = properties[i].isEmpty() ? "traute.enabled" : "traute.enabled." + properties[i];
+            set.append(String.format("    System.setProperty(\"%s\", \"%s\");\n", property, properties[i + 1]));
+            clear.append(String.format("      System.clearProperty(\"%s\");\n", property));
+        }
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "%s" +
+                "    try {\n" +
+                "      Target.test(null);\n" +
+                "    } finally {\n" +
+                "%s" +
+                "    }\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "class Target {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, set, clear);
+    }
+
+    @Test
+    public void switchableCheckGuard_enabledByDefault() {
+        settingsBuilder.withCheckGuard(CheckGuard.SWITCHABLE);
+        String testSource = prepareSwitchableCheckGuardTestSource();
+        expectNpeFromParameterCheck(testSource, "value", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void switchableCheckGuard_switchedOffAndOn() {
+        settingsBuilder.withCheckGuard(CheckGuard.SWITCHABLE);
+        String testSource = prepareSwitchableCheckGuardTestSource(
+                "parameter", PACKAGE, "false",
+                "parameter", PACKAGE, "true"
+        );
+        // The first call passes, the second one fails
+        expectNpeFromParameterCheck(testSource, "value", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void switchableCheckGuard_switchedOffGlobally() {
+        settingsBuilder.withCheckGuard(CheckGuard.SWITCHABLE)
+                       .withCheckStyle(CheckStyle.HELPER);
+        doTest(prepareSwitchableCheckGuardTestSource("parameter", "", "false"));
+    }
+
+    @Test
+    public void switchableCheckGuard_anotherInstrumentationTypeSwitchedOff() {
+        settingsBuilder.withCheckGuard(CheckGuard.SWITCHABLE);
+        String testSource = prepareSwitchableCheckGuardTestSource("return", PACKAGE, "false");
+        expectNpeFromParameterCheck(testSource, "value", expectRunResult);
+        doTest(testSource);
+    }
+
+    /**
+     * Prepares a test program which applies given {@link CheckSwitches} settings and calls a method with
+     * a {@code null} argument after each of them. All the settings are dropped in the end.
+     *
+     * @param settings  instrumentation type, package prefix and state triples,
+     *                  e.g. {@code "parameter", "com.acme", "false"}
+     */
+    @NotNull
+    private static String prepareSwitchableCheckGuardTestSource(@NotNull String... settings) {
+        StringBuilder calls = new StringBuilder();
+        for (int i = 0; i < settings.length; i += 3) {
+            calls.append(String.format("      CheckSwitches.setEnabled(\"%s\", \"%s\", %s);\n" +
+                                       "      Target.test(null);\n",
+                                       settings[i], settings[i + 1], settings[i + 2]));
+        }
+        if (settings.length == 0) {
+            calls.append("      Target.test(null);\n");
+        }
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    try {\n" +
+                "%s" +
+                "    } finally {\n" +
+                "      CheckSwitches.reset();\n" +
+                "    }\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "class Target {\n" +
+                "\n" +
+                "  static void test(@NotNull String value) {\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CheckSwitches.class.getName(), CLASS_NAME, calls);
+    }
+
+    @Test
+    public void jfrEvents() {
+        settingsBuilder.withJfrEvents(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import jdk.jfr.Recording;\n" +
+                "import jdk.jfr.consumer.RecordedEvent;\n" +
+                "import jdk.jfr.consumer.RecordingFile;\n" +
+                "import java.nio.file.Files;\n" +
+                "import java.nio.file.Path;\n" +
+                "import java.util.List;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static void test(String first, @NotNull String second) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) throws Exception {\n" +
+                "    Path file = Files.createTempFile(\"traute\", \".jfr\");\n" +
+                "    try (Recording recording = new Recording()) {\n" +
+                "      recording.enable(\"traute.NullCheckViolation\");\n" +
+                "      recording.start();\n" +
+                "      try {\n" +
+                "        test(null, null);\n" +
+                "        throw new AssertionError(\"Expected the check to fail\");\n" +
+                "      } catch (NullPointerException ignore) {\n" +
+                "      }\n" +
+                "      recording.stop();\n" +
+                "      recording.dump(file);\n" +
+                "    }\n" +
+                "    List<RecordedEvent> events = RecordingFile.readAllEvents(file);\n" +
+                "    Files.delete(file);\n" +
+                "    if (events.size() != 1) {\n" +
+                "      throw new AssertionError(events);\n" +
+                "    }\n" +
+                "    RecordedEvent event = events.get(0);\n" +
+                "    if (!event.getClass(\"host\").getName().equals(%s.class.getName())\n" +
+                "        || event.getInt(\"siteId\") != -1\n" +
+                "        || !event.getString(\"method\").endsWith(\"test\")\n" +
+                "        || !event.getString(\"parameter\").equals(\"second\")\n" +
+                "        || event.getInt(\"parameterIndex\") != 1\n" +
+                "        || !event.getString(\"instrumentationType\").equals(\"parameter\"))\n" +
+                "    {\n" +
+                "      throw new AssertionError(event);\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void countFailureAction() {
+        settingsBuilder.withFailureAction(FailureAction.COUNT);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String first, @NotNull String second) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    for (int i = 0; i < 3; i++) {\n" +
+                "      test(null, i == 0 ? null : \"\");\n" +
+                "    }\n" +
+                "    Map<String, Long> counts = new HashMap<>();\n" +
+                "    for (Violation violation : ViolationRegistry.getViolations()) {\n" +
+                "      if (violation.getHost() == %s.class) {\n" +
+                "        String message = violation.getMessage();\n" +
+                "        counts.put(message.substring(message.indexOf('\\'') + 1, message.lastIndexOf('\\'')),\n" +
+                "                   violation.getCount());\n" +
+                "      }\n" +
+                "    }\n" +
+                "    if (counts.get(\"first\") != 3 || counts.get(\"second\") != 1) {\n" +
+                "      throw new AssertionError(counts);\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), Violation.class.getName(), ViolationRegistry.class.getName(),
+                CLASS_NAME, CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void countFailureAction_firstOccurrence() {
+        settingsBuilder.withFailureAction(FailureAction.COUNT);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "\n" +
+                "public interface %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "\n" +
+                "  static void main(String[] args) throws Throwable {\n" +
+                "    test(null);\n" +
+                "    for (Violation violation : ViolationRegistry.getViolations()) {\n" +
+                "      if (violation.getHost() == %s.class) {\n" +
+                "        throw violation.getFirstOccurrence();\n" +
+                "      }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), Violation.class.getName(), ViolationRegistry.class.getName(),
+                CLASS_NAME, CLASS_NAME);
+        // Top-level interfaces are expected to be processed in the same way
+        expectRunResult.withExceptionClass(Throwable.class)
+                       .withExceptionMessageSnippet("param")
+                       .atLine(findLineNumber(testSource, "param"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void countFailureAction_jmx() {
+        settingsBuilder.withFailureAction(FailureAction.COUNT);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import java.lang.management.ManagementFactory;\n" +
+                "import javax.management.JMX;\n" +
+                "import javax.management.ObjectName;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) throws Exception {\n" +
+                "    // Drop violations recorded by classes from other tests\n" +
+                "    ViolationRegistry.reset();\n" +
+                "    long start = System.currentTimeMillis();\n" +
+                "    for (int i = 0; i < 2; i++) {\n" +
+                "      test(null);\n" +
+                "    }\n" +
+                "    TrauteViolationsMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),\n" +
+                "                                                     new ObjectName(ViolationRegistry.OBJECT_NAME),\n" +
+                "                                                     TrauteViolationsMXBean.class);\n" +
+                "    String site = %s.class.getName() + \"#0\";\n" +
+                "    if (bean.getCountsBySite().get(site) != 2\n" +
+                "        || bean.getCountsByClass().get(%s.class.getName()) != 2\n" +
+                "        || bean.getCountsByInstrumentationType().get(\"parameter\") != 2\n" +
+                "        || bean.getLastSeenBySite().get(site) < start\n" +
+                "        || bean.getLastSeen() < start)\n" +
+                "    {\n" +
+                "      throw new AssertionError(bean.getCountsBySite());\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), TrauteViolationsMXBean.class.getName(),
+                ViolationRegistry.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void jmxCounters_throwFailureAction() {
+        settingsBuilder.withJmxCounters(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import java.lang.management.ManagementFactory;\n" +
+                "import javax.management.JMX;\n" +
+                "import javax.management.ObjectName;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) throws Exception {\n" +
+                "    // Drop violations recorded by classes from other tests\n" +
+                "    ViolationRegistry.reset();\n" +
+                "    int thrown = 0;\n" +
+                "    for (int i = 0; i < 2; i++) {\n" +
+                "      try {\n" +
+                "        test(null);\n" +
+                "      } catch (NullPointerException e) {\n" +
+                "        thrown++;\n" +
+                "      }\n" +
+                "    }\n" +
+                "    long count = 0;\n" +
+                "    for (Violation violation : ViolationRegistry.getViolations()) {\n" +
+                "      if (violation.getHost() == %s.class\n" +
+                "          && violation.getMessage().contains(\"param\")\n" +
+                "          && \"parameter\".equals(violation.getInstrumentationType()))\n" +
+                "      {\n" +
+                "        count += violation.getCount();\n" +
+                "      }\n" +
+                "    }\n" +
+                "    TrauteViolationsMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),\n" +
+                "                                                     new ObjectName(ViolationRegistry.OBJECT_NAME),\n" +
+                "                                                     TrauteViolationsMXBean.class);\n" +
+                "    if (thrown != 2\n" +
+                "        || count != 2\n" +
+                "        || bean.getCountsByInstrumentationType().get(\"parameter\") != 2)\n" +
+                "    {\n" +
+                "      throw new AssertionError(ViolationRegistry.getViolations());\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), TrauteViolationsMXBean.class.getName(), Violation.class.getName(),
+                ViolationRegistry.class.getName(), CLASS_NAME, CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void profile() {
+        settingsBuilder.withProfile(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import java.io.StringWriter;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String first, @NotNull String second) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) throws Exception {\n" +
+                "    // Don't dump the profile on shutdown of the test JVM\n" +
+                "    System.setProperty(ProfileRegistry.OUTPUT_PROPERTY, \"\");\n" +
+                "    for (int i = 0; i < 3; i++) {\n" +
+                "      test(\"a\", \"b\");\n" +
+                "    }\n" +
+                "    int checks = 0;\n" +
+                "    for (CheckHits hits : ProfileRegistry.getHits()) {\n" +
+                "      if (hits.getHost() == %s.class) {\n" +
+                "        checks++;\n" +
+                "        if (hits.getCount() != 3\n" +
+                "            || !hits.getMethod().endsWith(\"test\")\n" +
+                "            || !\"parameter\".equals(hits.getInstrumentationType()))\n" +
+                "        {\n" +
+                "          throw new AssertionError(hits);\n" +
+                "        }\n" +
+                "      }\n" +
+                "    }\n" +
+                "    StringWriter csv = new StringWriter();\n" +
+                "    ProfileRegistry.dump(csv);\n" +
+                "    if (checks != 2 || !csv.toString().contains(\",3,\" + %s.class.getName() + \",1,parameter,\")) {\n" +
+                "      throw new AssertionError(csv);\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CheckHits.class.getName(), ProfileRegistry.class.getName(),
+                CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void profile_failedCheck() {
+        settingsBuilder.withProfile(true);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer arg) {}", METHOD_NAME),
+                "null"
+        );
+        expectNpeFromParameterCheck(testSource, "arg", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void hotProfile_elide() throws IOException {
+        settingsBuilder.withHotProfile(prepareHotProfile(PACKAGE + "." + CLASS_NAME + "." + METHOD_NAME, "i1", 100))
+                       .withHotThreshold(100)
+                       .withHotCheckPolicy(HotCheckPolicy.ELIDE);
+        doTest(prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1, @NotNull Integer i2) {}", METHOD_NAME),
+                "null, 1"
+        ));
+    }
+
+    @Test
+    public void hotProfile_elide_coldParameter() throws IOException {
+        settingsBuilder.withHotProfile(prepareHotProfile(PACKAGE + "." + CLASS_NAME + "." + METHOD_NAME, "i1", 100))
+                       .withHotThreshold(100)
+                       .withHotCheckPolicy(HotCheckPolicy.ELIDE);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1, @NotNull Integer i2) {}", METHOD_NAME),
+                "1, null"
+        );
+        expectNpeFromParameterCheck(testSource, "i2", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void hotProfile_belowThreshold() throws IOException {
+        settingsBuilder.withHotProfile(prepareHotProfile(PACKAGE + "." + CLASS_NAME + "." + METHOD_NAME, "i1", 99))
+                       .withHotThreshold(100)
+                       .withHotCheckPolicy(HotCheckPolicy.ELIDE);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1) {}", METHOD_NAME),
+                "null"
+        );
+        expectNpeFromParameterCheck(testSource, "i1", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void hotProfile_assertions_assertionsEnabled() throws IOException {
+        settingsBuilder.withHotProfile(prepareHotProfile(PACKAGE + ".Target.test", "param", 100))
+                       .withHotThreshold(100)
+                       .withHotCheckPolicy(HotCheckPolicy.ASSERTIONS);
+        String testSource = prepareAssertionsCheckGuardTestSource("class", true);
+        expectNpeFromParameterCheck(testSource, "param", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void hotProfile_assertions_assertionsDisabled() throws IOException {
+        settingsBuilder.withHotProfile(prepareHotProfile(PACKAGE + ".Target.test", "param", 100))
+                       .withHotThreshold(100)
+                       .withHotCheckPolicy(HotCheckPolicy.ASSERTIONS);
+        doTest(prepareAssertionsCheckGuardTestSource("class", false));
+    }
+
+    @Test
+    public void hotProfile_helper() throws IOException {
+        settingsBuilder.withHotProfile(prepareHotProfile(PACKAGE + "." + CLASS_NAME + "." + METHOD_NAME, "i1", 100))
+                       .withHotThreshold(100)
+                       .withHotCheckPolicy(HotCheckPolicy.HELPER);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1) {}", METHOD_NAME),
+                "null"
+        );
+        expectNpeFromParameterCheck(testSource, "i1", expectRunResult);
+        doTest(testSource);
+    }
+
+    /**
+     * Writes a profile in the format dumped by a {@link ProfileRegistry profiling build} with a single
+     * parameter check.
+     */
+    @NotNull
+    private static File prepareHotProfile(@NotNull String method, @NotNull String parameterName, long hits)
+            throws IOException
+    {
+        File result = Files.createTempFile("traute", ".csv").toFile();
+        result.deleteOnExit();
+        String content = String.format("rank,hits,class,site,type,method,element%n1,%d,%s,0,%s,%s,%s%n",
+                                       hits, PACKAGE + "." + CLASS_NAME,
+                                       InstrumentationType.METHOD_PARAMETER.getShortName(), method, parameterName);
+        Files.write(result.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return result;
+    }
+
+    @Test
+    public void elideDereferenced_methodCall() {
+        settingsBuilder.withElideDereferenced(true)
+                       .withVerboseMode(true);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public int %s(@NotNull String s) {\n  return s.length();\n}", METHOD_NAME),
+                "null"
+        );
+        expectCompilationResult.withText("skipping null-check for argument 's'", true);
+        // Implicit check by the JVM
+        expectRunResult.withExceptionClass(NullPointerException.class);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDereferenced_fieldAssignment() {
+        settingsBuilder.withElideDereferenced(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  private final String name;\n" +
+                "  private final int length;\n" +
+                "\n" +
+                "  public %s(@NotNull String name, @NotNull int[] data) {\n" +
+                "    this.name = name.trim();\n" +
+                "    this.length = data.length;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s(\"a\", null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        // 'data' is dereferenced after the first field is assigned
+        expectCompilationResult.withText("skipping null-check for argument 'name'", true)
+                               .withText("skipping null-check for argument 'data'", false);
+        expectNpeFromParameterCheck(testSource, "data", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDereferenced_sideEffectFirst() {
+        settingsBuilder.withElideDereferenced(true)
+                       .withVerboseMode(true);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public int %s(@NotNull String input) {\n  return input.indexOf(Integer.toString(1));\n}",
+                              METHOD_NAME),
+                "null"
+        );
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDereferenced_conditionalDereference() {
+        settingsBuilder.withElideDereferenced(true)
+                       .withVerboseMode(true);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public int %s(@NotNull String input) {\n  return input == null ? 0 : input.length();\n}",
+                              METHOD_NAME),
+                "null"
+        );
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDereferenced_customException() {
+        settingsBuilder.withElideDereferenced(true)
+                       .withExceptionToThrow(InstrumentationType.METHOD_PARAMETER,
+                                             IllegalArgumentException.class.getSimpleName());
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public int %s(@NotNull String input) {\n  return input.length();\n}", METHOD_NAME),
+                "null"
+        );
+        // Configured exception is kept, i.e. the check is not elided
+        expectRunResult.withExceptionClass(IllegalArgumentException.class)
+                       .withExceptionMessageSnippet("input");
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDelegated_constructor() {
+        settingsBuilder.withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  private final String name;\n" +
+                "  private final int count;\n" +
+                "\n" +
+                "  private %s(@NotNull String label, int count) {\n" +
+                "    this.name = label;\n" +
+                "    this.count = count;\n" +
+                "  }\n" +
+                "\n" +
+                "  public %s(@NotNull String text) {\n" +
+                "    this(text, 1);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText("skipping null-check for argument 'text'", true)
+                               .withText("skipping null-check for argument 'label'", false);
+        // The delegate's check is triggered
+        expectNpeFromParameterCheck(testSource, "label", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDelegated_overloadChain() {
+        settingsBuilder.withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  private static String %s(@NotNull String source, int from, int to) {\n" +
+                "    return source.substring(from, to);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static String %s(@NotNull String input) {\n" +
+                "    return %s(input, 0);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static String %s(@NotNull String data, int from) {\n" +
+                "    return %s(data, from, -1);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME, METHOD_NAME,
+                METHOD_NAME, METHOD_NAME, METHOD_NAME);
+        expectCompilationResult.withText("skipping null-check for argument 'input'", true)
+                               .withText("skipping null-check for argument 'data'", true)
+                               .withText("skipping null-check for argument 'source'", false);
+        expectNpeFromParameterCheck(testSource, "source", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDelegated_overridableDelegate() {
+        settingsBuilder.withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public int %s(@NotNull String input) {\n" +
+                "    return %s(input, 0);\n" +
+                "  }\n" +
+                "\n" +
+                "  public int %s(@NotNull String data, int from) {\n" +
+                "    return data.indexOf('a', from);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s().%s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME, METHOD_NAME,
+                CLASS_NAME, METHOD_NAME);
+        // A subclass might override the delegate
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDelegated_inheritedOverload() {
+        settingsBuilder.withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "class Base {\n" +
+                "  static int delegate(String data) {\n" +
+                "    return 0;\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "public class %s extends Base {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input) {\n" +
+                "    return delegate(input);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int delegate(@NotNull Object data) {\n" +
+                "    return data.hashCode();\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME);
+        // The call is bound to the more specific inherited method which doesn't check its parameter
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDelegated_sideEffectArgument() {
+        settingsBuilder.withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input) {\n" +
+                "    return %s(input, Integer.parseInt(\"1\"));\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int %s(@NotNull String data, int from) {\n" +
+                "    return data.indexOf('a', from);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME, METHOD_NAME,
+                METHOD_NAME);
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideDelegated_nullableDelegateParameter() {
+        settingsBuilder.withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public %s(@NotNull String input) {\n" +
+                "    this(input, 0);\n" +
+                "  }\n" +
+                "\n" +
+                "  private %s(String data, int count) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_checkedCaller() {
+        settingsBuilder.withElidePrivate(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input) {\n" +
+                "    return first(input);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int first(@NotNull String value) {\n" +
+                "    return second(value, 0);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int second(@NotNull String data, int from) {\n" +
+                "    return data.indexOf('a', from);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME);
+        expectCompilationResult.withText("skipping null-check for argument 'value'", true)
+                               .withText("skipping null-check for argument 'data'", true)
+                               .withText("skipping null-check for argument 'input'", false)
+                               .withText("skipped 2 null-checks", true);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_privateConstructor() {
+        settingsBuilder.withElidePrivate(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  private final String name;\n" +
+                "\n" +
+                "  private %s(@NotNull Builder builder) {\n" +
+                "    this.name = builder.name;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static class Builder {\n" +
+                "\n" +
+                "    private String name = \"a\";\n" +
+                "\n" +
+                "    public %s build() {\n" +
+                "      return new %s(this);\n" +
+                "    }\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new Builder().build();\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText("skipping null-check for argument 'builder'", true);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_uncheckedCaller() {
+        settingsBuilder.withElidePrivate(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input) {\n" +
+                "    return count(input);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static int other(String raw) {\n" +
+                "    return count(raw);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int count(@NotNull String data) {\n" +
+                "    return data.length();\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    other(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME);
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "data", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_explicitConstructorCall() {
+        settingsBuilder.withElidePrivate(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public %s(@NotNull String input) {\n" +
+                "    this(input, 0);\n" +
+                "  }\n" +
+                "\n" +
+                "  private %s(@NotNull String data, int count) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        // this(...) arguments are evaluated before the caller's parameter checks
+        expectCompilationResult.withText("skipping null-check for argument 'data'", false);
+        expectNpeFromParameterCheck(testSource, "data", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_methodReference() {
+        settingsBuilder.withElidePrivate(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input) {\n" +
+                "    return count(input);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int count(@NotNull String data) {\n" +
+                "    return data.length();\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    java.util.function.ToIntFunction<String> counter = %s::count;\n" +
+                "    counter.applyAsInt(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, CLASS_NAME);
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "data", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_reassignedParameter() {
+        settingsBuilder.withElidePrivate(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input, boolean reset) {\n" +
+                "    if (reset) {\n" +
+                "      input = null;\n" +
+                "    }\n" +
+                "    return count(input);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int count(@NotNull String data) {\n" +
+                "    return data.length();\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s(\"a\", true);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME);
+        expectCompilationResult.withText("skipping null-check", false);
+        expectNpeFromParameterCheck(testSource, "data", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elidePrivate_withDelegation() {
+        settingsBuilder.withElidePrivate(true)
+                       .withElideDelegated(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static int %s(@NotNull String input) {\n" +
+                "    return count(input, 0);\n" +
+                "  }\n" +
+                "\n" +
+                "  private static int count(@NotNull String data, int from) {\n" +
+                "    return data.indexOf('a', from);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, METHOD_NAME, METHOD_NAME);
+        // The delegate relies on the caller's check, so, the caller's check is kept
+        expectCompilationResult.withText("skipping null-check for argument 'data'", true)
+                               .withText("skipping null-check for argument 'input'", false);
+        expectNpeFromParameterCheck(testSource, "input", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void stacklessException() {
+        settingsBuilder.withStacklessException(InstrumentationType.METHOD_PARAMETER);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer arg) {}", METHOD_NAME),
+                "null"
+        );
+        // There is no stack trace, so, we don't check the line number here
+        expectRunResult.withExceptionClass(StacklessNullPointerException.class)
+                       .withExceptionMessageSnippet("arg");
+        doTest(testSource);
+    }
+
+    @Test
+    public void stacklessException_noStackTrace() {
+        settingsBuilder.withStacklessException(InstrumentationType.METHOD_PARAMETER);
+        doTest(prepareStacklessExceptionTestSource());
+    }
+
+    @Test
+    public void stacklessException_helperCheckStyle() {
+        settingsBuilder.withStacklessException(InstrumentationType.METHOD_PARAMETER)
+                       .withCheckStyle(CheckStyle.HELPER);
+        doTest(prepareStacklessExceptionTestSource());
+    }
+
+    @Test
+    public void stacklessException_requireNonNullCheckStyle() {
+        settingsBuilder.withStacklessException(InstrumentationType.METHOD_PARAMETER)
+                       .withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        doTest(prepareStacklessExceptionTestSource());
+    }
+
+    @Test
+    public void stacklessException_illegalArgumentException() {
+        settingsBuilder.withStacklessException(InstrumentationType.METHOD_PARAMETER)
+                       .withExceptionToThrow(InstrumentationType.METHOD_PARAMETER,
+                                             IllegalArgumentException.class.getName());
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer arg) {}", METHOD_NAME),
+                "null"
+        );
+        expectRunResult.withExceptionClass(StacklessIllegalArgumentException.class)
+                       .withExceptionMessageSnippet("arg");
+        doTest(testSource);
+    }
+
+    @Test
+    public void stacklessException_unsupportedException() {
+        settingsBuilder.withStacklessException(InstrumentationType.METHOD_PARAMETER)
+                       .withExceptionToThrow(InstrumentationType.METHOD_PARAMETER,
+                                             IllegalStateException.class.getSimpleName());
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer arg) {}", METHOD_NAME),
+                "null"
+        );
+        expectCompilationResult.withText("Stackless exceptions are available only for");
+        expectRunResult.withExceptionClass(IllegalStateException.class)
+                       .withExceptionMessageSnippet("arg")
+                       .atLine(findLineNumber(testSource, "arg"));
+        doTest(testSource);
+    }
+
+    @NotNull
+    private static String prepareStacklessExceptionTestSource() {
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static void test(@NotNull String param) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    try {\n" +
+                "      test(null);\n" +
+                "    } catch (%s e) {\n" +
+                "      if (e.getStackTrace().length > 0) {\n" +
+                "        throw new IllegalStateException(\"Unexpected stack trace\", e);\n" +
+                "      }\n" +
+                "      return;\n" +
+                "    }\n" +
+                "    throw new IllegalStateException(\"Expected that the check fails\");\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, StacklessNullPointerException.class.getName());
+    }
+
+    @Test
+    public void combinedCheck() {
+        settingsBuilder.withCombinedCheckThreshold(2);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1, int i2, @NotNull Integer i3) {}", METHOD_NAME),
+                "1, 2, null"
+        );
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("Argument 'i3' of type Integer (#2 out of 3, zero-based)")
+                       .atLine(findLineNumber(testSource, "i1"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void combinedCheck_belowThreshold() {
+        settingsBuilder.withCombinedCheckThreshold(3);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1,%n @NotNull Integer i2) {}", METHOD_NAME),
+                "1, null"
+        );
+        expectNpeFromParameterCheck(testSource, "i2", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void combinedCheck_reportAll() {
+        settingsBuilder.withCombinedCheckThreshold(2)
+                       .withCombinedCheckReportAll(true);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1, @NotNull Integer i2, @NotNull Integer i3) {}",
+                              METHOD_NAME),
+                "null, 2, null"
+        );
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("(#0 out of 3, zero-based) is marked by @" + NotNull.class.getName()
+                                                    + " but got null for it; Argument 'i3' of type Integer "
+                                                    + "(#2 out of 3, zero-based)")
+                       .atLine(findLineNumber(testSource, "i1"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void combinedCheck_siteIdCheckStyle() {
+        settingsBuilder.withCombinedCheckThreshold(2)
+                       .withCheckStyle(CheckStyle.SITE_ID);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1, @NotNull Integer i2) {}", METHOD_NAME),
+                "1, null"
+        );
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("Argument 'i2' of type Integer (#1 out of 2, zero-based)")
+                       .atLine(findLineNumber(testSource, "i1"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void combinedCheck_constructorThis() {
+        settingsBuilder.withCombinedCheckThreshold(2);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public %s(@NotNull Integer intParam, @NotNull String stringParam) {\n" +
+                "    this(1.0);\n" +
+                "  }\n" +
+                "\n" +
+                "  public %s(Double numberParam) {\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s(1, null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectNpeFromParameterCheck(testSource, "stringParam", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void combinedCheck_stacklessException() {
+        settingsBuilder.withCombinedCheckThreshold(2)
+                       .withStacklessException(InstrumentationType.METHOD_PARAMETER);
+        String testSource = prepareParameterTestSource(
+                NotNull.class.getName(),
+                String.format("public void %s(@NotNull Integer i1, @NotNull Integer i2) {}", METHOD_NAME),
+                "null, 2"
+        );
+        expectRunResult.withExceptionClass(StacklessNullPointerException.class)
+                       .withExceptionMessageSnippet("i1");
+        doTest(testSource);
+    }
+
     @Test
     public void customExceptionText() {
         settingsBuilder.withExceptionTextPattern(InstrumentationType.METHOD_PARAMETER,
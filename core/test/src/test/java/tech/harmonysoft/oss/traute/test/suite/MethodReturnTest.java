@@ -4,12 +4,23 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.lang.NonNullApi;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard;
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle;
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction;
 import tech.harmonysoft.oss.traute.common.util.TrauteConstants;
+import tech.harmonysoft.oss.traute.runtime.CheckHits;
+import tech.harmonysoft.oss.traute.runtime.CheckSwitches;
+import tech.harmonysoft.oss.traute.runtime.ProfileRegistry;
+import tech.harmonysoft.oss.traute.runtime.StacklessNullPointerException;
+import tech.harmonysoft.oss.traute.runtime.Violation;
+import tech.harmonysoft.oss.traute.runtime.ViolationRegistry;
 import tech.harmonysoft.oss.traute.test.fixture.NN;
 import tech.harmonysoft.oss.traute.test.impl.model.TestSourceImpl;
 import tech.harmonysoft.oss.traute.test.util.TestUtil;
 
 import static java.util.Collections.singleton;
+import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.FIELD;
+import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_PARAMETER;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_RETURN;
 import static tech.harmonysoft.oss.traute.common.util.TrauteConstants.PACKAGE_INFO;
 import static tech.harmonysoft.oss.traute.test.util.TestConstants.CLASS_NAME;
@@ -665,6 +676,74 @@ public abstract class MethodReturnTest extends AbstractTrauteTest {
         doTest(testSource);
     }
 
+    @Test
+    public void helperCheckStyle() {
+        settingsBuilder.withCheckStyle(CheckStyle.HELPER);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public Object test(int i) {\n" +
+                "    switch (i) {\n" +
+                "      case 1: return 1;\n" +
+                "      default: return null;\n" +
+                "    }\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s().test(2);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME);
+        expectNpeFromReturnCheck(testSource, "return null", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void requireNonNullCheckStyle() {
+        settingsBuilder.withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public List<String> list() {\n" +
+                "    return new ArrayList<>();\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public Runnable runnable() {\n" +
+                "    return () -> {};\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public Integer test(int i) {\n" +
+                "    switch (i) {\n" +
+                "      case 1: return 1;\n" +
+                "      case 2: return list().size();\n" +
+                "      default: return null;\n" +
+                "    }\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s instance = new %s();\n" +
+                "    instance.runnable().run();\n" +
+                "    instance.test(instance.test(1) + instance.test(2) + 2);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        // The exception is thrown from the Objects.requireNonNull(), so, we don't check the line number here
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("Detected an attempt to return null from a method");
+        doTest(testSource);
+    }
+
     @Test
     public void notNullByDefault_defaultAnnotation() {
         String packageInfoSource = String.format(
@@ -711,4 +790,645 @@ public abstract class MethodReturnTest extends AbstractTrauteTest {
         expectNpeFromReturnCheck(testSource, "return null", expectRunResult);
         doTest(testSource);
     }
+
+    @Test
+    public void assertionsCheckGuard_assertionsEnabled() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS);
+        String testSource = prepareAssertionsCheckGuardTestSource(true);
+        expectNpeFromReturnCheck(testSource, "default: return null", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void assertionsCheckGuard_assertionsDisabled() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS);
+        doTest(prepareAssertionsCheckGuardTestSource(false));
+    }
+
+    @Test
+    public void assertionsCheckGuard_requireNonNullCheckStyle() {
+        settingsBuilder.withCheckGuard(CheckGuard.ASSERTIONS)
+                       .withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        // The exception is thrown from the Objects.requireNonNull(), so, we don't check the line number here
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet("Detected an attempt to return null from a method");
+        doTest(prepareAssertionsCheckGuardTestSource(true));
+    }
+
+    @Test
+    public void runtimeCheckGuard_switchedOff() {
+        settingsBuilder.withCheckGuard(CheckGuard.RUNTIME);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    System.setProperty(\"traute.enabled.%s.Target\", \"false\");\n" +
+                "    try {\n" +
+                "      Target.test();\n" +
+                "    } finally {\n" +
+                "      System.clearProperty(\"traute.enabled.%s.Target\");\n" +
+                "    }\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "class Target {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, PACKAGE, PACKAGE);
+        doTest(testSource);
+    }
+
+    @Test
+    public void switchableCheckGuard_switchedOff() {
+        settingsBuilder.withCheckGuard(CheckGuard.SWITCHABLE);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    CheckSwitches.setEnabled(\"return\", \"%s\", false);\n" +
+                "    try {\n" +
+                "      Target.test();\n" +
+                "    } finally {\n" +
+                "      CheckSwitches.reset();\n" +
+                "    }\n" +
+                "    Target.test();\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "class Target {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CheckSwitches.class.getName(), CLASS_NAME, PACKAGE);
+        expectNpeFromReturnCheck(testSource, "return null", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void countFailureAction() {
+        settingsBuilder.withFailureAction(FailureAction.COUNT)
+                       .withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    if (test() != null || test() != null) {\n" +
+                "      throw new AssertionError();\n" +
+                "    }\n" +
+                "    for (Violation violation : ViolationRegistry.getViolations()) {\n" +
+                "      if (violation.getHost() == %s.class && violation.getCount() == 2) {\n" +
+                "        return;\n" +
+                "      }\n" +
+                "    }\n" +
+                "    throw new AssertionError(ViolationRegistry.getViolations());\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), Violation.class.getName(), ViolationRegistry.class.getName(),
+                CLASS_NAME, CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void jfrEvents_countFailureAction() {
+        settingsBuilder.withJfrEvents(true)
+                       .withFailureAction(FailureAction.COUNT);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import jdk.jfr.Recording;\n" +
+                "import jdk.jfr.consumer.RecordedEvent;\n" +
+                "import jdk.jfr.consumer.RecordingFile;\n" +
+                "import java.nio.file.Files;\n" +
+                "import java.nio.file.Path;\n" +
+                "import java.util.List;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) throws Exception {\n" +
+                "    Path file = Files.createTempFile(\"traute\", \".jfr\");\n" +
+                "    try (Recording recording = new Recording()) {\n" +
+                "      recording.enable(\"traute.NullCheckViolation\");\n" +
+                "      recording.start();\n" +
+                "      test();\n" +
+                "      test();\n" +
+                "      recording.stop();\n" +
+                "      recording.dump(file);\n" +
+                "    }\n" +
+                "    List<RecordedEvent> events = RecordingFile.readAllEvents(file);\n" +
+                "    Files.delete(file);\n" +
+                "    if (events.size() != 2) {\n" +
+                "      throw new AssertionError(events);\n" +
+                "    }\n" +
+                "    for (RecordedEvent event : events) {\n" +
+                "      if (event.getInt(\"siteId\") != 0\n" +
+                "          || event.getString(\"parameter\") != null\n" +
+                "          || event.getInt(\"parameterIndex\") != -1\n" +
+                "          || !event.getString(\"instrumentationType\").equals(\"return\"))\n" +
+                "      {\n" +
+                "        throw new AssertionError(event);\n" +
+                "      }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME);
+        doTest(testSource);
+    }
+
+    @Test
+    public void profile() {
+        settingsBuilder.withProfile(true)
+                       .withCheckStyle(CheckStyle.REQUIRE_NON_NULL);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test(boolean fail) {\n" +
+                "    return fail ? null : \"\";\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    // Don't dump the profile on shutdown of the test JVM\n" +
+                "    System.setProperty(ProfileRegistry.OUTPUT_PROPERTY, \"\");\n" +
+                "    test(false);\n" +
+                "    test(false);\n" +
+                "    for (CheckHits hits : ProfileRegistry.getHits()) {\n" +
+                "      if (hits.getHost() == %s.class\n" +
+                "          && (hits.getCount() != 2 || !\"return\".equals(hits.getInstrumentationType())))\n" +
+                "      {\n" +
+                "        throw new AssertionError(hits);\n" +
+                "      }\n" +
+                "    }\n" +
+                "    test(true);\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CheckHits.class.getName(), ProfileRegistry.class.getName(),
+                CLASS_NAME, CLASS_NAME);
+        // 'requireNonNull()' is not used in profiling build, a regular check is generated
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .atLine(findLineNumber(testSource, "return fail"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void siteIdCheckStyle() {
+        settingsBuilder.withCheckStyle(CheckStyle.SITE_ID);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String first() {\n" +
+                "    return \"first\";\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String second() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    first();\n" +
+                "    second();\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME);
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet(String.format("%s.%s.second()", PACKAGE, CLASS_NAME))
+                       .atLine(findLineNumber(testSource, "return null"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void stacklessException() {
+        settingsBuilder.withStacklessException(METHOD_RETURN);
+        doTest(prepareStacklessExceptionTestSource());
+    }
+
+    @Test
+    public void wrapReturn() {
+        settingsBuilder.withWrapReturn(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public List<String> list() {\n" +
+                "    return new ArrayList<>();\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public Runnable runnable() {\n" +
+                "    return () -> {};\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String label(String s) {\n" +
+                "    label: {\n" +
+                "      if (s != null) return s;\n" +
+                "    }\n" +
+                "    return \"label\";\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public Integer test(int i) {\n" +
+                "    switch (i) {\n" +
+                "      case 1: return 1;\n" +
+                "      case 2: return list().size() + label(null).length();\n" +
+                "      default: return null;\n" +
+                "    }\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s instance = new %s();\n" +
+                "    instance.runnable().run();\n" +
+                "    instance.test(instance.test(1) + instance.test(2) + 2);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        // The check's frame is removed from the stack trace, so, the exception points to the 'return'
+        expectNpeFromReturnCheck(testSource, "default: return null", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void wrapReturn_siteIdCheckStyle() {
+        settingsBuilder.withWrapReturn(true)
+                       .withCheckStyle(CheckStyle.SITE_ID);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String first() {\n" +
+                "    return \"first\";\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String second() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    first();\n" +
+                "    second();\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME);
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet(String.format("%s.%s.second()", PACKAGE, CLASS_NAME))
+                       .atLine(findLineNumber(testSource, "return null"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void wrapReturn_stacklessException() {
+        settingsBuilder.withWrapReturn(true)
+                       .withStacklessException(METHOD_RETURN);
+        doTest(prepareStacklessExceptionTestSource());
+    }
+
+    @Test
+    public void wrapReturn_assertionsCheckGuard() {
+        settingsBuilder.withWrapReturn(true)
+                       .withCheckGuard(CheckGuard.ASSERTIONS);
+        String testSource = prepareAssertionsCheckGuardTestSource(true);
+        expectNpeFromReturnCheck(testSource, "default: return null", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void wrapReturn_unsupportedException() {
+        settingsBuilder.withWrapReturn(true)
+                       .withExceptionToThrow(METHOD_RETURN, IllegalArgumentException.class.getName());
+        String testSource = prepareAssertionsCheckGuardTestSource(true);
+        expectCompilationResult.withText("'return' expressions can't be checked in place");
+        expectRunResult.withExceptionClass(IllegalArgumentException.class)
+                       .withExceptionMessageSnippet("Detected an attempt to return null from a method")
+                       .atLine(findLineNumber(testSource, "default: return null"));
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideReturn_nonNullExpressions() {
+        settingsBuilder.withElideReturn(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public Object test(int i) {\n" +
+                "    switch (i) {\n" +
+                "      case 1: return \"literal\";\n" +
+                "      case 2: return new ArrayList<String>();\n" +
+                "      case 3: return this;\n" +
+                "      case 4: return \"id-\" + i;\n" +
+                "      case 5: return Collections.emptyList();\n" +
+                "      default: return i > 0 ? (Object) String.valueOf(i) : new int[0];\n" +
+                "    }\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s instance = new %s();\n" +
+                "    for (int i = 0; i < 7; i++) {\n" +
+                "      instance.test(i);\n" +
+                "    }\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText(
+                "skipping null-check for 'return' expression in method .*?test\\(\\) - it can't be null"
+        );
+        expectCompilationResult.withText("skipped 6 redundant checks in the class .*? - METHOD_RETURN: 6");
+        expectCompilationResult.withText("added a null-check for 'return' expression", false);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideReturn_checkedLocal() {
+        settingsBuilder.withElideReturn(true)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  private final Map<String, String> values = new HashMap<>();\n" +
+                "  private String field;\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String get(String key) {\n" +
+                "    String result = values.get(key);\n" +
+                "    if (result == null) {\n" +
+                "      throw new IllegalArgumentException(key);\n" +
+                "    }\n" +
+                "    return result;\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public List<String> list() {\n" +
+                "    List<String> result = new ArrayList<>();\n" +
+                "    result.add(field);\n" +
+                "    return result;\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String field() {\n" +
+                "    return field;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s instance = new %s();\n" +
+                "    instance.values.put(\"key\", \"value\");\n" +
+                "    instance.get(\"key\");\n" +
+                "    instance.list();\n" +
+                "    instance.field();\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText("skipped 2 redundant checks in the class .*? - METHOD_RETURN: 2");
+        expectNpeFromReturnCheck(testSource, "return field", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideReturn_reassignedLocal() {
+        settingsBuilder.withElideReturn(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test(boolean reset) {\n" +
+                "    String result = \"value\";\n" +
+                "    if (reset) {\n" +
+                "      result = null;\n" +
+                "    }\n" +
+                "    return result;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    test(false);\n" +
+                "    test(true);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME);
+        expectNpeFromReturnCheck(testSource, "return result", expectRunResult);
+        doTest(testSource);
+    }
+
+    @Test
+    public void elideReturn_customNonNullMethods() {
+        settingsBuilder.withElideReturn(true)
+                       .withVerboseMode(true)
+                       .withNonNullMethods(PACKAGE + "." + CLASS_NAME + ".create");
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  static Object create() {\n" +
+                "    return new Object();\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static Object created() {\n" +
+                "    return %s.create();\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static List<String> empty() {\n" +
+                "    return Collections.emptyList();\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    created();\n" +
+                "    empty();\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText("skipped 1 redundant check in the class .*? - METHOD_RETURN: 1");
+        expectCompilationResult.withText("added a null-check for 'return' expression in method .*?empty\\(\\)");
+        doTest(testSource);
+    }
+
+    @Test
+    public void checkedFieldReturn_elided() {
+        settingsBuilder.withInstrumentationToApply(METHOD_PARAMETER)
+                       .withInstrumentationToApply(METHOD_RETURN)
+                       .withInstrumentationToApply(FIELD)
+                       .withVerboseMode(true);
+        String testSource = String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull private final String name;\n" +
+                "  @NotNull private final String label = \"label\";\n" +
+                "  @NotNull private String mutable = \"mutable\";\n" +
+                "\n" +
+                "  public %s(String name) {\n" +
+                "    this.name = name;\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String getName() {\n" +
+                "    return name;\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String getLabel() {\n" +
+                "    return this.label;\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String getMutable() {\n" +
+                "    return mutable;\n" +
+                "  }\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  public String shadowed(String name) {\n" +
+                "    return name; // the parameter\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s instance = new %s(\"name\");\n" +
+                "    instance.getName();\n" +
+                "    instance.getLabel();\n" +
+                "    instance.getMutable();\n" +
+                "    instance.shadowed(null);\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+        expectCompilationResult.withText(
+                "skipping null-check for 'return' expression in method .*?getName\\(\\) - it returns final field 'name'"
+        );
+        expectCompilationResult.withText(
+                "skipping null-check for 'return' expression in method .*?getLabel\\(\\) - it returns final field "
+                + "'label'"
+        );
+        expectCompilationResult.withText("added a null-check for 'return' expression in method .*?getMutable\\(\\)");
+        expectCompilationResult.withText("added a null-check for 'return' expression in method .*?shadowed\\(\\)");
+        expectNpeFromReturnCheck(testSource, "return name; // the parameter", expectRunResult);
+        doTest(testSource);
+    }
+
+    @NotNull
+    private static String prepareStacklessExceptionTestSource() {
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static String test() {\n" +
+                "    return null;\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    try {\n" +
+                "      test();\n" +
+                "    } catch (%s e) {\n" +
+                "      if (e.getStackTrace().length > 0) {\n" +
+                "        throw new IllegalStateException(\"Unexpected stack trace\", e);\n" +
+                "      }\n" +
+                "      return;\n" +
+                "    }\n" +
+                "    throw new IllegalStateException(\"Expected that the check fails\");\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, StacklessNullPointerException.class.getName());
+    }
+
+    /**
+     * Assertions status of the test JVM depends on the build system, so, the test program defines it explicitly
+     * for the instrumented class before the class is loaded.
+     */
+    @NotNull
+    private static String prepareAssertionsCheckGuardTestSource(boolean assertions) {
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    %s.class.getClassLoader().setClassAssertionStatus(\"%s.Target\", %s);\n" +
+                "    Target.test(Target.test(1) + 1);\n" +
+                "  }\n" +
+                "}\n" +
+                "\n" +
+                "class Target {\n" +
+                "\n" +
+                "  @NotNull\n" +
+                "  static Integer test(int i) {\n" +
+                "    switch (i) {\n" +
+                "      case 1: return 1;\n" +
+                "      default: return null;\n" +
+                "    }\n" +
+                "  }\n" +
+                "}",
+                PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, PACKAGE, assertions);
+    }
 }
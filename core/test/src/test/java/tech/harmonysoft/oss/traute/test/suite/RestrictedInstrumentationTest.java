@@ -4,9 +4,13 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import tech.harmonysoft.oss.traute.test.util.TestUtil;
 
+import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.FIELD;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_PARAMETER;
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_RETURN;
+import static tech.harmonysoft.oss.traute.test.util.TestConstants.CLASS_NAME;
 import static tech.harmonysoft.oss.traute.test.util.TestConstants.METHOD_NAME;
+import static tech.harmonysoft.oss.traute.test.util.TestConstants.PACKAGE;
+import static tech.harmonysoft.oss.traute.test.util.TestUtil.findLineNumber;
 import static tech.harmonysoft.oss.traute.test.util.TestUtil.prepareParameterTestSource;
 
 public abstract class RestrictedInstrumentationTest extends AbstractTrauteTest {
@@ -38,4 +42,53 @@ public abstract class RestrictedInstrumentationTest extends AbstractTrauteTest {
         // Expecting null-check for parameter not to be generated, hence, no exception will be thrown
         doTest(testSource);
     }
+
+    @Test
+    public void field_notCheckedByDefault() {
+        // Expecting null-check for the field not to be generated, hence, no exception will be thrown
+        doTest(prepareFieldTestSource());
+    }
+
+    @Test
+    public void field_checkedAtConstructorEnd() {
+        settingsBuilder.withInstrumentationToApply(FIELD);
+        String testSource = prepareFieldTestSource();
+        expectRunResult.withExceptionClass(NullPointerException.class)
+                       .withExceptionMessageSnippet(String.format(
+                               "Field 'name' of type String is marked by @%s but it's null at the end of the %s.%s "
+                               + "constructor", NotNull.class.getName(), PACKAGE, CLASS_NAME
+                       ))
+                       .atLine(findLineNumber(testSource, "} // constructor end"));
+        doTest(testSource);
+    }
+
+    @NotNull
+    private static String prepareFieldTestSource() {
+        return String.format(
+                "package %s;\n" +
+                "\n" +
+                "import %s;\n" +
+                "\n" +
+                "public class %s {\n" +
+                "\n" +
+                "  @NotNull private final String name;\n" +
+                "\n" +
+                "  public %s(String name) {\n" +
+                "    if (name == null) {\n" +
+                "      this.name = null;\n" +
+                "      return;\n" +
+                "    }\n" +
+                "    this.name = name;\n" +
+                "  } // constructor end\n" +
+                "\n" +
+                "  public %s() {\n" +
+                "    this(null);\n" +
+                "  }\n" +
+                "\n" +
+                "  public static void main(String[] args) {\n" +
+                "    new %s(\"name\");\n" +
+                "    new %s();\n" +
+                "  }\n" +
+                "}", PACKAGE, NotNull.class.getName(), CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME, CLASS_NAME);
+    }
 }
@@ -7,6 +7,10 @@ import org.gradle.api.file.FileCollection
 import org.gradle.api.plugins.PluginInstantiationException
 import org.gradle.api.tasks.compile.JavaCompile
 import org.jetbrains.annotations.NotNull
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckGuard
+import tech.harmonysoft.oss.traute.common.instrumentation.CheckStyle
+import tech.harmonysoft.oss.traute.common.instrumentation.FailureAction
+import tech.harmonysoft.oss.traute.common.instrumentation.HotCheckPolicy
 import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder
 import tech.harmonysoft.oss.traute.javac.log.TrautePluginLogger
@@ -19,8 +23,26 @@ class TrautePluginExtension {
     def notNullByDefaultAnnotations
     def instrumentations
     def exceptionsToThrow
+    def stacklessExceptions
     def exceptionTexts
     def logFile
+    def checkStyle
+    def checkGuard
+    def failureAction
+    def combinedCheckThreshold
+    boolean combinedCheckReportAll
+    boolean wrapReturn
+    boolean jfrEvents
+    boolean jmxCounters
+    boolean profile
+    def hotProfile
+    def hotThreshold
+    def hotPolicy
+    boolean elideDereferenced
+    boolean elideDelegated
+    boolean elidePrivate
+    boolean elideReturn
+    def nonNullMethods
     boolean verbose
 }
 
@@ -85,7 +107,22 @@ class TrauteGradlePlugin implements Plugin<Project> {
         mayBeApplyLogFile(task.options.compilerArgs, extension)
         mayBeApplyInstrumentations(task.options.compilerArgs, extension)
         mayBeApplyExceptionsToThrow(task.options.compilerArgs, extension)
+        mayBeApplyStacklessExceptions(task.options.compilerArgs, extension)
         mayBeApplyExceptionTexts(task.options.compilerArgs, extension)
+        mayBeApplyCheckStyle(task.options.compilerArgs, extension)
+        mayBeApplyCheckGuard(task.options.compilerArgs, extension)
+        mayBeApplyFailureAction(task.options.compilerArgs, extension)
+        mayBeApplyCombinedCheck(task.options.compilerArgs, extension)
+        mayBeApplyWrapReturn(task.options.compilerArgs, extension)
+        mayBeApplyJfrEvents(task.options.compilerArgs, extension)
+        mayBeApplyJmxCounters(task.options.compilerArgs, extension)
+        mayBeApplyProfile(task.options.compilerArgs, extension)
+        mayBeApplyHotProfile(task.options.compilerArgs, extension)
+        mayBeApplyElideDereferenced(task.options.compilerArgs, extension)
+        mayBeApplyElideDelegated(task.options.compilerArgs, extension)
+        mayBeApplyElidePrivate(task.options.compilerArgs, extension)
+        mayBeApplyElideReturn(task.options.compilerArgs, extension)
+        mayBeApplyNonNullMethods(task.options.compilerArgs, extension)
     }
 
     private static void mayBeApplyNotNullAnnotations(compilerArgs, extension) {
@@ -167,6 +204,20 @@ class TrauteGradlePlugin implements Plugin<Project> {
         }
     }
 
+    private static void mayBeApplyStacklessExceptions(compilerArgs, extension) {
+        def stacklessExceptions = getListFromProperty(extension, 'stacklessExceptions')
+        stacklessExceptions.forEach { shortName ->
+            if (!InstrumentationType.byShortName(shortName)) {
+                throw new PluginInstantiationException(
+                        "Error on ${PLUGIN_NAME} plugin initialization - unsupported instrumentation type is "
+                                + "provided in the 'stacklessExceptions' option - '$shortName'. "
+                                + "Supported names: ${InstrumentationType.values().collect { it.shortName}}"
+                )
+            }
+            compilerArgs << "-A${OPTION_PREFIX_STACKLESS_EXCEPTION}${shortName}=true"
+        }
+    }
+
     private static void mayBeApplyExceptionTexts(compilerArgs, extension) {
         if (!extension.exceptionTexts) {
             return
@@ -183,6 +234,149 @@ class TrauteGradlePlugin implements Plugin<Project> {
         }
     }
 
+    private static void mayBeApplyCheckStyle(compilerArgs, extension) {
+        if (!extension.checkStyle) {
+            return
+        }
+        if (!CheckStyle.byShortName(extension.checkStyle as String)) {
+            throw new PluginInstantiationException(
+                    "Error on ${PLUGIN_NAME} plugin initialization - unsupported check style is "
+                            + "provided in the 'checkStyle' option - '${extension.checkStyle}'. "
+                            + "Supported names: ${CheckStyle.values().collect { it.shortName }}"
+            )
+        }
+        compilerArgs << "-A${OPTION_CHECK_STYLE}=${extension.checkStyle}"
+    }
+
+    private static void mayBeApplyCheckGuard(compilerArgs, extension) {
+        if (!extension.checkGuard) {
+            return
+        }
+        if (!CheckGuard.byShortName(extension.checkGuard as String)) {
+            throw new PluginInstantiationException(
+                    "Error on ${PLUGIN_NAME} plugin initialization - unsupported check guard is "
+                            + "provided in the 'checkGuard' option - '${extension.checkGuard}'. "
+                            + "Supported names: ${CheckGuard.values().collect { it.shortName }}"
+            )
+        }
+        compilerArgs << "-A${OPTION_CHECK_GUARD}=${extension.checkGuard}"
+    }
+
+    private static void mayBeApplyFailureAction(compilerArgs, extension) {
+        if (!extension.failureAction) {
+            return
+        }
+        if (!FailureAction.byShortName(extension.failureAction as String)) {
+            throw new PluginInstantiationException(
+                    "Error on ${PLUGIN_NAME} plugin initialization - unsupported failure action is "
+                            + "provided in the 'failureAction' option - '${extension.failureAction}'. "
+                            + "Supported names: ${FailureAction.values().collect { it.shortName }}"
+            )
+        }
+        compilerArgs << "-A${OPTION_FAILURE_ACTION}=${extension.failureAction}"
+    }
+
+    private static void mayBeApplyCombinedCheck(compilerArgs, extension) {
+        if (!extension.combinedCheckThreshold) {
+            return
+        }
+        def threshold = extension.combinedCheckThreshold.toString()
+        if (!threshold.isInteger() || threshold.toInteger() < 2) {
+            throw new PluginInstantiationException(
+                    "Error on ${PLUGIN_NAME} plugin initialization - invalid combined check threshold is "
+                            + "provided in the 'combinedCheckThreshold' option - '${threshold}'. "
+                            + "Expected a number greater than one"
+            )
+        }
+        compilerArgs << "-A${OPTION_COMBINED_CHECK_THRESHOLD}=${threshold}"
+        if (extension.combinedCheckReportAll) {
+            compilerArgs << "-A${OPTION_COMBINED_CHECK_REPORT_ALL}=true"
+        }
+    }
+
+    private static void mayBeApplyWrapReturn(compilerArgs, extension) {
+        if (extension.wrapReturn) {
+            compilerArgs << "-A${OPTION_WRAP_RETURN}=true"
+        }
+    }
+
+    private static void mayBeApplyJfrEvents(compilerArgs, extension) {
+        if (extension.jfrEvents) {
+            compilerArgs << "-A${OPTION_JFR_EVENTS}=true"
+        }
+    }
+
+    private static void mayBeApplyJmxCounters(compilerArgs, extension) {
+        if (extension.jmxCounters) {
+            compilerArgs << "-A${OPTION_JMX_COUNTERS}=true"
+        }
+    }
+
+    private static void mayBeApplyProfile(compilerArgs, extension) {
+        if (extension.profile) {
+            compilerArgs << "-A${OPTION_PROFILE}=true"
+        }
+    }
+
+    private static void mayBeApplyHotProfile(compilerArgs, extension) {
+        if (!extension.hotProfile) {
+            return
+        }
+        compilerArgs << "-A${OPTION_HOT_PROFILE}=${extension.hotProfile}"
+        if (extension.hotThreshold) {
+            def threshold = extension.hotThreshold.toString()
+            if (!threshold.isLong() || threshold.toLong() < 1) {
+                throw new PluginInstantiationException(
+                        "Error on ${PLUGIN_NAME} plugin initialization - invalid hot check threshold is "
+                                + "provided in the 'hotThreshold' option - '${threshold}'. "
+                                + "Expected a positive number"
+                )
+            }
+            compilerArgs << "-A${OPTION_HOT_THRESHOLD}=${threshold}"
+        }
+        if (extension.hotPolicy) {
+            if (!HotCheckPolicy.byShortName(extension.hotPolicy as String)) {
+                throw new PluginInstantiationException(
+                        "Error on ${PLUGIN_NAME} plugin initialization - unsupported hot check policy is "
+                                + "provided in the 'hotPolicy' option - '${extension.hotPolicy}'. "
+                                + "Supported names: ${HotCheckPolicy.values().collect { it.shortName }}"
+                )
+            }
+            compilerArgs << "-A${OPTION_HOT_POLICY}=${extension.hotPolicy}"
+        }
+    }
+
+    private static void mayBeApplyElideDereferenced(compilerArgs, extension) {
+        if (extension.elideDereferenced) {
+            compilerArgs << "-A${OPTION_ELIDE_DEREFERENCED}=true"
+        }
+    }
+
+    private static void mayBeApplyElideDelegated(compilerArgs, extension) {
+        if (extension.elideDelegated) {
+            compilerArgs << "-A${OPTION_ELIDE_DELEGATED}=true"
+        }
+    }
+
+    private static void mayBeApplyElidePrivate(compilerArgs, extension) {
+        if (extension.elidePrivate) {
+            compilerArgs << "-A${OPTION_ELIDE_PRIVATE}=true"
+        }
+    }
+
+    private static void mayBeApplyElideReturn(compilerArgs, extension) {
+        if (extension.elideReturn) {
+            compilerArgs << "-A${OPTION_ELIDE_RETURN}=true"
+        }
+    }
+
+    private static void mayBeApplyNonNullMethods(compilerArgs, extension) {
+        def nonNullMethods = getListFromProperty(extension, 'nonNullMethods')
+        if (nonNullMethods) {
+            compilerArgs << "-A${OPTION_NON_NULL_METHODS}=${nonNullMethods.join(SEPARATOR)}"
+        }
+    }
+
     private static List<String> getListFromProperty(extension, propertyName) {
         return getListFromValue(extension[propertyName], "'$propertyName' property")
     }
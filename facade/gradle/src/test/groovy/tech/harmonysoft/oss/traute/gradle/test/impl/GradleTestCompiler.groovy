@@ -4,16 +4,24 @@ import org.gradle.testkit.runner.GradleRunner
 import org.gradle.testkit.runner.UnexpectedBuildFailure
 import org.jetbrains.annotations.NotNull
 import org.junit.Test
-import tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettings
 import tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder
 import tech.harmonysoft.oss.traute.gradle.TrauteGradlePlugin
 import tech.harmonysoft.oss.traute.javac.TrauteJavacPlugin
+import tech.harmonysoft.oss.traute.runtime.ViolationRegistry
 import tech.harmonysoft.oss.traute.test.fixture.NN
 import tech.harmonysoft.oss.traute.test.impl.engine.AbstractExternalSystemTestCompiler
 
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_PARAMETER
 import static tech.harmonysoft.oss.traute.common.instrumentation.InstrumentationType.METHOD_RETURN
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_CHECK_GUARD
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_CHECK_STYLE
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_COMBINED_CHECK_THRESHOLD
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_FAILURE_ACTION
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_HOT_CHECK_POLICY
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_HOT_THRESHOLD
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_INSTRUMENTATIONS_TO_APPLY
+import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_NON_NULL_METHODS
 import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_NOT_NULL_ANNOTATIONS
 import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_NULLABLE_ANNOTATIONS
 import static tech.harmonysoft.oss.traute.common.settings.TrautePluginSettingsBuilder.DEFAULT_PARAMETERS_NOT_NULL_BY_DEFAULT_ANNOTATIONS
@@ -31,7 +39,22 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
     private static final def MARKER_INSTRUMENTATIONS = '<INSTRUMENTATIONS>'
     private static final def MARKER_LOG_FILE = '<LOG_FILE>'
     private static final def MARKER_EXCEPTIONS_TO_THROW = '<EXCEPTIONS_TO_THROW>'
+    private static final def MARKER_STACKLESS_EXCEPTIONS = '<STACKLESS_EXCEPTIONS>'
     private static final def MARKER_EXCEPTION_TEXTS = '<EXCEPTION_TEXTS>'
+    private static final def MARKER_CHECK_STYLE = '<CHECK_STYLE>'
+    private static final def MARKER_CHECK_GUARD = '<CHECK_GUARD>'
+    private static final def MARKER_FAILURE_ACTION = '<FAILURE_ACTION>'
+    private static final def MARKER_COMBINED_CHECK = '<COMBINED_CHECK>'
+    private static final def MARKER_WRAP_RETURN = '<WRAP_RETURN>'
+    private static final def MARKER_JFR_EVENTS = '<JFR_EVENTS>'
+    private static final def MARKER_JMX_COUNTERS = '<JMX_COUNTERS>'
+    private static final def MARKER_PROFILE = '<PROFILE>'
+    private static final def MARKER_HOT_PROFILE = '<HOT_PROFILE>'
+    private static final def MARKER_ELIDE_DEREFERENCED = '<ELIDE_DEREFERENCED>'
+    private static final def MARKER_ELIDE_DELEGATED = '<ELIDE_DELEGATED>'
+    private static final def MARKER_ELIDE_PRIVATE = '<ELIDE_PRIVATE>'
+    private static final def MARKER_ELIDE_RETURN = '<ELIDE_RETURN>'
+    private static final def MARKER_NON_NULL_METHODS = '<NON_NULL_METHODS>'
     private static final def BUILD_GRADLE_CONTENT =
             """buildscript {
               |    dependencies {
@@ -57,7 +80,22 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
               |    $MARKER_INSTRUMENTATIONS
               |    $MARKER_LOG_FILE
               |    $MARKER_EXCEPTIONS_TO_THROW
+              |    $MARKER_STACKLESS_EXCEPTIONS
               |    $MARKER_EXCEPTION_TEXTS
+              |    $MARKER_CHECK_STYLE
+              |    $MARKER_CHECK_GUARD
+              |    $MARKER_FAILURE_ACTION
+              |    $MARKER_COMBINED_CHECK
+              |    $MARKER_WRAP_RETURN
+              |    $MARKER_JFR_EVENTS
+              |    $MARKER_JMX_COUNTERS
+              |    $MARKER_PROFILE
+              |    $MARKER_HOT_PROFILE
+              |    $MARKER_ELIDE_DEREFERENCED
+              |    $MARKER_ELIDE_DELEGATED
+              |    $MARKER_ELIDE_PRIVATE
+              |    $MARKER_ELIDE_RETURN
+              |    $MARKER_NON_NULL_METHODS
               |}
               |
               |dependencies {
@@ -71,6 +109,7 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
               |    compile 'org.springframework:spring-core:5.0.1.RELEASE'
               |    compile 'org.checkerframework:checker:2.3.0'
               |    compile ${getCommonDependency()}
+              |    compile ${getRuntimeDependency()}
               |}""".stripMargin()
 
     @NotNull
@@ -133,7 +172,7 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
         content = content.replace(
                 MARKER_INSTRUMENTATIONS,
                 (settings.instrumentationsToApply
-                        && settings.instrumentationsToApply.size() < InstrumentationType.values().length)
+                        && settings.instrumentationsToApply != DEFAULT_INSTRUMENTATIONS_TO_APPLY)
                         ? "instrumentations = [${settings.instrumentationsToApply.collect{"'${it.shortName}'"}.join(', ')}]"
                         : ''
         )
@@ -150,6 +189,13 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
                         : ''
         )
 
+        content = content.replace(
+                MARKER_STACKLESS_EXCEPTIONS,
+                settings.stacklessExceptions
+                        ? "stacklessExceptions = ${settings.stacklessExceptions.collect { "'${it.shortName}'" }}"
+                        : ''
+        )
+
         content = content.replace(
                 MARKER_EXCEPTION_TEXTS,
                 settings.exceptionTextPatterns
@@ -157,6 +203,71 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
                         : ''
         )
 
+        content = content.replace(
+                MARKER_CHECK_STYLE,
+                settings.checkStyle != DEFAULT_CHECK_STYLE ? "checkStyle = '${settings.checkStyle.shortName}'" : ''
+        )
+
+        content = content.replace(
+                MARKER_CHECK_GUARD,
+                settings.checkGuard != DEFAULT_CHECK_GUARD ? "checkGuard = '${settings.checkGuard.shortName}'" : ''
+        )
+
+        content = content.replace(
+                MARKER_FAILURE_ACTION,
+                settings.failureAction != DEFAULT_FAILURE_ACTION
+                        ? "failureAction = '${settings.failureAction.shortName}'"
+                        : ''
+        )
+
+        def combinedCheck = []
+        if (settings.combinedCheckThreshold != DEFAULT_COMBINED_CHECK_THRESHOLD) {
+            combinedCheck << "combinedCheckThreshold = ${settings.combinedCheckThreshold}"
+        }
+        if (settings.combinedCheckReportAll) {
+            combinedCheck << 'combinedCheckReportAll = true'
+        }
+        content = content.replace(MARKER_COMBINED_CHECK, combinedCheck.join('\n    '))
+
+        content = content.replace(MARKER_WRAP_RETURN, settings.wrapReturn ? 'wrapReturn = true' : '')
+        content = content.replace(MARKER_JFR_EVENTS, settings.jfrEvents ? 'jfrEvents = true' : '')
+        content = content.replace(MARKER_JMX_COUNTERS, settings.jmxCounters ? 'jmxCounters = true' : '')
+        content = content.replace(MARKER_PROFILE, settings.profile ? 'profile = true' : '')
+
+        def hotProfile = []
+        if (settings.hotProfile.present) {
+            hotProfile << "hotProfile = '${settings.hotProfile.get()}'"
+            if (settings.hotThreshold != DEFAULT_HOT_THRESHOLD) {
+                hotProfile << "hotThreshold = ${settings.hotThreshold}"
+            }
+            if (settings.hotCheckPolicy != DEFAULT_HOT_CHECK_POLICY) {
+                hotProfile << "hotPolicy = '${settings.hotCheckPolicy.shortName}'"
+            }
+        }
+        content = content.replace(MARKER_HOT_PROFILE, hotProfile.join('\n    '))
+        content = content.replace(
+                MARKER_ELIDE_DEREFERENCED,
+                settings.elideDereferenced ? 'elideDereferenced = true' : ''
+        )
+        content = content.replace(
+                MARKER_ELIDE_DELEGATED,
+                settings.elideDelegated ? 'elideDelegated = true' : ''
+        )
+        content = content.replace(
+                MARKER_ELIDE_PRIVATE,
+                settings.elidePrivate ? 'elidePrivate = true' : ''
+        )
+        content = content.replace(
+                MARKER_ELIDE_RETURN,
+                settings.elideReturn ? 'elideReturn = true' : ''
+        )
+        content = content.replace(
+                MARKER_NON_NULL_METHODS,
+                settings.nonNullMethods != DEFAULT_NON_NULL_METHODS
+                        ? "nonNullMethods = [${settings.nonNullMethods.collect{"'$it'"}.join(', ')}]"
+                        : ''
+        )
+
         file.text = content
         return file
     }
@@ -227,4 +338,13 @@ class GradleTestCompiler extends AbstractExternalSystemTestCompiler {
     private static String getCommonDependency() {
         return "files('${findRootInClassPath(NN)}')"
     }
+
+    /**
+     * Code instrumented in {@code count-and-continue} mode references {@code 'traute-runtime'} classes
+     *
+     * @return dependency spec for the {@code 'runtime'} classpath root
+     */
+    private static String getRuntimeDependency() {
+        return "files('${findRootInClassPath(ViolationRegistry)}')"
+    }
 }